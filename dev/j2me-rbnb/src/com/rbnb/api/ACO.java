@@ -92,7 +92,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.ClientHandle
  * @see com.rbnb.api.RCO
  * @since V2.0
- * @version 09/08/2005
+ * @version 10/18/2026
  */
 
 /*
@@ -102,6 +102,12 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Offer framed messages through the capabilities of the
+ *			<code>Login</code>.
+ *		   INB	Added <code>requestAcknowledgement</code> and
+ *			<code>receiveAcknowledgement</code>.
+ *		   INB	Offer the link codec on routing and mirror
+ *			connections when it is turned on.
  * 2005/09/08  WHF	Added Ping to the isRunnable code to execercise the
  *			data channel.  Added pingValue.
  * 09/28/2004  JPW	In order to compile under J# (which is only Java 1.1.4
@@ -157,6 +163,21 @@ abstract class ACO
      */
     private String buildVersion = null;
 
+    /**
+     * the capabilities negotiated for the connection.
+     * <p>
+     * These are the capabilities offered in the <code>Login</code> that the
+     * server granted in its response.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.IsSupported#isNegotiated(int,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int capabilities = 0;
+
     /**
      * the <code>Client</code>.
      * <p>
@@ -743,6 +764,30 @@ abstract class ACO
 	return (buildDate);
     }
 
+    /**
+     * Gets the capabilities negotiated for the connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the capabilities.
+     * @see #setCapabilities(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getCapabilities() {
+	return (capabilities);
+    }
+
     /**
      * Gets the build version.
      * <p>
@@ -1121,7 +1166,7 @@ System.err.println("Bad Ping response.");
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 05/23/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1129,6 +1174,11 @@ System.err.println("Bad Ping response.");
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Offer framed messages through the capabilities of the
+     *			<code>Login</code> and keep those that the server
+     *			grants.
+     *		   INB	Offer the link codec on routing and mirror
+     *			connections when it is turned on.
      * 05/23/2003  INB	Add timeout to <code>send</code>.
      * 05/07/2003  INB	Use <code>STARTUP_WAIT</code> rather than
      *			<code>PING_WAIT</code>.
@@ -1162,6 +1212,7 @@ System.err.println("Bad Ping response.");
 	} else {
 	    BuildFile.loadBuildFile(login);
 	}
+	login.setCapabilities(IsSupported.offerCapabilities(getClient()));
 		login.addChild((Rmap) ((Rmap) getClient()).clone());
 		
 	if (getClient().getUsername() != null) {
@@ -1203,6 +1254,13 @@ System.err.println("Bad Ping response.");
 	    setBuildVersion(((BuildInterface) server).getBuildVersion());
 	}
 
+	// Keep the capabilities that the server granted. A server that
+	// doesn't know about them grants none.
+	setCapabilities((server instanceof PeerServer) ?
+			(((PeerServer) server).getCapabilities() &
+			 login.getCapabilities()) :
+			0);
+
 	if ((getClient().getParent() instanceof RemoteServer) &&
 	    (getClient().getParent().getName() == null)) {
 	    // Update our parent's name if it isn't set at all.
@@ -1543,6 +1601,56 @@ System.err.println("Bad Ping response.");
 	return (serializableR);
     }
 
+    /**
+     * Receives the acknowledgement of the oldest outstanding request for
+     * one.
+     * <p>
+     * The server answers requests for acknowledgement in the order that
+     * they were sent, so this is the answer to the oldest one.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem serializing something.
+     * @exception java.io.EOFException
+     *		  thrown if the connection is closed.
+     * @exception java.io.InterruptedIOException
+     *		  thrown if the I/O is interrupted.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem with the I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #requestAcknowledgement()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void receiveAcknowledgement()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.InterruptedIOException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	receive(okClass,
+		true,
+		(stopping ?
+		 TimerPeriod.SHUTDOWN :
+		 Client.FOREVER));
+    }
+
     /**
      * Updates the registration for this <code>Source</code>.
      * <p>
@@ -1638,6 +1746,53 @@ System.err.println("Bad Ping response.");
 	send(register);
     }
 
+    /**
+     * Asks the server to acknowledge that it has handled everything sent
+     * to it so far.
+     * <p>
+     * The request is a <code>Ping</code>, which the server echoes once it
+     * has processed the messages ahead of it. The answer is not waited for;
+     * it must be picked up later by <code>receiveAcknowledgement</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem serializing something.
+     * @exception java.io.EOFException
+     *		  thrown if the connection is closed.
+     * @exception java.io.InterruptedIOException
+     *		  thrown if the I/O is interrupted.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem with the I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #receiveAcknowledgement()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void requestAcknowledgement()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.InterruptedIOException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	send(new Ping());
+    }
+
     /**
      * Reset the <code>Client</code>.
      * <p>
@@ -1842,6 +1997,30 @@ System.err.println("Bad Ping response.");
 	buildDate = buildDateI;
     }
 
+    /**
+     * Sets the capabilities negotiated for the connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param capabilitiesI the capabilities.
+     * @see #getCapabilities()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setCapabilities(int capabilitiesI) {
+	capabilities = capabilitiesI;
+    }
+
     /**
      * Sets the build version.
      * <p>
@@ -2331,7 +2510,7 @@ System.err.println("Bad Ping response.");
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 02/26/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -2339,6 +2518,8 @@ System.err.println("Bad Ping response.");
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Split into <code>requestAcknowledgement</code> and
+     *			<code>receiveAcknowledgement</code>.
      * 02/26/2003  INB	Wait a limited period of time if we're stopping.
      * 05/08/2001  INB	Created.
      *
@@ -2351,11 +2532,7 @@ System.err.println("Bad Ping response.");
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	send(new Ping());
-	receive(okClass,
-		true,
-		(stopping ?
-		 TimerPeriod.SHUTDOWN :
-		 Client.FOREVER));
+	requestAcknowledgement();
+	receiveAcknowledgement();
     }
 }
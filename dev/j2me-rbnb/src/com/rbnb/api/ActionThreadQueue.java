@@ -33,7 +33,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.Action
  * @since V2.1
- * @version 04/13/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -43,6 +43,11 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Keep the events in a circular array rather than a
+ *			<code>Vector</code>, so that taking the first event
+ *			no longer shifts the whole queue. Only notify a
+ *			thread if one is waiting.
+ *		   INB	Added <code>getDepth</code>.
  * 04/13/2004  INB	Create new threads if there are fewer available than
  *			there are events rather than if there are none
  *			available.
@@ -71,24 +76,27 @@ final class ActionThreadQueue {
    /**
      * the events that have been queued.
      * <p>
+     * This is a circular array holding <code>size</code> events, starting at
+     * <code>first</code>. It grows as needed.
+     * <p>
      *
      * @author Ian Brown
      *
      * @since V2.1
-     * @version 03/14/2003
+     * @version 10/18/2026
      */
-    private java.util.Vector events = new java.util.Vector(10000);
+    private Action[] events = new Action[64];
 
     /**
-     * the total number of events ever queued.
+     * the index of the first event in <code>events</code>.
      * <p>
      *
      * @author Ian Brown
      *
-     * @since V2.1
-     * @version 03/13/2003
+     * @since V3.0
+     * @version 10/18/2026
      */
-    private long eventsQueued = 0;
+    private int first = 0;
 
     /**
      * the current number of threads.
@@ -104,13 +112,15 @@ final class ActionThreadQueue {
     /**
      * hash table to allow us to check on queued events.
      * <p>
+     * This is also the object that the queue synchronizes on.
+     * <p>
      *
      * @author Ian Brown
      *
      * @since V2.1
-     * @version 03/14/2003
+     * @version 10/18/2026
      */
-    private java.util.Hashtable queued = new java.util.Hashtable(10000); // no load factor
+    private java.util.Hashtable queued = new java.util.Hashtable();
 
     /**
      * is the queue being stopped?
@@ -123,6 +133,17 @@ final class ActionThreadQueue {
      */
     private boolean isStopping = false;
 
+    /**
+     * the number of events in <code>events</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int size = 0;
+
     /**
      * the threads.
      * <p>
@@ -201,7 +222,7 @@ final class ActionThreadQueue {
      * @param eventI the event.
      * @see #removeEvent(com.rbnb.api.Action)
      * @since V2.1
-     * @version 04/13/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -209,6 +230,8 @@ final class ActionThreadQueue {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the circular array of events. Only notify if a
+     *			thread is waiting.
      * 04/13/2004  INB	Create new threads if there are fewer available than
      *			there are events rather than if there are none
      *			available.
@@ -216,19 +239,27 @@ final class ActionThreadQueue {
      *
      */
     public final void addEvent(Action eventI) {
-	synchronized (events) {
+	synchronized (queued) {
 	    if (isStopping) {
 		return;
 	    } else if (queued.get(eventI) != null) {
 		return;
 	    }
 
-	    // Add the event to the list of events and mark it as queued.
-	    events.addElement(eventI);
-	    queued.put(eventI,new Long(eventsQueued));
-	    ++eventsQueued;
+	    // Add the event to the end of the events and mark it as queued.
+	    if (size == events.length) {
+		Action[] nEvents = new Action[events.length*2];
+		for (int idx = 0; idx < size; ++idx) {
+		    nEvents[idx] = events[(first + idx) % events.length];
+		}
+		events = nEvents;
+		first = 0;
+	    }
+	    events[(first + size) % events.length] = eventI;
+	    ++size;
+	    queued.put(eventI,eventI);
 
-	    if ((availableThreads < events.size()) &&
+	    if ((availableThreads < size) &&
 		(numberOfThreads < threads.length)) {
 		// If there are no available threads and there is room for a
 		// new thread, create one.
@@ -236,10 +267,38 @@ final class ActionThreadQueue {
 		threads[numberOfThreads++].start();
 	    }
 
-	    events.notify();
+	    if (availableThreads > 0) {
+		queued.notify();
+	    }
 	}
     }
 
+    /**
+     * Gets the number of events waiting on the queue.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of events.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getDepth() {
+	synchronized (queued) {
+	    return (size);
+	}
+    }
+
+
     /**
      * Removes and returns the next event from the queue.
      * <p>
@@ -248,7 +307,7 @@ final class ActionThreadQueue {
      *
      * @return the event.
      * @since V2.1
-     * @version 03/13/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -256,16 +315,19 @@ final class ActionThreadQueue {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the circular array of events.
      * 03/13/2003  INB	Created.
      *
      */
     private final Action nextEvent() {
 	Action eventR = null;
 
-	synchronized (events) {
-	    if (events.size() > 0) {
-		eventR = (Action) events.firstElement();
-		events.removeElementAt(0);
+	synchronized (queued) {
+	    if (size > 0) {
+		eventR = events[first];
+		events[first] = null;
+		first = (first + 1) % events.length;
+		--size;
 		queued.remove(eventR);
 	    }
 	}
@@ -282,7 +344,7 @@ final class ActionThreadQueue {
      * @param eventI the event.
      * @see #addEvent(com.rbnb.api.Action)
      * @since V2.1
-     * @version 03/13/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -290,31 +352,24 @@ final class ActionThreadQueue {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the circular array of events.
      * 03/13/2003  INB	Created.
      *
      */
     public final void removeEvent(Action eventI) {
-	synchronized (events) {
-	    Long eventIdL = (Long) queued.remove(eventI);
-
-	    if (eventIdL != null) {
-		// If the event appears to be in the queue, then locate it and
-		// remove it.
-		long eventId = eventIdL.longValue();
-		int idx = (int) (eventId - (eventsQueued - events.size()));
-
-		if ((idx >= 0) && (idx < events.size())) {
-		    // If the event is indeed in the queue, then remove it.
-		    events.removeElementAt(idx);
-
-		    if (idx != 0) {
-			// If this wasn't the first event in the queue, then
-			// pretend it never was in the queue.
-			--eventsQueued;
-			for (; idx < events.size(); ++idx) {
-			    queued.put(events.elementAt(idx),
-				       new Long(eventId + idx));
+	synchronized (queued) {
+	    if (queued.remove(eventI) != null) {
+		// If the event is in the queue, then locate it and close up
+		// the gap that removing it leaves.
+		for (int idx = 0; idx < size; ++idx) {
+		    if (events[(first + idx) % events.length] == eventI) {
+			for (; idx < size - 1; ++idx) {
+			    events[(first + idx) % events.length] =
+				events[(first + idx + 1) % events.length];
 			}
+			events[(first + size - 1) % events.length] = null;
+			--size;
+			break;
 		    }
 		}
 	    }
@@ -328,7 +383,7 @@ final class ActionThreadQueue {
      * @author Ian Brown
      *
      * @since V2.1
-     * @version 03/26/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -336,13 +391,14 @@ final class ActionThreadQueue {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the circular array of events.
      * 03/13/2003  INB	Created.
      *
      */
     public final void stop() {
-	synchronized (events) {
+	synchronized (queued) {
 	    isStopping = true;
-	    events.notifyAll();
+	    queued.notifyAll();
 
 	    for (int idx = 0; idx < numberOfThreads; ++idx) {
 		threads[idx].interrupt();
@@ -350,20 +406,23 @@ final class ActionThreadQueue {
 
 	    long startAt = System.currentTimeMillis(),
 		endAt;
-	    while ((events.size() > 0) &&
+	    while ((size > 0) &&
 		   ((endAt = System.currentTimeMillis()) <
 		    startAt + TimerPeriod.SHUTDOWN)) {
 		try {
-		    events.wait(TimerPeriod.NORMAL_WAIT);
-		    events.notifyAll();
+		    queued.wait(TimerPeriod.NORMAL_WAIT);
+		    queued.notifyAll();
 		} catch (java.lang.InterruptedException e) {
 		    break;
 		}
 	    }
-	    events.removeAllElements();
+	    for (; size > 0; --size) {
+		events[first] = null;
+		first = (first + 1) % events.length;
+	    }
 	    queued.clear();
 
-	    events.notifyAll();
+	    queued.notifyAll();
 	}
     }
 
@@ -375,7 +434,7 @@ final class ActionThreadQueue {
      *
      * @return the event.
      * @since V2.1
-     * @version 03/26/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -383,23 +442,26 @@ final class ActionThreadQueue {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the circular array of events. Don't count this
+     *			thread as available once it has been told to stop.
      * 03/13/2003  INB	Created.
      *
      */
     final Action waitEvent() {
 	Action eventR = null;
 
-	synchronized (events) {
+	synchronized (queued) {
 	    ++availableThreads;
 
 	    while (eventR == null) {
-		while (events.size() == 0) {
+		while (size == 0) {
 		    if (isStopping) {
-			events.notifyAll();
+			--availableThreads;
+			queued.notifyAll();
 			return (null);
 		    }
 		    try {
-			events.wait(TimerPeriod.NORMAL_WAIT);
+			queued.wait(TimerPeriod.NORMAL_WAIT);
 		    } catch (java.lang.InterruptedException e) {
 			break;
 		    }
@@ -26,7 +26,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 05/26/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -36,6 +36,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Match events against wildcard patterns in the request.
  * 05/26/2004  INB	Added <code>terminateRequested</code> flag and
  *			handling.
  * 02/24/2004  INB	Added optional debug in <code>run</code>.
@@ -92,6 +93,23 @@ final class AwaitNotification
      */
     private long eventsHandled = 0;
 
+    /**
+     * the children of the request <code>Rmap</code> whose names are wildcard
+     * patterns.
+     * <p>
+     * This is built the first time an event fails to match a name exactly,
+     * so that each new event is only tested against the patterns rather than
+     * the request being searched again.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.NamePattern
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Vector patterns = null;
+
     /**
      * the object that we're watching.
      * <p>
@@ -529,6 +547,69 @@ final class AwaitNotification
 	super.interrupt();
 	}
 
+    /**
+     * Matches a name against the children of the request <code>Rmap</code>
+     * whose names are wildcard patterns.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nameI  the name to match.
+     * @return the first matching request child or <code>null</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if this operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final Rmap matchPatterns(String nameI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	java.util.Vector lPatterns = patterns;
+
+	if (lPatterns == null) {
+	    lPatterns = new java.util.Vector();
+	    for (int idx = 0,
+		     endIdx = getRequest().getNchildren();
+		 idx < endIdx;
+		 ++idx) {
+		Rmap child = getRequest().getChildAt(idx);
+
+		if (NamePattern.compile(child.getName()) != null) {
+		    lPatterns.addElement(child);
+		}
+	    }
+	    patterns = lPatterns;
+	}
+
+	for (int idx = 0; idx < lPatterns.size(); ++idx) {
+	    Rmap child = (Rmap) lPatterns.elementAt(idx);
+
+	    if (NamePattern.matches(child.getName(),nameI)) {
+		return (child);
+	    }
+	}
+
+	return (null);
+    }
+
     /**
      * Matches the input <code>Rmap</code> against the request
      * <code>Rmap</code> to determine if it is really of interest.
@@ -550,7 +631,7 @@ final class AwaitNotification
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 03/12/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -558,6 +639,8 @@ final class AwaitNotification
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Try the wildcard patterns in the request when nothing
+     *			else matches.
      * 03/26/2001  INB	Created.
      *
      */
@@ -605,6 +688,10 @@ final class AwaitNotification
 			if (matchedR != null) {
 			    matchedR = (Rmap) matchedR.clone();
 			    matchedR.setName(levent.getName());
+			} else if ((matchedR = matchPatterns
+				    (levent.getName())) != null) {
+			    matchedR = (Rmap) matchedR.clone();
+			    matchedR.setName(levent.getName());
 			}
 		    }
 		}
@@ -781,7 +868,7 @@ final class AwaitNotification
      * @param requestI  the request <code>Rmap</code>.
      * @see #getRequest()
      * @since V2.0
-     * @version 05/22/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -789,11 +876,13 @@ final class AwaitNotification
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Forget the wildcard patterns of the old request.
      * 03/26/2001  INB	Created.
      *
      */
     private final void setRequest(Rmap requestI) {
 	request = requestI;
+	patterns = null;
     }
 
     /**
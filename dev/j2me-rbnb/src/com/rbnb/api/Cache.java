@@ -37,7 +37,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.SourceHandler
  * @since V2.0
- * @version 01/08/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -48,6 +48,12 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added packed payload mode.
+ *		   INB	Added frame coalescing.
+ *		   INB	Added compressed payload mode.
+ *		   INB	Added single writer mode. Lock the <code>Door</code>
+ *			in <code>flush</code>.
+ *		   INB	Take cleared sets out of the data counts.
  * 10/11/2006  EMF      Modified constructor to take trim by time arguments.
  * 01/08/2004  INB	Added <code>clearCache</code> method.
  * 02/17/2003  INB	Modified to handle multiple <code>RingBuffers</code>
@@ -58,6 +64,87 @@ package com.rbnb.api;
 final class Cache
     extends com.rbnb.api.StorageManager
 {
+    /**
+     * the maximum number of points in a coalesced frame.
+     * <p>
+     * When this is greater than one, consecutive single channel frames of
+     * the same shape are combined into a single <code>DataBlock</code> of up
+     * to this many points. The default comes from the
+     * <code>coalescepoints</code> system property; zero turns coalescing
+     * off.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.FrameSet#storeElement(com.rbnb.api.Rmap)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int coalescePoints = coalesceDefault;
+
+    /**
+     * compress the payloads of the frames when a <code>FrameSet</code> is
+     * closed?
+     * <p>
+     * The default comes from the <code>compresspayloads</code> system
+     * property.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.DataBlock#compress()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean compressPayloads = compressDefault;
+
+    /**
+     * pack the payloads of the frames into <code>PayloadSlabs</code>?
+     * <p>
+     * The default comes from the <code>packpayloads</code> system property.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.PayloadSlab
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean packPayloads = packDefault;
+
+    /**
+     * is the <code>Cache</code> in single writer mode?
+     * <p>
+     * The default comes from the <code>singlewriter</code> system property.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #setSingleWriter(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean singleWriter = singleWriterDefault;
+
+    // Private class fields:
+    private static int coalesceDefault = 0;
+    private static boolean compressDefault =
+	(System.getProperty("compresspayloads") != null);
+    private static boolean packDefault =
+	(System.getProperty("packpayloads") != null);
+    private static boolean singleWriterDefault =
+	(System.getProperty("singlewriter") != null);
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("coalescepoints")) != null) {
+		coalesceDefault = Math.max(0,Integer.parseInt(value));
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+    }
 
     /**
      * Class constructor.
@@ -119,7 +206,7 @@ final class Cache
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.2
-     * @version 01/08/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -127,6 +214,7 @@ final class Cache
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Take the sets out of the data counts.
      * 01/08/2004  INB	Created.
      *
      */
@@ -149,6 +237,7 @@ final class Cache
 	    while (getNchildren() > 0) {
 		set = (FrameManager) getChildAt(0);
 		removeChildAt(0);
+		addCounts(-set.getCountedBytes(),-set.getCountedFrames());
 		if (set.getParent() == null) {
 		    set.nullify();
 		} else {
@@ -183,7 +272,7 @@ final class Cache
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 12/13/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -191,6 +280,8 @@ final class Cache
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Lock the <code>Door</code> while closing the
+     *			<code>FrameSet</code>.
      * 02/26/2001  INB	Created.
      *
      */
@@ -200,13 +291,244 @@ final class Cache
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	if (getSet() != null) {
-	    // If there is a current <code>FrameSet</code>, close it.
-	    getSet().close();
-	    setSet(null);
+	try {
+	    // Lock the door.
+	    getDoor().lock("Cache.flush");
+
+	    if (getSet() != null) {
+		// If there is a current <code>FrameSet</code>, close it.
+		getSet().close();
+		setSet(null);
+	    }
+
+	} finally {
+	    // Unlock the door.
+	    getDoor().unlock();
 	}
     }
 
+    /**
+     * Gets the maximum number of points in a coalesced frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the maximum number of points.
+     * @see #setCoalescePoints(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getCoalescePoints() {
+	return (coalescePoints);
+    }
+
+    /**
+     * Gets the compressed payload mode flag.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return are payloads compressed when a <code>FrameSet</code> is
+     *	       closed?
+     * @see #setCompressPayloads(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean getCompressPayloads() {
+	return (compressPayloads);
+    }
+
+    /**
+     * Gets the packed payload mode flag.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return are payloads packed into <code>PayloadSlabs</code>?
+     * @see #setPackPayloads(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean getPackPayloads() {
+	return (packPayloads);
+    }
+
+    /**
+     * Gets the single writer mode flag.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return is the <code>Cache</code> in single writer mode?
+     * @see #setSingleWriter(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean getSingleWriter() {
+	return (singleWriter);
+    }
+
+    /**
+     * Sets the maximum number of points in a coalesced frame.
+     * <p>
+     * When this is greater than one, the <code>FrameSets</code> of this
+     * <code>Cache</code> add a single channel frame to the previous frame of
+     * that channel if the two have the same shape and follow on from each
+     * other in time, as long as the result holds no more than this many
+     * points. This saves an <code>Rmap</code> per frame for sources that
+     * send many small frames.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param coalescePointsI  the maximum number of points.
+     * @see #getCoalescePoints()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setCoalescePoints(int coalescePointsI) {
+	coalescePoints = coalescePointsI;
+    }
+
+    /**
+     * Sets the compressed payload mode flag.
+     * <p>
+     * When set, the <code>FrameSets</code> of this <code>Cache</code>
+     * compress the payloads of their frames when they are closed. Closed
+     * <code>FrameSets</code> are only read, so this trades the time taken to
+     * decompress a payload the first time that it is read for the memory
+     * saved by the payloads that are never read. Payloads packed into
+     * <code>PayloadSlabs</code> are not compressed.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param compressPayloadsI  compress payloads?
+     * @see #getCompressPayloads()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setCompressPayloads(boolean compressPayloadsI) {
+	compressPayloads = compressPayloadsI;
+    }
+
+    /**
+     * Sets the single writer mode flag.
+     * <p>
+     * In single writer mode, adding a frame to the open
+     * <code>FrameSet</code> only takes a read lock on the
+     * <code>Cache</code>; the write lock is only taken to open, close, or
+     * remove a <code>FrameSet</code>. Since the sets themselves are then
+     * only changed under that write lock once they are closed, readers do
+     * not lock closed <code>FrameSets</code> at all. Readers of the open
+     * <code>FrameSet</code> still wait for the frame being added to it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param singleWriterI  use single writer mode?
+     * @see #getSingleWriter()
+     * @see com.rbnb.api.FrameSet#needsReadLock()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setSingleWriter(boolean singleWriterI) {
+	singleWriter = singleWriterI;
+    }
+
+    /**
+     * Sets the packed payload mode flag.
+     * <p>
+     * When set, the <code>FrameSets</code> of this <code>Cache</code> copy
+     * the payloads of the frames they store into large pooled
+     * <code>PayloadSlabs</code>, one per channel, rather than keeping one
+     * array per frame. The slabs go back to the pool when the
+     * <code>FrameSets</code> are cleared.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param packPayloadsI  pack payloads?
+     * @see #getPackPayloads()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setPackPayloads(boolean packPayloadsI) {
+	packPayloads = packPayloadsI;
+    }
+
 	/** Creates and returns a copy of the object
 	 */
 	public Object clone()
@@ -219,4 +541,16 @@ final class Cache
 		}
 		catch(Exception e) { return null; }
 	}
+
+	/** Copies all the fields of the object to the given object
+	 */
+	protected void cloned(Object o)
+	{
+		super.cloned(o);
+		Cache clonedR = (Cache)o;
+		clonedR.coalescePoints = coalescePoints;
+		clonedR.compressPayloads = compressPayloads;
+		clonedR.packPayloads = packPayloads;
+		clonedR.singleWriter = singleWriter;
+	}
 }
@@ -24,7 +24,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.Rmap
  * @since V2.0
- * @version 2005/03/31
+ * @version 10/18/2026
  */
 
 /*
@@ -34,6 +34,10 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> to read individual
+ *			point times.
+ *		   INB	Added <code>setNumberOfPoints</code> with an array to
+ *			store the data in.
  * 2005/03/31  WHF  Added getDataType().
  * 11/12/2003  INB	Handle case where the number of points of data is not
  *			equal to the number of point times given a duration of
@@ -539,7 +543,7 @@ public class DataArray
      * @return the duration.
      * @see #getStartTime()
      * @since V2.0
-     * @version 04/15/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -547,6 +551,8 @@ public class DataArray
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
      * 04/15/2002  INB	Created.
      *
      */
@@ -556,7 +562,7 @@ public class DataArray
 	if (timeRanges != null) {
 	    double startTime = getStartTime();
 	    TimeRange lTrange = (TimeRange) timeRanges.lastElement();
-	    double endTime = (lTrange.getPtimes()[lTrange.getNptimes() - 1] +
+	    double endTime = (lTrange.getPtime(lTrange.getNptimes() - 1) +
 			      lTrange.getDuration());
 
 	    durationR = endTime - startTime;
@@ -581,7 +587,7 @@ public class DataArray
      * @param otherStoreI the other storage vector.
      * @return the index to store the new data at.
      * @since V2.0
-     * @version 10/31/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -589,6 +595,8 @@ public class DataArray
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
      * 04/12/2002  INB	Created.
      *
      */
@@ -613,8 +621,8 @@ public class DataArray
 		high = idx - 1;
 
 	    } else if ((ptime >
-			(erange = (tRange.getPtimes()
-				   [tRange.getNptimes() - 1] +
+			(erange = (tRange.getPtime
+				   (tRange.getNptimes() - 1) +
 				   tRange.getDuration()))) ||
 		       (!greater && (ptime == erange))) {
 		low = idx + 1;
@@ -645,7 +653,7 @@ public class DataArray
 		    for (int idx1 = (low2 + high2)/2;
 			 low2 <= high2;
 			 idx1 = (low2 + high2)/2) {
-			double ttime = tRange.getPtimes()[idx1];
+			double ttime = tRange.getPtime(idx1);
 
 			if (ptime < ttime) {
 			    high2 = idx1 - 1;
@@ -1161,7 +1169,7 @@ public class DataArray
      *		  thrown if previous calls to <code>add</code> had different
      *		  optional fields set.
      * @since V2.0
-     * @version 09/19/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1169,6 +1177,8 @@ public class DataArray
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
      * 04/12/2002  INB	Created.
      *
      */
@@ -1199,7 +1209,7 @@ public class DataArray
 
 	} else {
 	    TimeRange last = (TimeRange) refStoreI.lastElement();
-	    if (refI.getTime() >= (last.getPtimes()[last.getNptimes() - 1] +
+	    if (refI.getTime() >= (last.getPtime(last.getNptimes() - 1) +
 				   last.getDuration())) {
 		insertConsecutive(0,
 				  nPointsI,
@@ -1333,8 +1343,9 @@ public class DataArray
      * @param ptSizeI	      the point size (0 means no data storage).
      * @param dTypeI	      the data type.
      * @see #getNumberOfPoints()
+     * @see #setNumberOfPoints(int,int,byte,Object)
      * @since V2.0
-     * @version 09/20/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1342,12 +1353,49 @@ public class DataArray
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Moved the work to the reusable buffer version.
      * 04/12/2002  INB	Created.
      *
      */
     final void setNumberOfPoints(int numberOfPointsI,
 				 int ptSizeI,
 				 byte dTypeI) {
+	setNumberOfPoints(numberOfPointsI,ptSizeI,dTypeI,null);
+    }
+
+    /**
+     * Sets the number of data points represented by this
+     * <code>DataArray</code>, storing the data in a caller supplied array.
+     * <p>
+     * The input array is used to hold the data if it is an array of the
+     * primitive type for the data type with exactly the number of points.
+     * Otherwise, a new array is created.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param numberOfPointsI the number of points.
+     * @param ptSizeI	      the point size (0 means no data storage).
+     * @param dTypeI	      the data type.
+     * @param reuseI	      the array to store the data in. May be null.
+     * @see #getNumberOfPoints()
+     * @see #setNumberOfPoints(int,int,byte)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created from the version without an input array.
+     *
+     */
+    final void setNumberOfPoints(int numberOfPointsI,
+				 int ptSizeI,
+				 byte dTypeI,
+				 Object reuseI) {
 	numberOfPoints = numberOfPointsI;
 	dType = dTypeI;
 	ptSize = ptSizeI;
@@ -1355,27 +1403,45 @@ public class DataArray
 	if (ptSizeI > 0) {
 	    switch (dTypeI) {
 	    case DataBlock.TYPE_BOOLEAN:
-		data = new boolean[numberOfPointsI];
+		data = (((reuseI instanceof boolean[]) &&
+			 (((boolean[]) reuseI).length == numberOfPointsI)) ?
+			reuseI :
+			new boolean[numberOfPointsI]);
 		break;
 
 	    case DataBlock.TYPE_INT16:
-		data = new short[numberOfPointsI];
+		data = (((reuseI instanceof short[]) &&
+			 (((short[]) reuseI).length == numberOfPointsI)) ?
+			reuseI :
+			new short[numberOfPointsI]);
 		break;
 
 	    case DataBlock.TYPE_INT32:
-		data = new int[numberOfPointsI];
+		data = (((reuseI instanceof int[]) &&
+			 (((int[]) reuseI).length == numberOfPointsI)) ?
+			reuseI :
+			new int[numberOfPointsI]);
 		break;
 
 	    case DataBlock.TYPE_INT64:
-		data = new long[numberOfPointsI];
+		data = (((reuseI instanceof long[]) &&
+			 (((long[]) reuseI).length == numberOfPointsI)) ?
+			reuseI :
+			new long[numberOfPointsI]);
 		break;
 
 	    case DataBlock.TYPE_FLOAT32:
-		data = new float[numberOfPointsI];
+		data = (((reuseI instanceof float[]) &&
+			 (((float[]) reuseI).length == numberOfPointsI)) ?
+			reuseI :
+			new float[numberOfPointsI]);
 		break;
 
 	    case DataBlock.TYPE_FLOAT64:
-		data = new double[numberOfPointsI];
+		data = (((reuseI instanceof double[]) &&
+			 (((double[]) reuseI).length == numberOfPointsI)) ?
+			reuseI :
+			new double[numberOfPointsI]);
 		break;
 
 	    case DataBlock.TYPE_STRING:
@@ -1391,7 +1457,10 @@ public class DataArray
 		     (dType == DataBlock.UNKNOWN)) &&
 		    (ptSizeI == 1)) {
 		    // With a single byte per point, return a byte array.
-		    data = new byte[numberOfPointsI];
+		    data = (((reuseI instanceof byte[]) &&
+			     (((byte[]) reuseI).length == numberOfPointsI)) ?
+			    reuseI :
+			    new byte[numberOfPointsI]);
 
 		} else {
 		    // With multiple bytes per point, return an array of
@@ -29,7 +29,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.DataArray
  * @since V2.0
- * @version 09/20/2002
+ * @version 10/18/2026
  */
 
 /*
@@ -40,6 +40,8 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Pass an array to store the data in to the
+ *			<code>DataArray</code>.
  * 12/11/2000  INB	Created.
  *
  *
@@ -345,13 +347,14 @@ class DataArrayExtractor
      * @param frameFlagI return the extract frame indexes?
      * @param timeFlagI  return the extacted times?
      * @param dataFlagI  return the extraced data?
+     * @param reuseI	 the array to store the data in. May be null.
      * @return a <code>DataArray</code> object containing the extracted
      *	   times and data.
      * @exception java.lang.IllegalStateException
      *	      thrown if the data cannot be returned using a single
      *	      primitive type.
      * @since V2.0
-     * @version 08/30/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -359,12 +362,14 @@ class DataArrayExtractor
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Added the array to store the data in.
      * 11/30/2000  INB	Created.
      *
      */
     final DataArray getTimeAndData(boolean frameFlagI,
 				   boolean timeFlagI,
-				   boolean dataFlagI)
+				   boolean dataFlagI,
+				   Object reuseI)
     {
 		//nPoints = 1;
 	if (getNpoints() == 0) {
@@ -376,7 +381,7 @@ class DataArrayExtractor
 
 	DataArray dArrayR = new DataArray();
 		
-	dArrayR.setNumberOfPoints(getNpoints(),getPtsize(),getDtype());
+	dArrayR.setNumberOfPoints(getNpoints(),getPtsize(),getDtype(),reuseI);
 	dArrayR.setMIMEType(getMIMEType());
 
 	for (int idx = 0; idx < getInformation().size(); ++idx) {
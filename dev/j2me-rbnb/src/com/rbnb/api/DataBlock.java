@@ -57,7 +57,7 @@ import com.rbnb.compat.Utilities;
  * @see com.rbnb.api.DataReference
  * @see com.rbnb.api.Rmap
  * @since V2.0
- * @version 2005/03/23
+ * @version 10/18/2026
  */
 
 /*
@@ -67,6 +67,15 @@ import com.rbnb.compat.Utilities;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added <code>extractData</code> into a reusable buffer
+ *			and a gather copy for single point strided channels.
+ *		   INB	Added <code>concatenate</code>.
+ *		   INB	Added <code>compress</code>, which holds the payload in
+ *			compressed form. The payload is decompressed into a
+ *			temporary copy each time that it is needed.
+ * 10/18/2026  INB	Added <code>PayloadSlab</code> views so that a packed
+ *			<code>Cache FrameSet</code> can keep its payloads in
+ *			large pooled arrays.
  * 11/17/2006  EMF      Use marker to save space on archive recovery.
  * 2005/03/22  WHF      Added TYPE_USER data type, and associated values.
  * 11/10/2003  INB	Added <code>copyDataFromArray</code> case in
@@ -305,6 +314,98 @@ public final class DataBlock
      */
     private java.util.Vector data = null;
 
+    /**
+     * the <code>PayloadSlab</code> holding the data payload.
+     * <p>
+     * When non-null, the data payload is a view of <code>slabLength</code>
+     * bytes starting at <code>slabOffset</code> within the slab.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #packInto(com.rbnb.api.PayloadSlab)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private PayloadSlab slab = null;
+
+    /**
+     * the offset of the view within the <code>PayloadSlab</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int slabOffset = 0;
+
+    /**
+     * the number of bytes of the view within the <code>PayloadSlab</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int slabLength = 0;
+
+    /**
+     * the compressed data payload.
+     * <p>
+     * When non-null, the data payload has been compressed and
+     * <code>data</code> is null. The payload is decompressed into a
+     * temporary copy each time that it is needed, unless
+     * <code>keepInflated</code> is set.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #compress()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private byte[] compressed = null;
+
+    /**
+     * the <code>PayloadCodec</code> used to compress the data payload.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private byte compressedCodec = 0;
+
+    /**
+     * the number of bytes in the uncompressed data payload.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int compressedLength = 0;
+
+    /**
+     * keep the decompressed data payload?
+     * <p>
+     * This is set for clones of a compressed <code>DataBlock</code>, which
+     * are short-lived copies made to extract the data, so that the payload
+     * is decompressed only once for each of them.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #inflate()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean keepInflated = false;
+
     // Private constants:
     private static final byte PAR_DAT = 0;
     private static final byte PAR_DRF = 1;
@@ -637,7 +738,7 @@ public final class DataBlock
      * @param dataI the data to add.
      * @param nPtsI the number of additional points.
      * @since V2.0
-     * @version 08/09/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -645,10 +746,16 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Decompress a compressed payload for good.
      * 08/09/2001  INB	Created.
      *
      */
     public final void addData(Object dataI,int nPtsI) {
+	if (compressed != null) {
+	    // The payload is being changed, so it can no longer be kept in
+	    // compressed form.
+	    keepInflated = true;
+	}
 	java.util.Vector lData = getData();
 	lData.addElement(dataI);
 	setNpts(getNpts() + nPtsI);
@@ -663,7 +770,7 @@ public final class DataBlock
      * @param indexI the array index.
      * @return the number of bytes.
      * @since V2.0
-     * @version 08/15/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -671,6 +778,7 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Handle <code>PayloadSlab</code> views.
      * 08/08/2001  INB	Created.
      *
      */
@@ -678,7 +786,9 @@ public final class DataBlock
 	Object entry = getData().elementAt(indexI);
 	int bytesR;
 
-	if (entry instanceof byte[]) {
+	if ((slab != null) && (indexI == 0)) {
+	    bytesR = slabLength - getOffset();
+	} else if (entry instanceof byte[]) {
 	    bytesR = ((byte[]) entry).length;
 	    if (indexI == 0) {
 		bytesR -= getOffset();
@@ -700,7 +810,7 @@ public final class DataBlock
      *
      * @return the clone.
      * @since V2.0
-     * @version 02/20/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -708,6 +818,10 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clone a <code>PayloadSlab</code> view into an array
+     *			of its own.
+     *		   INB	Share the bytes of a compressed payload. The clone
+     *			keeps its payload once it is decompressed.
      * 11/30/2000  INB	Created.
      *
      */
@@ -718,6 +832,30 @@ public final class DataBlock
 		clonedR.numPoints = numPoints;
 		clonedR.pointSize = pointSize;
 
+	if (slab != null) {
+	    // A view of a <code>PayloadSlab</code> is cloned into an array of
+	    // its own, as the slab goes back to the pool when its
+	    // <code>FrameSet</code> is cleared.
+	    if (getDreference() != null) {
+		clonedR.setDreference((DataReference) getDreference().clone());
+	    }
+	    clonedR.setData(getUnpackedData());
+	    return (clonedR);
+	}
+
+	byte[] lCompressed = compressed;
+	if (lCompressed != null) {
+	    // The compressed bytes are never changed, so the clone can share
+	    // them.
+	    if (getDreference() != null) {
+		clonedR.setDreference((DataReference) getDreference().clone());
+	    }
+	    clonedR.compressedCodec = compressedCodec;
+	    clonedR.compressedLength = compressedLength;
+	    clonedR.compressed = lCompressed;
+	    clonedR.keepInflated = true;
+	    return (clonedR);
+	}
 
 
 
@@ -796,6 +934,150 @@ public final class DataBlock
 	return (clonedR);
     }
 
+    /**
+     * Compresses the data payload of this <code>DataBlock</code>.
+     * <p>
+     * Only payloads held in byte arrays with no offset and a stride equal to
+     * the point size are compressed. <code>FLOAT32</code> and
+     * <code>FLOAT64</code> data is compressed using the
+     * <code>PayloadCodec.XOR</code> codec, anything else using the
+     * <code>PayloadCodec.LZ</code> codec. The payload is only kept in
+     * compressed form if that is smaller.
+     * <p>
+     * A compressed payload is decompressed into a temporary copy each time
+     * that it is retrieved by <code>getData</code>, so the
+     * <code>DataBlock</code> stays compressed. Clones keep their copy.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return was the payload compressed?
+     * @see #getData()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized boolean compress() {
+	if ((slab != null) ||
+	    (compressed != null) ||
+	    (data == null) ||
+	    (getDtype() == TYPE_STRING) ||
+	    (getOffset() != 0) ||
+	    (getStride() != getPtsize()) ||
+	    (getNpts()*getPtsize() < PayloadCodec.MINIMUM_LENGTH) ||
+	    !isAllBytes()) {
+	    return (false);
+	}
+
+	byte[] raw = new byte[getNpts()*getPtsize()];
+	if (copyBytesTo(raw,0) != raw.length) {
+	    // The payload is short, which means that it has been omitted.
+	    return (false);
+	}
+
+	boolean lsb = (getWorder() == ORDER_LSB);
+	byte codec = PayloadCodec.LZ;
+	byte[] encoded = null;
+	if (((getDtype() == TYPE_FLOAT32) && (getPtsize() == 4)) ||
+	    ((getDtype() == TYPE_FLOAT64) && (getPtsize() == 8))) {
+	    codec = PayloadCodec.XOR;
+	    encoded = PayloadCodec.encode(codec,raw,getPtsize(),lsb);
+	}
+	if (encoded == null) {
+	    codec = PayloadCodec.LZ;
+	    encoded = PayloadCodec.encode(codec,raw,getPtsize(),lsb);
+	}
+	if (encoded == null) {
+	    return (false);
+	}
+
+	compressedCodec = codec;
+	compressedLength = raw.length;
+	compressed = encoded;
+	data = null;
+
+	return (true);
+    }
+
+    /**
+     * Concatenates the data of another <code>DataBlock</code> to the end of
+     * the data of this one.
+     * <p>
+     * The two <code>DataBlocks</code> must describe the same kind of data:
+     * the same data type, point size, word order, and MIME type, with the
+     * points packed one after the other in byte arrays. Neither can be a
+     * view of a <code>PayloadSlab</code>.
+     * <p>
+     * Neither <code>DataBlock</code> is changed. The result is a new
+     * <code>DataBlock</code> holding a single byte array with the points of
+     * this one followed by those of the input.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param otherI the other <code>DataBlock</code>.
+     * @return the combined <code>DataBlock</code> or null if the two cannot
+     *	       be combined.
+     * @see com.rbnb.api.TimeRange#extend(int,com.rbnb.api.TimeRange,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final DataBlock concatenate(DataBlock otherI) {
+	if ((slab != null) ||
+	    (otherI.slab != null) ||
+	    (getData() == null) ||
+	    (otherI.getData() == null) ||
+	    (getDtype() == TYPE_STRING) ||
+	    (getDtype() != otherI.getDtype()) ||
+	    (getPtsize() != otherI.getPtsize()) ||
+	    (getWorder() != otherI.getWorder()) ||
+	    (getIndivFlg() != otherI.getIndivFlg()) ||
+	    (getOffset() != 0) ||
+	    (otherI.getOffset() != 0) ||
+	    (getStride() != getPtsize()) ||
+	    (otherI.getStride() != otherI.getPtsize()) ||
+	    ((getMIMEType() == null) ?
+	     (otherI.getMIMEType() != null) :
+	     !getMIMEType().equals(otherI.getMIMEType())) ||
+	    !isAllBytes() ||
+	    !otherI.isAllBytes()) {
+	    return (null);
+	}
+
+	byte[] nData = new byte[(getNpts() + otherI.getNpts())*getPtsize()];
+	int at = copyBytesTo(nData,0);
+	otherI.copyBytesTo(nData,at);
+
+	DataBlock blockR = new DataBlock();
+	blockR.setData(nData);
+	blockR.setNpts(getNpts() + otherI.getNpts());
+	blockR.setPtsize(getPtsize());
+	blockR.setDtype(getDtype());
+	blockR.setMIMEType(getMIMEType());
+	blockR.setWorder(getWorder());
+	blockR.setIndivFlg(getIndivFlg());
+	blockR.setOffsetStride(0,getStride());
+
+	return (blockR);
+    }
+
     /**
      * Copies elements from the input array of bytes to the output array of
      * primitives, converting along the way.
@@ -1266,6 +1548,50 @@ public final class DataBlock
 	}
     }
 
+    /**
+     * Copies the points of this <code>DataBlock</code> into a byte array.
+     * <p>
+     * The data must be held in byte arrays with no offset and a stride equal
+     * to the point size. The data may be a single array holding all of the
+     * points or one array per point.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param outputI the output array.
+     * @param indexI  the index at which to start copying.
+     * @return the index following the last byte copied.
+     * @see #concatenate(com.rbnb.api.DataBlock)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final int copyBytesTo(byte[] outputI,int indexI) {
+	java.util.Vector lData = getData();
+	int remaining = getNpts()*getPtsize(),
+	    indexR = indexI;
+
+	for (int idx = 0, nEntries = lData.size();
+	     (remaining > 0) && (idx < nEntries);
+	     ++idx) {
+	    byte[] entry = (byte[]) lData.elementAt(idx);
+	    int length = Math.min(remaining,entry.length);
+	    System.arraycopy(entry,0,outputI,indexR,length);
+	    indexR += length;
+	    remaining -= length;
+	}
+
+	return (indexR);
+    }
+
     /**
      * Copies primitives from the input data array to the output data array
      * based on the information in this <code>DataReference</code>.
@@ -1468,15 +1794,20 @@ public final class DataBlock
      * Creates an output buffer for this data pool for the input
      * <code>DataBlock</code>.
      * <p>
+     * If the input buffer is of the right type and is big enough, it is
+     * returned rather than creating a new one.
+     * <p>
      *
      * @author Ian Brown
      *
-     * @param dRefI  the <code>DataBlock</code>.
+     * @param dRefI     the <code>DataBlock</code>.
+     * @param nPts      the number of points the buffer must hold.
+     * @param bufferI   the buffer to reuse if possible. May be null.
      * @return the output array.
      * @exception java.lang.IllegalStateException
      *		  thrown if the output type does not match the input type.
      * @since V2.0
-     * @version 09/20/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1484,16 +1815,24 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Reuse the input buffer if possible. Made this
+     *			accessible from outside this class.
      * 11/30/2000  INB	Created.
      *
      */
-    private final Object createOutputBuffer(DataBlock dRefI) {
+    final Object createOutputBuffer(DataBlock dRefI,
+				    int nPts,
+				    Object bufferI)
+    {
 	Object entry = getData().firstElement(),
 	       bufferR = null;
-	int    nPts = getNpts()*dRefI.getNpts();
 
 	if (entry instanceof byte[]) {
-	    bufferR = new byte[nPts*dRefI.getPtsize()];
+	    bufferR = (((bufferI instanceof byte[]) &&
+			(((byte[]) bufferI).length >=
+			 nPts*dRefI.getPtsize())) ?
+		       bufferI :
+		       new byte[nPts*dRefI.getPtsize()]);
 
 	} else if (entry instanceof byte[][]) {
 	    if ((dRefI.getDtype() != UNKNOWN) &&
@@ -1502,7 +1841,10 @@ public final class DataBlock
 		    ("Cannot convert from BOOLEAN to " +
 		     TYPES[dRefI.getDtype()] + ".");
 	    }
-	    bufferR = new byte[nPts][];
+	    bufferR = (((bufferI instanceof byte[][]) &&
+			(((byte[][]) bufferI).length >= nPts)) ?
+		       bufferI :
+		       new byte[nPts][]);
 
 	} else if (entry instanceof boolean[]) {
 	    if ((dRefI.getDtype() != UNKNOWN) &&
@@ -1511,7 +1853,10 @@ public final class DataBlock
 		    ("Cannot convert from BOOLEAN to " +
 		     TYPES[dRefI.getDtype()] + ".");
 	    }
-	    bufferR = new short[nPts];
+	    bufferR = (((bufferI instanceof short[]) &&
+			(((short[]) bufferI).length >= nPts)) ?
+		       bufferI :
+		       new short[nPts]);
 
 	} else if (entry instanceof short[]) {
 	    if ((dRefI.getDtype() != UNKNOWN) &&
@@ -1520,7 +1865,10 @@ public final class DataBlock
 		    ("Cannot convert from INT16 to " +
 		     TYPES[dRefI.getDtype()] + ".");
 	    }
-	    bufferR = new short[nPts];
+	    bufferR = (((bufferI instanceof short[]) &&
+			(((short[]) bufferI).length >= nPts)) ?
+		       bufferI :
+		       new short[nPts]);
 
 	} else if (entry instanceof int[]) {
 	    if ((dRefI.getDtype() != UNKNOWN) &&
@@ -1529,7 +1877,10 @@ public final class DataBlock
 		    ("Cannot convert from INT32 to " +
 		     TYPES[dRefI.getDtype()] + ".");
 	    }
-	    bufferR = new int[nPts];
+	    bufferR = (((bufferI instanceof int[]) &&
+			(((int[]) bufferI).length >= nPts)) ?
+		       bufferI :
+		       new int[nPts]);
 
 	} else if (entry instanceof long[]) {
 	    if ((dRefI.getDtype() != UNKNOWN) &&
@@ -1538,7 +1889,10 @@ public final class DataBlock
 		    ("Cannot convert from INT64 to " +
 		     TYPES[dRefI.getDtype()] + ".");
 	    }
-	    bufferR = new long[nPts];
+	    bufferR = (((bufferI instanceof long[]) &&
+			(((long[]) bufferI).length >= nPts)) ?
+		       bufferI :
+		       new long[nPts]);
 	} else if (entry instanceof float[]) {
 	    if ((dRefI.getDtype() != UNKNOWN) &&
 		(dRefI.getDtype() != TYPE_FLOAT32)) {
@@ -1546,7 +1900,10 @@ public final class DataBlock
 		    ("Cannot convert from FLOAT32 to " +
 		     TYPES[dRefI.getDtype()] + ".");
 	    }
-	    bufferR = new float[nPts];
+	    bufferR = (((bufferI instanceof float[]) &&
+			(((float[]) bufferI).length >= nPts)) ?
+		       bufferI :
+		       new float[nPts]);
 
 	} else if (entry instanceof double[]) {
 	    if ((dRefI.getDtype() != UNKNOWN) &&
@@ -1555,7 +1912,10 @@ public final class DataBlock
 		    ("Cannot convert from FLOAT64 to " +
 		     TYPES[dRefI.getDtype()] + ".");
 	    }
-	    bufferR = new double[nPts];
+	    bufferR = (((bufferI instanceof double[]) &&
+			(((double[]) bufferI).length >= nPts)) ?
+		       bufferI :
+		       new double[nPts]);
 
 	} else if ((entry instanceof String) ||
 		   (entry instanceof String[])) {
@@ -1565,7 +1925,10 @@ public final class DataBlock
 		    ("Cannot convert from STRING to " +
 		     TYPES[dRefI.getDtype()] + ".");
 	    }
-	    bufferR = new String[nPts];
+	    bufferR = (((bufferI instanceof String[]) &&
+			(((String[]) bufferI).length >= nPts)) ?
+		       bufferI :
+		       new String[nPts]);
 	}
 
 	return (bufferR);
@@ -1693,8 +2056,9 @@ public final class DataBlock
      * @exception java.lang.IllegalStateException
      *		  thrown if there is a mismatch between this data pool and the
      *		  the <code>DataReference</code>.
+     * @see #extractData(com.rbnb.api.DataBlock,Object,int)
      * @since V2.0
-     * @version 08/30/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1702,10 +2066,57 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Moved the work to the reusable buffer version.
      * 11/30/2000  INB	Created.
      *
      */
     public final Object extractData(DataBlock dRefI) {
+	return (extractData(dRefI,null,0));
+    }
+
+    /**
+     * Extracts data from this data pool for the input <code>DataBlock</code>
+     * into a caller supplied buffer.
+     * <p>
+     * The extracted points are copied into the buffer starting at the
+     * specified point index. If the buffer is null, is not of the right type,
+     * or is too small to hold the points, a new buffer is created.
+     * <p>
+     * When the input <code>DataBlock</code> describes a single point per
+     * frame of byte data, the points are gathered with one
+     * <code>System.arraycopy</code> each, walking the data payload one element
+     * at a time.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param dRefI    the <code>DataReference</code> (<code>DataBlock</code>).
+     * @param bufferI  the buffer to fill in. May be null.
+     * @param indexI   the point index to start at in the buffer.
+     * @return the buffer containing the extracted data. This is
+     *	       <code>bufferI</code> if it was used.
+     * @exception java.lang.IllegalStateException
+     *		  thrown if there is a mismatch between this data pool and the
+     *		  the <code>DataReference</code>.
+     * @see #extractData(com.rbnb.api.DataBlock)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created from <code>extractData(DataBlock)</code>.
+     *			Added the gather copy.
+     *		   INB	Check the bounds of each point in the gather copy.
+     *
+     */
+    public final Object extractData(DataBlock dRefI,
+				    Object bufferI,
+				    int indexI)
+    {
 	if ((getDtype() != UNKNOWN) &&
 	    (dRefI.getDtype() != getDtype())) {
 	    throw new java.lang.IllegalStateException
@@ -1721,8 +2132,11 @@ public final class DataBlock
 
 	// The total number of points is equal to the number of points in this
 	// data pool times the number of points in the
-	// <code>DataBlock/code>. Create an output object of the correct type.
-	Object dataR = createOutputBuffer(dRefI);
+	// <code>DataBlock/code>. Get an output object of the correct type.
+	Object dataR = createOutputBuffer(dRefI,
+					  indexI + getNpts()*dRefI.getNpts(),
+					  bufferI);
+	java.util.Vector lData = getData();
 
 	if ((getStride() == getPtsize()) &&
 	    (dRefI.getNpts() == 1) &&
@@ -1732,15 +2146,15 @@ public final class DataBlock
 	    // and the points are contiguous, do the copy in a single pass per
 	    // element of the vector.
 	    for (int idx = 0,
-		     offset = getOffset(),
-		     point = 0,
+		     offset = getPayloadOffset(),
+		     point = indexI,
 		     remaining = getNpts(),
-		     nEntries = getData().size();
+		     nEntries = lData.size();
 		 idx < nEntries;
 		 ++idx) {
 		int nPoints = Math.min(pointsInElement(idx),remaining);
 		dRefI.copyDataFromArray
-		    (getData().elementAt(idx),
+		    (lData.elementAt(idx),
 		     offset,
 		     dataR,
 		     point,
@@ -1750,33 +2164,92 @@ public final class DataBlock
 		remaining -= nPoints;
 	    }
 
+	} else if ((dRefI.getNpts() == 1) &&
+		   (dataR instanceof byte[]) &&
+		   isAllBytes()) {
+	    // When pulling a single point of bytes out of each frame, gather
+	    // the points straight out of the elements of the vector. The
+	    // first element of a <code>PayloadSlab</code> view starts
+	    // <code>base</code> bytes into the slab. The offset to the first
+	    // point is part of the first element, so it counts towards
+	    // <code>nBytes</code>.
+	    byte[] output = (byte[]) dataR,
+		   element = (byte[]) lData.firstElement();
+
+	    for (int idx = 0,
+		     idx1 = 0,
+		     base = slabOffset,
+		     sOffset = 0,
+		     nBytes = getOffset() + bytesInElement(idx1),
+		     pStride = getStride(),
+		     dPtsize = dRefI.getPtsize(),
+		     dOffset = dRefI.getOffset(),
+		     from = getOffset(),
+		     to = indexI*dPtsize,
+		     nvPts = getNpts(),
+		     nEntries = lData.size();
+		 idx < nvPts;
+		 ++idx,
+		     from += pStride,
+		     to += dPtsize) {
+		if (from - sOffset + dOffset + dPtsize > nBytes) {
+		    throw new java.lang.IllegalStateException
+			("Cannot get " + dPtsize +
+			 " bytes at offset " + (from - sOffset + dOffset) +
+			 ", stride " + pStride +
+			 " from an element of " + nBytes + " bytes.");
+		}
+		System.arraycopy(element,
+				 base + from - sOffset + dOffset,
+				 output,
+				 to,
+				 dPtsize);
+		if (from + pStride - sOffset >= nBytes) {
+		    ++idx1;
+		    base = 0;
+		    sOffset += nBytes;
+		    if (idx1 < nEntries) {
+			element = (byte[]) lData.elementAt(idx1);
+			nBytes = bytesInElement(idx1);
+		    } else {
+			// There is nothing left to read, so any further point
+			// is out of bounds.
+			nBytes = 0;
+		    }
+		}
+	    }
+
 	} else {
 	    // If we have to skip through the input, do so.
+	    Object element = lData.firstElement();
+
 	    for (int idx = 0,
 		     idx1 = 0,
+		     base = slabOffset,
 		     sOffset = 0,
-		     nBytes = bytesInElement(idx1),
+		     nBytes = getOffset() + bytesInElement(idx1),
 		     pStride = getStride(),
-		     pNpts = getNpts(),
 		     dNpts = dRefI.getNpts(),
 		     from = getOffset(),
-		     to = 0,
+		     to = indexI,
 		     nvPts = getNpts(),
-		     nEntries = getData().size();
+		     nEntries = lData.size();
 		 idx < nvPts;
 		 ++idx,
 		     from += pStride,
 		     to += dNpts) {
 		dRefI.copyDataFromArray
-		    (getData().elementAt(idx1),
-		     from - sOffset,
+		    (element,
+		     base + from - sOffset,
 		     dataR,
 		     to,
 		     dNpts);
 		if (from + pStride - sOffset >= nBytes) {
 		    ++idx1;
+		    base = 0;
 		    sOffset += nBytes;
 		    if (idx1 < nEntries) {
+			element = lData.elementAt(idx1);
 			nBytes = bytesInElement(idx1);
 		    }
 		}
@@ -1785,7 +2258,7 @@ public final class DataBlock
 
 	return (dataR);
     }
-
+
     /**
      * Extracts inherited information from this <code>DataBlock</code> and the
      * input <code>DataBlock</code> to produce a new inherted
@@ -1860,13 +2333,21 @@ public final class DataBlock
      * <li>A single array of primitives (shorts or floats, etc.), or</li>
      * <li>One byte array per data point.</li>
      * </ul><p>
+     * For a view of a <code>PayloadSlab</code>, the single array is the whole
+     * slab. The view starts at <code>getPayloadOffset</code> and the slab
+     * goes back to the pool when its <code>FrameSet</code> is cleared, so
+     * callers that keep the payload should use
+     * <code>getUnpackedData</code>.
+     * <p>
      *
      * @author Ian Brown
      *
      * @return the data payload.
+     * @see #getPayloadOffset()
+     * @see #getUnpackedData()
      * @see #setData(Object)
      * @since V2.0
-     * @version 08/09/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -1874,11 +2355,18 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Decompress a compressed payload.
      * 11/30/2000  INB	Created.
      *
      */
     public final java.util.Vector getData() {
-	return (data);
+	java.util.Vector dataR = data;
+
+	if ((dataR == null) && (compressed != null)) {
+	    dataR = inflate();
+	}
+
+	return (dataR);
     }
 
     /**
@@ -1899,7 +2387,7 @@ public final class DataBlock
      * @exception java.lang.IllegalStateException
      *		  thrown if there is a problem with the data sizes.
      * @since V2.0
-     * @version 11/10/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1907,6 +2395,7 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Start partway into a <code>PayloadSlab</code> view.
      * 11/10/2003  INB	Added <code>copyDataFromArray</code> case to the
      *			multiple data elements case to handle things on the
      *			server side.
@@ -1919,8 +2408,10 @@ public final class DataBlock
 			     int nPointsI)
     {
 	if (getData().size() == 1) {
+	    // The first element of a <code>PayloadSlab</code> view starts
+	    // partway into the slab.
 	    copyDataFromArray(getData().firstElement(),
-			      startI*getPtsize(),
+			      slabOffset + startI*getPtsize(),
 			      outputI,
 			      indexI,
 			      nPointsI);
@@ -2102,6 +2593,36 @@ public final class DataBlock
 		getDreference().getOffset());
     }
 
+    /**
+     * Gets the number of bytes to the first point within the first element
+     * of the data payload.
+     * <p>
+     * For a view of a <code>PayloadSlab</code>, this includes the offset of
+     * the view within the slab. Use it rather than <code>getOffset</code>
+     * when indexing the arrays returned by <code>getData</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of bytes to the first point.
+     * @see #getData()
+     * @see #getOffset()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getPayloadOffset() {
+	return (slabOffset + getOffset());
+    }
+
     /**
      * Gets the size of a point in bytes.
      * <p>
@@ -2154,6 +2675,43 @@ public final class DataBlock
 	return ((rStride == 0) ? getPtsize() : rStride);
     }
 
+    /**
+     * Gets the data payload in arrays of its own.
+     * <p>
+     * For a view of a <code>PayloadSlab</code>, the view is copied out of
+     * the slab, so the result can be kept after the slab goes back to the
+     * pool. Otherwise, this is the same as <code>getData</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the data payload.
+     * @see #getData()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final java.util.Vector getUnpackedData() {
+	if (slab == null) {
+	    return (getData());
+	}
+
+	byte[] entry = new byte[slabLength];
+	System.arraycopy(slab.getBytes(),slabOffset,entry,0,slabLength);
+	java.util.Vector dataR = new java.util.Vector(1);
+	dataR.addElement(entry);
+
+	return (dataR);
+    }
+
     /**
      * Gets the order of bytes within a point.
      * <p>
@@ -2191,7 +2749,7 @@ public final class DataBlock
      * @author Ian Brown
      *
      * @since V2.2
-     * @version 07/30/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -2199,10 +2757,16 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Drop any <code>PayloadSlab</code> view.
+     *		   INB	Drop any compressed payload.
      * 07/30/2003  INB	Created.
      *
      */
     public final void nullify() {
+	slab = null;
+	slabOffset = 0;
+	slabLength = 0;
+	compressed = null;
 	if (reference != null) {
 	    reference.nullify();
 	    reference = null;
@@ -2213,6 +2777,164 @@ public final class DataBlock
 	}
     }
 
+    /**
+     * Packs the data payload of this <code>DataBlock</code> into a
+     * <code>PayloadSlab</code>.
+     * <p>
+     * Only payloads consisting of a single, non-empty array of bytes are
+     * packed. On success, the payload is copied into the slab and this
+     * <code>DataBlock</code> is left holding a view of the copy.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param slabI  the <code>PayloadSlab</code>.
+     * @return was the payload packed? A false return with a payload that can
+     *	       be packed means that there is not enough room left in the slab.
+     * @see #isPackable()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean packInto(PayloadSlab slabI) {
+	if (!isPackable()) {
+	    return (false);
+	}
+
+	byte[] bytes = (byte[]) getData().firstElement();
+	int offset = slabI.append(bytes,0,bytes.length);
+
+	if (offset == -1) {
+	    return (false);
+	}
+
+	java.util.Vector nData = new java.util.Vector(1);
+	nData.addElement(slabI.getBytes());
+	data = nData;
+	slab = slabI;
+	slabOffset = offset;
+	slabLength = bytes.length;
+
+	return (true);
+    }
+
+    /**
+     * Decompresses the data payload of this <code>DataBlock</code>.
+     * <p>
+     * The result is a temporary copy; this <code>DataBlock</code> keeps the
+     * compressed payload unless <code>keepInflated</code> is set.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the data payload.
+     * @see #compress()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final synchronized java.util.Vector inflate() {
+	if (compressed == null) {
+	    return (data);
+	}
+
+	java.util.Vector dataR = new java.util.Vector(1);
+	dataR.addElement(PayloadCodec.decode(compressedCodec,
+					     compressed,
+					     compressedLength,
+					     getPtsize(),
+					     getWorder() == ORDER_LSB));
+	if (keepInflated) {
+	    data = dataR;
+	    compressed = null;
+	}
+
+	return (dataR);
+    }
+
+    /**
+     * Are all of the elements of the data payload arrays of bytes?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return are the elements all byte arrays?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final boolean isAllBytes() {
+	java.util.Vector lData = getData();
+
+	for (int idx = 0, nEntries = lData.size(); idx < nEntries; ++idx) {
+	    if (!(lData.elementAt(idx) instanceof byte[])) {
+		return (false);
+	    }
+	}
+
+	return (true);
+    }
+
+    /**
+     * Can the data payload of this <code>DataBlock</code> be packed into a
+     * <code>PayloadSlab</code>?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return can the payload be packed?
+     * @see #packInto(com.rbnb.api.PayloadSlab)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean isPackable() {
+	if ((slab != null) ||
+	    (compressed != null) ||
+	    (getData() == null) ||
+	    (getData().size() != 1)) {
+	    return (false);
+	}
+
+	Object entry = getData().firstElement();
+
+	return ((entry instanceof byte[]) &&
+		(((byte[]) entry).length > 0) &&
+		(((byte[]) entry).length <= PayloadSlab.getMaximumPayload()));
+    }
+
     /**
      * Returns the number of points in the specified element of the data
      * vector.
@@ -2223,7 +2945,7 @@ public final class DataBlock
      * @param indexI the element index.
      * @return the number of points.
      * @since V2.0
-     * @version 08/14/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -2231,6 +2953,7 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Handle <code>PayloadSlab</code> views.
      * 08/08/2001  INB	Created.
      *
      */
@@ -2238,7 +2961,9 @@ public final class DataBlock
 	Object element = getData().elementAt(indexI);
 	int nPointsR = 0;
 
-	if (element instanceof byte[][]) {
+	if ((slab != null) && (indexI == 0)) {
+	    return (bytesInElement(indexI)/getPtsize());
+	} else if (element instanceof byte[][]) {
 	    byte[][] bElement = (byte[][]) element;
 	    nPointsR = bElement.length*bElement[0].length/getPtsize();
 	} else if (element instanceof String) {
@@ -2756,7 +3481,7 @@ public final class DataBlock
      * @param dataI  the data payload.
      * @see #getData()
      * @since V2.0
-     * @version 05/02/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -2764,12 +3489,19 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Replacing the data drops any <code>PayloadSlab</code>
+     *			view.
+     *		   INB	Replacing the data drops any compressed payload.
      * 05/02/2003  INB	Call <code>Vector(1)</code> rather than
      *			<code>Vector()</code>.
      * 11/30/2000  INB	Created.
      *
      */
     public final void setData(Object dataI) {
+	slab = null;
+	slabOffset = 0;
+	slabLength = 0;
+	compressed = null;
 	if (dataI != null) {
 	    if (dataI instanceof java.util.Vector) {
 		data = (java.util.Vector) dataI;
@@ -3411,7 +4143,7 @@ public final class DataBlock
      *		  thrown if there is a problem with I/O.
      * @see #readData(com.rbnb.api.DataInputStream)
      * @since V2.0
-     * @version 08/15/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -3419,6 +4151,8 @@ public final class DataBlock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Write only the bytes of a <code>PayloadSlab</code>
+     *			view.
      * 08/15/2001  INB	Created.
      *
      */
@@ -3426,7 +4160,9 @@ public final class DataBlock
 	throws java.io.EOFException,
 	       java.io.IOException
     {
-	if (getData() != null) {
+	if (slab != null) {
+	    dosI.write(slab.getBytes(),slabOffset,slabLength);
+	} else if (getData() != null) {
 	    dosI.write(getData());
 	}
     }
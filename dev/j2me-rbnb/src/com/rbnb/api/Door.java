@@ -30,7 +30,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.Lock
  * @since V2.0
- * @version 11/17/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -41,6 +41,12 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added <code>TRACK_LOCATIONS</code> and
+ *			<code>needsIdentification</code>, so that the lock
+ *			locations and identifications used for debugging are
+ *			only kept up-to-date when asked for.
+ *		   INB	Record the time spent waiting for locks in the
+ *			<code>HotPathMetrics</code>.
  * 11/17/2003  INB	Added <code>clear</code> method.
  *			<code>java.lang.InterruptedExceptions</code> always
  *			clear out any <code>Locks</code>.  Clear the thread out
@@ -138,6 +144,28 @@ final class Door {
      * @version 05/10/2001
      */
     final static byte STANDARD = 0;
+
+    /**
+     * keep track of the locations that apply <code>Locks</code>?
+     * <p>
+     * The locations and the up-to-date identification of the
+     * <code>Doors</code> are only needed to debug lock ups. They are kept if
+     * the <code>LOGRBNBEVENTS</code> system property contains
+     * <code>Locks</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #needsIdentification()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static boolean TRACK_LOCATIONS;
+
+    static {
+	String events = System.getProperty("LOGRBNBEVENTS");
+	TRACK_LOCATIONS = ((events != null) && (events.indexOf("Locks") != -1));
+    }
 
     /**
      * Class constructor.
@@ -451,7 +479,7 @@ final class Door {
      * @see #lockRead(String)
      * @see #unlock()
      * @since V2.0
-     * @version 11/17/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -459,17 +487,22 @@ final class Door {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Record the wait in the <code>HotPathMetrics</code>.
      * 11/12/2003  INB	Created.
      *
      */
     final void lock(String locationI)
 	throws java.lang.InterruptedException
     {
+	long startAt = HotPathMetrics.startTimer();
+
 	if (getTypeOfLock() == STANDARD) {
 	    getPrimaryLock().grab(locationI,false,false);
 	} else {
 	    lockReadWrite(locationI);
 	}
+
+	HotPathMetrics.stopTimer(HotPathMetrics.DOOR_WAIT,startAt);
     }
 
     /**
@@ -512,7 +545,7 @@ final class Door {
      * @see #lock()
      * @see #unlockRead()
      * @since V2.0
-     * @version 11/17/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -520,6 +553,7 @@ final class Door {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Record the wait in the <code>HotPathMetrics</code>.
      * 11/17/2003  INB	Ensure that no <code>Lock</code> is set on an
      *			<code>InterruptedException</code>.  Clear the thread on
      *			release of the primary <code>Lock</code>.
@@ -529,6 +563,7 @@ final class Door {
     final void lockRead(String locationI)
 	throws java.lang.InterruptedException
     {
+	long startAt = HotPathMetrics.startTimer();
 	boolean grabbed = false;
 
 	try {
@@ -585,6 +620,8 @@ final class Door {
 		}
 	    }
 	}
+
+	HotPathMetrics.stopTimer(HotPathMetrics.DOOR_WAIT,startAt);
     }
 
     /**
@@ -740,6 +777,38 @@ final class Door {
 	}
     }
 
+    /**
+     * Does this <code>Door</code> need its identification set?
+     * <p>
+     * Building the identification can cost more than the lock itself, so
+     * code that sets it each time it locks the <code>Door</code> should
+     * check this first. Unless <code>TRACK_LOCATIONS</code> is set, the
+     * identification is only set the first time.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return set the identification?
+     * @see #setIdentification(String)
+     * @see #TRACK_LOCATIONS
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean needsIdentification() {
+	return (TRACK_LOCATIONS ||
+		(identification == null) ||
+		(identification.length() == 0));
+    }
+
     /**
      * Nullifies this <code>Door</code>.
      * <p>
@@ -0,0 +1,413 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Reduces the numeric channels in a response <code>Rmap</code> to a fixed
+ * number of buckets.
+ * <p>
+ * When the <code>RequestOptions</code> for a sink ask for downsampling, each
+ * numeric channel in a response with more points than the requested number
+ * of buckets is split into that many buckets of consecutive points. Each
+ * bucket is replaced by one summary point (the minimum, maximum, or mean of
+ * the bucket) or, for <code>RequestOptions.DOWNSAMPLE_MIN_MAX</code>, by
+ * its minimum and maximum in time order. The summary points are returned as
+ * <code>FLOAT64</code> values with individual point times.
+ * <p>
+ * Channels that are not numeric or that already fit in the requested number
+ * of points are passed through unchanged.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.RequestOptions#setDownsample(int)
+ * @see com.rbnb.api.StreamDHListener#downsample(com.rbnb.api.Serializable)
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class Downsampler {
+
+    /**
+     * Class constructor.
+     * <p>
+     * This class has only static methods.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private Downsampler() {
+	super();
+    }
+
+    /**
+     * Summarizes a set of points into buckets.
+     * <p>
+     * The points are divided into <code>bucketsI</code> runs of consecutive
+     * points of as near equal length as possible. The results are returned
+     * as a two element array holding the times and the values of the
+     * summary points.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param timesI   the point times.
+     * @param dataI    the data array.
+     * @param nPointsI the number of points.
+     * @param bucketsI the number of buckets.
+     * @param modeI    the downsampling mode.
+     * @return the summary times and values.
+     * @see com.rbnb.api.RequestOptions#DOWNSAMPLE_MEAN
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static double[][] bucket(double[] timesI,
+				   Object dataI,
+				   int nPointsI,
+				   int bucketsI,
+				   byte modeI)
+    {
+	int perBucket = (modeI == RequestOptions.DOWNSAMPLE_MIN_MAX) ? 2 : 1;
+	double[] times = new double[bucketsI*perBucket],
+	    values = new double[bucketsI*perBucket];
+	int nOut = 0;
+
+	for (int idx = 0; idx < bucketsI; ++idx) {
+	    int start = (int) (((long) idx)*nPointsI/bucketsI),
+		end = (int) (((long) (idx + 1))*nPointsI/bucketsI);
+	    if (start == end) {
+		continue;
+	    }
+
+	    int minAt = start,
+		maxAt = start;
+	    double minimum = valueAt(dataI,start),
+		maximum = minimum,
+		sum = minimum,
+		tSum = timesI[start];
+	    for (int idx1 = start + 1; idx1 < end; ++idx1) {
+		double value = valueAt(dataI,idx1);
+		if (value < minimum) {
+		    minimum = value;
+		    minAt = idx1;
+		} else if (value > maximum) {
+		    maximum = value;
+		    maxAt = idx1;
+		}
+		sum += value;
+		tSum += timesI[idx1];
+	    }
+
+	    switch (modeI) {
+	    case RequestOptions.DOWNSAMPLE_MIN:
+		times[nOut] = timesI[minAt];
+		values[nOut++] = minimum;
+		break;
+
+	    case RequestOptions.DOWNSAMPLE_MAX:
+		times[nOut] = timesI[maxAt];
+		values[nOut++] = maximum;
+		break;
+
+	    case RequestOptions.DOWNSAMPLE_MIN_MAX:
+		// Keep the two points in time order so that the result can be
+		// plotted as is.
+		int firstAt = (minAt <= maxAt) ? minAt : maxAt,
+		    lastAt = (minAt <= maxAt) ? maxAt : minAt;
+		times[nOut] = timesI[firstAt];
+		values[nOut++] = valueAt(dataI,firstAt);
+		if (lastAt != firstAt) {
+		    times[nOut] = timesI[lastAt];
+		    values[nOut++] = valueAt(dataI,lastAt);
+		}
+		break;
+
+	    default:
+		times[nOut] = tSum/(end - start);
+		values[nOut++] = sum/(end - start);
+		break;
+	    }
+	}
+
+	if (nOut < times.length) {
+	    double[] nTimes = new double[nOut],
+		nValues = new double[nOut];
+	    System.arraycopy(times,0,nTimes,0,nOut);
+	    System.arraycopy(values,0,nValues,0,nOut);
+	    times = nTimes;
+	    values = nValues;
+	}
+
+	double[][] resultR = { times, values };
+	return (resultR);
+    }
+
+    /**
+     * Downsamples a response <code>Rmap</code>.
+     * <p>
+     * If no channel needs to be reduced, the input is returned as is.
+     * Otherwise, a new response is built holding the channels that are
+     * passed through, extracted from the input, followed by the reduced
+     * channels. An <code>EndOfStream</code> input produces an
+     * <code>EndOfStream</code> with the same reason.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param responseI the response <code>Rmap</code>.
+     * @param roI	the <code>RequestOptions</code>.
+     * @return the downsampled response.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static Rmap downsample(Rmap responseI,RequestOptions roI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if ((roI == null) ||
+	    (roI.getDownsample() <= 0) ||
+	    !responseI.isImplemented(Rmap.OPR_EXTRACTION)) {
+	    return (responseI);
+	}
+
+	int buckets = roI.getDownsample(),
+	    limit = ((roI.getDownsampleMode() ==
+		      RequestOptions.DOWNSAMPLE_MIN_MAX) ?
+		     2*buckets :
+		     buckets);
+	String[] names = responseI.extractNames();
+	Rmap reduced = null,
+	    kept = null;
+
+	for (int idx = 0; idx < names.length; ++idx) {
+	    DataArray array = responseI.extract(names[idx]);
+
+	    if (!isNumeric(array) || (array.getNumberOfPoints() <= limit)) {
+		if (kept == null) {
+		    kept = new Rmap();
+		}
+		kept.addChannel(names[idx]).markLeaf();
+		continue;
+	    }
+
+	    double[][] summary = bucket(array.getTime(),
+					array.getData(),
+					array.getNumberOfPoints(),
+					buckets,
+					roI.getDownsampleMode());
+	    DataBlock dBlock = new DataBlock(toBytes(summary[1]),
+					     summary[1].length,
+					     8,
+					     DataBlock.TYPE_FLOAT64,
+					     DataBlock.ORDER_MSB,
+					     false,
+					     0,
+					     8);
+	    dBlock.setMIMEType(array.getMIMEType());
+	    if (reduced == null) {
+		reduced = new Rmap();
+	    }
+	    Rmap channel = reduced.addChannel(names[idx]);
+	    channel.setDblock(dBlock);
+	    channel.setTrange(new TimeRange(summary[0],0.));
+	}
+
+	if (reduced == null) {
+	    return (responseI);
+	}
+
+	Rmap responseR = ((responseI instanceof EndOfStream) ?
+			  new EndOfStream(((EndOfStream) responseI).getReason()) :
+			  new Rmap());
+	if (kept != null) {
+	    responseR.addChild(responseI.extractRmap(kept,true));
+	}
+	responseR.addChild(reduced);
+
+	return (responseR);
+    }
+
+    /**
+     * Can the data in a <code>DataArray</code> be downsampled?
+     * <p>
+     * Only single value numeric data types with point times can be
+     * downsampled.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param arrayI the <code>DataArray</code>.
+     * @return can the data be downsampled?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isNumeric(DataArray arrayI) {
+	if ((arrayI.getData() == null) || (arrayI.getTime() == null)) {
+	    return (false);
+	}
+
+	switch (arrayI.getDataType()) {
+	case DataBlock.TYPE_INT8:
+	    return (arrayI.getData() instanceof byte[]);
+
+	case DataBlock.TYPE_INT16:
+	case DataBlock.TYPE_INT32:
+	case DataBlock.TYPE_INT64:
+	case DataBlock.TYPE_FLOAT32:
+	case DataBlock.TYPE_FLOAT64:
+	    return (true);
+
+	default:
+	    return (false);
+	}
+    }
+
+    /**
+     * Converts an array of doubles to <code>FLOAT64</code> bytes in MSB order.
+     * <p>
+     * The data is returned in the raw form that the server stores, so that
+     * it can be extracted by a local sink as well as being written out.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param valuesI the values.
+     * @return the bytes.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static byte[] toBytes(double[] valuesI) {
+	byte[] bytesR = new byte[valuesI.length*8];
+
+	for (int idx = 0, idx1 = 0; idx < valuesI.length; ++idx) {
+	    long bits = Double.doubleToLongBits(valuesI[idx]);
+	    for (int shift = 56; shift >= 0; shift -= 8) {
+		bytesR[idx1++] = (byte) (bits >>> shift);
+	    }
+	}
+
+	return (bytesR);
+    }
+
+    /**
+     * Gets a point from a numeric data array as a double.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param dataI  the data array.
+     * @param indexI the index of the point.
+     * @return the value of the point.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static double valueAt(Object dataI,int indexI) {
+	if (dataI instanceof double[]) {
+	    return (((double[]) dataI)[indexI]);
+	} else if (dataI instanceof float[]) {
+	    return (((float[]) dataI)[indexI]);
+	} else if (dataI instanceof int[]) {
+	    return (((int[]) dataI)[indexI]);
+	} else if (dataI instanceof short[]) {
+	    return (((short[]) dataI)[indexI]);
+	} else if (dataI instanceof long[]) {
+	    return (((long[]) dataI)[indexI]);
+	}
+	return (((byte[]) dataI)[indexI]);
+    }
+}
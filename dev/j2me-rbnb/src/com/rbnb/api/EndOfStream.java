@@ -31,7 +31,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 03/28/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -41,6 +41,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Clones now copy the <code>Rmap</code> fields.
  * 03/28/2003  INB	Eliminated unnecessary synchronization.
  * 04/16/2001  INB	Created.
  *
@@ -829,8 +830,17 @@ public class EndOfStream
 
 	public Object clone()
 	{
-		EndOfStream clonedR = new EndOfStream();
-		clonedR.reason = reason;
+		Object clonedR = new EndOfStream();
+		cloned(clonedR);
 		return clonedR;
 	}
+
+	/** Copies all the fields of the object to the given object
+	 */
+	protected void cloned(Object o)
+	{
+		super.cloned(o);
+		EndOfStream clonedR = (EndOfStream)o;
+		clonedR.reason = reason;
+	}
 }
@@ -1,5 +1,33 @@
 package com.rbnb.api;
 
+/**
+ * Archive <code>FrameManager</code>.
+ * <p>
+ * In the full server, a <code>FileSet</code> keeps its frames in a set of
+ * header, data and registration files in the archive directory. This port
+ * runs without a file system (see <code>com.rbnb.compat.File</code> and
+ * <code>com.rbnb.compat.RandomAccessFile</code>), so the class is only a
+ * placeholder that lets <code>Archive</code> compile: its streams are
+ * <code>null</code> and reading or writing the archive does nothing.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.Archive
+ * @since V2.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2001, 2002, 2003, 2004 Creare Inc.
+ * All Rights Reserved
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Documented that this port has no on-disk archive.
+ *
+ */
 class FileSet extends FrameManager
 {
 
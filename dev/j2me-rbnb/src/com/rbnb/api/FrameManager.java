@@ -27,7 +27,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.Archive
  * @see com.rbnb.api.Cache
  * @since V2.0
- * @version 01/06/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -38,6 +38,12 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Only set the identification of the <code>Door</code>
+ *			in <code>addElement</code> when it is needed.
+ *		   INB	Added <code>needsReadLock</code>, which lets subclasses
+ *			skip the read lock in <code>matches</code> and
+ *			<code>moveDownFrom</code>.
+ *		   INB	Added the counts of the data stored.
  * 01/06/2004  INB	Added <code>AddressException</code> to the list thrown
  *			by <code>clear</code> method.
  * 12/11/2003  INB	Added <code>RequestOptions</code> to
@@ -68,6 +74,32 @@ package com.rbnb.api;
 abstract class FrameManager
     extends com.rbnb.api.RmapWithMetrics
 {
+    /**
+     * the number of bytes of data counted for this
+     * <code>FrameManager</code> by its <code>StorageManager</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.StorageManager#addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long countedBytes = 0;
+
+    /**
+     * the number of frames counted for this <code>FrameManager</code> by its
+     * <code>StorageManager</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.StorageManager#addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long countedFrames = 0;
+
     /**
      * the <code>Door</code> to this <code>FrameManager</code>.
      * <p>
@@ -205,6 +237,36 @@ abstract class FrameManager
 	setIndex(idIndexI);
     }
 
+    /**
+     * Adds to the counts of the data in this <code>FrameManager</code>.
+     * <p>
+     * The counts are kept so that the <code>StorageManager</code> can take
+     * back exactly what it counted when it removes this
+     * <code>FrameManager</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param bytesI  the number of bytes added.
+     * @param framesI the number of frames added.
+     * @see #getCountedBytes()
+     * @see #getCountedFrames()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void addCounts(long bytesI,long framesI) {
+	countedBytes += bytesI;
+	countedFrames += framesI;
+    }
     /**
      * Adds an element <code>Rmap</code> to this <code>FrameManager</code>
      * object.
@@ -227,7 +289,7 @@ abstract class FrameManager
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -235,6 +297,8 @@ abstract class FrameManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only set the identification of the <code>Door</code>
+     *			when it is needed.
      * 11/14/2003  INB	Added identification to the <code>Door</code> and
      *			locations to the <code>Locks</code>.
      * 02/09/2001  INB	Created.
@@ -249,8 +313,10 @@ abstract class FrameManager
     {
 	try {
 	    // Lock the <code>Door</code>.
-	    getDoor().setIdentification(getFullName() + "/" +
-					getClass() + "_" + getIndex());
+	    if (getDoor().needsIdentification()) {
+		getDoor().setIdentification(getFullName() + "/" +
+					    getClass() + "_" + getIndex());
+	    }
 	    getDoor().lock("FrameManager.addElement");
 
 	    // The registration is no longer up-to-date.
@@ -673,6 +739,53 @@ abstract class FrameManager
 	return (comparedR);
     }
 
+    /**
+     * Gets the number of bytes of data counted for this
+     * <code>FrameManager</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of bytes.
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final long getCountedBytes() {
+	return (countedBytes);
+    }
+    /**
+     * Gets the number of frames counted for this <code>FrameManager</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of frames.
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final long getCountedFrames() {
+	return (countedFrames);
+    }
     /**
      * Gets the <code>Door</code> to this <code>FrameManager</code>.
      * <p>
@@ -883,7 +996,7 @@ abstract class FrameManager
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 11/17/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -891,6 +1004,8 @@ abstract class FrameManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only lock the <code>Door</code> if
+     *			<code>needsReadLock</code> says to.
      * 11/14/2003  INB	Added location to the <code>Lock</code>.
      * 10/17/2003  INB	Don't update the registration here.
      * 03/13/2001  INB	Created.
@@ -926,8 +1041,10 @@ abstract class FrameManager
 	    // is nothing, then assume that we might have a match.
 	    boolean locked = false;
 	    try {
-		getDoor().lockRead("FrameManager.matches");
-		locked = true;
+		if (needsReadLock()) {
+		    getDoor().lockRead("FrameManager.matches");
+		    locked = true;
+		}
 
 		if (getSummary() != null) {
 //                    System.err.println("mjm FrameManager isWithinLimits: "+requestI);
@@ -977,7 +1094,7 @@ abstract class FrameManager
      *		  source <code>Rmap</code> hierarchy or in extracting the
      *		  desired information.
      * @since V2.0
-     * @version 11/17/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -985,6 +1102,8 @@ abstract class FrameManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only lock the <code>Door</code> if
+     *			<code>needsReadLock</code> says to.
      * 11/17/2003  INB	Ensure that a <code>Lock</code> is set before clearing
      *			it.
      * 11/14/2003  INB	Added location to the <code>Lock</code>.
@@ -1040,8 +1159,10 @@ abstract class FrameManager
 			       " moveDownFrom read lock.");
 	    */
 
-	    getDoor().lockRead("FrameManager.moveDownFrom");
-	    locked = true;
+	    if (needsReadLock()) {
+		getDoor().lockRead("FrameManager.moveDownFrom");
+		locked = true;
+	    }
 
 	    // Match against the children of this <code>FrameManager</code>.
 	    reasonR = super.moveDownFrom(extractorI,unsatisfiedI,unsatisfiedO);
@@ -1062,6 +1183,34 @@ abstract class FrameManager
 	return (reasonR);
     }
 
+    /**
+     * Do readers of this <code>FrameManager</code> need to lock its
+     * <code>Door</code>?
+     * <p>
+     * This implementation returns true.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return lock the <code>Door</code> for reading?
+     * @see #matches(com.rbnb.api.Rmap,com.rbnb.api.DataRequest)
+     * @see #moveDownFrom(com.rbnb.api.RmapExtractor,com.rbnb.api.ExtractedChain,java.util.Vector)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    boolean needsReadLock() {
+	return (true);
+    }
+
     /**
      * Creates a new instance of the same class as this
      * <code>FrameManager</code> (or a similar class).
@@ -1556,6 +1705,8 @@ abstract class FrameManager
 	{
 		super.cloned(o);
 		FrameManager clonedR = (FrameManager)o;
+		clonedR.countedBytes = countedBytes;
+		clonedR.countedFrames = countedFrames;
 		clonedR.door = door;
 		clonedR.idIndex = idIndex;
 		clonedR.lastRegistration = lastRegistration;
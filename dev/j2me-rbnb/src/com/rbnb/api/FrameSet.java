@@ -26,7 +26,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.FileSet
  * @see com.rbnb.api.Cache
  * @since V2.0
- * @version 01/06/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -37,6 +37,21 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added the time limits of each channel stored in the
+ *			<code>FrameSet</code>, used to answer
+ *			<code>matchTimeRelative</code> without moving down.
+ *		   INB	Coalesce consecutive single channel frames of the same
+ *			shape when the <code>Cache</code> asks for it.
+ *		   INB	Compress the payloads when closing a <code>FrameSet</code>
+ *			of a <code>Cache</code> in compressed payload mode.
+ *		   INB	Readers need not lock closed <code>FrameSets</code>
+ *			of a <code>Cache</code> in single writer mode.
+ *		   INB	Added <code>compact</code> for the <code>WarmCache</code>.
+ *		   INB	Record the time spent reading and writing the
+ *			<code>Archive</code> in the <code>HotPathMetrics</code>.
+ * 10/18/2026  INB	Added packed payload mode, in which the payloads of
+ *			the frames stored in a <code>Cache FrameSet</code> are
+ *			copied into pooled <code>PayloadSlabs</code>.
  * 11/08/2006  EMF      Use markers on archive recovery to reduce memory needs.
  * 01/06/2004  INB	The <code>reduceToSkeleton</code> method always does
  *			the reduction, after ensuring that a parent is
@@ -98,6 +113,17 @@ final class FrameSet
      */
     private FileSet filesetParent = null;
 
+    /**
+     * has this <code>FrameSet</code> been closed?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean closed = false;
+
     /**
      * the file offset of the data.
      * <p>
@@ -165,6 +191,50 @@ final class FrameSet
      */
     private long regHeaderOffset = -1;
 
+    /**
+     * the current <code>PayloadSlab</code> for each channel.
+     * <p>
+     * This is only used when the <code>Cache</code> packs payloads.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #packPayloads(com.rbnb.api.Rmap,String)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Hashtable slabs = null;
+
+    /**
+     * all of the <code>PayloadSlabs</code> in use by this
+     * <code>FrameSet</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #releaseSlabs()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Vector usedSlabs = null;
+
+    /**
+     * the time limits of the frames of each channel.
+     * <p>
+     * Each entry maps the name of a channel to an array holding the start of
+     * its first frame and the end of its last frame. The limits are only
+     * kept for frames that hold a single channel. They are dropped as soon as
+     * any other kind of frame is stored.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #getChannelLimits(com.rbnb.api.TimeRelativeRequest)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Hashtable channelLimits = new java.util.Hashtable();
+
     //EMF 6/19/06
     private DataArray da = null;
 
@@ -497,7 +567,7 @@ final class FrameSet
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 01/06/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -505,6 +575,8 @@ final class FrameSet
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Release the <code>PayloadSlabs</code>. Drop the
+     *			channel limits.
      * 01/06/2004  INB	Throw <code>AddressExceptions</code> up to our caller
      *			and always reduce.
      * 11/14/2003  INB	Added location to the <code>Lock</code>.
@@ -526,6 +598,12 @@ final class FrameSet
 	    // Clear out our children.
 	    setChildren(null);
 
+	    // Return any payload slabs to the pool.
+	    releaseSlabs();
+
+	    // There are no frames left to limit.
+	    channelLimits = null;
+
 	    // Reduce to a skeleton.
 	    reduceToSkeleton();
 
@@ -552,7 +630,7 @@ final class FrameSet
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 02/19/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -560,6 +638,11 @@ final class FrameSet
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Compress the payloads if our <code>Cache</code> asks for
+     *			it.
+     *		   INB	Mark the <code>FrameSet</code> as closed.
+     *		   INB	Record the time spent writing to the
+     *			<code>Archive</code> in the <code>HotPathMetrics</code>.
      * 02/19/2003  INB	Our grandparent is now a <code>RingBuffer</code>.
      * 06/05/2001  INB	Created.
      *
@@ -580,11 +663,369 @@ final class FrameSet
 	// If there is an <code>Archive</code>, then write this
 	// <code>FrameSet</code> to it.
 	if (((RingBuffer) getParent().getParent()).getArchive() != null) {
+	    long startAt = HotPathMetrics.startTimer();
 	    ((RingBuffer)
 	     getParent().getParent()).getArchive().addElement(this);
+	    HotPathMetrics.stopTimer(HotPathMetrics.ARCHIVE_WRITE,startAt);
 	}
+
+	// Compress after writing to the <code>Archive</code>, as the write
+	// needs the payloads as they are.
+	if ((getParent() instanceof Cache) &&
+	    ((Cache) getParent()).getCompressPayloads()) {
+	    compressPayloads(this);
+	}
+
+	closed = true;
     }
 
+    /**
+     * Compacts this closed <code>FrameSet</code> for a <code>WarmCache</code>.
+     * <p>
+     * The data payloads are compressed. Payloads held in
+     * <code>PayloadSlabs</code> are already packed and are left as they are.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem with I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if this operation is interrupted.
+     * @see com.rbnb.api.WarmCache#retain(com.rbnb.api.FrameSet)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void compact()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	compressPayloads(this);
+    }
+
+    /**
+     * Compresses the data payloads of an <code>Rmap</code> hierarchy.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rmapI  the top of the hierarchy.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem with I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if this operation is interrupted.
+     * @see com.rbnb.api.DataBlock#compress()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static void compressPayloads(Rmap rmapI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if (rmapI.getDblock() != null) {
+	    rmapI.getDblock().compress();
+	}
+
+	for (int idx = 0, endIdx = rmapI.getNchildren(); idx < endIdx; ++idx) {
+	    compressPayloads(rmapI.getChildAt(idx));
+	}
+    }
+
+    /**
+     * Tries to add a single channel frame to the end of the newest frame in
+     * this <code>FrameSet</code>.
+     * <p>
+     * Both frames are compared in the shape that <code>storeElement</code>
+     * sees: the name of their single channel and the time range, frame
+     * range, and <code>DataBlock</code> found on the way down to it (see
+     * <code>frameShape</code>). When the newest child is a channel
+     * <code>Rmap</code> holding its frames, the newest of those frames is
+     * used. They must be for the same channel and have the same ranges. The
+     * newest frame is then changed to hold the points
+     * of both frames if:
+     * <p><ul>
+     * <li>the <code>DataBlocks</code> can be concatenated,</li>
+     * <li>each of the <code>TimeRanges</code> can be extended, which means
+     *     that the new frame follows on directly from the newest one,
+     *     and</li>
+     * <li>the result holds no more than the limit on the number of
+     *     points.</li>
+     * </ul><p>
+     * The existing <code>DataBlock</code> and <code>TimeRanges</code> are
+     * replaced rather than changed, so anything that has already been
+     * extracted from them is unaffected.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param frameI the new frame.
+     * @param limitI the maximum number of points in the result.
+     * @return was the frame coalesced?
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #frameShape(com.rbnb.api.Rmap,String)
+     * @see com.rbnb.api.Cache#setCoalescePoints(int)
+     * @see com.rbnb.api.DataBlock#concatenate(com.rbnb.api.DataBlock)
+     * @see com.rbnb.api.TimeRange#extend(int,com.rbnb.api.TimeRange,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final boolean coalesceFrame(Rmap frameI,int limitI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if (getNchildren() == 0) {
+	    return (false);
+	}
+
+	// Reduce both frames to the shape that <code>storeElement</code> sees:
+	// the name of the single channel and the <code>Rmaps</code> holding the
+	// time range, the frame range, and the <code>DataBlock</code>.
+	Rmap newest = getChildAt(getNchildren() - 1);
+	Object[] mine = frameShape(newest,""),
+	    other = frameShape(frameI,"");
+	if ((mine == null) &&
+	    (newest.getName() != null) &&
+	    (newest.getNchildren() > 1) &&
+	    (newest.getDblock() == null)) {
+	    // A channel <code>Rmap</code> holding its frames as children, so
+	    // use the newest of those frames.
+	    mine = frameShape(newest.getChildAt(newest.getNchildren() - 1),
+			      "/" + newest.getName());
+	}
+	if ((mine == null) ||
+	    (other == null) ||
+	    !mine[0].equals(other[0]) ||
+	    ((mine[1] == null) != (other[1] == null)) ||
+	    ((mine[2] == null) != (other[2] == null))) {
+	    return (false);
+	}
+	Rmap myTime = (Rmap) mine[1],
+	    myFrame = (Rmap) mine[2],
+	    myData = (Rmap) mine[3],
+	    oData = (Rmap) other[3];
+
+	int myPoints = myData.getDblock().getNpts(),
+	    oPoints = oData.getDblock().getNpts();
+	if (myPoints + oPoints > limitI) {
+	    return (false);
+	}
+	DataBlock nBlock = myData.getDblock().concatenate(oData.getDblock());
+	if (nBlock == null) {
+	    return (false);
+	}
+
+	// Build the new ranges before changing anything.
+	TimeRange nTrange = null,
+	    nFrange = null;
+	if (myTime != null) {
+	    nTrange = (TimeRange) myTime.getTrange().clone();
+	    if (!nTrange.extend(myPoints,
+				((Rmap) other[1]).getTrange(),
+				oPoints)) {
+		return (false);
+	    }
+	}
+	if (myFrame != null) {
+	    // Each frame has a single frame index for all of its points. Give
+	    // each point its own copy of the index so that the ranges can be
+	    // joined.
+	    nFrange = pointFrames(myFrame.getFrange(),myPoints);
+	    if (!nFrange.extend
+		(myPoints,
+		 pointFrames(((Rmap) other[2]).getFrange(),oPoints),
+		 oPoints)) {
+		return (false);
+	    }
+	}
+
+	if (myTime != null) {
+	    myTime.setTrange(nTrange);
+	}
+	if (myFrame != null) {
+	    myFrame.setFrange(nFrange);
+	}
+	myData.setDblock(nBlock);
+
+	return (true);
+    }
+
+    /**
+     * Reduces a single channel frame to its normalized shape.
+     * <p>
+     * The frame must be a chain of <code>Rmaps</code>, each with at most one
+     * child, ending in a <code>DataBlock</code>. Each of the time range, the
+     * frame range, and the <code>DataBlock</code> may appear at only one
+     * level.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param frameI   the frame.
+     * @param prefixI  the name of the parent of the frame, if any.
+     * @return an array holding the full name of the channel, and the
+     *	      <code>Rmaps</code> holding the time range, the frame range, and
+     *	      the <code>DataBlock</code> (null if there is no time or frame
+     *	      range), or null if the frame does not have this shape.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #coalesceFrame(com.rbnb.api.Rmap,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static Object[] frameShape(Rmap frameI,String prefixI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	Object[] shapeR = new Object[4];
+	StringBuffer name = new StringBuffer(prefixI);
+	for (Rmap level = frameI;
+	     level != null;
+	     level = ((level.getNchildren() == 0) ?
+		      null :
+		      level.getChildAt(0))) {
+	    if ((level.getNchildren() > 1) ||
+		((level.getDblock() != null) && (level.getNchildren() != 0)) ||
+		((level.getTrange() != null) && (shapeR[1] != null)) ||
+		((level.getFrange() != null) && (shapeR[2] != null))) {
+		return (null);
+	    }
+	    if ((level.getName() != null) && (level.getName().length() != 0)) {
+		name.append("/").append(level.getName());
+	    }
+	    if (level.getTrange() != null) {
+		shapeR[1] = level;
+	    }
+	    if (level.getFrange() != null) {
+		shapeR[2] = level;
+	    }
+	    if (level.getDblock() != null) {
+		shapeR[3] = level;
+	    }
+	}
+	if ((shapeR[3] == null) || (name.length() == 0)) {
+	    return (null);
+	}
+	shapeR[0] = name.toString();
+
+	return (shapeR);
+    }
+
+    /**
+     * Gets the time limits of the channel of a
+     * <code>TimeRelativeRequest</code>.
+     * <p>
+     * Limits are only returned for requests for a single channel whose
+     * frames have all been recorded.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param requestI  the <code>TimeRelativeRequest</code>.
+     * @return the start and end of the channel's frames or null if they are
+     *	      not known.
+     * @see #indexFrame(com.rbnb.api.Rmap)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final double[] getChannelLimits(TimeRelativeRequest requestI) {
+	java.util.Hashtable limits = channelLimits;
+	if ((limits == null) ||
+	    limits.isEmpty() ||
+	    (requestI.getByChannel().size() != 1)) {
+	    return (null);
+	}
+
+	String channelName = ((TimeRelativeChannel)
+			      requestI.getByChannel().firstElement
+			      ()).getChannelName().substring
+	    (requestI.getNameOffset());
+	if (channelName.startsWith("/")) {
+	    channelName = channelName.substring(1);
+	}
+
+	return ((double[]) limits.get(channelName));
+    }
+
     /**
      * Gets the byte offset to the data for this <code>FrameSet</code> within
      * the <code>FileSet</code> archive data file.
@@ -716,6 +1157,71 @@ final class FrameSet
 	return (regHeaderOffset);
     }
 
+    /**
+     * Adds the time of a frame to the limits of its channel.
+     * <p>
+     * If the frame does not hold a single channel or has no time, the
+     * channel limits are dropped, since they can no longer describe all of
+     * the frames.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param frameI  the frame.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #frameShape(com.rbnb.api.Rmap,String)
+     * @see #getChannelLimits(com.rbnb.api.TimeRelativeRequest)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void indexFrame(Rmap frameI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if (channelLimits == null) {
+	    return;
+	}
+
+	Object[] shape = frameShape(frameI,"");
+	double[] limits;
+	if ((shape == null) ||
+	    (shape[1] == null) ||
+	    ((limits = ((Rmap) shape[1]).getTrange().getLimits()) == null)) {
+	    channelLimits = null;
+	    return;
+	}
+
+	// Readers may be looking at the old limits, so they are replaced
+	// rather than changed.
+	String name = ((String) shape[0]).substring(1);
+	double[] channel = (double[]) channelLimits.get(name);
+	if (channel != null) {
+	    limits = new double[] {
+		Math.min(channel[0],limits[0]),
+		Math.max(channel[1],limits[1])
+	    };
+	}
+	channelLimits.put(name,limits);
+    }
+
     /**
      * Loads this <code>FrameSet</code> from the <code>Archive</code>.
      * <p>
@@ -738,7 +1244,7 @@ final class FrameSet
      *		  source <code>Rmap</code> hierarchy or in extracting the
      *		  desired information.
      * @since V2.2
-     * @version 11/10/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -746,6 +1252,7 @@ final class FrameSet
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Record the read time in the <code>HotPathMetrics</code>.
      * 11/03/2003  INB	Created.
      *
      */
@@ -778,7 +1285,9 @@ final class FrameSet
 	    fs.setHoffset(getHoffset());
 	    fs.setRdoffset(getRdoffset());
 	    fs.setRhoffset(getRhoffset());
+	    long startAt = HotPathMetrics.startTimer();
 	    gotIt = fs.readFromArchive();
+	    HotPathMetrics.stopTimer(HotPathMetrics.ARCHIVE_READ,startAt);
 
 	} else {
 	    gotIt = true;
@@ -834,7 +1343,7 @@ final class FrameSet
      *		  thrown if the <code>Rmap</code> hierarchy contains
      *		  information that cannot be processed by this code.
      * @since V2.2
-     * @version 12/11/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -842,6 +1351,7 @@ final class FrameSet
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the channel's time limits if there are any.
      * 12/11/2003  INB	Added <code>RequestOptions</code> to
      *			<code>TimeRelativeRequest</code> handling to allow the
      *			code to do the right thing for
@@ -868,7 +1378,16 @@ final class FrameSet
 	*/
 
 	TimeRelativeResponse responseR = new TimeRelativeResponse();
-	if ((getSummary() == null) || (getSummary().getTrange() == null)) {
+	double[] limits = getChannelLimits(requestI);
+	if (limits != null) {
+	    // When the time limits of the requested channel are known, compare
+	    // against just those. This avoids moving down into the frames when
+	    // the channel's data lies to one side of the request.
+	    responseR.setStatus
+		(requestI.compareToTimeRange
+		 (new TimeRange(limits[0],limits[1] - limits[0])));
+	} else if ((getSummary() == null) ||
+		   (getSummary().getTrange() == null)) {
 	    responseR.setStatus(1);
 	} else {
 	    responseR.setStatus
@@ -1001,6 +1520,38 @@ final class FrameSet
 	return (reasonR);
     }
 
+    /**
+     * Do readers of this <code>FrameSet</code> need to lock its
+     * <code>Door</code>?
+     * <p>
+     * When the <code>Cache</code> is in single writer mode, a closed
+     * <code>FrameSet</code> is never changed except by the
+     * <code>Cache</code> while it holds its own write lock, so readers do
+     * not need to lock the <code>FrameSet</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return lock the <code>Door</code> for reading?
+     * @see com.rbnb.api.Cache#getSingleWriter()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean needsReadLock() {
+	return (!closed ||
+		!(getParent() instanceof Cache) ||
+		!((Cache) getParent()).getSingleWriter());
+    }
+
     /**
      * Nullifies this <code>FrameSet</code>.
      * <p>
@@ -1012,7 +1563,7 @@ final class FrameSet
      * @author Ian Brown
      *
      * @since V2.2
-     * @version 07/30/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1020,14 +1571,122 @@ final class FrameSet
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Release the <code>PayloadSlabs</code>. Drop the
+     *			channel limits.
      * 07/30/2003  INB	Created.
      *
      */
     public final void nullify() {
 	super.nullify();
+	releaseSlabs();
+	channelLimits = null;
 	setFileSet(null);
     }
+
+    /**
+     * Packs the data payloads of a frame into this <code>FrameSet's</code>
+     * <code>PayloadSlabs</code>.
+     * <p>
+     * Each channel gets its own slabs, so that the payloads of a channel stay
+     * contiguous. Payloads that cannot be packed are left alone.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rmapI  the <code>Rmap</code> to pack.
+     * @param nameI  the name of the <code>Rmap</code> relative to the top of
+     *		     the frame.
+     * @see #releaseSlabs()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void packPayloads(Rmap rmapI,String nameI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	String name = nameI;
+	if (rmapI.getName() != null) {
+	    name = ((nameI == null) ?
+		    rmapI.getName() :
+		    nameI + "/" + rmapI.getName());
+	}
+
+	DataBlock dBlock = rmapI.getDblock();
+	if ((dBlock != null) && dBlock.isPackable()) {
+	    if (slabs == null) {
+		slabs = new java.util.Hashtable();
+		usedSlabs = new java.util.Vector();
+	    }
+	    String key = (name == null) ? "" : name;
+	    PayloadSlab slab = (PayloadSlab) slabs.get(key);
+
+	    if ((slab == null) || !dBlock.packInto(slab)) {
+		// Start a new slab for the channel when the current one is
+		// full.
+		slab = PayloadSlab.acquire();
+		usedSlabs.addElement(slab);
+		slabs.put(key,slab);
+		dBlock.packInto(slab);
+	    }
+	}
+
+	for (int idx = 0, endIdx = rmapI.getNchildren(); idx < endIdx; ++idx) {
+	    packPayloads(rmapI.getChildAt(idx),name);
+	}
+    }
 
+    /**
+     * Builds a frame <code>TimeRange</code> with one frame index per point.
+     * <p>
+     * A frame <code>TimeRange</code> normally has a single index with no
+     * duration, which applies to all of the points of the frame. This is
+     * expanded so that each point has its own copy of the index.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param frI	the frame <code>TimeRange</code>.
+     * @param nPointsI  the number of points.
+     * @return the expanded frame <code>TimeRange</code>.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static TimeRange pointFrames(TimeRange frI,int nPointsI) {
+	if ((frI.getNptimes() != 1) ||
+	    (nPointsI <= 1) ||
+	    (frI.getDuration() != 0.)) {
+	    return ((TimeRange) frI.clone());
+	}
+
+	double[] frames = new double[nPointsI];
+	for (int idx = 0; idx < nPointsI; ++idx) {
+	    frames[idx] = frI.getTime();
+	}
+
+	return (new TimeRange(frames,0.));
+    }
+
     /**
      * Reads a <code>FrameSet</code> from an archive.
      * <p>
@@ -1437,6 +2096,39 @@ final class FrameSet
 	}
     }
 
+    /**
+     * Returns the <code>PayloadSlabs</code> used by this
+     * <code>FrameSet</code> to the pool.
+     * <p>
+     * This is called once the frames have been cleared out, so nothing refers
+     * to the slabs any longer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #packPayloads(com.rbnb.api.Rmap,String)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void releaseSlabs() {
+	if (usedSlabs != null) {
+	    for (int idx = 0, endIdx = usedSlabs.size(); idx < endIdx; ++idx) {
+		PayloadSlab.release((PayloadSlab) usedSlabs.elementAt(idx));
+	    }
+	    usedSlabs = null;
+	    slabs = null;
+	}
+    }
+
     /**
      * Reframes this <code>FrameSet</code> by collapsing time information as
      * much as possible.
@@ -1633,7 +2325,7 @@ final class FrameSet
      *		  input is the same type as a current parent.
      * @see com.rbnb.api.Rmap#getParent()
      * @since V2.0
-     * @version 05/22/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -1641,6 +2333,8 @@ final class FrameSet
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	A <code>WarmCache</code> is a parent like a
+     *			<code>Cache</code>.
      * 02/09/2001  INB	Created.
      *
      */
@@ -1649,7 +2343,8 @@ final class FrameSet
 	    super.setParent(null);
 	    super.setParent(getFileSet());
 
-	} else if (parentI instanceof Cache) {
+	} else if ((parentI instanceof Cache) ||
+		   (parentI instanceof WarmCache)) {
 	    if ((getParent() == null) || (getParent() instanceof Cache)) {
 		super.setParent(parentI);
 	    } else {
@@ -1743,7 +2438,7 @@ final class FrameSet
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 02/19/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1751,6 +2446,13 @@ final class FrameSet
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Record the time limits of single channel frames.
+     *		   INB	Coalesce single channel frames when the
+     *			<code>Cache</code> asks for it.
+     *		   INB	Do not pack single channel frames that may be
+     *			coalesced.
+     * 10/18/2026  INB	Pack the payloads into <code>PayloadSlabs</code> when
+     *			the <code>Cache</code> asks for it.
      * 02/19/2003  INB	The <code>SinkHandler</code> is now three levels up.
      * 02/09/2001  INB	Created.
      *
@@ -1766,6 +2468,7 @@ final class FrameSet
 	    // If we are working for an <code>SinkHandler</code>, just add the
 	    // frame directly into the <code>FrameSet</code>.
 	    super.addChild(frameI);
+	    channelLimits = null;
 
 	} else {
             //EMF 7/6/06: change frameI so chan at top, maybe more
@@ -1788,7 +2491,24 @@ final class FrameSet
               } while (db==null || tr==null || fr==null);
             }
 
-            if (db!=null) {
+            boolean pack = ((getParent() instanceof Cache) &&
+			    ((Cache) getParent()).getPackPayloads());
+	    int coalesce = ((getParent() instanceof Cache) ?
+			    ((Cache) getParent()).getCoalescePoints() :
+			    0);
+
+	    // Record the time limits of the frame's channel before the frame
+	    // is coalesced or merged.
+	    indexFrame(frameI);
+
+            if ((coalesce > 1) && coalesceFrame(frameI,coalesce)) {
+	      // The frame was added to the end of the newest frame.
+            } else if (db!=null) {
+              if (pack && (coalesce <= 1)) {
+		// Packed payloads cannot be coalesced, so coalescing takes
+		// precedence.
+                packPayloads(frameI,null);
+              }
               Rmap newFrame = new Rmap();
               newFrame.setName(name);
               Rmap child = new Rmap();
@@ -1798,6 +2518,11 @@ final class FrameSet
               newFrame.addChild(child);
               Rmap ret = super.mergeWith(newFrame);
             } else {
+            if (pack && (coalesce <= 1)) {
+	      // Packed payloads cannot be coalesced, so coalescing takes
+	      // precedence.
+              packPayloads(frameI,null);
+            }
             // For regular <code>SourceHandlers</code>, merge the frame
             // <code>Rmap</code> into the frames <code>Rmap</code>.
             Rmap ret = super.mergeWith(frameI);
@@ -0,0 +1,557 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Records where the server spends its time on the paths that handle data.
+ * <p>
+ * When the <code>hotmetrics</code> system property is set, the server keeps
+ * <code>LatencyHistograms</code> of:
+ * <p><ul>
+ * <li><code>DoorWait</code> - the time spent waiting to lock a
+ *     <code>Door</code>,</li>
+ * <li><code>RequestMatch</code> - the time spent matching a request against
+ *     a <code>RingBuffer</code>,</li>
+ * <li><code>ArchiveRead</code> - the time spent reading a
+ *     <code>FrameSet</code> back from an <code>Archive</code>,</li>
+ * <li><code>ArchiveWrite</code> - the time spent writing a
+ *     <code>FrameSet</code> to an <code>Archive</code>, and</li>
+ * <li><code>Sink/</code><i>name</i><code>/Fetch</code> - the time from a
+ *     sink's request to the first response for it,</li>
+ * </ul><p>
+ * along with the number of frames and bytes received from each source and
+ * the depth of the server's activity queue. All latencies are in
+ * milliseconds.
+ * <p>
+ * The values are published by the server's <code>MetricsCollector</code> as
+ * channels of its <code>_Metrics</code> source, so they can be read by any
+ * sink. Each histogram reports the count, the 50th, 90th, and 99th
+ * percentiles, and the maximum over the metrics interval.
+ * <p>
+ * When the property is not set, starting a timer returns -1 and nothing is
+ * recorded, so the instrumented paths only pay for one test.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.LatencyHistogram
+ * @see com.rbnb.api.RBNB#calculateMetrics(long,long)
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class HotPathMetrics {
+
+    /**
+     * the time spent reading <code>FrameSets</code> from an
+     * <code>Archive</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static LatencyHistogram ARCHIVE_READ = new LatencyHistogram();
+
+    /**
+     * the time spent writing <code>FrameSets</code> to an
+     * <code>Archive</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static LatencyHistogram ARCHIVE_WRITE = new LatencyHistogram();
+
+    /**
+     * the number of stripes that <code>DOOR_WAIT</code> is split over.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int DOOR_STRIPES = 8;
+
+    /**
+     * the time spent waiting to lock <code>Doors</code>.
+     * <p>
+     * Every lock of a <code>Door</code> records into this, so it is split
+     * over stripes to keep the threads from waiting on each other.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static LatencyHistogram DOOR_WAIT =
+	new LatencyHistogram(DOOR_STRIPES);
+
+    /**
+     * the time spent matching requests against <code>RingBuffers</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static LatencyHistogram REQUEST_MATCH = new LatencyHistogram();
+
+    // Private class fields:
+    private static boolean enabled =
+	(System.getProperty("hotmetrics") != null);
+    private static java.util.Hashtable fetches = new java.util.Hashtable();
+    private static java.util.Hashtable ingests = new java.util.Hashtable();
+
+    /**
+     * Class constructor.
+     * <p>
+     * There are no instances of this class.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private HotPathMetrics() {
+	super();
+    }
+
+    /**
+     * Adds a frame received from a source.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param sourceI  the name of the source.
+     * @param bytesI   the number of data bytes in the frame.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static void addIngest(String sourceI,long bytesI) {
+	if (!enabled || (sourceI == null)) {
+	    return;
+	}
+
+	synchronized (ingests) {
+	    long[] counts = (long[]) ingests.get(sourceI);
+	    if (counts == null) {
+		ingests.put(sourceI,counts = new long[2]);
+	    }
+	    ++counts[0];
+	    counts[1] += bytesI;
+	}
+    }
+
+    /**
+     * Is the recording of metrics turned on?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return is it on?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isEnabled() {
+	return (enabled);
+    }
+
+    /**
+     * Reports the metrics recorded since the last report.
+     * <p>
+     * The channels for the sources and sinks are rebuilt each time, so that
+     * those that have gone away stop being reported. A source or sink that
+     * was idle for the whole interval reports zeros once and is then
+     * dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param metricsIO the metrics <code>Rmap</code> to add to.
+     * @param durationI the length of the interval in seconds.
+     * @param queueI	the server's activity queue.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static void report(Rmap metricsIO,
+			     double durationI,
+			     ActionThreadQueue queueI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	reportHistogram(metricsIO,"/DoorWait",DOOR_WAIT);
+	reportHistogram(metricsIO,"/RequestMatch",REQUEST_MATCH);
+	reportHistogram(metricsIO,"/ArchiveRead",ARCHIVE_READ);
+	reportHistogram(metricsIO,"/ArchiveWrite",ARCHIVE_WRITE);
+	setValue(metricsIO,
+		 "/ActivityQueueDepth",
+		 (queueI == null) ? 0 : queueI.getDepth());
+
+	Rmap old;
+	if ((old = metricsIO.findDescendant("/Source",false)) != null) {
+	    metricsIO.removeChild(old);
+	}
+	if ((old = metricsIO.findDescendant("/Sink",false)) != null) {
+	    metricsIO.removeChild(old);
+	}
+
+	// Entries that were idle are removed once they have been reported.
+	java.util.Vector idle = new java.util.Vector();
+	synchronized (ingests) {
+	    for (java.util.Enumeration keys = ingests.keys();
+		 keys.hasMoreElements(); ) {
+		String source = (String) keys.nextElement();
+		long[] counts = (long[]) ingests.get(source);
+		double frameRate = 0.,
+		    byteRate = 0.;
+		if (durationI > 0.) {
+		    frameRate = counts[0]/durationI;
+		    byteRate = counts[1]/durationI;
+		}
+		setRate(metricsIO,"/Source/" + source + "/FrameRate",frameRate);
+		setRate(metricsIO,"/Source/" + source + "/ByteRate",byteRate);
+		if (counts[0] == 0) {
+		    idle.addElement(source);
+		}
+		counts[0] = counts[1] = 0;
+	    }
+	    for (int idx = 0; idx < idle.size(); ++idx) {
+		ingests.remove(idle.elementAt(idx));
+	    }
+	}
+
+	idle.removeAllElements();
+	synchronized (fetches) {
+	    for (java.util.Enumeration keys = fetches.keys();
+		 keys.hasMoreElements(); ) {
+		String sink = (String) keys.nextElement();
+		if (reportHistogram
+		    (metricsIO,
+		     "/Sink/" + sink + "/Fetch",
+		     (LatencyHistogram) fetches.get(sink)) == 0) {
+		    idle.addElement(sink);
+		}
+	    }
+	    for (int idx = 0; idx < idle.size(); ++idx) {
+		fetches.remove(idle.elementAt(idx));
+	    }
+	}
+    }
+
+    /**
+     * Reports a <code>LatencyHistogram</code> as a set of channels.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param metricsIO	  the metrics <code>Rmap</code> to add to.
+     * @param prefixI	  the name of the histogram.
+     * @param histogramI  the <code>LatencyHistogram</code>.
+     * @return the number of latencies reported.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static long reportHistogram(Rmap metricsIO,
+					      String prefixI,
+					      LatencyHistogram histogramI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	String[] names = { "/Count", "/P50", "/P90", "/P99", "/Max" };
+	long[] summary = histogramI.drain();
+
+	for (int idx = 0; idx < names.length; ++idx) {
+	    setValue(metricsIO,prefixI + names[idx],summary[idx]);
+	}
+
+	return (summary[0]);
+    }
+
+    /**
+     * Sets a channel to a rate.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param metricsIO the metrics <code>Rmap</code>.
+     * @param nameI	the name of the channel.
+     * @param rateI	the rate.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static void setRate(Rmap metricsIO,
+				      String nameI,
+				      double rateI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	double[] rate = { rateI };
+
+	metricsIO.findDescendant(nameI,true).setDblock
+	    (new DataBlock(rate,
+			   1,
+			   8,
+			   DataBlock.TYPE_FLOAT64,
+			   DataBlock.ORDER_MSB,
+			   false,
+			   0,
+			   8));
+    }
+
+    /**
+     * Sets a channel to a count.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param metricsIO the metrics <code>Rmap</code>.
+     * @param nameI	the name of the channel.
+     * @param valueI	the count.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static void setValue(Rmap metricsIO,
+			       String nameI,
+			       long valueI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	long[] value = { valueI };
+
+	metricsIO.findDescendant(nameI,true).setDblock
+	    (new DataBlock(value,
+			   1,
+			   8,
+			   DataBlock.TYPE_INT64,
+			   DataBlock.ORDER_MSB,
+			   false,
+			   0,
+			   8));
+    }
+
+    /**
+     * Starts timing an operation.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the start time, or -1 if metrics are not being recorded.
+     * @see #stopFetch(String,long)
+     * @see #stopTimer(com.rbnb.api.LatencyHistogram,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static long startTimer() {
+	return (enabled ? System.currentTimeMillis() : -1);
+    }
+
+    /**
+     * Stops timing a fetch by a sink.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param sinkI   the name of the sink.
+     * @param startI  the start time from <code>startTimer</code>.
+     * @see #startTimer()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static void stopFetch(String sinkI,long startI) {
+	if ((startI == -1) || (sinkI == null)) {
+	    return;
+	}
+
+	long latency = System.currentTimeMillis() - startI;
+	LatencyHistogram histogram;
+	synchronized (fetches) {
+	    // Record while holding the table, so that the histogram cannot be
+	    // dropped as idle in between.
+	    if ((histogram = (LatencyHistogram) fetches.get(sinkI)) == null) {
+		fetches.put(sinkI,histogram = new LatencyHistogram());
+	    }
+	    histogram.record(latency);
+	}
+    }
+
+    /**
+     * Stops timing an operation.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param histogramI  the <code>LatencyHistogram</code> to record in.
+     * @param startI	  the start time from <code>startTimer</code>.
+     * @see #startTimer()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static void stopTimer(LatencyHistogram histogramI,long startI) {
+	if (startI != -1) {
+	    histogramI.record(System.currentTimeMillis() - startI);
+	}
+    }
+}
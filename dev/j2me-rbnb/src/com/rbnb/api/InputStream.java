@@ -29,7 +29,7 @@ import com.rbnb.compat.Utilities;
  *
  * @see com.rbnb.api.OutputStream
  * @since V1.0
- * @version 07/21/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -39,6 +39,12 @@ import com.rbnb.compat.Utilities;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added framed mode, in which each message arrives as a
+ *			length-prefixed frame that is read in one piece and
+ *			then deserialized from memory.
+ *		   INB	Added the link codec, which decodes each frame on
+ *			routing and mirror connections that ask for it.
+ *		   INB	Refuse frames longer than <code>FRAME_MAXIMUM</code>.
  * 07/21/2004  INB	Check for null is pointer in reset.
  * 11/17/2003  INB	Propagate interrupts.
  * 02/02/2001  INB	Modified for V2.0 (Rmap) RBNB.
@@ -187,6 +193,108 @@ class InputStream
      * @version 03/05/2001
      */
     private String infoMessage = null;
+
+    /**
+     * framed mode?
+     * <p>
+     * If this field is set, the underlying stream carries frames consisting
+     * of a four byte length followed by that many bytes. Each frame is read
+     * into <code>frame</code> in one piece and the bytes are then handed out
+     * from there.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.OutputStream#setFramed(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean framed = false;
+
+    /**
+     * the current frame.
+     * <p>
+     * The buffer is reused from frame to frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private byte[] frame = null;
+
+    /**
+     * the index of the next byte to be read from the current frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int frameIndex = 0;
+
+    /**
+     * the length of the current frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int frameLength = 0;
+
+    /**
+     * the progress reading the next frame.
+     * <p>
+     * A frame may arrive in pieces and a read with a timeout may give up
+     * part of the way through, so the number of length bytes read, the
+     * length so far, and the number of bytes of the frame read are kept
+     * here until the frame is complete.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int[] frameProgress = { 0, 0, 0 };
+
+    /**
+     * the codec used to decode frames.
+     * <p>
+     * This is only set in framed mode on routing and mirror connections
+     * whose two ends agreed to use it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.OutputStream#setLinkCodec(com.rbnb.api.LinkCodec)
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private LinkCodec linkCodec = null;
+
+    /**
+     * the longest frame that will be accepted.
+     * <p>
+     * A longer length can only come from a corrupted stream or a peer that
+     * is not playing by the rules, so it is refused rather than allocated.
+     * <code>OutputStream</code> splits anything longer across frames.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static int FRAME_MAXIMUM = 16*1024*1024;
+
+    // Private constants:
+    private final static int FRAME_HEADER = 4;
+    private final static int FRAME_INITIAL = 8192;
 
     /**
      * Class constructor to build an <code>InputStream</code> from a
@@ -242,7 +350,7 @@ class InputStream
      *		  thrown if there is a problem getting the amount of available
      *		  data.
      * @since V2.0
-     * @version 03/05/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -250,6 +358,7 @@ class InputStream
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Include what is left of the current frame.
      * 03/05/2001  INB	Created.
      *
      */
@@ -258,6 +367,9 @@ class InputStream
     {
 	int availableR = is.available();
 
+	if (framed) {
+	    availableR += frameLength - frameIndex;
+	}
 	if (markIndex < markLength) {
 	    availableR += markLength - markIndex;
 	}
@@ -274,7 +386,7 @@ class InputStream
      * @author Ian Brown
      *
      * @since V2.0
-     * @version 03/05/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -282,6 +394,8 @@ class InputStream
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Drop the frame buffer.
+     *		   INB	Drop the link codec.
      * 03/05/2001  INB	Created.
      *
      */
@@ -292,8 +406,100 @@ class InputStream
 	    markLength =
 	    markLimit = 0;
 	marked = null;
+	frame = null;
+	frameIndex =
+	    frameLength = 0;
+	linkCodec = null;
     }
 
+    /**
+     * Reads the next frame from the underlying stream.
+     * <p>
+     * If the underlying stream times out part of the way through a frame,
+     * the partial frame is kept and the next call picks up where this one
+     * left off. Once the whole frame is in, it is decoded by the link codec,
+     * if there is one.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return was a frame read? A value of false indicates the end of the
+     *	       underlying stream.
+     * @exception java.io.EOFException
+     *		  thrown if the underlying stream ends part way through a
+     *		  frame.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem reading the frame or its
+     *		  length is out of range.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *		   INB	Decode the frame with the link codec.
+     *		   INB	Refuse frames longer than <code>FRAME_MAXIMUM</code>.
+     *
+     */
+    private final boolean fillFrame()
+	throws java.io.IOException
+    {
+	do {
+	    // Read the length.
+	    while (frameProgress[0] < FRAME_HEADER) {
+		int value = is.read();
+
+		if (value < 0) {
+		    if (frameProgress[0] == 0) {
+			return (false);
+		    }
+		    throw new java.io.EOFException();
+		}
+		frameProgress[1] = (frameProgress[1] << 8) | (value & 0xff);
+		++frameProgress[0];
+	    }
+
+	    int length = frameProgress[1];
+	    if ((length < 0) || (length > FRAME_MAXIMUM)) {
+		throw new java.io.IOException
+		    ("Bad frame length (" + length + ") read from stream.");
+	    }
+	    if ((frame == null) || (frame.length < length)) {
+		frame = new byte[Math.max(length,FRAME_INITIAL)];
+	    }
+
+	    // Read the contents.
+	    while (frameProgress[2] < length) {
+		int nRead = is.read(frame,
+				    frameProgress[2],
+				    length - frameProgress[2]);
+
+		if (nRead < 0) {
+		    throw new java.io.EOFException();
+		}
+		frameProgress[2] += nRead;
+	    }
+
+	    if (linkCodec != null) {
+		frame = linkCodec.decode(frame,length);
+		length = frame.length;
+	    }
+
+	    frameIndex = 0;
+	    frameLength = length;
+	    frameProgress[0] =
+		frameProgress[1] =
+		frameProgress[2] = 0;
+	    setRead(getRead() + FRAME_HEADER);
+	} while (frameLength == 0);
+
+	return (true);
+    }
+
     /**
      * Gets the binary mode flag.
      * <p>
@@ -318,6 +524,30 @@ class InputStream
 	return (binary);
     }
 
+    /**
+     * Gets the framed mode flag.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return is this stream in framed mode?
+     * @see #setFramed(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean getFramed() {
+	return (framed);
+    }
+
     /**
      * Gets the information message.
      * <p>
@@ -481,7 +711,7 @@ class InputStream
      * @exception java.io.IOException
      *		  thrown if there is a problem reading the byte.
      * @since V1.0
-     * @version 03/05/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -489,6 +719,7 @@ class InputStream
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>readUnderlying</code>.
      * 02/02/2001  INB	Modified for V2.0 (Rmap) RBNB.
      * 03/01/1997  INB	Created.
      *
@@ -502,7 +733,7 @@ class InputStream
 	    valueR = marked[markIndex++];
 		setRead(getRead() + 1);
 	} else {
-	    valueR = is.read();
+	    valueR = readUnderlying();
 	    if (markLength < markLimit) {
 		marked[markLength++] = (byte) valueR;
 		markIndex = markLimit;
@@ -538,7 +769,7 @@ class InputStream
      * @exception java.io.IOException
      *		  thrown if there is a problem reading the bytes.
      * @since V1.0
-     * @version 09/04/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -546,6 +777,7 @@ class InputStream
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>readUnderlying</code>.
      * 02/02/2001  INB	Modified for V2.0 (Rmap) RBNB.
      * 03/01/1997  INB	Created.
      *
@@ -564,9 +796,9 @@ class InputStream
 	}
 
 	int bRead;
-	for (bRead = is.read(bI,offI + nRead,lenI - nRead);
+	for (bRead = readUnderlying(bI,offI + nRead,lenI - nRead);
 	     bRead > 0;
-	     bRead = is.read(bI,offI + nRead,lenI - nRead)) {
+	     bRead = readUnderlying(bI,offI + nRead,lenI - nRead)) {
 	    if (markLength + bRead < markLimit) {
 		System.arraycopy(bI,offI + nRead,marked,markLength,bRead);
 		markLength += bRead;
@@ -658,6 +890,86 @@ class InputStream
 	}
     }
 
+    /**
+     * Reads a byte from the underlying stream or, in framed mode, from the
+     * current frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the byte read or -1 at the end of the stream.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem reading the byte.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final int readUnderlying()
+	throws java.io.IOException
+    {
+	if (!framed) {
+	    return (is.read());
+	} else if ((frameIndex >= frameLength) && !fillFrame()) {
+	    return (-1);
+	}
+
+	return (frame[frameIndex++] & 0xff);
+    }
+
+    /**
+     * Reads bytes from the underlying stream or, in framed mode, from the
+     * current frame.
+     * <p>
+     * In framed mode, this method never returns bytes from more than one
+     * frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param bI    the output byte array.
+     * @param offI  the starting offset.
+     * @param lenI  the maximum number of bytes to read.
+     * @return the number of bytes read or -1 at the end of the stream.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem reading the bytes.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final int readUnderlying(byte[] bI,int offI,int lenI)
+	throws java.io.IOException
+    {
+	if (!framed) {
+	    return (is.read(bI,offI,lenI));
+	} else if (lenI == 0) {
+	    return (0);
+	} else if ((frameIndex >= frameLength) && !fillFrame()) {
+	    return (-1);
+	}
+
+	int nRead = Math.min(lenI,frameLength - frameIndex);
+	System.arraycopy(frame,frameIndex,bI,offI,nRead);
+	frameIndex += nRead;
+
+	return (nRead);
+    }
+
     /**
      * Repositions to the position at the time <code>mark()</code> was last
      * called on this <code>InputStream</code>.
@@ -1625,6 +1937,44 @@ class InputStream
 	//}
     }
 
+    /**
+     * Sets the framed mode flag.
+     * <p>
+     * The other end must switch its <code>OutputStream</code> at the same
+     * point in the stream. Any link codec is dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param framedI  framed mode?
+     * @see #getFramed()
+     * @see com.rbnb.api.OutputStream#setFramed(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *		   INB	Drop the link codec.
+     *
+     */
+    final void setFramed(boolean framedI) {
+	framed = framedI;
+	frameIndex =
+	    frameLength = 0;
+	frameProgress[0] =
+	    frameProgress[1] =
+	    frameProgress[2] = 0;
+	linkCodec = null;
+	if (!framed) {
+	    frame = null;
+	}
+    }
+
     /**
      * Sets the informational message.
      * <p>
@@ -1648,6 +1998,35 @@ class InputStream
 	infoMessage = messageI;
     }
 
+    /**
+     * Sets the codec used to decode frames.
+     * <p>
+     * This only has an effect in framed mode. The other end must set the
+     * codec of its <code>OutputStream</code> at the same point in the
+     * stream.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param linkCodecI  the <code>LinkCodec</code> or <code>null</code> if
+     *			  frames arrive as is.
+     * @see com.rbnb.api.OutputStream#setLinkCodec(com.rbnb.api.LinkCodec)
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setLinkCodec(LinkCodec linkCodecI) {
+	linkCodec = framed ? linkCodecI : null;
+    }
+
     /**
      * Sets the number of bytes read at the time of the mark.
      * <p>
@@ -37,6 +37,55 @@ final class IsSupported
 	 */
 	public final static int FEATURE_DELETE_CHANNELS = 6;
 
+	/**
+	 * are length-prefixed message frames on the control connection
+	 * supported?
+	 * <p>
+	 * This feature is never implied by a build version. It is only used
+	 * when both ends say so in their capabilities.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @see #isNegotiated(int,int)
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	public final static int FEATURE_FRAMED_MESSAGES = 11;
+
+	/**
+	 * is the <code>LinkCodec</code> on framed messages supported?
+	 * <p>
+	 * This feature is never implied by a build version. Unlike the other
+	 * negotiated features, it is only offered and granted on routing and
+	 * mirror connections when both ends have the codec turned on, so having
+	 * it in the capabilities of a connection means that the codec is in
+	 * use.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @see #isNegotiated(int,int)
+	 * @see com.rbnb.api.LinkCodec
+	 * @since V3.1
+	 * @version 10/18/2026
+	 */
+	public final static int FEATURE_LINK_CODEC = 14;
+
+	/**
+	 * are <code>RequestOptions.downsample</code> settings supported?
+	 * <p>
+	 * This feature is never implied by a build version. It is only used
+	 * when both ends say so in their capabilities.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	public final static int FEATURE_OPTION_DOWNSAMPLE = 12;
+
 	/**
 	 * are <code>RequestOptions.extendStart</code> settings supported?
 	 * <p>
@@ -103,6 +152,20 @@ final class IsSupported
 	 */
 	public final static int FEATURE_REQUEST_TIME_RELATIVE = 7;
 
+	/**
+	 * are implicit <code>TimeRange</code> point times supported?
+	 * <p>
+	 * This feature is never implied by a build version. It is only used
+	 * when both ends say so in their capabilities.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	public final static int FEATURE_TIME_RANGE_IMPLICIT = 13;
+
 	/**
 	 * <code>TimeRanges</code> can be inclusive of end time?
 	 * <p>
@@ -132,10 +195,123 @@ final class IsSupported
 	 * @author Ian Brown
 	 *
 	 * @since V2.0
-	 * @version 07/30/2004
+	 * @version 10/18/2026
+	 */
+	private static java.util.Date[] Feature_Dates = new java.util.Date[15];
+
+	/**
+	 * offer the negotiated features to servers?
+	 * <p>
+	 * Servers that predate the capabilities reject a <code>Login</code>
+	 * that carries them, so clients only offer them when the
+	 * <code>capabilities</code> system property is set. Servers always
+	 * understand them.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	private static boolean offer =
+		(System.getProperty("capabilities") != null);
+
+	/**
+	 * Gets the capabilities that a server grants to a connection.
+	 * <p>
+	 * The server grants those of the offered capabilities that it can
+	 * handle. It echoes them back in the <code>Server</code> response, and
+	 * from then on both ends use exactly those. The link codec is only
+	 * granted along with framed messages and only if the codec wants the
+	 * client.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @param offeredI the capabilities offered in the <code>Login</code>.
+	 * @param clientI  the client handler for the connection.
+	 * @return the capabilities granted.
+	 * @see #offerCapabilities(com.rbnb.api.ClientInterface)
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+
+	/*
+	 *
+	 *   Date      By	Description
+	 * MM/DD/YYYY
+	 * ----------  --	-----------
+	 * 10/18/2026  INB	Created.
+	 *
+	 */
+	final static int acceptCapabilities(int offeredI,
+					    ClientInterface clientI)
+	{
+		int capabilitiesR = (capability(FEATURE_FRAMED_MESSAGES) |
+				     capability(FEATURE_OPTION_DOWNSAMPLE) |
+				     capability(FEATURE_TIME_RANGE_IMPLICIT));
+
+		if (isNegotiated(FEATURE_FRAMED_MESSAGES,offeredI) &&
+		    LinkCodec.isWanted(clientI)) {
+			capabilitiesR |= capability(FEATURE_LINK_CODEC);
+		}
+
+		return (offeredI & capabilitiesR);
+	}
+
+	/**
+	 * Gets the capability bit for a feature.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @param featureI the feature code.
+	 * @return the capability bit.
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+
+	/*
+	 *
+	 *   Date      By	Description
+	 * MM/DD/YYYY
+	 * ----------  --	-----------
+	 * 10/18/2026  INB	Created.
+	 *
 	 */
-	private static java.util.Date[] Feature_Dates = new java.util.Date[11];
+	final static int capability(int featureI)
+	{
+		return (1 << featureI);
+	}
 
+	/**
+	 * Determines if the specified feature has been negotiated for a
+	 * connection.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @param featureI	   the feature code.
+	 * @param capabilitiesI the capabilities negotiated for the connection.
+	 * @return was the feature negotiated?
+	 * @see #acceptCapabilities(int,com.rbnb.api.ClientInterface)
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+
+	/*
+	 *
+	 *   Date      By	Description
+	 * MM/DD/YYYY
+	 * ----------  --	-----------
+	 * 10/18/2026  INB	Created.
+	 *
+	 */
+	final static boolean isNegotiated(int featureI,int capabilitiesI)
+	{
+		return ((capabilitiesI & capability(featureI)) != 0);
+	}
+
 	/**
 	 * Determines if the specified feature is supported.
 	 * <p>
@@ -146,7 +322,7 @@ final class IsSupported
 	 * @param buildVersionI the version to check.
 	 * @param buildDateI    the date to check.
 	 * @since V2.0
-	 * @version 07/30/2004
+	 * @version 10/18/2026
 	 */
 
 	/*
@@ -154,6 +330,13 @@ final class IsSupported
 	 *   Date      By	Description
 	 * MM/DD/YYYY
 	 * ----------  --	-----------
+	 * 10/18/2026  INB	FEATURE_FRAMED_MESSAGES is never implied by the
+	 *			build.
+	 *		   INB	FEATURE_LINK_CODEC is never implied by the build.
+	 *		   INB	FEATURE_OPTION_DOWNSAMPLE is never implied by the
+	 *			build.
+	 *		   INB	FEATURE_TIME_RANGE_IMPLICIT is never implied by the
+	 *			build.
 	 * 07/30/2004  INB	FEATURE_ASK_NO_JAVA_SERIALIZE is not supported prior to
 	 *			V2.4.3.
 	 * 01/08/2004  INB	FEATURE_CLEAR_CACHE is not supported prior to V2.2.
@@ -176,6 +359,55 @@ final class IsSupported
 		String buildVersionI,
 		java.util.Date buildDateI)
 	{
+		if ((featureI == FEATURE_FRAMED_MESSAGES) ||
+		    (featureI == FEATURE_LINK_CODEC) ||
+		    (featureI == FEATURE_OPTION_DOWNSAMPLE) ||
+		    (featureI == FEATURE_TIME_RANGE_IMPLICIT)) {
+			// These are only ever negotiated.
+			return (false);
+		}
 		return true;
 	}
+
+	/**
+	 * Gets the capabilities that a client offers in its
+	 * <code>Login</code>.
+	 * <p>
+	 * A client that wants the link codec offers it along with the other
+	 * capabilities, even if they would not otherwise be offered.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @param clientI the client.
+	 * @return the capabilities offered, or zero if none are.
+	 * @see #acceptCapabilities(int,com.rbnb.api.ClientInterface)
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+
+	/*
+	 *
+	 *   Date      By	Description
+	 * MM/DD/YYYY
+	 * ----------  --	-----------
+	 * 10/18/2026  INB	Created.
+	 *
+	 */
+	final static int offerCapabilities(ClientInterface clientI)
+	{
+		int capabilitiesR = 0;
+		boolean linkCodec = LinkCodec.isWanted(clientI);
+
+		if (offer || linkCodec) {
+			capabilitiesR |= (capability(FEATURE_FRAMED_MESSAGES) |
+					  capability(FEATURE_OPTION_DOWNSAMPLE) |
+					  capability(FEATURE_TIME_RANGE_IMPLICIT));
+		}
+		if (linkCodec) {
+			capabilitiesR |= capability(FEATURE_LINK_CODEC);
+		}
+
+		return (capabilitiesR);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,397 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Counts latencies in buckets whose width grows with the latency.
+ * <p>
+ * Latencies below 16 each have their own bucket. Above that, every power of
+ * two is split into 16 buckets, so that a bucket is never more than about
+ * six percent wider than the values it holds. This keeps the percentiles
+ * accurate to a fixed fraction over the whole range while recording a
+ * latency costs only a few shifts and an increment.
+ * <p>
+ * The counts cover the interval since they were last drained. Draining
+ * reports the count, the 50th, 90th, and 99th percentiles, and the maximum
+ * for the interval and starts a new one.
+ * <p>
+ * A histogram that many threads record into at once can be split over a
+ * number of stripes, each with its own lock, in the same way as a
+ * <code>StripedCounter</code>. A thread records into the stripe picked by
+ * its hash code, and draining merges the stripes.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.HotPathMetrics
+ * @see com.rbnb.api.StripedCounter
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class LatencyHistogram {
+
+    /**
+     * the number of buckets each power of two is split into.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int SUB_BUCKETS = 16;
+
+    /**
+     * the log base 2 of <code>SUB_BUCKETS</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int SUB_BITS = 4;
+
+    /**
+     * the largest power of two held. Larger latencies are counted in the
+     * last bucket.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int MAXIMUM_POWER = 40;
+
+    /**
+     * the number of buckets.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int NUMBER_OF_BUCKETS =
+	SUB_BUCKETS*(MAXIMUM_POWER - SUB_BITS + 2);
+
+    /**
+     * the number of latencies recorded in each bucket of each stripe.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int[][] buckets;
+
+    /**
+     * the number of latencies recorded in each stripe.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long[] counts;
+
+    /**
+     * the highest bucket used in each stripe.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int[] highests;
+
+    /**
+     * the locks for the stripes.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Object[] locks;
+
+    /**
+     * the largest latency recorded in each stripe.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long[] maximums;
+
+    /**
+     * Class constructor to build a <code>LatencyHistogram</code> with a
+     * single stripe.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #LatencyHistogram(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    LatencyHistogram() {
+	this(1);
+    }
+
+    /**
+     * Class constructor to build a <code>LatencyHistogram</code> split over
+     * a number of stripes.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param stripesI  the number of stripes.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    LatencyHistogram(int stripesI) {
+	super();
+	int stripes = Math.max(1,stripesI);
+
+	buckets = new int[stripes][NUMBER_OF_BUCKETS];
+	counts = new long[stripes];
+	highests = new int[stripes];
+	locks = new Object[stripes];
+	maximums = new long[stripes];
+	for (int idx = 0; idx < stripes; ++idx) {
+	    highests[idx] = -1;
+	    locks[idx] = new Object();
+	}
+    }
+
+    /**
+     * Finds the bucket that a latency belongs in.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param latencyI  the latency.
+     * @return the index of the bucket.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static int bucketOf(long latencyI) {
+	if (latencyI < SUB_BUCKETS) {
+	    return ((latencyI < 0) ? 0 : (int) latencyI);
+	}
+
+	// Find the power of two, then use the bits just below the leading one
+	// to pick the bucket within it.
+	int power = SUB_BITS;
+	while ((power < MAXIMUM_POWER) && ((latencyI >> (power + 1)) != 0)) {
+	    ++power;
+	}
+	int sub = (int) (latencyI >> (power - SUB_BITS)) & (SUB_BUCKETS - 1);
+	if ((latencyI >> (power + 1)) != 0) {
+	    sub = SUB_BUCKETS - 1;
+	}
+
+	return (SUB_BUCKETS*(power - SUB_BITS + 1) + sub);
+    }
+
+    /**
+     * Reports the latencies recorded since the last drain and starts a new
+     * interval.
+     * <p>
+     * The result holds the number of latencies, the 50th, 90th, and 99th
+     * percentiles, and the maximum. Each percentile is the largest latency
+     * that its bucket can hold, limited to the maximum.
+     * <p>
+     * The stripes are merged one at a time, so threads recording into the
+     * other stripes do not wait.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the summary of the interval.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized long[] drain() {
+	long[] summaryR = new long[5];
+	double[] fractions = { 0.5, 0.9, 0.99 };
+	int[] merged = new int[NUMBER_OF_BUCKETS];
+	long count = 0,
+	    maximum = 0;
+	int highest = -1;
+
+	for (int stripe = 0; stripe < locks.length; ++stripe) {
+	    synchronized (locks[stripe]) {
+		int[] stripeBuckets = buckets[stripe];
+		for (int idx = 0; idx <= highests[stripe]; ++idx) {
+		    merged[idx] += stripeBuckets[idx];
+		    stripeBuckets[idx] = 0;
+		}
+		count += counts[stripe];
+		highest = Math.max(highest,highests[stripe]);
+		maximum = Math.max(maximum,maximums[stripe]);
+		counts[stripe] = 0;
+		highests[stripe] = -1;
+		maximums[stripe] = 0;
+	    }
+	}
+
+	summaryR[0] = count;
+	summaryR[4] = maximum;
+	if (count > 0) {
+	    long seen = 0;
+	    int which = 0;
+	    for (int idx = 0;
+		 (idx <= highest) && (which < fractions.length);
+		 ++idx) {
+		seen += merged[idx];
+		while ((which < fractions.length) &&
+		       (seen >= Math.ceil(fractions[which]*count))) {
+		    summaryR[1 + which] = Math.min(maximum,valueOf(idx));
+		    ++which;
+		}
+	    }
+	}
+
+	return (summaryR);
+    }
+
+    /**
+     * Records a latency into the stripe for the current thread.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param latencyI  the latency.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void record(long latencyI) {
+	int bucket = bucketOf(latencyI),
+	    stripe = ((locks.length == 1) ?
+		      0 :
+		      ((Thread.currentThread().hashCode() & 0x7fffffff) %
+		       locks.length));
+
+	synchronized (locks[stripe]) {
+	    ++buckets[stripe][bucket];
+	    ++counts[stripe];
+	    if (bucket > highests[stripe]) {
+		highests[stripe] = bucket;
+	    }
+	    if (latencyI > maximums[stripe]) {
+		maximums[stripe] = latencyI;
+	    }
+	}
+    }
+
+    /**
+     * Gets the largest latency that a bucket can hold.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param bucketI  the index of the bucket.
+     * @return the largest latency.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static long valueOf(int bucketI) {
+	if (bucketI < SUB_BUCKETS) {
+	    return (bucketI);
+	}
+
+	int power = bucketI/SUB_BUCKETS + SUB_BITS - 1,
+	    sub = bucketI % SUB_BUCKETS;
+
+	return (((long) (SUB_BUCKETS + sub + 1) << (power - SUB_BITS)) - 1);
+    }
+}
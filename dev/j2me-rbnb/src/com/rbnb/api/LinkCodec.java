@@ -0,0 +1,585 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Encodes the framed messages sent over routing and mirror connections.
+ * <p>
+ * Servers that talk to each other over slow links, such as cellular or
+ * satellite connections, send long runs of messages that look much alike:
+ * the same <code>Rmap</code> names and headers, time stamps that move on by
+ * a little each time, and data that changes slowly. When both ends of such
+ * a connection ask for it, each frame is encoded by one of the following
+ * methods, whichever gives the fewest bytes:
+ * <p><ul>
+ * <li><code>RAW</code> - the frame is sent as is,</li>
+ * <li><code>DICTIONARY</code> - the frame is compressed by the
+ *     <code>LZ</code> codec of <code>PayloadCodec</code>, using the most
+ *     recent frames as a dictionary, so that names and headers seen before
+ *     are replaced by short references, or</li>
+ * <li><code>DELTA</code> - the frame is XORed with the previous frame of
+ *     the same length before being compressed. Messages with the same
+ *     layout then come down to the bytes that changed, which for time stamps
+ *     are mostly the low order ones.</li>
+ * </ul><p>
+ * Each end keeps one <code>LinkCodec</code> for the frames it sends and one
+ * for the frames it receives. The two ends of a direction update their
+ * history from the same bytes in the same order, so they stay in step
+ * without any further exchange.
+ * <p>
+ * The codec is turned on by the <code>linkcodec</code> system property.
+ * Connections only use it when both ends have the property set. The client
+ * offers it in the capabilities of its <code>Login</code> and the server
+ * echoes it back in its <code>Server</code> response if it agrees. Any
+ * other peer sees an ordinary framed connection.
+ * <p>
+ * The number of bytes sent, received, and saved on each route are reported
+ * in the server's <code>_Metrics</code> source under
+ * <code>Route/</code><i>name</i>.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.IsSupported#FEATURE_LINK_CODEC
+ * @see com.rbnb.api.PayloadCodec
+ * @since V3.1
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class LinkCodec {
+
+    /**
+     * the frame is sent as is.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private final static byte RAW = 0;
+
+    /**
+     * the frame is compressed using the recent frames as a dictionary.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private final static byte DICTIONARY = 1;
+
+    /**
+     * the frame is XORed with the previous one and then compressed.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private final static byte DELTA = 2;
+
+    /**
+     * the number of bytes of recent frames kept as the dictionary.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private final static int HISTORY_SIZE = 16384;
+
+    /**
+     * the smallest frame worth encoding.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private final static int MINIMUM_LENGTH = 32;
+
+    /**
+     * the most recent frames.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private byte[] history = new byte[0];
+
+    /**
+     * the previous frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private byte[] previous = null;
+
+    /**
+     * the name of the route.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private String route;
+
+    // Private class fields:
+    private static boolean enabled =
+	(System.getProperty("linkcodec") != null);
+    private static java.util.Hashtable routes = new java.util.Hashtable();
+
+    // Private constants:
+    private final static int SENT = 0;
+    private final static int RECEIVED = 1;
+    private final static int SAVED = 2;
+
+    /**
+     * Class constructor to build a <code>LinkCodec</code> for a route.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param routeI  the name of the route.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    LinkCodec(String routeI) {
+	super();
+	route = (routeI == null) ? "Unnamed" : routeI;
+    }
+
+    /**
+     * Adds to the byte counts of a route.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param routeI  the name of the route.
+     * @param whichI  the count to add to.
+     * @param bytesI  the number of bytes sent or received.
+     * @param savedI  the number of bytes saved.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static void count(String routeI,
+				    int whichI,
+				    long bytesI,
+				    long savedI)
+    {
+	synchronized (routes) {
+	    long[] counts = (long[]) routes.get(routeI);
+	    if (counts == null) {
+		routes.put(routeI,counts = new long[3]);
+	    }
+	    counts[whichI] += bytesI;
+	    counts[SAVED] += savedI;
+	}
+    }
+
+    /**
+     * Decodes a frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param encodedI  the encoded frame.
+     * @param lengthI   the number of bytes in the encoded frame.
+     * @return the frame.
+     * @exception java.io.IOException
+     *		  thrown if the frame is too short, claims to be too long, or
+     *		  cannot be decoded.
+     * @see #encode(byte[],int,int,int)
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final byte[] decode(byte[] encodedI,int lengthI)
+	throws java.io.IOException
+    {
+	if (lengthI < 1) {
+	    throw new java.io.IOException
+		("Empty frame received on route " + route + ".");
+	}
+
+	byte method = encodedI[0];
+	int length,
+	    offset;
+	if (method == RAW) {
+	    length = lengthI - 1;
+	    offset = 1;
+	} else {
+	    if (lengthI < 5) {
+		throw new java.io.IOException
+		    ("Short frame received on route " + route + ".");
+	    }
+	    length = (((encodedI[1] & 0xff) << 24) |
+		      ((encodedI[2] & 0xff) << 16) |
+		      ((encodedI[3] & 0xff) <<  8) |
+		      (encodedI[4] & 0xff));
+	    offset = 5;
+	}
+	if ((length < 0) || (length > InputStream.FRAME_MAXIMUM)) {
+	    throw new java.io.IOException
+		("Bad frame length (" + length + ") received on route " +
+		 route + ".");
+	}
+
+	byte[] dictionary = new byte[history.length + length];
+	System.arraycopy(history,0,dictionary,0,history.length);
+	try {
+	    switch (method) {
+	    case RAW:
+		System.arraycopy(encodedI,
+				 offset,
+				 dictionary,
+				 history.length,
+				 length);
+		break;
+
+	    case DICTIONARY:
+		PayloadCodec.expand(encodedI,offset,dictionary,history.length);
+		break;
+
+	    case DELTA:
+		if ((previous == null) || (previous.length != length)) {
+		    throw new java.io.IOException
+			("Delta frame received on route " + route +
+			 " does not match the previous frame.");
+		}
+		byte[] delta = new byte[length];
+		PayloadCodec.expand(encodedI,offset,delta,0);
+		for (int idx = 0; idx < length; ++idx) {
+		    dictionary[history.length + idx] =
+			(byte) (delta[idx] ^ previous[idx]);
+		}
+		break;
+
+	    default:
+		throw new java.io.IOException
+		    ("Unknown link encoding " + method +
+		     " received on route " + route + ".");
+	    }
+	} catch (java.lang.RuntimeException e) {
+	    // A frame that runs off the end of either buffer is corrupt.
+	    throw new java.io.IOException
+		("Corrupt frame received on route " + route + ".");
+	}
+
+	int start = history.length;
+	remember(dictionary,start,length);
+	count(route,RECEIVED,lengthI,length - lengthI);
+
+	byte[] frameR = new byte[length];
+	System.arraycopy(dictionary,start,frameR,0,length);
+
+	return (frameR);
+    }
+
+    /**
+     * Encodes a frame.
+     * <p>
+     * Room is left at the start of the result for the caller to fill in a
+     * header.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param frameI   the buffer holding the frame.
+     * @param offsetI  the index of the first byte of the frame.
+     * @param lengthI  the number of bytes in the frame.
+     * @param headerI  the number of bytes to leave for the header.
+     * @return the header space followed by the encoded frame.
+     * @see #decode(byte[],int)
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final byte[] encode(byte[] frameI,int offsetI,int lengthI,int headerI) {
+	byte[] dictionary = new byte[history.length + lengthI];
+	System.arraycopy(history,0,dictionary,0,history.length);
+	System.arraycopy(frameI,offsetI,dictionary,history.length,lengthI);
+
+	byte method = RAW;
+	byte[] best = null;
+	if (lengthI >= MINIMUM_LENGTH) {
+	    if ((best = PayloadCodec.compress(dictionary,
+					      history.length)) != null) {
+		method = DICTIONARY;
+	    }
+
+	    if ((previous != null) && (previous.length == lengthI)) {
+		byte[] delta = new byte[lengthI];
+		for (int idx = 0; idx < lengthI; ++idx) {
+		    delta[idx] = (byte) (frameI[offsetI + idx] ^ previous[idx]);
+		}
+		byte[] encoded = PayloadCodec.compress(delta,0);
+		if ((encoded != null) &&
+		    ((best == null) || (encoded.length < best.length))) {
+		    best = encoded;
+		    method = DELTA;
+		}
+	    }
+
+	    if ((best != null) && (best.length + 4 >= lengthI)) {
+		// The length that has to be sent with a compressed frame ate
+		// up the savings.
+		best = null;
+		method = RAW;
+	    }
+	}
+
+	byte[] encodedR;
+	if (method == RAW) {
+	    encodedR = new byte[headerI + 1 + lengthI];
+	    System.arraycopy(frameI,offsetI,encodedR,headerI + 1,lengthI);
+	} else {
+	    encodedR = new byte[headerI + 5 + best.length];
+	    encodedR[headerI + 1] = (byte) ((lengthI >> 24) & 0xff);
+	    encodedR[headerI + 2] = (byte) ((lengthI >> 16) & 0xff);
+	    encodedR[headerI + 3] = (byte) ((lengthI >>  8) & 0xff);
+	    encodedR[headerI + 4] = (byte) ((lengthI      ) & 0xff);
+	    System.arraycopy(best,0,encodedR,headerI + 5,best.length);
+	}
+	encodedR[headerI] = method;
+
+	remember(dictionary,history.length,lengthI);
+	int sent = encodedR.length - headerI;
+	count(route,SENT,sent,lengthI - sent);
+
+	return (encodedR);
+    }
+
+    /**
+     * Is the link codec turned on?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return is it on?
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isEnabled() {
+	return (enabled);
+    }
+
+    /**
+     * Should a connection for a client use the link codec?
+     * <p>
+     * Only routing and mirror connections use it, and then only if it is
+     * turned on.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param clientI  the client.
+     * @return use the link codec?
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isWanted(ClientInterface clientI) {
+	return (enabled &&
+		((clientI instanceof RouterInterface) ||
+		 ((clientI != null) &&
+		  (clientI.getType() == ClientInterface.MIRROR))));
+    }
+
+    /**
+     * Adds a frame to the history.
+     * <p>
+     * The dictionary holds the history followed by the frame, so the new
+     * history is simply the end of it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param dictionaryI  the history followed by the frame.
+     * @param startI	   the index of the first byte of the frame.
+     * @param lengthI	   the number of bytes in the frame.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void remember(byte[] dictionaryI,int startI,int lengthI) {
+	int keep = Math.min(HISTORY_SIZE,dictionaryI.length);
+	history = new byte[keep];
+	System.arraycopy(dictionaryI,
+			 dictionaryI.length - keep,
+			 history,
+			 0,
+			 keep);
+
+	if ((previous == null) || (previous.length != lengthI)) {
+	    previous = new byte[lengthI];
+	}
+	System.arraycopy(dictionaryI,startI,previous,0,lengthI);
+    }
+
+    /**
+     * Reports the byte counts since the last report.
+     * <p>
+     * The channels for the routes are rebuilt each time, so that routes that
+     * have gone away stop being reported. A route that was idle for the
+     * whole interval reports zeros once and is then dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param metricsIO the metrics <code>Rmap</code> to add to.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static void report(Rmap metricsIO)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	Rmap old;
+	if ((old = metricsIO.findDescendant("/Route",false)) != null) {
+	    metricsIO.removeChild(old);
+	}
+
+	java.util.Vector idle = new java.util.Vector();
+	synchronized (routes) {
+	    for (java.util.Enumeration keys = routes.keys();
+		 keys.hasMoreElements(); ) {
+		String route = (String) keys.nextElement();
+		long[] counts = (long[]) routes.get(route);
+		HotPathMetrics.setValue(metricsIO,
+					"/Route/" + route + "/BytesSent",
+					counts[SENT]);
+		HotPathMetrics.setValue(metricsIO,
+					"/Route/" + route + "/BytesReceived",
+					counts[RECEIVED]);
+		HotPathMetrics.setValue(metricsIO,
+					"/Route/" + route + "/BytesSaved",
+					counts[SAVED]);
+		if ((counts[SENT] == 0) && (counts[RECEIVED] == 0)) {
+		    idle.addElement(route);
+		}
+		counts[SENT] =
+		    counts[RECEIVED] =
+		    counts[SAVED] = 0;
+	    }
+	    for (int idx = 0; idx < idle.size(); ++idx) {
+		routes.remove(idle.elementAt(idx));
+	    }
+	}
+    }
+}
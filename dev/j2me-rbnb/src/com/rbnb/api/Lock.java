@@ -27,7 +27,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.Door
  * @see com.rbnb.api.ThreadWithLocks
  * @since V2.0
- * @version 11/17/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -38,6 +38,8 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Only record the locations and pending locations if
+ *			<code>Door.TRACK_LOCATIONS</code> is set.
  * 11/17/2003  INB	Added <code>clear</code>.  Don't clear the thread field
  *			when unlocking.  Made the <code>count</code> externally
  *			accessible.
@@ -169,7 +171,7 @@ final class Lock
      * @param locationI the location of the caller.
      * @see #removePending()
      * @since V2.0
-     * @version 11/12/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -177,11 +179,19 @@ final class Lock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only record the location if
+     *			<code>Door.TRACK_LOCATIONS</code> is set.
      * 11/12/2003  INB	Added location handling.
      * 06/15/2001  INB	Created.
      *
      */
     final synchronized void addPending(String locationI) {
+	if (!Door.TRACK_LOCATIONS) {
+	    // Only the fact that the thread has a pending lock matters.
+	    pending.put(Thread.currentThread(),Thread.currentThread());
+	    return;
+	}
+
 	java.util.Vector lLocations = (java.util.Vector)
 	    pending.get(Thread.currentThread());
 	if (lLocations == null) {
@@ -433,7 +443,7 @@ final class Lock
      *	      thrown if another thread has set the <code>Lock</code>.
      * @see #unlock()
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -441,6 +451,8 @@ final class Lock
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only record the location if
+     *			<code>Door.TRACK_LOCATIONS</code> is set.
      * 11/14/2003  INB	Added <code>ThreadWithLocks</code> handling.
      * 11/12/2003  INB	Added location handling.
      * 02/21/2001  INB	Created.
@@ -455,7 +467,9 @@ final class Lock
 	}
 
 	setThread(Thread.currentThread());
-	locations.addElement(locationI);
+	if (Door.TRACK_LOCATIONS) {
+	    locations.addElement(locationI);
+	}
 	++count;
 	if ((count == 1) && (getThread() instanceof ThreadWithLocks)) {
 	    ((ThreadWithLocks) getThread()).addLock(this);
@@ -26,7 +26,7 @@ import com.rbnb.compat.SimpleDateFormat;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 07/21/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -36,6 +36,7 @@ import com.rbnb.compat.SimpleDateFormat;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added the capabilities offered by the client.
  * 07/21/2004  INB	Changed zzz in SimpleDateFormat to z.
  * 03/28/2003  INB	Eliminated unnecessary synchronization.
  * 05/09/2001  INB	Created.
@@ -68,6 +69,21 @@ final class Login
      */
     private String buildVersion = null;
 
+    /**
+     * the capabilities offered by the client.
+     * <p>
+     * This is only sent if it is not zero, so that servers that predate it
+     * never see it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.IsSupported#offerCapabilities(com.rbnb.api.ClientInterface)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int capabilities = 0;
+
     /**
      * the license string.
      * <p>
@@ -95,12 +111,14 @@ final class Login
     private final static byte PAR_BLV = 1;
     private final static byte PAR_LIC = 2;
     private final static byte PAR_USR = 3;
+    private final static byte PAR_CAP = 4;
 
     private final static String[] PARAMETERS = {
 				    "BLD",
 				    "BLV",
 				    "LIC",
-				    "USR"
+				    "USR",
+				    "CAP"
 				};
 
     // Private class fields:
@@ -353,7 +371,7 @@ final class Login
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 01/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -361,6 +379,7 @@ final class Login
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Default the capabilities.
      * 12/20/2001  INB	Created.
      *
      */
@@ -387,6 +406,9 @@ final class Login
 	    if ((seenI == null) || !seenI[parametersStart + PAR_USR]) {
 		setUsername(other.getUsername());
 	    }
+	    if ((seenI == null) || !seenI[parametersStart + PAR_CAP]) {
+		setCapabilities(other.getCapabilities());
+	    }
 	}
     }
 
@@ -414,6 +436,30 @@ final class Login
 	return (buildDate);
     }
 
+    /**
+     * Gets the capabilities offered by the client.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the capabilities.
+     * @see #setCapabilities(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getCapabilities() {
+	return (capabilities);
+    }
+
     /**
      * Gets the build version.
      * <p>
@@ -599,7 +645,7 @@ final class Login
      *		  thrown if the read is interrupted.
      * @see #writeLoginParameters(com.rbnb.api.Login,com.rbnb.api.OutputStream,com.rbnb.api.DataOutputStream)
      * @since V2.0
-     * @version 07/21/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -607,6 +653,7 @@ final class Login
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Read the capabilities.
      * 07/21/2004  INB	Changed zzz in SimpleDateFormat to z.
      * 12/20/2001  INB	Created.
      *
@@ -650,6 +697,10 @@ final class Login
 		setUsername(new Username(isI,disI));
 		break;
 
+	    case PAR_CAP:
+		setCapabilities(isI.readInt());
+		break;
+
 	    default:
 		loginR = false;
 		break;
@@ -683,6 +734,30 @@ final class Login
 	buildDate = buildDateI;
     }
 
+    /**
+     * Sets the capabilities offered by the client.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param capabilitiesI the capabilities.
+     * @see #getCapabilities()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setCapabilities(int capabilitiesI) {
+	capabilities = capabilitiesI;
+    }
+
     /**
      * Sets the build version.
      * <p>
@@ -854,7 +929,7 @@ final class Login
      *		  thrown if the operation is interrupted.
      * @see #readLoginParameter(int,com.rbnb.api.InputStream,com.rbnb.api.DataInputStream)
      * @since V2.0
-     * @version 07/21/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -862,6 +937,7 @@ final class Login
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Write the capabilities if there are any.
      * 07/21/2004  INB	Changed zzz in SimpleDateFormat to z.
      * 12/20/2001  INB	Created.
      *
@@ -914,6 +990,13 @@ final class Login
 				osI,
 				dosI);
 	}
+
+	if ((getCapabilities() != 0) &&
+	    ((otherI == null) ||
+	     (getCapabilities() != otherI.getCapabilities()))) {
+	    osI.writeParameter(ALL_PARAMETERS,parametersStart + PAR_CAP);
+	    osI.writeInt(getCapabilities());
+	}
     }
 
 	public Object clone()
@@ -931,6 +1014,7 @@ final class Login
 		Login clonedR = (Login)o;
 		clonedR.buildDate = buildDate;
 		clonedR.buildVersion = buildVersion;
+		clonedR.capabilities = capabilities;
 		clonedR.username = username;
 	}
 }
@@ -39,11 +39,30 @@ package com.rbnb.api;
  * Actually, in both cases, the actual data transfer operation is driven from
  * the <code>NBO</code>.
  * <p>
+ * Normally, each response is written to the <code>Source</code> and stored
+ * before the next one is fetched. When the <code>mirrorinflight</code>
+ * system property is set to a number of frames, the mirror is pipelined
+ * instead. Each response is gathered together with any others that are
+ * already waiting at the <code>Sink</code>, up to that many, and the batch is
+ * written as a single frame that the server is asked to acknowledge. The
+ * mirror only waits once that many frames are waiting to be acknowledged.
+ * Meanwhile the remote end keeps streaming more responses to the
+ * <code>Sink</code>.
+ * <p>
+ * A pipelined mirror also keeps a high-water mark, the end time of the
+ * newest frame that has been acknowledged. If the connection is lost, the
+ * mirror reconnects and resumes with a request for the data after the mark,
+ * so that it neither starts over nor leaves a gap. Frames that were written,
+ * but not acknowledged, may have been stored anyway, so the mark is first
+ * moved up to the end of the data that the <code>Source</code> holds. It
+ * gives up after <code>MAXIMUM_RETRIES</code> attempts in a row that mirror
+ * nothing.
+ * <p>
  *
  * @author Ian Brown
  *
  * @since V2.0
- * @version 02/11/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -53,6 +72,9 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added the pipelined, resumable mode.
+ *		   INB	Batch the frames and do not fetch again what has been
+ *			stored.
  * 02/11/2004  INB	Log exceptions at standard level.
  * 11/14/2003  INB	Use <code>ThreadWithLocks</code> rather than
  *			<code>Thread</code> and ensure that <code>Locks</code>
@@ -77,6 +99,68 @@ class MirrorController
      */
     private ServerHandler local = null;
 
+    /**
+     * the maximum number of reconnects in a row that mirror nothing.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static int MAXIMUM_RETRIES = 10;
+
+    /**
+     * the end time of the newest frame acknowledged by the
+     * <code>Source</code>.
+     * <p>
+     * This is <code>-Double.MAX_VALUE</code> until a frame has been
+     * acknowledged.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double highWater = -Double.MAX_VALUE;
+
+    /**
+     * the number of frames waiting to be acknowledged.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int framesInFlight = 0;
+
+    /**
+     * the batches waiting to be acknowledged, oldest first.
+     * <p>
+     * Each entry is a <code>double</code> array holding the end time of the
+     * batch and the number of frames in it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Vector inFlight = new java.util.Vector();
+
+    /**
+     * has the mirror lost its connection and been restarted?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean resumed = false;
+
     /**
      * the <code>Sink</code> used to retrieve the data.
      * <p>
@@ -89,6 +173,20 @@ class MirrorController
      */
     private Sink sink = null;
 
+    /**
+     * the <code>Source</code> describing the target.
+     * <p>
+     * This is kept so that a resumed mirror can build a new
+     * <code>Source</code> like the original.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Source template = null;
+
     /**
      * the thread.
      * <p>
@@ -99,6 +197,20 @@ class MirrorController
      * @version 05/11/2001
      */
     private Thread thread = null;
+
+    // Private class fields:
+    private static int inFlightDefault = 0;
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("mirrorinflight")) != null) {
+		inFlightDefault = Math.max(0,Integer.parseInt(value));
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+    }
 
     /**
      * Class constructor.
@@ -189,6 +301,50 @@ class MirrorController
 	getThread().start();
     }
 
+    /**
+     * Waits for the <code>Source</code> to acknowledge the oldest batch in
+     * flight and advances the high-water mark.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #postPipelined(com.rbnb.api.Rmap,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void acknowledgeOldest()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	getSource().waitForAcknowledgement();
+
+	double[] batch = (double[]) inFlight.firstElement();
+	inFlight.removeElementAt(0);
+	framesInFlight -= (int) batch[1];
+	if (batch[0] > highWater) {
+	    highWater = batch[0];
+	}
+    }
+
     /**
      * Creates the <code>Sink</code>.
      * <p>
@@ -328,6 +484,31 @@ class MirrorController
 	getSource().stop();
     }
 
+    /**
+     * Gets the high-water mark.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the end time of the newest frame acknowledged by the
+     *	       <code>Source</code>, or <code>-Double.MAX_VALUE</code> if there
+     *	       is none.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final double getHighWater() {
+	return (highWater);
+    }
+
     /**
      * Gets the <code>Log</code>.
      * <p>
@@ -451,6 +632,71 @@ class MirrorController
 	return (sink);
     }
 
+    /**
+     * Gets the end time of the data that the <code>Source</code> holds.
+     * <p>
+     * The time is taken from the registration of the <code>Source</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the end time, or <code>-Double.MAX_VALUE</code> if the
+     *	       <code>Source</code> holds no data.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #resumeRequest()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final double getStoredEnd()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	double endR = -Double.MAX_VALUE;
+
+	if (getSource() instanceof ClientHandle) {
+	    Rmap request = new Rmap();
+	    request.addChannel(getSource().getFullName() +
+			       Rmap.PATHDELIMITER +
+			       "...");
+	    Rmap registered =
+		((ClientHandle) getSource()).getRegistered(request);
+
+	    if (registered != null) {
+		TimeRange tLimits = new TimeRange(Double.MAX_VALUE),
+		    fLimits = new TimeRange(Double.MAX_VALUE);
+		tLimits.setDuration(-Double.MAX_VALUE);
+		fLimits.setDuration(-Double.MAX_VALUE);
+		registered.findLimits(tLimits,fLimits);
+		if (tLimits.getDuration() != -Double.MAX_VALUE) {
+		    endR = tLimits.getTime() + tLimits.getDuration();
+		}
+	    }
+	}
+
+	return (endR);
+    }
+
     /**
      * Gets the thread.
      * <p>
@@ -493,7 +739,7 @@ class MirrorController
      *		  thrown if the operation is interrupted.
      * @see #disconnectSource()
      * @since V2.0
-     * @version 10/13/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -501,6 +747,8 @@ class MirrorController
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Build the <code>Source</code> from the template, so that
+     *			it can be built again on a resume.
      * 10/13/2003  INB	Use CREATE mode for LOADed sources.
      * 04/18/2001  INB	Created.
      *
@@ -518,7 +766,10 @@ class MirrorController
 	       snkServer = ((getDirection() == PULL) ?
 			    getRemote() :
 			    (Server) getLocal());
-	Source lSource = getSource();
+	if (template == null) {
+	    template = getSource();
+	}
+	Source lSource = template;
 
 	if (srcServer instanceof ServerHandler) {
 	    srcServer = ((ServerHandler) srcServer).getClientSide();
@@ -565,7 +816,7 @@ class MirrorController
      *		  thrown if the operation is interrupted.
      * @see #loopRequest()
      * @since V2.0
-     * @version 05/11/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -573,6 +824,7 @@ class MirrorController
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the resume request for pipelined mirrors.
      * 04/18/2001  INB	Created.
      *
      */
@@ -583,10 +835,148 @@ class MirrorController
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	getSink().addChild(getRequest());
+	if (inFlightDefault > 0) {
+	    getSink().addChild(resumeRequest());
+	} else {
+	    getSink().addChild(getRequest());
+	}
 	getSink().initiateRequestAt(0);
     }
 
+    /**
+     * Logs an exception that stopped the mirror.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param exceptionI the exception.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void logException(java.lang.Exception exceptionI) {
+	try {
+	    String name;
+	    if (getDirection() == PULL) {
+		name = getLocal().getFullName();
+	    } else {
+		name = getRemote().getFullName();
+	    }
+	    name += "<-" + getSource().getFullName();
+	    for (int idx = 0; idx < name.length(); ++idx) {
+		if (name.charAt(idx)  == '/') {
+		    name = (name.substring(0,idx) +
+			    "_" +
+			    name.substring(idx + 1));
+		}
+	    }
+
+	    getLog().addException
+		(Log.STANDARD,
+		 getLogClass(),
+		 name,
+		 exceptionI);
+	} catch (java.lang.Exception e) {
+	}
+    }
+
+    /**
+     * Loops on the request, keeping several frames in flight.
+     * <p>
+     * Each response is gathered into a batch with any other responses that
+     * are already waiting. The batch is written to the <code>Source</code>
+     * without waiting for it to be stored. At the end of the stream, the
+     * mirror waits for all of the batches to be acknowledged.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.EndOfStreamException
+     *		  thrown if the request stream ends prematurely.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #loopRequest()
+     * @see #postPipelined(com.rbnb.api.Rmap,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void loopPipelined()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	Rmap response = null;
+	boolean done = false;
+
+	while (!done && ((response = getSink().fetch(Sink.FOREVER)) != null)) {
+	    Rmap batch = new Rmap();
+	    int nFrames = 0;
+
+	    // Gather up this response and any others that have already
+	    // arrived.
+	    do {
+		if (response instanceof EndOfStream) {
+		    done = true;
+		    if (response.getNchildren() == 1) {
+			Rmap child = response.getChildAt(0);
+			response.removeChild(child);
+			batch.addChild(reshape(child));
+			++nFrames;
+		    }
+		} else {
+		    batch.addChild(reshape(response));
+		    ++nFrames;
+		}
+	    } while (!done &&
+		     (nFrames < inFlightDefault) &&
+		     ((response = getSink().fetch(0)) != null));
+
+	    if (nFrames > 0) {
+		postPipelined(batch,nFrames);
+	    }
+
+	    if (getThread() != null) {
+		((ThreadWithLocks) getThread()).ensureLocksCleared
+		    (toString(),
+		     "MirrorController.loopPipelined",
+		     getLog(),
+		     getLogLevel(),
+		     getLogClass());
+	    }
+	}
+
+	while (!inFlight.isEmpty()) {
+	    acknowledgeOldest();
+	}
+    }
+
     /**
      * Loops on the request.
      * <p>
@@ -656,8 +1046,7 @@ class MirrorController
     /**
      * Posts a data response.
      * <p>
-     * This method strips off the <code>Server</code> and <code>Source</code>
-     * information from the input response before passing it to the target.
+     * The response is reshaped and written to the target.
      * <p>
      *
      * @author Ian Brown
@@ -676,7 +1065,7 @@ class MirrorController
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 05/11/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -684,6 +1073,7 @@ class MirrorController
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Moved the reshaping to <code>reshape</code>.
      * 04/18/2001  INB	Created.
      *
      */
@@ -693,6 +1083,125 @@ class MirrorController
 	       java.io.EOFException,
 	       java.io.IOException,
 	       java.lang.InterruptedException
+    {
+	getSource().addChild(reshape(responseI));
+    }
+
+    /**
+     * Posts a batch of reshaped responses without waiting for it to be
+     * stored.
+     * <p>
+     * The batch is written to the target as a single frame, which the target
+     * is asked to acknowledge. If that leaves too many frames in flight, this
+     * method waits for the oldest batches to be acknowledged.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param batchI	 the batch <code>Rmap</code>. Each child is a
+     *			 reshaped response.
+     * @param nFramesI	 the number of responses in the batch.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.EndOfStreamException
+     *		  thrown if the request stream ends prematurely.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #acknowledgeOldest()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void postPipelined(Rmap batchI,int nFramesI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	Rmap frame = batchI;
+
+	if (nFramesI == 1) {
+	    // A single response doesn't need the extra level.
+	    frame = batchI.getChildAt(0);
+	    batchI.removeChildAt(0);
+	}
+
+	// Note where the frame ends before handing it off.
+	TimeRange tLimits = new TimeRange(Double.MAX_VALUE),
+	    fLimits = new TimeRange(Double.MAX_VALUE);
+	tLimits.setDuration(-Double.MAX_VALUE);
+	fLimits.setDuration(-Double.MAX_VALUE);
+	frame.findLimits(tLimits,fLimits);
+	double end = highWater;
+	if (tLimits.getDuration() != -Double.MAX_VALUE) {
+	    end = tLimits.getTime() + tLimits.getDuration();
+	}
+
+	double[] batch = { end, nFramesI };
+	getSource().addChildWacknowledgement(frame);
+	inFlight.addElement(batch);
+	framesInFlight += nFramesI;
+	while (framesInFlight > inFlightDefault) {
+	    acknowledgeOldest();
+	}
+    }
+
+    /**
+     * Reshapes a data response for the target.
+     * <p>
+     * This method strips off the <code>Server</code> and <code>Source</code>
+     * information from the input response.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param responseI  the response <code>Rmap</code>.
+     * @return the <code>Rmap</code> to send to the target.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.EndOfStreamException
+     *		  thrown if the request stream ends prematurely.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created from <code>post</code>.
+     *
+     */
+    private final Rmap reshape(Rmap responseI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
     {
 	// Strip out the <code>Server</code> and <code>Source</code>
 	// information from the response. In addition, strip out unnecessary
@@ -755,10 +1264,89 @@ class MirrorController
 	    response.getParent().removeChild(response);
 	}
 
-	// Send the result to our <code>Source</code>.
-	getSource().addChild(response);
+	return (response);
     }
 
+    /**
+     * Builds the request to issue for a pipelined mirror.
+     * <p>
+     * Before anything has been mirrored, this is a copy of the original
+     * request. After that, the copy is changed to ask for the data after the
+     * high-water mark, the same way a subscription starting at a time does.
+     * When the original request is for an absolute time range, the copy only
+     * asks for the part of that range that is left after the high-water
+     * mark.
+     * <p>
+     * After a lost connection, the frames that were still waiting to be
+     * acknowledged may or may not have been stored. The high-water mark is
+     * moved up to the end of the data that the <code>Source</code> holds, so
+     * that those frames are not fetched a second time.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the request.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #getHighWater()
+     * @see #getStoredEnd()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final DataRequest resumeRequest()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	DataRequest requestR = (DataRequest) getRequest().clone();
+
+	if (resumed) {
+	    double stored = getStoredEnd();
+	    if (stored > highWater) {
+		highWater = stored;
+	    }
+	}
+
+	if (highWater != -Double.MAX_VALUE) {
+	    boolean absolute = (requestR.getReference() == DataRequest.ABSOLUTE);
+	    requestR.setReference(DataRequest.ABSOLUTE);
+	    requestR.setDomain(DataRequest.ALL);
+	    requestR.setRelationship(DataRequest.GREATER);
+	    for (int idx = 0; idx < requestR.getNchildren(); ++idx) {
+		Rmap child = requestR.getChildAt(idx);
+		TimeRange tr = child.getTrange();
+		double duration = ((tr == null) ? 0. : tr.getDuration());
+		if (absolute && (tr != null)) {
+		    // Ask for what is left of the original range.
+		    duration = Math.max(0.,
+					tr.getTime() + tr.getDuration() - highWater);
+		}
+		child.setTrange(new TimeRange(highWater,duration));
+	    }
+	}
+
+	return (requestR);
+    }
+
     /**
      * Runs the mirror.
      * <p>
@@ -766,7 +1354,7 @@ class MirrorController
      * @author Ian Brown
      *
      * @since V2.0
-     * @version 02/11/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -774,6 +1362,7 @@ class MirrorController
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Resume pipelined mirrors that lose their connection.
      * 02/11/2004  INB	Log exceptions at standard level.
      * 11/14/2003  INB	Use <code>ThreadWithLocks</code> rather than
      *			<code>Thread</code> and ensure that <code>Locks</code>
@@ -782,45 +1371,62 @@ class MirrorController
      *
      */
     public final void run() {
+	int failures = 0;
 
 	try {
-	    // Initialize the destination <code>Source</code>.
-	    initializeSource();
+	    while (true) {
+		double startingMark = highWater;
 
-	    // Create the <code>Sink</code>.
-	    createSink();
+		try {
+		    // Initialize the destination <code>Source</code>.
+		    initializeSource();
 
-	    // Issue the request.
-	    issueRequest();
+		    // Create the <code>Sink</code>.
+		    createSink();
 
-	    // Loop until the request completes.
-	    loopRequest();
+		    // Issue the request.
+		    issueRequest();
 
-	} catch (java.lang.Exception e) {
-	    try {
-		String name;
-		if (getDirection() == PULL) {
-		    name = getLocal().getFullName();
-		} else {
-		    name = getRemote().getFullName();
-		}
-		name += "<-" + getSource().getFullName();
-		for (int idx = 0; idx < name.length(); ++idx) {
-		    if (name.charAt(idx)  == '/') {
-			name = (name.substring(0,idx) +
-				"_" +
-				name.substring(idx + 1));
+		    // Loop until the request completes.
+		    if (inFlightDefault > 0) {
+			loopPipelined();
+		    } else {
+			loopRequest();
+		    }
+		    break;
+
+		} catch (java.lang.Exception e) {
+		    // A pipelined mirror that loses its connection resumes
+		    // from the high-water mark, unless it keeps failing
+		    // without getting anything across.
+		    if (highWater > startingMark) {
+			failures = 0;
+		    }
+		    if ((inFlightDefault == 0) ||
+			(e instanceof java.lang.InterruptedException) ||
+			(++failures > MAXIMUM_RETRIES)) {
+			throw e;
 		    }
+		    logException(e);
 		}
 
-		getLog().addException
-		    (Log.STANDARD,
-		     getLogClass(),
-		     name,
-		     e);
-	    } catch (java.lang.Exception e1) {
+		try {
+		    disconnectSource();
+		} catch (java.lang.Exception e) {
+		}
+		try {
+		    disconnectSink();
+		} catch (java.lang.Exception e) {
+		}
+		inFlight.removeAllElements();
+		framesInFlight = 0;
+		resumed = true;
+		Thread.sleep(TimerPeriod.NORMAL_WAIT*failures);
 	    }
 
+	} catch (java.lang.Exception e) {
+	    logException(e);
+
 	} finally {
 	    try {
 		disconnectSource();
@@ -926,8 +1532,16 @@ class MirrorController
 	protected void cloned(Object o)
 	{
 		MirrorController clonedR = (MirrorController)o;
+		clonedR.framesInFlight = framesInFlight;
+		clonedR.highWater = highWater;
+		clonedR.inFlight = new java.util.Vector(inFlight.size());
+		for (int idx = 0; idx < inFlight.size(); ++idx) {
+			clonedR.inFlight.addElement(inFlight.elementAt(idx));
+		}
 		clonedR.local = local;
+		clonedR.resumed = resumed;
 		clonedR.sink = sink;
+		clonedR.template = template;
 		clonedR.thread = thread;
 	}
 }
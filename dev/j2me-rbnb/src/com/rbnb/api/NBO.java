@@ -30,7 +30,7 @@ package com.rbnb.api;
  *
  * @see #initiateRequestAt(int indexI)
  * @since V2.0
- * @version 08/05/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -40,6 +40,12 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Share equivalent streaming requests between
+ *			<code>NBOs</code> through <code>StreamShares</code>.
+ *		   INB	Queue responses on the <code>RCO's SendQueue</code>,
+ *			if it has one.
+ *		   INB	Record the time sinks wait for the first response to
+ *			their requests in the <code>HotPathMetrics</code>.
  * 08/05/2004  INB	Added documentation at top level.
  * 07/30/2004  INB	Added outline of how requests are processed to
  *			initiateRequestAt.
@@ -96,6 +102,21 @@ final class NBO
      */
     private boolean checkStream = false;
 
+    /**
+     * the time the current request was started, for the
+     * <code>HotPathMetrics</code>.
+     * <p>
+     * This is -1 once the first response has been sent or if metrics are not
+     * being recorded.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long fetchStart = -1;
+
     /**
      * the identification for the next <code>RSVP</code>.
      * <p>
@@ -129,6 +150,18 @@ final class NBO
      */
     private java.util.Hashtable remoteClients = new java.util.Hashtable();
 
+    /**
+     * the <code>StreamShare</code> that this <code>NBO</code> belongs to.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.StreamShare
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private StreamShare share = null;
+
     /**
      * the <code>RequestOptions</code>.
      * <p>
@@ -486,6 +519,9 @@ final class NBO
      * Sends a response <code>Serializable</code> that was retrieved by an
      * asynchronously running <code>StreamRequestHandler</code>.
      * <p>
+     * If this <code>NBO</code> leads a <code>StreamShare</code>, the response
+     * goes to every member of the share, including this one.
+     * <p>
      *
      * @author Ian Brown
      *
@@ -500,7 +536,7 @@ final class NBO
      *		  thrown if the operation is interrupted.
      * @see #asynchronousException(java.lang.Exception)
      * @since V2.0
-     * @version 04/06/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -508,6 +544,9 @@ final class NBO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Hand responses to the members of our
+     *			<code>StreamShare</code> when we lead one. The sending
+     *			itself moved to <code>sendResponse</code>.
      * 04/06/2004  INB	Moved sending of response after updating of
      *			<code>RSVP</code> list.  In the original order, it was
      *			possible for the client to acknowledge the response
@@ -525,29 +564,10 @@ final class NBO
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	try {
-	    boolean clearSerializable = false;
-	    RSVP rsvp = null;
-
-	    getAsynchronousDoor().setIdentification(getFullName() + "_asynch");
-	    getAsynchronousDoor().lock("NBO.asynchronousResponse");
-	    if (getRCO() != null) {
-		if (responseI instanceof RSVP) {
-		    rsvp = (RSVP) responseI;
-		    rsvp.setIdentification(nextRSVP++);
-		    clearSerializable = true;
-		    synchronized (unansweredRSVPs) {
-			unansweredRSVPs.addElement(rsvp);
-		    }
-		}
-		getRCO().send(responseI);
-		if (clearSerializable) {
-		    rsvp.setSerializable(null);
-		}
-	    }
+	StreamShare lShare = share;
 
-	} finally {
-	    getAsynchronousDoor().unlock();
+	if ((lShare == null) || !lShare.fanOut(this,responseI)) {
+	    sendResponse(responseI);
 	}
     }
 
@@ -945,7 +965,7 @@ final class NBO
      * @see com.rbnb.api.StreamTimeRelativeListener
      * @see #addChild(com.rbnb.api.Rmap)
      * @since V2.0
-     * @version 07/30/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -953,6 +973,9 @@ final class NBO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Join a <code>StreamShare</code> for streaming requests
+     *			that can be shared.
+     *		   INB	Start timing the fetch for the <code>HotPathMetrics</code>.
      * 07/30/2004  INB	Added overview of processing.
      * 04/02/2001  INB	Created.
      *
@@ -964,6 +987,8 @@ final class NBO
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
+	fetchStart = HotPathMetrics.startTimer();
+	leaveShare();
 	if (getSRH() != null) {
 	    // If there is an old request running, terminate it.
 	    setCstream(false);
@@ -1041,12 +1066,115 @@ final class NBO
 	    request.setRelationship(DataRequest.LESS_EQUAL);
 	}
 
+	setSRI(indexI);
+	if (StreamShare.isShareable(request)) {
+	    // If someone else is already running an equivalent streaming
+	    // request, then we just join them.
+	    Rmap rHandler = null;
+	    for (rHandler = getParent();
+		 !(rHandler instanceof RoutingMapHandler);
+		 rHandler = rHandler.getParent()) {
+	    }
+	    share = StreamShare.join(rHandler,
+				     request,
+				     getRequestOptions(),
+				     this);
+	    if (share.getLeader() != this) {
+		return;
+	    }
+	}
+
 	// Create a <code>StreamRequestHandler</code>.
 	setSRH(new StreamRequestHandler(this,request));
-	setSRI(indexI);
 	getSRH().start();
     }
 
+    /**
+    /**
+     * Starts a <code>StreamRequestHandler</code> for our
+     * <code>StreamShare</code> after its previous leader left.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param requestI  the shared request.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see com.rbnb.api.StreamShare#leave(com.rbnb.api.NBO)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void leadShare(DataRequest requestI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if (getSRH() == null) {
+	    setSRH(new StreamRequestHandler(this,requestI));
+	    getSRH().start();
+	}
+    }
+
+    /**
+    /**
+     * Leaves our <code>StreamShare</code>, if any.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void leaveShare()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	StreamShare lShare = share;
+
+	if (lShare != null) {
+	    share = null;
+	    lShare.leave(this);
+	}
+    }
+
     /**
      * Moves down a level in the <code>Rmap</code> hierarchy in response to a
      * request <code>Rmap</code> hierarchy.
@@ -1196,6 +1324,78 @@ final class NBO
 	throws java.lang.InterruptedException {
     }
 
+    /**
+     * Sends a response <code>Serializable</code> to our <code>RCO</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param responseI  the response <code>Serializable</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #asynchronousResponse(com.rbnb.api.Serializable)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created from <code>asynchronousResponse</code>.
+     *		   INB	Queue responses other than <code>RSVPs</code> on the
+     *			<code>RCO's SendQueue</code>.
+     *		   INB	Record the fetch time in the <code>HotPathMetrics</code>.
+     *
+     */
+    final void sendResponse(Serializable responseI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	try {
+	    boolean clearSerializable = false;
+	    RSVP rsvp = null;
+
+	    getAsynchronousDoor().setIdentification(getFullName() + "_asynch");
+	    getAsynchronousDoor().lock("NBO.sendResponse");
+	    if (getRCO() != null) {
+		if (responseI instanceof RSVP) {
+		    rsvp = (RSVP) responseI;
+		    rsvp.setIdentification(nextRSVP++);
+		    clearSerializable = true;
+		    synchronized (unansweredRSVPs) {
+			unansweredRSVPs.addElement(rsvp);
+		    }
+		}
+		if (clearSerializable) {
+		    // Gap control RSVPs are sent immediately, as their
+		    // contents are cleared once they have been sent.
+		    getRCO().send(responseI);
+		    rsvp.setSerializable(null);
+		} else {
+		    getRCO().queue(responseI);
+		    if (fetchStart != -1) {
+			// The first response ends the fetch.
+			HotPathMetrics.stopFetch(getName(),fetchStart);
+			fetchStart = -1;
+		    }
+		}
+	    }
+
+	} finally {
+	    getAsynchronousDoor().unlock();
+	}
+    }
+
     /**
      * Sets the <code>Door</code> that controls the sequencing of asynchronous
      * responses.
@@ -1324,7 +1524,7 @@ final class NBO
      * @author Ian Brown
      *
      * @since V2.0
-     * @version 03/21/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1332,11 +1532,16 @@ final class NBO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Leave our <code>StreamShare</code>.
      * 03/21/2003  INB	Made final. Clear <code>RemoteClients</code> list.
      * 06/11/2001  INB	Created.
      *
      */
     final void shutdown() {
+	try {
+	    leaveShare();
+	} catch (java.lang.Exception e) {
+	}
 	if (getSRH() != null) {
 	    try {
 		// Terminate any running request.
@@ -1431,7 +1636,7 @@ final class NBO
      * @see #acceptFrame(boolean)
      * @see #addChild(com.rbnb.api.Rmap)
      * @since V2.0
-     * @version 06/20/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1439,6 +1644,7 @@ final class NBO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Leave our <code>StreamShare</code>.
      * 05/30/2001  INB	Created.
      *
      */
@@ -1449,6 +1655,10 @@ final class NBO
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
+	try {
+	    leaveShare();
+	} catch (java.lang.Exception e) {
+	}
 	if (getSRH() != null) {
 	    // Terminate any running request.
 	    try {
@@ -0,0 +1,356 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * A compiled wildcard pattern for one level of an <code>Rmap</code> name.
+ * <p>
+ * Patterns use the syntax of <code>com.rbnb.utility.Wildcards</code>. The
+ * names "*" and "..." are not patterns; they keep their existing meanings
+ * as requests.
+ * <p>
+ * Each pattern remembers the literal prefix that any matching name must
+ * start with. Since the children of an <code>Rmap</code> are sorted by name,
+ * the candidates for a pattern can be found by a binary search for the
+ * prefix followed by a walk over the names that start with it, rather than
+ * by testing every child.
+ * <p>
+ * Compiled patterns are shared through a small cache, so that a pattern is
+ * only compiled once no matter how many names it is tested against.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.utility.Wildcards
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class NamePattern {
+
+    /**
+     * the cache of compiled patterns.
+     * <p>
+     * This maps each pattern string to its <code>NamePattern</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static java.util.Hashtable compiled =
+	new java.util.Hashtable();
+
+    /**
+     * the maximum number of compiled patterns cached.
+     * <p>
+     * When the cache is full, it is cleared and starts over.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int CACHE_LIMIT = 256;
+
+    /**
+     * the literal prefix that every matching name starts with.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private String prefix;
+
+    /**
+     * the compiled wildcard expression.
+     * <p>
+     * The expression keeps state while it is matching, so it is locked while
+     * in use.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private com.rbnb.utility.Wildcards wildcards;
+
+    /**
+     * Class constructor to build a <code>NamePattern</code> from a compiled
+     * expression and its literal prefix.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param prefixI	 the literal prefix.
+     * @param wildcardsI the compiled expression.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private NamePattern(String prefixI,
+			com.rbnb.utility.Wildcards wildcardsI)
+    {
+	super();
+	prefix = prefixI;
+	wildcards = wildcardsI;
+    }
+
+    /**
+     * Compiles a name into a <code>NamePattern</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nameI  the name.
+     * @return the <code>NamePattern</code> or <code>null</code> if the name
+     *	       is not a pattern.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static NamePattern compile(String nameI) {
+	if ((nameI == null) ||
+	    nameI.equals("*") ||
+	    nameI.equals("...")) {
+	    return (null);
+	}
+
+	NamePattern patternR = (NamePattern) compiled.get(nameI);
+	if (patternR != null) {
+	    return (patternR);
+	}
+
+	// The prefix ends at the first special character. An inverted or
+	// alternated pattern has no usable prefix.
+	String special = com.rbnb.utility.Wildcards.getWildcardCharacters();
+	int end;
+	for (end = 0; end < nameI.length(); ++end) {
+	    char character = nameI.charAt(end);
+	    if ((character == '\\') || (special.indexOf(character) != -1)) {
+		break;
+	    }
+	}
+	if (end == nameI.length()) {
+	    return (null);
+	}
+	String prefix = nameI.substring(0,end);
+	if ((nameI.charAt(0) == '!') || (nameI.indexOf('|') != -1)) {
+	    prefix = "";
+	}
+
+	try {
+	    patternR = new NamePattern
+		(prefix,
+		 new com.rbnb.utility.Wildcards(nameI));
+	} catch (java.lang.Exception e) {
+	    // A name that does not compile is just a name.
+	    return (null);
+	}
+
+	synchronized (compiled) {
+	    if (compiled.size() >= CACHE_LIMIT) {
+		compiled.clear();
+	    }
+	    compiled.put(nameI,patternR);
+	}
+
+	return (patternR);
+    }
+
+    /**
+     * Finds the children of an <code>Rmap</code> whose names match this
+     * <code>NamePattern</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param parentI  the parent <code>Rmap</code>.
+     * @param matchesO the vector of matching children.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with serialization.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if this operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void findMatches(Rmap parentI,java.util.Vector matchesO)
+	throws com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	RmapVector children = parentI.getChildren();
+	if (children == null) {
+	    return;
+	}
+
+	synchronized (children) {
+	    // Find the first child that does not sort before the prefix.
+	    int lo = 0,
+		hi = children.size() - 1,
+		idx;
+	    while (lo <= hi) {
+		idx = (lo + hi)/2;
+		if (Rmap.compareNames
+		    (((Rmap) children.elementAt(idx)).getName(),
+		     prefix) < 0) {
+		    lo = idx + 1;
+		} else {
+		    hi = idx - 1;
+		}
+	    }
+
+	    // Walk the children that start with the prefix.
+	    for (idx = lo; idx < children.size(); ++idx) {
+		Rmap child = (Rmap) children.elementAt(idx);
+		String name = child.getName();
+
+		if ((name == null) || !name.startsWith(prefix)) {
+		    break;
+		} else if (matches(name)) {
+		    matchesO.addElement(child);
+		}
+	    }
+	}
+    }
+
+    /**
+     * Does the input name match this <code>NamePattern</code>?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nameI  the name.
+     * @return does it match?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean matches(String nameI) {
+	if ((nameI == null) || !nameI.startsWith(prefix)) {
+	    return (false);
+	}
+	synchronized (wildcards) {
+	    return (wildcards.matches(nameI));
+	}
+    }
+
+    /**
+     * Does the input name match the input pattern?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param patternI  the pattern.
+     * @param nameI	the name.
+     * @return does it match? This is <code>false</code> if the pattern is
+     *	       not a pattern.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean matches(String patternI,String nameI) {
+	NamePattern pattern = compile(patternI);
+
+	return ((pattern != null) && pattern.matches(nameI));
+    }
+
+    /**
+     * Gets a string representation of this <code>NamePattern</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the string representation.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final String toString() {
+	return ("NamePattern " + wildcards);
+    }
+}
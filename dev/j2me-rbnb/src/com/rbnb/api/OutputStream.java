@@ -28,7 +28,7 @@ import com.rbnb.compat.Utilities;
  *
  * @see com.rbnb.api.InputStream
  * @since V2.0
- * @version 10/22/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -39,6 +39,14 @@ import com.rbnb.compat.Utilities;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added framed mode, in which each flush sends what has
+ *			been written since the last one as a single
+ *			length-prefixed frame.
+ *		   INB	Added the link codec, which encodes each frame on
+ *			routing and mirror connections that ask for it.
+ *		   INB	Added the capabilities negotiated for the connection.
+ *		   INB	Split output that would make a frame longer than
+ *			<code>InputStream.FRAME_MAXIMUM</code>.
  * 10/22/2003  INB	Made <code>setWritten</code> externally accessible.
  * 02/02/2001  INB	Modified for V2.0 (Rmap) RBNB.
  * 03/01/1997  INB	Created.
@@ -88,6 +96,21 @@ class OutputStream
      */
     private String buildVersion = null;
 
+    /**
+     * the capabilities negotiated for the connection.
+     * <p>
+     * Objects check these to see whether they can write things that only
+     * the other end of a connection that granted them can read.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.IsSupported#isNegotiated(int,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int capabilities = 0;
+
     /**
      * stage writes for a future flush?
      * <p>
@@ -176,6 +199,69 @@ class OutputStream
      */
     private java.io.OutputStream ros = null;
 
+    /**
+     * framed mode?
+     * <p>
+     * If this field is set, output is collected in <code>frame</code> and
+     * sent by <code>flush</code> as a single frame consisting of a four byte
+     * length followed by that many bytes.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.InputStream#setFramed(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean framed = false;
+
+    /**
+     * the frame being built.
+     * <p>
+     * The first four bytes are reserved for the length of the frame.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private byte[] frame = null;
+
+    /**
+     * the number of bytes in <code>frame</code>, including the length.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int frameLength = 0;
+
+    /**
+     * the codec used to encode frames.
+     * <p>
+     * This is only set in framed mode on routing and mirror connections
+     * whose two ends agreed to use it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.InputStream#setLinkCodec(com.rbnb.api.LinkCodec)
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private LinkCodec linkCodec = null;
+
+    // Private constants:
+    private final static int FRAME_HEADER = 4;
+    private final static int FRAME_INITIAL = 8192;
+    private final static int FRAME_RETAIN = 1024*1024;
+
+    // The link codec adds a few bytes to a frame that doesn't compress.
+    private final static int FRAME_CONTENTS = InputStream.FRAME_MAXIMUM - 8;
+
     // Package class constants:
     final static String[] BOOLEANS = { "FALSE", "TRUE" };
 
@@ -351,7 +437,7 @@ class OutputStream
      * @author Ian Brown
      *
      * @since V2.0
-     * @version 08/20/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -359,11 +445,15 @@ class OutputStream
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Drop the frame buffer.
+     *		   INB	Drop the link codec.
      * 03/12/2001  INB	Created.
      *
      */
     public void close() {
 	os = null;
+	frame = null;
+	linkCodec = null;
     }
 
     /**
@@ -375,7 +465,7 @@ class OutputStream
      * @exception java.io.Exception
      *		  thrown if there is a problem flushing the stream.
      * @since V1.0
-     * @version 08/20/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -383,6 +473,7 @@ class OutputStream
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Send the frame in framed mode.
      * 02/02/2001  INB	Modified for V2.0 (Rmap) RBNB.
      * 03/01/1997  INB	Created.
      *
@@ -398,6 +489,9 @@ class OutputStream
 		writeString("\r\n");
 	    }
 	    try {
+		if (framed) {
+		    flushFrame();
+		}
 		os.flush();
 		if (ros != os) {
 		    ros.flush();
@@ -415,6 +509,66 @@ class OutputStream
 	}
     }
 
+    /**
+     * Sends the current frame, if it has anything in it.
+     * <p>
+     * The length is filled in ahead of the contents and the whole frame is
+     * written to the underlying stream in one call. If there is a link
+     * codec, it is the encoded contents that are sent.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception java.io.IOException
+     *		  thrown if there is a problem writing the frame.
+     * @see #flush()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *		   INB	Encode the contents with the link codec.
+     *
+     */
+    private final void flushFrame()
+	throws java.io.IOException
+    {
+	int length = frameLength - FRAME_HEADER;
+
+	if (length > 0) {
+	    byte[] buffer = frame;
+	    int nBytes = frameLength;
+	    if (linkCodec != null) {
+		// The codec leaves room for the length ahead of what it
+		// produces.
+		buffer = linkCodec.encode(frame,
+					  FRAME_HEADER,
+					  length,
+					  FRAME_HEADER);
+		nBytes = buffer.length;
+		length = nBytes - FRAME_HEADER;
+	    }
+	    buffer[0] = (byte) ((length >> 24) & 0xff);
+	    buffer[1] = (byte) ((length >> 16) & 0xff);
+	    buffer[2] = (byte) ((length >>  8) & 0xff);
+	    buffer[3] = (byte) ((length      ) & 0xff);
+	    os.write(buffer,0,nBytes);
+	    setWritten(getWritten() + FRAME_HEADER);
+	    frameLength = FRAME_HEADER;
+
+	    if (frame.length > FRAME_RETAIN) {
+		// Don't hang on to the space used by an unusually large
+		// message.
+		frame = new byte[FRAME_INITIAL];
+	    }
+	}
+    }
+
     /**
      * Gets the binary mode flag.
      * <p>
@@ -463,6 +617,30 @@ class OutputStream
 	return (buildDate);
     }
 
+    /**
+     * Gets the capabilities negotiated for the connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the capabilities.
+     * @see #setCapabilities(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getCapabilities() {
+	return (capabilities);
+    }
+
     /**
      * Gets the build version.
      * <p>
@@ -524,6 +702,30 @@ class OutputStream
 	return (((RandomAccessOutputStream) ros).getFilePointer());
     }
 
+    /**
+     * Gets the framed mode flag.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return is this stream in framed mode?
+     * @see #setFramed(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean getFramed() {
+	return (framed);
+    }
+
     /**
      * Gets the number of bytes written at the last flush.
      * <p>
@@ -597,6 +799,36 @@ class OutputStream
 	return (written);
     }
 
+    /**
+     * Grows the frame buffer to hold at least the specified number of
+     * additional bytes.
+     * <p>
+     * The buffer never grows beyond what a frame can hold.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param neededI  the number of additional bytes needed.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void growFrame(int neededI) {
+	byte[] old = frame;
+	frame = new byte[Math.max(Math.min(2*old.length,
+					   FRAME_HEADER + FRAME_CONTENTS),
+				  frameLength + neededI)];
+	System.arraycopy(old,0,frame,0,frameLength);
+    }
+
     /**
      * Removes the last element of the staged output.
      * <p>
@@ -697,6 +929,30 @@ class OutputStream
 	buildDate = buildDateI;
     }
 
+    /**
+     * Sets the capabilities negotiated for the connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param capabilitiesI the capabilities.
+     * @see #getCapabilities()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setCapabilities(int capabilitiesI) {
+	capabilities = capabilitiesI;
+    }
+
     /**
      * Sets the build version.
      * <p>
@@ -721,6 +977,51 @@ class OutputStream
 	buildVersion = buildVersionI;
     }
 
+    /**
+     * Sets the framed mode flag.
+     * <p>
+     * Anything written before the switch is flushed out unframed. The other
+     * end must switch its <code>InputStream</code> at the same point.
+     * Leaving framed mode also drops any link codec.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param framedI  framed mode?
+     * @exception java.io.IOException
+     *		  thrown if there is a problem flushing the stream.
+     * @see #getFramed()
+     * @see com.rbnb.api.InputStream#setFramed(boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *		   INB	Drop the link codec when leaving framed mode.
+     *
+     */
+    final void setFramed(boolean framedI)
+	throws java.io.IOException
+    {
+	if (framedI != framed) {
+	    flush();
+	    framed = framedI;
+	    if (framed) {
+		frame = new byte[FRAME_INITIAL];
+		frameLength = FRAME_HEADER;
+	    } else {
+		frame = null;
+		frameLength = 0;
+		linkCodec = null;
+	    }
+	}
+    }
+
     /**
      * Sets the number of bytes written at the last flush.
      * <p>
@@ -745,6 +1046,40 @@ class OutputStream
 	lastFlush = lastFlushI;
     }
 
+    /**
+     * Sets the codec used to encode frames.
+     * <p>
+     * This only has an effect in framed mode. Anything written before the
+     * switch is flushed out first. The other end must set the codec of its
+     * <code>InputStream</code> at the same point.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param linkCodecI  the <code>LinkCodec</code> or <code>null</code> to
+     *			  send frames as is.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem flushing the stream.
+     * @see com.rbnb.api.InputStream#setLinkCodec(com.rbnb.api.LinkCodec)
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setLinkCodec(LinkCodec linkCodecI)
+	throws java.io.IOException
+    {
+	flush();
+	linkCodec = framed ? linkCodecI : null;
+    }
+
     /**
      * Sets the stage output flag.
      * <p>
@@ -842,7 +1177,7 @@ class OutputStream
      * @exception java.io.IOException
      *		  thrown if there is a problem writing out the array.
      * @since V1.0
-     * @version 07/26/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -850,6 +1185,8 @@ class OutputStream
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Add to the frame in framed mode.
+     *		   INB	Send full frames as they fill up.
      * 02/02/2001  INB	Modified for V2.0 (Rmap) RBNB.
      * 03/01/1997  INB	Created.
      *
@@ -866,7 +1203,29 @@ class OutputStream
 	} else {
 	    writeStaged();
 
-	    os.write(bI,offI,lenI);
+	    if (framed) {
+		for (int offset = offI,
+			 remaining = lenI,
+			 nBytes;
+		     remaining > 0;
+		     offset += nBytes,
+			 remaining -= nBytes) {
+		    if (frameLength == FRAME_HEADER + FRAME_CONTENTS) {
+			// Send the full frame and carry on in a new one.
+			flushFrame();
+		    }
+		    nBytes = Math.min(remaining,
+				      FRAME_HEADER + FRAME_CONTENTS -
+				      frameLength);
+		    if (frameLength + nBytes > frame.length) {
+			growFrame(nBytes);
+		    }
+		    System.arraycopy(bI,offset,frame,frameLength,nBytes);
+		    frameLength += nBytes;
+		}
+	    } else {
+		os.write(bI,offI,lenI);
+	    }
 	    setWritten(getWritten() + lenI);
 	}
     }
@@ -881,7 +1240,7 @@ class OutputStream
      * @exception java.io.IOException
      *		  thrown if there is a problem writing out the byte.
      * @since V1.0
-     * @version 08/20/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -889,6 +1248,8 @@ class OutputStream
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Add to the frame in framed mode.
+     *		   INB	Send full frames as they fill up.
      * 02/02/2001  INB	Modified for V2.0 (Rmap) RBNB.
      * 03/01/1997  INB	Created.
      *
@@ -904,7 +1265,17 @@ class OutputStream
 	    baos.close();
 	} else {
 	    writeStaged();
-	    os.write(bI);
+	    if (framed) {
+		if (frameLength == FRAME_HEADER + FRAME_CONTENTS) {
+		    flushFrame();
+		}
+		if (frameLength == frame.length) {
+		    growFrame(1);
+		}
+		frame[frameLength++] = (byte) bI;
+	    } else {
+		os.write(bI);
+	    }
 	    setWritten(getWritten() + 1);
 	}
     }
@@ -0,0 +1,994 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Compresses and decompresses the data payloads of <code>DataBlocks</code>.
+ * <p>
+ * Two lossless codecs are provided:
+ * <p><ul>
+ * <li><code>XOR</code> - for <code>FLOAT32</code> and <code>FLOAT64</code>
+ *     data. Each value is XORed with the previous one and only the bits that
+ *     differ are stored, along with the number of leading and trailing zero
+ *     bits when they change. A value equal to the previous one takes a
+ *     single bit. Slowly changing sensor data usually shrinks a great deal.
+ *     </li>
+ * <li><code>LZ</code> - for any other data. Runs of literal bytes are
+ *     followed by copies of earlier bytes, using a small hash table of four
+ *     byte sequences to find the matches. This trades compression for
+ *     speed.</li>
+ * </ul><p>
+ * An instance of this class holds the buffer being written or read. The
+ * <code>XOR</code> codec works in bits, the <code>LZ</code> codec in bytes.
+ * <p>
+ * The <code>LZ</code> codec can also compress the end of a buffer using the
+ * bytes ahead of it as a dictionary, which is how the
+ * <code>LinkCodec</code> finds matches in earlier messages.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.DataBlock#compress()
+ * @see com.rbnb.api.LinkCodec
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class PayloadCodec {
+
+    /**
+     * the byte oriented codec for general data.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static byte LZ = 1;
+
+    /**
+     * the bit oriented codec for floating point data.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static byte XOR = 2;
+
+    /**
+     * the smallest payload worth compressing.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static int MINIMUM_LENGTH = 64;
+
+    /**
+     * the number of bits in the <code>LZ</code> hash table index.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int HASH_BITS = 12;
+
+    /**
+     * the largest distance back to a match for the <code>LZ</code> codec.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int MAXIMUM_OFFSET = 65535;
+
+    /**
+     * the shortest match for the <code>LZ</code> codec.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int MINIMUM_MATCH = 4;
+
+    /**
+     * the buffer being written or read.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private byte[] buffer;
+
+    /**
+     * did a write run past the end of the buffer?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean overflow = false;
+
+    /**
+     * the current position in the buffer. This is in bits for the
+     * <code>XOR</code> codec and in bytes for the <code>LZ</code> codec.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int position = 0;
+
+    /**
+     * Class constructor to build a <code>PayloadCodec</code> on a buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param bufferI the buffer.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private PayloadCodec(byte[] bufferI) {
+	super();
+	buffer = bufferI;
+    }
+
+    /**
+     * Compresses the end of a buffer with the <code>LZ</code> codec.
+     * <p>
+     * The bytes ahead of the starting index are not compressed, but serve as
+     * a dictionary of earlier data that matches can refer back to. The same
+     * dictionary must be in place to expand the result.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawI    the buffer.
+     * @param startI  the index of the first byte to compress.
+     * @return the compressed bytes or null if they would not be smaller.
+     * @see #expand(byte[],int,byte[],int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static byte[] compress(byte[] rawI,int startI) {
+	if (rawI.length - startI < 2) {
+	    return (null);
+	}
+
+	PayloadCodec codec =
+	    new PayloadCodec(new byte[rawI.length - startI - 1]);
+	codec.encodeLz(rawI,startI);
+	if (codec.overflow) {
+	    return (null);
+	}
+
+	byte[] encodedR = new byte[codec.position];
+	System.arraycopy(codec.buffer,0,encodedR,0,codec.position);
+
+	return (encodedR);
+    }
+
+    /**
+     * Decodes a compressed payload.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param codecI   the codec used to encode the payload.
+     * @param encodedI the encoded payload.
+     * @param lengthI  the number of bytes in the decoded payload.
+     * @param ptsizeI  the size of a point in bytes.
+     * @param lsbI     are the points in LSB order?
+     * @return the decoded payload.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static byte[] decode(byte codecI,
+			       byte[] encodedI,
+			       int lengthI,
+			       int ptsizeI,
+			       boolean lsbI)
+    {
+	PayloadCodec codec = new PayloadCodec(encodedI);
+	byte[] rawR = new byte[lengthI];
+
+	if (codecI == XOR) {
+	    codec.decodeXor(rawR,ptsizeI,lsbI);
+	} else {
+	    codec.decodeLz(rawR,0);
+	}
+
+	return (rawR);
+    }
+
+    /**
+     * Decodes an <code>LZ</code> payload from the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawO    the decoded payload.
+     * @param startI  the index at which to start decoding. Matches can
+     *		      refer back to the bytes ahead of this.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void decodeLz(byte[] rawO,int startI) {
+	int at = startI;
+
+	while (at < rawO.length) {
+	    int token = getByte(),
+		literals = token >>> 4;
+	    if (literals == 15) {
+		literals += getLength();
+	    }
+	    System.arraycopy(buffer,position,rawO,at,literals);
+	    position += literals;
+	    at += literals;
+	    if (at >= rawO.length) {
+		// The last sequence holds only literals.
+		break;
+	    }
+
+	    int offset = getByte() | (getByte() << 8),
+		match = token & 0x0f;
+	    if (match == 15) {
+		match += getLength();
+	    }
+	    match += MINIMUM_MATCH;
+
+	    // The match can overlap the bytes that it is copying, so copy one
+	    // byte at a time.
+	    for (int end = at + match; at < end; ++at) {
+		rawO[at] = rawO[at - offset];
+	    }
+	}
+    }
+
+    /**
+     * Decodes an <code>XOR</code> payload from the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawO    the decoded payload.
+     * @param ptsizeI the size of a point in bytes.
+     * @param lsbI    are the points in LSB order?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void decodeXor(byte[] rawO,int ptsizeI,boolean lsbI) {
+	int width = ptsizeI*8,
+	    lengthBits = (width == 64) ? 6 : 5,
+	    leading = 0,
+	    trailing = 0;
+	long value = 0;
+
+	for (int idx = 0, nPoints = rawO.length/ptsizeI;
+	     idx < nPoints;
+	     ++idx) {
+	    if (idx == 0) {
+		value = getBits(width);
+	    } else if (getBits(1) != 0) {
+		if (getBits(1) != 0) {
+		    // The bits that differ are in a new window.
+		    leading = (int) getBits(5);
+		    trailing = width - leading - ((int) getBits(lengthBits) + 1);
+		}
+		value ^= getBits(width - leading - trailing) << trailing;
+	    }
+	    putWord(rawO,idx*ptsizeI,ptsizeI,lsbI,value);
+	}
+    }
+
+    /**
+     * Encodes a payload.
+     * <p>
+     * The encoding is abandoned as soon as it is no smaller than the
+     * payload.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param codecI  the codec to use.
+     * @param rawI    the payload.
+     * @param ptsizeI the size of a point in bytes.
+     * @param lsbI    are the points in LSB order?
+     * @return the encoded payload or null if it would not be smaller.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static byte[] encode(byte codecI,
+			       byte[] rawI,
+			       int ptsizeI,
+			       boolean lsbI)
+    {
+	PayloadCodec codec = new PayloadCodec(new byte[rawI.length - 1]);
+	int length;
+
+	if (codecI == XOR) {
+	    codec.encodeXor(rawI,ptsizeI,lsbI);
+	    length = (codec.position + 7) >>> 3;
+	} else {
+	    codec.encodeLz(rawI,0);
+	    length = codec.position;
+	}
+	if (codec.overflow) {
+	    return (null);
+	}
+
+	byte[] encodedR = new byte[length];
+	System.arraycopy(codec.buffer,0,encodedR,0,length);
+
+	return (encodedR);
+    }
+
+    /**
+     * Encodes an <code>LZ</code> payload into the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawI    the payload.
+     * @param startI  the index at which to start encoding. The bytes ahead
+     *		      of this are only used as a dictionary.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void encodeLz(byte[] rawI,int startI) {
+	// The table holds one plus the position of the last four byte sequence
+	// with each hash, so that zero means none.
+	int[] table = new int[1 << HASH_BITS];
+	int at = startI,
+	    anchor = startI,
+	    limit = rawI.length - MINIMUM_MATCH;
+
+	// Seed the table with the dictionary.
+	for (int idx = Math.max(0,startI - MAXIMUM_OFFSET),
+		 end = Math.min(startI,limit + 1);
+	     idx < end;
+	     ++idx) {
+	    table[hash(rawI,idx)] = idx + 1;
+	}
+
+	while ((at <= limit) && !overflow) {
+	    int hash = hash(rawI,at),
+		match = table[hash] - 1;
+	    table[hash] = at + 1;
+
+	    if ((match < 0) ||
+		(at - match > MAXIMUM_OFFSET) ||
+		(rawI[match] != rawI[at]) ||
+		(rawI[match + 1] != rawI[at + 1]) ||
+		(rawI[match + 2] != rawI[at + 2]) ||
+		(rawI[match + 3] != rawI[at + 3])) {
+		++at;
+		continue;
+	    }
+
+	    int length = MINIMUM_MATCH;
+	    while ((at + length < rawI.length) &&
+		   (rawI[match + length] == rawI[at + length])) {
+		++length;
+	    }
+	    putSequence(rawI,anchor,at - anchor,at - match,length);
+	    at += length;
+	    anchor = at;
+	}
+
+	if (anchor < rawI.length) {
+	    putSequence(rawI,anchor,rawI.length - anchor,0,0);
+	}
+    }
+
+    /**
+     * Encodes an <code>XOR</code> payload into the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawI    the payload.
+     * @param ptsizeI the size of a point in bytes.
+     * @param lsbI    are the points in LSB order?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void encodeXor(byte[] rawI,int ptsizeI,boolean lsbI) {
+	int width = ptsizeI*8,
+	    lengthBits = (width == 64) ? 6 : 5,
+	    leading = -1,
+	    trailing = 0;
+	long previous = 0;
+
+	for (int idx = 0, nPoints = rawI.length/ptsizeI;
+	     (idx < nPoints) && !overflow;
+	     ++idx) {
+	    long value = getWord(rawI,idx*ptsizeI,ptsizeI,lsbI);
+
+	    if (idx == 0) {
+		putBits(value,width);
+	    } else {
+		long xor = value ^ previous;
+
+		if (xor == 0) {
+		    putBits(0,1);
+		} else {
+		    int lZeros = Math.min(31,leadingZeros(xor,width)),
+			tZeros = trailingZeros(xor);
+
+		    if ((leading != -1) &&
+			(lZeros >= leading) &&
+			(tZeros >= trailing)) {
+			// The bits that differ fit in the previous window.
+			putBits(2,2);
+		    } else {
+			leading = lZeros;
+			trailing = tZeros;
+			putBits(3,2);
+			putBits(leading,5);
+			putBits(width - leading - trailing - 1,lengthBits);
+		    }
+		    putBits(xor >>> trailing,width - leading - trailing);
+		}
+	    }
+	    previous = value;
+	}
+    }
+
+    /**
+     * Expands the bytes produced by <code>compress</code>.
+     * <p>
+     * The buffer to expand into must already hold the dictionary ahead of
+     * the starting index.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param encodedI  the compressed bytes.
+     * @param offsetI   the index of the first compressed byte.
+     * @param rawIO     the buffer to expand into.
+     * @param startI    the index at which to start expanding.
+     * @see #compress(byte[],int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static void expand(byte[] encodedI,
+			     int offsetI,
+			     byte[] rawIO,
+			     int startI)
+    {
+	PayloadCodec codec = new PayloadCodec(encodedI);
+	codec.position = offsetI;
+	codec.decodeLz(rawIO,startI);
+    }
+
+    /**
+     * Reads bits from the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nBitsI the number of bits, up to 64.
+     * @return the bits.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final long getBits(int nBitsI) {
+	long bitsR = 0;
+
+	for (int remaining = nBitsI; remaining > 0; ) {
+	    int available = 8 - (position & 7),
+		count = Math.min(available,remaining),
+		chunk = (((buffer[position >>> 3] & 0xff) >>> (available - count)) &
+			 ((1 << count) - 1));
+	    bitsR = (bitsR << count) | chunk;
+	    position += count;
+	    remaining -= count;
+	}
+
+	return (bitsR);
+    }
+
+    /**
+     * Reads a byte from the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the byte as an unsigned value.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final int getByte() {
+	return (buffer[position++] & 0xff);
+    }
+
+    /**
+     * Reads the extension of an <code>LZ</code> length from the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the amount to add to the length.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final int getLength() {
+	int lengthR = 0,
+	    value;
+
+	do {
+	    value = getByte();
+	    lengthR += value;
+	} while (value == 255);
+
+	return (lengthR);
+    }
+
+    /**
+     * Gets a point from a payload as a word of bits.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawI    the payload.
+     * @param atI     the index of the first byte of the point.
+     * @param ptsizeI the size of a point in bytes.
+     * @param lsbI    is the point in LSB order?
+     * @return the bits of the point.
+     * @see #putWord(byte[],int,int,boolean,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static long getWord(byte[] rawI,
+				      int atI,
+				      int ptsizeI,
+				      boolean lsbI)
+    {
+	long wordR = 0;
+
+	for (int idx = 0; idx < ptsizeI; ++idx) {
+	    wordR = ((wordR << 8) |
+		     (rawI[atI + (lsbI ? ptsizeI - 1 - idx : idx)] & 0xff));
+	}
+
+	return (wordR);
+    }
+
+    /**
+     * Hashes the four byte sequence at an index for the <code>LZ</code>
+     * codec.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawI  the payload.
+     * @param atI   the index of the sequence.
+     * @return the hash table index.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static int hash(byte[] rawI,int atI) {
+	return ((((rawI[atI] & 0xff) |
+		  ((rawI[atI + 1] & 0xff) << 8) |
+		  ((rawI[atI + 2] & 0xff) << 16) |
+		  (rawI[atI + 3] << 24))*-1640531535) >>> (32 - HASH_BITS));
+    }
+
+    /**
+     * Counts the leading zero bits in a word.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param wordI  the word, which must not be zero.
+     * @param widthI the number of bits in the word.
+     * @return the number of leading zeros.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static int leadingZeros(long wordI,int widthI) {
+	int zerosR = 0;
+
+	for (long bit = 1L << (widthI - 1);
+	     (wordI & bit) == 0;
+	     bit >>>= 1) {
+	    ++zerosR;
+	}
+
+	return (zerosR);
+    }
+
+    /**
+     * Writes bits to the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param bitsI  the bits, in the low order bits of the value.
+     * @param nBitsI the number of bits, up to 64.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void putBits(long bitsI,int nBitsI) {
+	if (position + nBitsI > buffer.length*8) {
+	    overflow = true;
+	    return;
+	}
+
+	for (int remaining = nBitsI; remaining > 0; ) {
+	    int free = 8 - (position & 7),
+		count = Math.min(free,remaining),
+		chunk = (int) ((bitsI >>> (remaining - count)) &
+			       ((1 << count) - 1));
+	    buffer[position >>> 3] |= (byte) (chunk << (free - count));
+	    position += count;
+	    remaining -= count;
+	}
+    }
+
+    /**
+     * Writes a byte to the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param valueI the byte.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void putByte(int valueI) {
+	if (position == buffer.length) {
+	    overflow = true;
+	    return;
+	}
+	buffer[position++] = (byte) valueI;
+    }
+
+    /**
+     * Writes the extension of an <code>LZ</code> length to the buffer.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param lengthI the amount to add to the length.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void putLength(int lengthI) {
+	int remaining = lengthI;
+
+	for (; remaining >= 255; remaining -= 255) {
+	    putByte(255);
+	}
+	putByte(remaining);
+    }
+
+    /**
+     * Writes an <code>LZ</code> sequence to the buffer.
+     * <p>
+     * A sequence is a token byte holding the number of literals and the
+     * length of the match, followed by the literal bytes, the offset back to
+     * the match, and any extension of the match length. The last sequence
+     * has no match.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawI	the payload.
+     * @param startI	the index of the first literal.
+     * @param literalsI the number of literals.
+     * @param offsetI	the distance back to the match.
+     * @param matchI	the length of the match or zero for the last
+     *			sequence.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void putSequence(byte[] rawI,
+				   int startI,
+				   int literalsI,
+				   int offsetI,
+				   int matchI)
+    {
+	int match = (matchI == 0) ? 0 : matchI - MINIMUM_MATCH;
+
+	putByte((Math.min(literalsI,15) << 4) | Math.min(match,15));
+	if (literalsI >= 15) {
+	    putLength(literalsI - 15);
+	}
+	if (position + literalsI > buffer.length) {
+	    overflow = true;
+	    return;
+	}
+	System.arraycopy(rawI,startI,buffer,position,literalsI);
+	position += literalsI;
+
+	if (matchI != 0) {
+	    putByte(offsetI & 0xff);
+	    putByte(offsetI >>> 8);
+	    if (match >= 15) {
+		putLength(match - 15);
+	    }
+	}
+    }
+
+    /**
+     * Puts a word of bits into a payload as a point.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rawO    the payload.
+     * @param atI     the index of the first byte of the point.
+     * @param ptsizeI the size of a point in bytes.
+     * @param lsbI    is the point in LSB order?
+     * @param wordI   the bits of the point.
+     * @see #getWord(byte[],int,int,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static void putWord(byte[] rawO,
+				      int atI,
+				      int ptsizeI,
+				      boolean lsbI,
+				      long wordI)
+    {
+	for (int idx = 0; idx < ptsizeI; ++idx) {
+	    rawO[atI + (lsbI ? idx : ptsizeI - 1 - idx)] =
+		(byte) (wordI >>> (8*idx));
+	}
+    }
+
+    /**
+     * Counts the trailing zero bits in a word.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param wordI the word, which must not be zero.
+     * @return the number of trailing zeros.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static int trailingZeros(long wordI) {
+	int zerosR = 0;
+
+	for (long word = wordI; (word & 1) == 0; word >>>= 1) {
+	    ++zerosR;
+	}
+
+	return (zerosR);
+    }
+}
@@ -0,0 +1,353 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Large, pooled byte array used to pack the data payloads of the frames
+ * stored in a <code>Cache FrameSet</code>.
+ * <p>
+ * Rather than keeping one small byte array per frame, a <code>FrameSet</code>
+ * running in packed mode copies each incoming payload into the current
+ * <code>PayloadSlab</code> for its channel. The <code>DataBlock</code> of the
+ * frame is then left holding only a view (offset and length) into the slab.
+ * <p>
+ * Slabs are handed out by <code>acquire</code> and are returned to a pool by
+ * <code>release</code> when the <code>FrameSet</code> owning them is cleared,
+ * so that a busy ring buffer recycles the same few large arrays rather than
+ * creating garbage for every frame.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.DataBlock#packInto(com.rbnb.api.PayloadSlab)
+ * @see com.rbnb.api.FrameSet
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class PayloadSlab {
+
+    /**
+     * the default size of a slab in bytes.
+     * <p>
+     * This can be overridden by setting the <code>slabsize</code> system
+     * property.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    static final int DEFAULT_SIZE = 256*1024;
+
+    /**
+     * the default maximum number of free slabs kept in the pool.
+     * <p>
+     * This can be overridden by setting the <code>slabpool</code> system
+     * property.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    static final int DEFAULT_POOL = 64;
+
+    /**
+     * the bytes of the slab.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private byte[] bytes = null;
+
+    /**
+     * the number of bytes used so far.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int used = 0;
+
+    // Private class fields:
+    private static int slabSize = DEFAULT_SIZE;
+    private static int poolLimit = DEFAULT_POOL;
+    private static java.util.Vector pool = new java.util.Vector();
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("slabsize")) != null) {
+		slabSize = Math.max(1024,Integer.parseInt(value));
+	    }
+	    if ((value = System.getProperty("slabpool")) != null) {
+		poolLimit = Math.max(0,Integer.parseInt(value));
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+    }
+
+    /**
+     * Class constructor.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param sizeI  the size of the slab in bytes.
+     * @see #acquire()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private PayloadSlab(int sizeI) {
+	super();
+	bytes = new byte[sizeI];
+    }
+
+    /**
+     * Gets a slab from the pool, creating a new one if the pool is empty.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the empty slab.
+     * @see #release(com.rbnb.api.PayloadSlab)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    static final PayloadSlab acquire() {
+	PayloadSlab slabR = null;
+
+	synchronized (pool) {
+	    int last = pool.size() - 1;
+
+	    if (last >= 0) {
+		slabR = (PayloadSlab) pool.elementAt(last);
+		pool.removeElementAt(last);
+	    }
+	}
+
+	if (slabR == null) {
+	    slabR = new PayloadSlab(slabSize);
+	}
+
+	return (slabR);
+    }
+
+    /**
+     * Appends bytes to this slab.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param bytesI   the bytes to copy.
+     * @param offsetI  the offset of the first byte to copy.
+     * @param lengthI  the number of bytes to copy.
+     * @return the offset of the copy within the slab or -1 if there isn't
+     *	       enough room left in the slab.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int append(byte[] bytesI,int offsetI,int lengthI) {
+	if (used + lengthI > bytes.length) {
+	    return (-1);
+	}
+
+	int offsetR = used;
+	System.arraycopy(bytesI,offsetI,bytes,offsetR,lengthI);
+	used += lengthI;
+
+	return (offsetR);
+    }
+
+    /**
+     * Gets the bytes of the slab.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the bytes.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final byte[] getBytes() {
+	return (bytes);
+    }
+
+    /**
+     * Gets the largest payload that can be packed into a slab.
+     * <p>
+     * Payloads bigger than a quarter of a slab are left alone, as packing
+     * them would waste most of the slab.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the maximum number of bytes.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    static final int getMaximumPayload() {
+	return (slabSize/4);
+    }
+
+    /**
+     * Gets the number of bytes used.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of bytes used.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getUsed() {
+	return (used);
+    }
+
+    /**
+     * Returns a slab to the pool.
+     * <p>
+     * If the pool is already full, the slab is dropped for the garbage
+     * collector.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param slabI  the slab to return.
+     * @see #acquire()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    static final void release(PayloadSlab slabI) {
+	if ((slabI == null) || (slabI.bytes.length != slabSize)) {
+	    return;
+	}
+
+	slabI.used = 0;
+	synchronized (pool) {
+	    if ((pool.size() < poolLimit) && !pool.contains(slabI)) {
+		pool.addElement(slabI);
+	    }
+	}
+    }
+
+    /**
+     * Returns a string representation of this <code>PayloadSlab</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the string representation.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final String toString() {
+	return ("PayloadSlab " + used + "/" + bytes.length);
+    }
+}
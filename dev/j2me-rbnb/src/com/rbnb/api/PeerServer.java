@@ -29,7 +29,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 07/21/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -39,6 +39,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added the capabilities granted to a connection.
  * 07/21/2004  INB	Changed zzz in SimpleDateFormat to z.
  * 01/14/2004  INB	Added synchronization of metrics.
  * 05/23/2003  INB	Find paths only if things change when disconnected.
@@ -96,6 +97,22 @@ class PeerServer
      */
     private String buildVersion = null;
 
+    /**
+     * the capabilities granted to the connection that this is the
+     * <code>Server</code> response for.
+     * <p>
+     * This is only sent if it is not zero, which is only ever the case in
+     * reply to a <code>Login</code> that offered capabilities.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.IsSupported#acceptCapabilities(int,com.rbnb.api.ClientInterface)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int capabilities = 0;
+
     /**
      * the client side <code>Server</code>.
      * <p>
@@ -157,12 +174,14 @@ class PeerServer
     private final static byte PAR_BLV = 1;
     private final static byte PAR_LIC = 2;
     private final static byte PAR_UPC = 3;
+    private final static byte PAR_CAP = 4;
 
     private final static String[] PARAMETERS = {
 				    "BLD",
 				    "BLV",
 				    "LIC",
-				    "UPC"
+				    "UPC",
+				    "CAP"
 				};
 
     // Private class fields:
@@ -611,7 +630,7 @@ class PeerServer
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 02/04/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -619,6 +638,7 @@ class PeerServer
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Default the capabilities.
      * 12/18/2001  INB	Created.
      *
      */
@@ -645,6 +665,9 @@ class PeerServer
 	    if ((seenI == null) || !seenI[parametersStart + PAR_UPC]) {
 		setUpdateCounter(other.getUpdateCounter());
 	    }
+	    if ((seenI == null) || !seenI[parametersStart + PAR_CAP]) {
+		setCapabilities(other.getCapabilities());
+	    }
 	}
     }
 
@@ -1034,6 +1057,30 @@ class PeerServer
 	return (buildDate);
     }
 
+    /**
+     * Gets the capabilities granted to the connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the capabilities.
+     * @see #setCapabilities(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getCapabilities() {
+	return (capabilities);
+    }
+
     /**
      * Gets the build version.
      * <p>
@@ -1654,7 +1701,7 @@ class PeerServer
      *		  thrown if the read is interrupted.
      * @see #writeServerParameters(com.rbnb.api.Server,com.rbnb.api.OutputStream,com.rbnb.api.DataOutputStream)
      * @since V2.0
-     * @version 07/21/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -1662,6 +1709,7 @@ class PeerServer
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Read the capabilities.
      * 07/21/2004  INB	Changed zzz in SimpleDateFormat to z.
      * 12/18/2001  INB	Created.
      *
@@ -1708,6 +1756,10 @@ class PeerServer
 		setUpdateCounter(isI.readLong());
 		break;
 
+	    case PAR_CAP:
+		setCapabilities(isI.readInt());
+		break;
+
 	    default:
 		serverR = false;
 		break;
@@ -1891,6 +1943,30 @@ class PeerServer
 	buildDate = buildDateI;
     }
 
+    /**
+     * Sets the capabilities granted to the connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param capabilitiesI the capabilities.
+     * @see #getCapabilities()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setCapabilities(int capabilitiesI) {
+	capabilities = capabilitiesI;
+    }
+
     /**
      * Sets the build version.
      * <p>
@@ -2118,7 +2194,7 @@ class PeerServer
      *		  thrown if the operation is interrupted.
      * @see #readServerParameter(int,com.rbnb.api.InputStream,com.rbnb.api.DataInputStream)
      * @since V2.0
-     * @version 07/21/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -2126,6 +2202,7 @@ class PeerServer
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Write the capabilities if there are any.
      * 07/21/2004  INB	Changed zzz in SimpleDateFormat to z.
      * 12/18/2001  INB	Created.
      *
@@ -2177,6 +2254,13 @@ class PeerServer
 	    osI.writeParameter(ALL_PARAMETERS,parametersStart + PAR_UPC);
 	    osI.writeLong(getUpdateCounter());
 	}
+
+	if ((getCapabilities() != 0) &&
+	    ((otherI == null) ||
+	     (getCapabilities() != otherI.getCapabilities()))) {
+	    osI.writeParameter(ALL_PARAMETERS,parametersStart + PAR_CAP);
+	    osI.writeInt(getCapabilities());
+	}
     }
 
 	public Object clone()
@@ -2196,6 +2280,7 @@ class PeerServer
 		clonedR.activeShortcuts = activeShortcuts;
 		clonedR.buildDate = buildDate;
 		clonedR.buildVersion = buildVersion;
+		clonedR.capabilities = capabilities;
 		clonedR.clientSide = clientSide;
 		clonedR.passiveShortcuts = passiveShortcuts;
 		clonedR.shortcuts = shortcuts;
@@ -23,7 +23,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 11/14/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -33,6 +33,10 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Only set the identification of the
+ *			<code>Doors</code> when it is needed.
+ *		   INB	Send any messages waiting on the <code>SendQueue</code>
+ *			before sending a message directly.
  * 11/14/2003  INB	Added identification to the <code>Door</code> and
  *			locations to the <code>Locks</code>.
  * 03/21/2003  INB	Log messages in <code>send/receive</code>.
@@ -286,7 +290,7 @@ final class RAMRCO
      *		  thrown if the operation is interrupted.
      * @see #send(com.rbnb.api.Serializable)
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -294,6 +298,8 @@ final class RAMRCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only set the identification of the <code>Door</code>
+     *			when it is needed.
      * 11/14/2003  INB	Added identification to the <code>Door</code> and
      *			locations to the <code>Locks</code>.
      * 03/21/2003  INB	Log reception.
@@ -308,7 +314,9 @@ final class RAMRCO
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	getReadDoor().setIdentification(this + "_read");
+	if (getReadDoor().needsIdentification()) {
+	    getReadDoor().setIdentification(this + "_read");
+	}
 	Serializable serializableR = null;
 	try {
 	    getReadDoor().lock("RAMRCO.read");
@@ -349,7 +357,7 @@ final class RAMRCO
      *		  thrown if the operation is interrupted.
      * @see #receive(long)
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -357,6 +365,10 @@ final class RAMRCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only set the identification of the <code>Door</code>
+     *			when it is needed.
+     *		   INB	Send any messages waiting on the
+     *			<code>SendQueue</code> first.
      * 11/14/2003  INB	Added identification to the <code>Door</code> and
      *			locations to the <code>Locks</code>.
      * 03/21/2003  INB	Log transmission.
@@ -371,7 +383,12 @@ final class RAMRCO
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	getWriteDoor().setIdentification(this + "_write");
+	// Anything waiting on the send queue goes first.
+	drainSendQueue();
+
+	if (getWriteDoor().needsIdentification()) {
+	    getWriteDoor().setIdentification(this + "_write");
+	}
 	try {
 	    getWriteDoor().lock("RAMRCO.send");
 	    RAMCommunications rc = (RAMCommunications) getServerSide();
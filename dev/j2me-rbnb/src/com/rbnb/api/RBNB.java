@@ -97,7 +97,7 @@ import com.rbnb.compat.File;
  * @see com.rbnb.api.RBO#addChild(com.rbnb.api.Rmap childI)
  * @see com.rbnb.api.RemoteServer
  * @since V2.0
- * @version 06/22/2006
+ * @version 10/18/2026
  */
 
 /*
@@ -107,6 +107,19 @@ import com.rbnb.compat.File;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added <code>rcoPollers</code>. If the
+ *			<code>rcopollers</code> system property is set, the
+ *			connections are run by that many
+ *			<code>RCOPollers</code> rather than by a thread each.
+ *		   INB	Report the <code>SendQueue</code> metrics.
+ *		   INB	Keep running counts of the data held in the caches
+ *			and archives for the metrics.
+ *		   INB	Report the <code>HotPathMetrics</code>.
+ *		   INB	Report the <code>LinkCodec</code> metrics.
+ *		   INB	Use the <code>RouteCache</code> to find
+ *			<code>Paths</code> to <code>PeerServers</code>, clear
+ *			it when the routing changes, and report its hits and
+ *			misses.
  * 06/22/2006  JPW	Add "-H" archive home directory in parseArguments().
  *			Add archiveHomeDirectory, getArchiveHomeDirectory()
  *			and setArchiveHomeDirectory().
@@ -258,6 +271,33 @@ final class RBNB
      */
     private String archiveHomeDirectory = ".";
 
+    /**
+     * the number of bytes of data held in the archives.
+     * <p>
+     * This is kept up to date by the <code>StorageManagers</code> as they
+     * add and remove data.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #addDataCounts(boolean,long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private StripedCounter archiveBytes = new StripedCounter();
+
+    /**
+     * the number of frames held in the archives.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #addDataCounts(boolean,long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private StripedCounter archiveFrames = new StripedCounter();
+
     /**
      * automatically load archives in the current directory?
      * <p>
@@ -279,6 +319,33 @@ final class RBNB
      * @version 11/26/2001
      */
     private Server clientSide = null;
+
+    /**
+     * the number of bytes of data held in the caches.
+     * <p>
+     * This is kept up to date by the <code>StorageManagers</code> as they
+     * add and remove data.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #addDataCounts(boolean,long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private StripedCounter cacheBytes = new StripedCounter();
+
+    /**
+     * the number of frames held in the caches.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #addDataCounts(boolean,long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private StripedCounter cacheFrames = new StripedCounter();
     
     /**
       * Stores the values entered with the -P flag, or null.
@@ -513,6 +580,19 @@ final class RBNB
      */
     private Door rClientsDoor = null;
 
+    /**
+     * the <code>RCOPollers</code> that run the connections to this server.
+     * <p>
+     * This is <code>null</code> if each connection has its own thread.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private RCOPoller[] rcoPollers = null;
+
     /**
      * controls access to this <code>RBNB</code> by remote servers attempting
      * to initiate routes.
@@ -701,6 +781,37 @@ final class RBNB
 	routingDoor = new Door(Door.STANDARD);
     }
 
+    /**
+     * Adds to the counts of the data held by this <code>RBNB</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param archiveI is the data in an archive rather than a cache?
+     * @param bytesI   the change in the number of bytes.
+     * @param framesI  the change in the number of frames.
+     * @see com.rbnb.api.StorageManager#addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void addDataCounts(boolean archiveI,long bytesI,long framesI) {
+	if (archiveI) {
+	    archiveBytes.add(bytesI);
+	    archiveFrames.add(framesI);
+	} else {
+	    cacheBytes.add(bytesI);
+	    cacheFrames.add(framesI);
+	}
+    }
     /**
      * Adds a <code>RemoteClientHandler</code>.
      * <p>
@@ -835,7 +946,7 @@ final class RBNB
      * @return an <code>Rmap</code> containing the metrics.
      * @see com.rbnb.api.MetricsCollector#timerTask(com.rbnb.api.TimerTask)
      * @since V2.0
-     * @version 01/16/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -843,6 +954,13 @@ final class RBNB
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Added the <code>SendQueue</code> metrics.
+     *		   INB	Use the running data counts rather than
+     *			<code>calculateDataSizes</code>. Added the frame
+     *			counts.
+     *		   INB	Added the <code>HotPathMetrics</code>.
+     *		   INB	Added the <code>LinkCodec</code> metrics.
+     *		   INB	Added the <code>RouteCache</code> metrics.
      * 01/16/2004  INB	Initialize the data byte sizes to 0.
      * 11/15/2002  INB	Created.
      *
@@ -858,6 +976,14 @@ final class RBNB
 		metrics.addChild(new Rmap("SocketRate"));
 		metrics.addChild(new Rmap("CacheDataBytes"));
 		metrics.addChild(new Rmap("ArchiveDataBytes"));
+		metrics.addChild(new Rmap("CacheFrames"));
+		metrics.addChild(new Rmap("ArchiveFrames"));
+		if (SendQueue.isEnabled()) {
+		    metrics.addChild(new Rmap("SendQueueFrames"));
+		    metrics.addChild(new Rmap("SendQueueBytes"));
+		    metrics.addChild(new Rmap("SendQueueDropped"));
+		    metrics.addChild(new Rmap("SendQueueBlocked"));
+		}
 	    }
 
 	    rmapR = metrics;
@@ -919,11 +1045,10 @@ final class RBNB
 			       0,
 			       8));
 
-	    long[] cacheDS = new long[1],
-		archiveDS = new long[1];
-	    cacheDS[0] =
-		archiveDS[0] = 0L;
-	    calculateDataSizes(cacheDS,archiveDS);
+	    // The data sizes are kept up to date as data is added and removed,
+	    // so there is no need to walk the ring buffers here.
+	    long[] cacheDS = { cacheBytes.sum() },
+		archiveDS = { archiveBytes.sum() };
 	    rmapR.findDescendant("/CacheDataBytes",false).setDblock
 		(new DataBlock(cacheDS,
 			       1,
@@ -943,6 +1068,66 @@ final class RBNB
 			       0,
 			       8));
 
+	    long[] cacheFR = { cacheFrames.sum() },
+		archiveFR = { archiveFrames.sum() };
+	    rmapR.findDescendant("/CacheFrames",false).setDblock
+		(new DataBlock(cacheFR,
+			       1,
+			       8,
+			       DataBlock.TYPE_INT64,
+			       DataBlock.ORDER_MSB,
+			       false,
+			       0,
+			       8));
+	    rmapR.findDescendant("/ArchiveFrames",false).setDblock
+		(new DataBlock(archiveFR,
+			       1,
+			       8,
+			       DataBlock.TYPE_INT64,
+			       DataBlock.ORDER_MSB,
+			       false,
+			       0,
+			       8));
+
+	    if (SendQueue.isEnabled()) {
+		// Report the state of the queues of messages waiting to be
+		// sent to clients.
+		String[] names = { "/SendQueueFrames",
+				   "/SendQueueBytes",
+				   "/SendQueueDropped",
+				   "/SendQueueBlocked" };
+		long[] values = { SendQueue.getTotalPendingFrames(),
+				  SendQueue.getTotalPendingBytes(),
+				  SendQueue.getTotalDroppedFrames(),
+				  SendQueue.getTotalBlocked() };
+		for (int idx = 0; idx < names.length; ++idx) {
+		    long[] value = { values[idx] };
+		    rmapR.findDescendant(names[idx],false).setDblock
+			(new DataBlock(value,
+				       1,
+				       8,
+				       DataBlock.TYPE_INT64,
+				       DataBlock.ORDER_MSB,
+				       false,
+				       0,
+				       8));
+		}
+	    }
+
+	    if (HotPathMetrics.isEnabled()) {
+		HotPathMetrics.report(rmapR,duration,getActivityQueue());
+	    }
+
+	    if (LinkCodec.isEnabled()) {
+		// Report the bytes sent, received, and saved on each route
+		// that uses the link codec.
+		LinkCodec.report(rmapR);
+	    }
+
+	    if (RouteCache.isEnabled()) {
+		RouteCache.report(rmapR);
+	    }
+
 	} catch (java.lang.Exception e) {
 	    e.printStackTrace();
 	}
@@ -1407,6 +1592,9 @@ final class RBNB
      * Finds the <code>Path</code> to the specified target
      * <code>PeerServer</code>.
      * <p>
+     * The <code>Path</code> is looked for in the <code>RouteCache</code>
+     * first and is added to it if it has to be looked up.
+     * <p>
      *
      * @author Ian Brown
      *
@@ -1422,7 +1610,7 @@ final class RBNB
      * @exception java.lang.InterruptedException
      *		  thrown if the get is interrupted.
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1430,6 +1618,7 @@ final class RBNB
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the <code>RouteCache</code>.
      * 11/14/2003  INB	Added location to the <code>Lock</code>.
      * 03/25/2003  INB	Protect the path list from access while we're reading
      *			it.
@@ -1445,6 +1634,12 @@ final class RBNB
 	Path pathR = null;
 	boolean locked = false;
 	String peerName = peerServerI.getFullName();
+	RouteCache routes = getRouteCache();
+	RouteCache.Entry cached;
+
+	if ((routes != null) && ((cached = routes.find(peerName)) != null)) {
+	    return (cached.path);
+	}
 
 	try {
 	    getPathDoor().lockRead("RBNB.findPathTo");
@@ -1464,6 +1659,10 @@ final class RBNB
 		pathR = (Path) getPaths().find(peerName);
 	    }
 
+	    if (routes != null) {
+		routes.add(peerName,pathR,null);
+	    }
+
 	} catch (com.rbnb.utility.SortException e) {
 	    throw new com.rbnb.compat.InternalError();
 
@@ -2032,6 +2231,47 @@ final class RBNB
 	return (ramPort);
     }
 
+    /**
+     * Gets the <code>RCOPoller</code> that a new connection should be
+     * registered with.
+     * <p>
+     * The <code>RCOPoller</code> with the fewest <code>RCOs</code> is
+     * returned.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>RCOPoller</code> or <code>null</code> if the
+     *	       connections to this server are not polled.
+     * @see com.rbnb.api.RCO#start()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final RCOPoller getRCOPoller() {
+	RCOPoller[] pollers = rcoPollers;
+	RCOPoller pollerR = null;
+
+	if (pollers != null) {
+	    for (int idx = 0; idx < pollers.length; ++idx) {
+		if ((pollerR == null) ||
+		    (pollers[idx].getSize() < pollerR.getSize())) {
+		    pollerR = pollers[idx];
+		}
+	    }
+	}
+
+	return (pollerR);
+    }
+
     /**
      * Gets the registration list for this <code>RBNB</code> matching
      * the input hierarchy.
@@ -2174,6 +2414,32 @@ final class RBNB
 	return (rmapR);
     }
 
+    /**
+     * Gets the <code>RouteCache</code> of the <code>RoutingMapHandler</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>RouteCache</code> or <code>null</code> if there is
+     *	       no <code>RoutingMapHandler</code>.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final RouteCache getRouteCache() {
+	RoutingMapHandler rmh = getRoutingMapHandler();
+
+	return ((rmh == null) ? null : rmh.getRouteCache());
+    }
+
     /**
      * Gets the <code>RoutingMapHandler</code> for this <code>RBNB</code>.
      * <p>
@@ -2403,7 +2669,7 @@ final class RBNB
      * @return the <code>ReverseRoute</code> command on success or an
      *	       <code>ExceptionMessage</code> on an error.
      * @since V2.0
-     * @version 02/11/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -2411,6 +2677,7 @@ final class RBNB
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clear the <code>RouteCache</code>.
      * 02/11/2004  INB	Log exceptions at standard level.
      * 01/07/2004  INB	Renamed the <code>Controller</code> used to create
      *			the reverse route from "_RH..." to "_RR...".
@@ -2475,6 +2742,12 @@ final class RBNB
 	    }
 	}
 
+	// The new routers can change the best routes.
+	RouteCache routes = getRouteCache();
+	if (routes != null) {
+	    routes.clear();
+	}
+
 	return (answerR);
     }
 
@@ -3155,7 +3428,7 @@ final class RBNB
      * @see #start(com.rbnb.api.ClientHandler,String[])
      * @see #stop(com.rbnb.api.ClientHandler)
      * @since V2.0
-     * @version 2005/01/20
+     * @version 10/18/2026
      */
 
     /*
@@ -3163,6 +3436,7 @@ final class RBNB
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Create and stop the <code>RCOPollers</code>.
      * 2005/01/20  WHF  For authentication purposes, pass the username object
      *			to the Address before accepting
      * 10/05/2004  JPW	Add preprocessor directives which can be used by "sed"
@@ -3215,6 +3489,22 @@ final class RBNB
 	    // Create the activity thread queue.
 	    setActivityQueue(new ActionThreadQueue(getMaxActivityThreads()));
 
+	    // If desired, create pollers to run the connections from the
+	    // activity queue rather than giving each one a thread.
+	    try {
+		String value = System.getProperty("rcopollers");
+		int nPollers = (value == null) ? 0 : Integer.parseInt(value);
+
+		if (nPollers > 0) {
+		    rcoPollers = new RCOPoller[nPollers];
+		    for (int idx = 0; idx < nPollers; ++idx) {
+			rcoPollers[idx] = new RCOPoller(getActivityQueue());
+			rcoPollers[idx].start();
+		    }
+		}
+	    } catch (java.lang.NumberFormatException e) {
+	    }
+
 	    // Create the open filesets limited resource.
 	    setOpenFileSets(new LimitedResource(getMaxOpenFileSets()));
 
@@ -3683,7 +3973,13 @@ final class RBNB
 	} catch (java.lang.Exception e) {
 	}
 
-	// Terminate the activity queue.
+	// Terminate the connection pollers and the activity queue.
+	if (rcoPollers != null) {
+	    for (int idx = 0; idx < rcoPollers.length; ++idx) {
+		rcoPollers[idx].stop();
+	    }
+	    rcoPollers = null;
+	}
 	getActivityQueue().stop();
 
 	// Clear the terminate request and the thread so that the
@@ -4078,13 +4374,16 @@ final class RBNB
     /**
      * Sets the <code>Paths</code> for this <bold>RBNB</bold> server.
      * <p>
+     * The <code>RouteCache</code> is cleared, since the new
+     * <code>Paths</code> may differ from those cached.
+     * <p>
      *
      * @author Ian Brown
      *
      * @param pathsI the <code>Paths</code>.
      * @see #getPaths()
      * @since V2.0
-     * @version 12/21/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -4092,11 +4391,17 @@ final class RBNB
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clear the <code>RouteCache</code>.
      * 12/21/2001  INB	Created.
      *
      */
     private final void setPaths(com.rbnb.utility.SortedVector pathsI) {
 	paths = pathsI;
+
+	RouteCache routes = getRouteCache();
+	if (routes != null) {
+	    routes.clear();
+	}
     }
 
     /**
@@ -29,7 +29,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 08/04/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -39,6 +39,8 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Clear the <code>RouteCache</code> when a route is
+ *			reversed.
  * 08/04/2004  INB	Added documentation.
  * 05/18/2004  INB	Catch exceptions on the timer cancel and ignore them.
  * 02/11/2004  INB	Log exceptions at standard level.
@@ -242,7 +244,7 @@ class RBNBController
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 01/16/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -250,6 +252,7 @@ class RBNBController
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clear the <code>RouteCache</code>.
      * 01/16/2004  INB	Ensure that we are synchronized while switching over
      *			the metrics.
      * 01/25/2002  INB	Created.
@@ -295,6 +298,13 @@ class RBNBController
 	    scHandler.reversed(theRCO);
 	}
 
+	// The reversed connection can change the best routes.
+	RoutingMapHandler rmh =
+	    ((ServerHandler) getParent()).getRoutingMapHandler();
+	if (rmh != null) {
+	    rmh.getRouteCache().clear();
+	}
+
 	return (true);
     }
 
@@ -69,7 +69,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.RouterHandle
  * @see com.rbnb.api.RemoteServer
  * @since V2.0
- * @version 08/05/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -79,6 +79,9 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added the <code>RouteCache</code>, which is used to
+ *			deliver messages to remote servers and is cleared
+ *			when the routing changes.
  * 08/04/2004  INB	Added documentation.
  * 02/18/2004  INB	Allow for <code>null</code> server handler in
  *			<code>getRegistered</code>.
@@ -177,6 +180,17 @@ class RBNBRoutingMap
      */
     private java.util.Vector peerUpdates = new java.util.Vector();
 
+    /**
+     * the cached routes to remote servers.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private RouteCache routeCache = new RouteCache();
+
     /**
      * the thread running the peer updates.
      * <p>
@@ -218,7 +232,8 @@ class RBNBRoutingMap
     /**
      * Adds a child <code>Rmap</code> to this <code>RBNB</code>.
      * <p>
-     * Posts a notification event to any objects awaiting notification.
+     * Posts a notification event to any objects awaiting notification. The
+     * cached routes are dropped, since a new server may change them.
      * <p>
      *
      * @author Ian Brown
@@ -238,7 +253,7 @@ class RBNBRoutingMap
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 12/04/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -246,6 +261,7 @@ class RBNBRoutingMap
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clear the <code>RouteCache</code>.
      * 12/04/2001  INB	Created.
      *
      */
@@ -257,6 +273,7 @@ class RBNBRoutingMap
 	       java.lang.InterruptedException
     {
 	super.addChild(childI);
+	routeCache.clear();
 	post(childI);
     }
 
@@ -351,7 +368,7 @@ System.err.println(getClass() + " " + bytesR + "\n");
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -359,6 +376,7 @@ System.err.println(getClass() + " " + bytesR + "\n");
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clear the <code>RouteCache</code>.
      * 11/14/2003  INB	Added location to the <code>Lock</code>.
      * 04/08/2003  INB	Ensure that both the name and address of the peer match
      *			an existing entry.
@@ -469,6 +487,7 @@ System.err.println(getClass() + " " + bytesR + "\n");
 		}
 	    }
 	} finally {
+	    routeCache.clear();
 	    getPeerDoor().unlock();
 	}
 
@@ -478,6 +497,10 @@ System.err.println(getClass() + " " + bytesR + "\n");
     /**
      * Delivers a <code>RoutedMessage</code> to its target.
      * <p>
+     * A target that is not local is reached through the default route. The
+     * route and its first hop are kept in the <code>RouteCache</code> under
+     * the name of the target server and dropped if the delivery fails.
+     * <p>
      *
      * @author Ian Brown
      *
@@ -494,7 +517,7 @@ System.err.println(getClass() + " " + bytesR + "\n");
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 02/11/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -502,6 +525,8 @@ System.err.println(getClass() + " " + bytesR + "\n");
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the <code>RouteCache</code> for targets that are
+     *			not local.
      * 02/11/2004  INB	Log exceptions at standard level.
      * 03/21/2003  INB	Log exceptions.
      * 03/20/2003  INB	Modified the error message for no path.
@@ -537,7 +562,8 @@ System.err.println(getClass() + " " + bytesR + "\n");
 	} else {
 	    // If the target is not local, see if we can find it via our
 	    // default route.
-	    Path dRoute = findPath();
+	    RouteCache.Entry cached = routeCache.find(nextName);
+	    Path dRoute = (cached == null) ? findPath() : cached.path;
 
 	    if (dRoute == null) {
 		String message = (getLocalName() +
@@ -572,10 +598,25 @@ System.err.println(getClass() + " " + bytesR + "\n");
 		message.setSource(messageI.getSource());
 		message.setTarget(messageI.getTarget());
 
-		rTarget = (RoutedTarget) findDescendant
-		    ((String) dRoute.getOrdered().elementAt(1),
-		     false);
-		serializableR = rTarget.deliver(message,-1);
+		if ((cached != null) && (cached.next != null)) {
+		    rTarget = cached.next;
+		} else {
+		    rTarget = (RoutedTarget) findDescendant
+			((String) dRoute.getOrdered().elementAt(1),
+			 false);
+		    routeCache.add(nextName,dRoute,rTarget);
+		}
+
+		boolean delivered = false;
+		try {
+		    serializableR = rTarget.deliver(message,-1);
+		    delivered = true;
+		} finally {
+		    if (!delivered) {
+			// Don't keep a route that doesn't work.
+			routeCache.remove(nextName);
+		    }
+		}
 	    }
 	}
 
@@ -910,6 +951,29 @@ System.err.println(getClass() + " " + bytesR + "\n");
 	return (rmapR);
     }
 
+    /**
+     * Gets the <code>RouteCache</code> of routes to remote servers.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>RouteCache</code>.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final RouteCache getRouteCache() {
+	return (routeCache);
+    }
+
     /**
      * Gets the peer updates thread.
      * <p>
@@ -1033,7 +1097,7 @@ System.err.println(getClass() + " " + bytesR + "\n");
      * @see #start()
      * @see #stop()
      * @since V2.0
-     * @version 02/11/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -1041,6 +1105,8 @@ System.err.println(getClass() + " " + bytesR + "\n");
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clear the <code>RouteCache</code> once each
+     *			<code>PeerUpdate</code> has been applied.
      * 02/11/2004  INB	Log exceptions at standard level.
      * 11/14/2003  INB	Ensure that we release <code>Locks</code>.
      * 03/26/2003  INB	Use <code>TimerPeriod.LONG_WAIT</code>.
@@ -1114,6 +1180,7 @@ System.err.println(getClass() + " " + bytesR + "\n");
 
 		peerServer = (PeerServer) entry;
 		peerServer.updatePeer(peerUpdate);
+		routeCache.clear();
 
 		if (getThread() != null) {
 		    ((ThreadWithLocks) getThread()).ensureLocksCleared
@@ -1323,6 +1390,7 @@ System.err.println(getClass() + " " + bytesR + "\n");
 		clonedR.metricsDeadBytes = metricsDeadBytes;
 		clonedR.peerDoor = peerDoor;
 		clonedR.peerUpdates = peerUpdates;
+		clonedR.routeCache = new RouteCache();
 		clonedR.thread = thread;
 	}
 
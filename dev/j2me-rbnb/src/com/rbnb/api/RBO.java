@@ -33,7 +33,7 @@ package com.rbnb.api;
  *
  * @see #addChild(com.rbnb.api.Rmap childI)
  * @since V2.0
- * @version 06/22/2006
+ * @version 10/18/2026
  */
 
 /*
@@ -43,6 +43,8 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Count the frames and bytes received in the
+ *			<code>HotPathMetrics</code>.
  * 01/05/2007  EMF      Avoid infinite loop on archive recovery
  * 11/16/2006  MJM      Fall back to old framesets=sqrt(cachesize) logic by default
  * 11/16/2006  EMF      Fixed deep recovery of archives.
@@ -717,7 +719,7 @@ private boolean alreadyReset=false;
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 10/03/2005
+     * @version 10/18/2026
      */
 
     /*
@@ -725,6 +727,7 @@ private boolean alreadyReset=false;
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Count the frame in the <code>HotPathMetrics</code>.
      * 10/03/2005  JPW	Move the frame index increment to **AFTER** the
      *			frame has been succesfully added to the RingBuffer.
      *			If time goes backward and an IllegalStateException is
@@ -866,6 +869,9 @@ private boolean alreadyReset=false;
 		    //                 Increment the frame index **AFTER**
 		    //                 the successful addition of this
 		    //                 current frame.
+		    boolean count = (HotPathMetrics.isEnabled() &&
+				     !(this instanceof NBO));
+		    long bytes = count ? theFrame.getDataSize() : 0;
 		    try {
 			rb.addChild(theFrame);
 			// Move this increment from earlier in the method
@@ -873,6 +879,9 @@ private boolean alreadyReset=false;
 			// if an IllegalStateException occurs, this won't get
 			// incremented.
 			setNfindex(getNfindex() + 1);
+			if (count) {
+			    HotPathMetrics.addIngest(getName(),bytes);
+			}
 		    } catch (java.lang.IllegalStateException ise) {
 			// Nothing to do
 		    }
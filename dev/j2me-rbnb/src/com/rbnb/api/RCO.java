@@ -40,7 +40,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.ClientHandle
  * @see com.rbnb.api.RBNBClient
  * @since V2.0
- * @version 08/05/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -50,6 +50,23 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	----------
+ * 10/18/2026  INB	Added polled operation. If the server has
+ *			<code>RCOPollers</code>, the <code>RCO</code> is
+ *			registered with one rather than getting a thread of
+ *			its own, and it is run one message at a time as an
+ *			<code>Action</code> on the activity queue.
+ *		   INB	Only set the identification of the
+ *			<code>Doors</code> when it is needed.
+ *		   INB	Added <code>SendQueue</code> handling. Responses can be
+ *			queued for a thread that writes them to the client, so
+ *			that a slow client does not hold up the thread that
+ *			produced them.
+ *		   INB	Grant the link codec to routing and mirror
+ *			<code>Logins</code> that offer it.
+ * 10/18/2026  INB	Added <code>acceptCapabilities</code>. Grant the
+ *			capabilities offered in the <code>Login</code> that
+ *			the connection can handle and echo them in the
+ *			<code>Server</code> response.
  * 08/12/2004  EMF      Added debug logging to login method.
  * 08/05/2004  INB	Added documentation.
  * 05/27/2004  INB	Don't log EOF exceptions.
@@ -101,7 +118,8 @@ abstract class RCO
     implements com.rbnb.api.BuildInterface,
 	       com.rbnb.api.GetLogInterface,
 	       com.rbnb.api.Interruptable,
-	       com.rbnb.api.IOMetricsInterface
+	       com.rbnb.api.IOMetricsInterface,
+	       com.rbnb.api.Action
 {
     /**
      * the build date.
@@ -125,6 +143,21 @@ abstract class RCO
      */
     private String buildVersion = null;
 
+    /**
+     * the capabilities negotiated for the connection.
+     * <p>
+     * These are the capabilities offered in the <code>Login</code> that
+     * this <code>RCO</code> granted.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.IsSupported#isNegotiated(int,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int capabilities = 0;
+
     /**
      * the <code>ClientHandler</code>.
      * <p>
@@ -169,6 +202,62 @@ abstract class RCO
      */
     private short pingValue = -1;
 
+    /**
+     * the time at which this <code>RCO</code> was last serviced from its
+     * <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long polledAt = 0;
+
+    /**
+     * the <code>RCOPoller</code> that this <code>RCO</code> is registered
+     * with.
+     * <p>
+     * This is <code>null</code> if the <code>RCO</code> has its own thread.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private RCOPoller poller = null;
+
+    /**
+     * is this <code>RCO</code> queued for, or being run by, an activity
+     * thread?
+     * <p>
+     * This is set by the <code>RCOPoller</code> when it queues the
+     * <code>RCO</code> and cleared when the activity thread is done with it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean polling = false;
+
+    /**
+     * lock for the polling state.
+     * <p>
+     * A separate lock is used so that the <code>RCOPoller</code> is not held
+     * up by synchronized methods of the <code>RCO</code> that are running in
+     * an activity thread.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Object pollingLock = new Object();
+
     /**
      * the <code>ServerHandler</code>.
      * <p>
@@ -202,6 +291,19 @@ abstract class RCO
      */
     private boolean reversed = false;
 
+    /**
+     * the queue of messages waiting to be sent.
+     * <p>
+     * This is <code>null</code> unless <code>SendQueues</code> are in use.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private SendQueue sendQueue = null;
+
     /**
      * the server-side communications object.
      * <p>
@@ -213,6 +315,18 @@ abstract class RCO
      */
     private Object serverSide = null;
 
+    /**
+     * the activity thread currently running this <code>RCO</code> for its
+     * <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Thread servicingThread = null;
+
     /**
      * <code>RCO</code> is stopping itself?
      * <p>
@@ -276,7 +390,7 @@ abstract class RCO
      * @author Ian Brown
      *
      * @since V2.0
-     * @version 12/13/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -284,6 +398,7 @@ abstract class RCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Create the <code>SendQueue</code>, if one is used.
      * 05/08/2001  INB	Created.
      *
      */
@@ -294,6 +409,7 @@ abstract class RCO
 	    setWriteDoor(new Door(Door.STANDARD));
 	} catch (java.lang.InterruptedException e) {
 	}
+	sendQueue = SendQueue.newSendQueue(this);
     }
 
     /**
@@ -328,6 +444,34 @@ abstract class RCO
 	setServerHandler(rbnbI);
     }
 
+    /**
+     * Determines which of the capabilities offered in the
+     * <code>Login</code> this <code>RCO</code> grants.
+     * <p>
+     * This implementation grants none of them.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param offeredI the capabilities offered.
+     * @return the capabilities granted.
+     * @see com.rbnb.api.IsSupported#acceptCapabilities(int,com.rbnb.api.ClientInterface)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    int acceptCapabilities(int offeredI) {
+	return (0);
+    }
+
     /**
      * Provide requested information.
      * <p>
@@ -702,6 +846,33 @@ abstract class RCO
 	send(Language.ping());
     }
 
+    /**
+     * Can this <code>RCO</code> be run by an <code>RCOPoller</code>?
+     * <p>
+     * Polling requires that <code>isWaiting</code> reports when a message
+     * has started to arrive. This implementation returns false.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return can this <code>RCO</code> be polled?
+     * @see com.rbnb.api.RCOPoller
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    boolean canBePolled() {
+	return (false);
+    }
+
     /**
      * Closes this <code>RCO</code>.
      * <p>
@@ -851,6 +1022,55 @@ abstract class RCO
 	       java.io.IOException,
 	       java.lang.InterruptedException;
 
+    /**
+     * Writes any messages waiting on the <code>SendQueue</code>.
+     * <p>
+     * Subclasses call this before sending a message directly so that the
+     * message follows those already queued.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.InterruptedIOException
+     *		  thrown if the I/O is interrupted.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem with the I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #queue(com.rbnb.api.Serializable)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void drainSendQueue()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.InterruptedIOException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	SendQueue lQueue = sendQueue;
+
+	if (lQueue != null) {
+	    lQueue.drain();
+	}
+    }
+
     /**
      * Gets the date that the code was built.
      * <p>
@@ -875,6 +1095,30 @@ abstract class RCO
 	return (buildDate);
     }
 
+    /**
+     * Gets the capabilities negotiated for the connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the capabilities.
+     * @see #setCapabilities(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getCapabilities() {
+	return (capabilities);
+    }
+
     /**
      * Gets the build version.
      * <p>
@@ -1035,6 +1279,31 @@ abstract class RCO
 		getClientHandler().getLogLevel());
     }
 
+    /**
+     * Gets the <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>RCOPoller</code> or <code>null</code> if this
+     *	       <code>RCO</code> has its own thread.
+     * @see #setPoller(com.rbnb.api.RCOPoller)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final RCOPoller getPoller() {
+	return (poller);
+    }
+
     /**
      * Gets the read door.
      * <p>
@@ -1059,6 +1328,30 @@ abstract class RCO
 	return (readDoor);
     }
 
+    /**
+     * Gets the <code>SendQueue</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>SendQueue</code> or <code>null</code> if there is
+     *	       none.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final SendQueue getSendQueue() {
+	return (sendQueue);
+    }
+
     /**
      * Gets the <code>ServerHandler</code>.
      * <p>
@@ -1179,6 +1472,95 @@ abstract class RCO
 	return (writeDoor);
     }
 
+    /**
+     * Handles an exception or error that ends the running of this
+     * <code>RCO</code>.
+     * <p>
+     * The problem is logged and, where it makes sense, reported to the
+     * client.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param throwableI  the exception or error.
+     * @see #run()
+     * @see #performAction()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void handleRunException(java.lang.Throwable throwableI) {
+	if (throwableI instanceof java.lang.InterruptedException) {
+	    return;
+
+	} else if (throwableI instanceof java.io.IOException) {
+	    java.io.IOException e = (java.io.IOException) throwableI;
+	    try {
+		if (getClientHandler() == null) {
+		    getLog().addException(Log.STANDARD,
+					  getLogClass(),
+					  toString(),
+					  e);
+		}
+
+		if (getClientHandler() instanceof SourceHandler) {
+		    if (((SourceHandler)
+			 getClientHandler()).stopOnIOException()) {
+			setClientHandler(null);
+		    }
+
+		} else if (!stopMyself) {
+		    send(Language.exception(e));
+		}
+
+	    } catch (java.lang.Throwable e1) {
+	    }
+
+	} else if (throwableI instanceof java.lang.Exception) {
+	    java.lang.Exception e = (java.lang.Exception) throwableI;
+	    try {
+		if (((getClientHandler() == null) ||
+		     !((RBNBClient)
+		       getClientHandler()).getTerminateRequested()) &&
+		    !(e instanceof java.io.InterruptedIOException)) {
+		    getLog().addException(Log.STANDARD,
+					  getLogClass(),
+					  toString(),
+					  e);
+		}
+
+		if (!stopMyself) {
+		    send(Language.exception(e));
+		}
+	    } catch (java.lang.Throwable e1) {
+	    }
+
+	} else if (throwableI instanceof java.lang.Error) {
+	    java.lang.Error e = (java.lang.Error) throwableI;
+	    try {
+		getLog().addError(Log.STANDARD,
+				  getLogClass(),
+				  toString(),
+				  e);
+		if (!stopMyself) {
+		    send(Language.exception
+			 (new java.lang.Exception
+			     ("A fatal error occured.\n" +
+			      e.getClass() + " " + e.getMessage())));
+		}
+	    } catch (java.lang.Throwable e1) {
+	    }
+	}
+    }
+
     /**
      * Interrupts this <code>RCO</code>.
      * <p>
@@ -1240,16 +1622,21 @@ abstract class RCO
     }
 
     /**
-     * Is a feature supported?
+     * Is this <code>RCO</code> ready to be run by an activity thread?
+     * <p>
+     * Called by the <code>RCOPoller</code>. The <code>RCO</code> is ready if
+     * it has input waiting or if it has been asked to terminate. A ready
+     * <code>RCO</code> is marked as polling until the activity thread is
+     * done with it.
      * <p>
      *
      * @author Ian Brown
      *
-     * @param featureI the feature.
-     * @return is the feature supported?
-     * @see com.rbnb.api.IsSupported
-     * @since V2.0
-     * @version 11/20/2002
+     * @return is this <code>RCO</code> ready?
+     * @see #isReadyToProbe(long)
+     * @see #performAction()
+     * @since V3.0
+     * @version 10/18/2026
      */
 
     /*
@@ -1257,11 +1644,98 @@ abstract class RCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
-     * 11/20/2002  INB	Created.
+     * 10/18/2026  INB	Created.
      *
      */
-    boolean isSupported(int featureI) {
-	return (true);
+    final boolean isReadyToPoll() {
+	synchronized (pollingLock) {
+	    if (polling) {
+		return (false);
+	    }
+	}
+
+	boolean readyR = getTerminateRequested();
+
+	if (!readyR) {
+	    try {
+		readyR = isWaiting();
+	    } catch (java.lang.Exception e) {
+		// Let the activity thread see the problem.
+		readyR = true;
+	    }
+	}
+
+	if (readyR) {
+	    synchronized (pollingLock) {
+		polling = true;
+	    }
+	}
+
+	return (readyR);
+    }
+
+    /**
+     * Is this <code>RCO</code> due to have its connection checked?
+     * <p>
+     * Called by the probing thread of the <code>RCOPoller</code>. An
+     * <code>RCO</code> that has not been run for
+     * <code>TimerPeriod.NORMAL_WAIT</code> milliseconds is due, as a
+     * connection closed by the client does not show up as waiting input. A
+     * due <code>RCO</code> is marked as polling until the activity thread
+     * that checks it is done with it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nowI  the current time.
+     * @return is this <code>RCO</code> due?
+     * @see #isReadyToPoll()
+     * @see #performAction()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean isReadyToProbe(long nowI) {
+	synchronized (pollingLock) {
+	    if (polling || (nowI - polledAt < TimerPeriod.NORMAL_WAIT)) {
+		return (false);
+	    }
+	    polling = true;
+	}
+
+	return (true);
+    }
+    /**
+     * Is a feature supported?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param featureI the feature.
+     * @return is the feature supported?
+     * @see com.rbnb.api.IsSupported
+     * @since V2.0
+     * @version 11/20/2002
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 11/20/2002  INB	Created.
+     *
+     */
+    boolean isSupported(int featureI) {
+	return (true);
     }
 
     /**
@@ -1318,7 +1792,7 @@ abstract class RCO
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 04/29/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -1326,6 +1800,8 @@ abstract class RCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Echo the capabilities granted to the client in the
+     *			response.
      * 09/07/2004  MJM  Commented out the EMF debug
      * 08/12/2004  EMF  Added logging on enter and exit, as debug for routing
      *                  lockups over ratty networks.
@@ -1435,6 +1911,14 @@ abstract class RCO
 	// Let the application know what is going on.
 	Server myServer = (Server) ((Server)
 				    getServerHandler()).newInstance();
+	// Grant what we can of the capabilities that the client offered and
+	// echo them back. A response that cannot carry them grants none.
+	setCapabilities((myServer instanceof PeerServer) ?
+			acceptCapabilities(loginI.getCapabilities()) :
+			0);
+	if (getCapabilities() != 0) {
+	    ((PeerServer) myServer).setCapabilities(getCapabilities());
+	}
 	try {
 	    Rmap myClient = (Rmap)
 		clientInterface.getClass().newInstance();
@@ -1589,6 +2073,71 @@ abstract class RCO
 	return (rcoR);
     }
 
+    /**
+     * Performs the action of this <code>RCO</code> for its
+     * <code>RCOPoller</code>.
+     * <p>
+     * The action is run by an activity thread when there is input waiting
+     * or when the connection is due to be checked. It receives and processes
+     * at most one message, waiting briefly for one to show up. If the
+     * <code>RCO</code> is done, it is removed from its
+     * <code>RCOPoller</code> and terminated; otherwise it is handed back to
+     * the <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #isReadyToPoll()
+     * @see #isReadyToProbe(long)
+     * @see #run()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void performAction() {
+	boolean keepPolling = false;
+
+	servicingThread = Thread.currentThread();
+	try {
+	    keepPolling = (!getTerminateRequested() &&
+			   !stopMyself &&
+			   receiveAndProcess(RCOPoller.PROBE_WAIT));
+
+	} catch (java.lang.Throwable e) {
+	    handleRunException(e);
+	}
+
+	if (!keepPolling) {
+	    // Leave the <code>RCO</code> marked as polling so that it cannot
+	    // be queued again.
+	    RCOPoller wasPoller = getPoller();
+	    if (wasPoller != null) {
+		wasPoller.removeRCO(this);
+	    }
+	    terminate();
+	    servicingThread = null;
+	    setPoller(null);
+	    synchronized (this) {
+		notifyAll();
+	    }
+	    return;
+	}
+
+	servicingThread = null;
+	synchronized (pollingLock) {
+	    polledAt = System.currentTimeMillis();
+	    polling = false;
+	}
+    }
+
     /**
      * Processes a <code>Serializable</code> message.
      * <p>
@@ -1889,6 +2438,59 @@ abstract class RCO
     }
     */
 
+    /**
+     * Queues a message to be sent to the client.
+     * <p>
+     * If this <code>RCO</code> has a <code>SendQueue</code>, the message is
+     * placed on it and written by the queue's thread. Otherwise, it is sent
+     * immediately.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param serializableI the <code>Serializable</code> message.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.InterruptedIOException
+     *		  thrown if the I/O is interrupted.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem with the I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #send(com.rbnb.api.Serializable)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void queue(Serializable serializableI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.InterruptedIOException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	SendQueue lQueue = sendQueue;
+
+	if (lQueue == null) {
+	    send(serializableI);
+	} else {
+	    lQueue.offer(serializableI);
+	}
+    }
+
     /**
      * Receives a message from the <code>ACO</code>.
      * <p>
@@ -1938,6 +2540,73 @@ abstract class RCO
 	       java.io.IOException,
 	       java.lang.InterruptedException;
 
+    /**
+     * Receives and processes a single message.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param timeOutI  the amount of time to wait for a message.
+     * @return should this <code>RCO</code> keep running?
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.InterruptedIOException
+     *		  thrown if the I/O is interrupted.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem with I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #performAction()
+     * @see #run()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final boolean receiveAndProcess(long timeOutI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.InterruptedIOException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	Serializable message;
+
+	if (getReadDoor().needsIdentification()) {
+	    getReadDoor().setIdentification(this + "_read");
+	}
+	if (getWriteDoor().needsIdentification()) {
+	    getWriteDoor().setIdentification(this + "_write");
+	}
+
+	if ((message = receive(timeOutI)) == null) {
+	    return (true);
+	}
+
+	if (com.rbnb.compat.Utilities.interrupted(getThread())) {
+	    throw new java.lang.InterruptedException();
+	}
+
+	if (!process(message)) {
+	    reversed = (message instanceof ReverseRoute);
+	    return (false);
+	}
+
+	return (true);
+    }
+
     /**
      * Updates the registration for the associated <code>RBO</code> or
      * <code>PlugInHandler</code>.
@@ -2145,7 +2814,7 @@ abstract class RCO
      * @see #start()
      * @see #stop()
      * @since V2.0
-     * @version 05/27/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -2153,6 +2822,9 @@ abstract class RCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Moved the handling of a single message, of exceptions,
+     *			and of termination into methods shared with
+     *			<code>performAction</code>.
      * 05/27/2004  INB	Don't log EOF exceptions.
      * 02/11/2004  INB	Log exceptions at standard level.
      * 02/09/2004  INB	Assume that I/O exceptions mean that there is a problem
@@ -2171,23 +2843,9 @@ abstract class RCO
      *
      */
     public final void run() {
-
-	Serializable message;
 	try {
 	    while (!getTerminateRequested() && !com.rbnb.compat.Utilities.interrupted(getThread())) {
-		getReadDoor().setIdentification(this + "_read");
-		getWriteDoor().setIdentification(this + "_write");
-
-		if ((message = receive(TimerPeriod.NORMAL_WAIT)) == null) {
-		    continue;
-		}
-
-		if (com.rbnb.compat.Utilities.interrupted(getThread())) {
-		    throw new java.lang.InterruptedException();
-		}
-
-		if (!process(message)) {
-		    reversed = (message instanceof ReverseRoute);
+		if (!receiveAndProcess(TimerPeriod.NORMAL_WAIT)) {
 		    break;
 		}
 
@@ -2201,86 +2859,8 @@ abstract class RCO
 		}
 	    }
 
-	    if (getTerminateRequested() ||
-		stopMyself ||
-		com.rbnb.compat.Utilities.interrupted(getThread())) {
-		throw new java.lang.InterruptedException();
-	    }
-
-	} catch (java.lang.InterruptedException e) {
-	} catch (java.io.IOException e) { //java.net.SocketException e) {
-	    try {
-
-		if (getClientHandler() == null) {
-		    getLog().addException(Log.STANDARD,
-					  getLogClass(),
-					  toString(),
-					  e);
-
-		}
-
-		if (getClientHandler() instanceof SourceHandler) {
-		    if (((SourceHandler)
-			 getClientHandler()).stopOnIOException()) {
-			setClientHandler(null);
-		    }
-
-		} else if (!stopMyself) {
-		    send(Language.exception(e));
-		}
-
-	    } catch (java.lang.Throwable e1) {
-	    }
-
-	/*} catch (java.io.EOFException e) {
-	} catch (java.io.IOException e) {
-	    try {
-		if (((getClientHandler() == null) ||
-		     !((RBNBClient)
-		       getClientHandler()).getTerminateRequested()) &&
-		    !(e instanceof java.io.InterruptedIOException)) {
-		    getLog().addException(Log.STANDARD,
-					  getLogClass(),
-					  toString(),
-					  e);
-		}
-
-	    } catch (java.lang.Throwable e1) {
-	    }*/
-
-	} catch (java.lang.Exception e) {
-	    try {
-		if (((getClientHandler() == null) ||
-		     !((RBNBClient)
-		       getClientHandler()).getTerminateRequested()) &&
-		    !(e instanceof java.lang.InterruptedException) &&
-		    !(e instanceof java.io.InterruptedIOException)) {
-		    getLog().addException(Log.STANDARD,
-					  getLogClass(),
-					  toString(),
-					  e);
-		}
-
-		if (!stopMyself) {
-		    send(Language.exception(e));
-		}
-	    } catch (java.lang.Throwable e1) {
-	    }
-
-	} catch (java.lang.Error e) {
-	    try {
-		getLog().addError(Log.STANDARD,
-				  getLogClass(),
-				  toString(),
-				  e);
-		if (!stopMyself) {
-		    send(Language.exception
-			 (new java.lang.Exception
-			     ("A fatal error occured.\n" +
-			      e.getClass() + " " + e.getMessage())));
-		}
-	    } catch (java.lang.Throwable e1) {
-	    }
+	} catch (java.lang.Throwable e) {
+	    handleRunException(e);
 
 	} finally {
 	    if (getThread() != null) {
@@ -2288,52 +2868,7 @@ abstract class RCO
 	    }
 	}
 
-	try {
-	    getLog().addMessage
-		(getLogLevel() + 10,
-		 getLogClass(),
-		 toString(),
-		 "Terminating RCO.");
-	} catch (java.lang.Throwable e) {
-	}
-
-
-	if (getClientHandler() != null) {
-	    try {
-		if (reversed) {
-		    getClientHandler().setRCO(null);
-		}
-		getClientHandler().stop(getClientHandler());
-	    } catch (java.lang.Throwable e) {
-	    }
-	    setClientHandler(null);
-	}
-
-	if (!reversed) {
-	    try {
-		send(Language.ping());
-	    } catch (java.lang.Throwable e) {
-	    }
-
-	    try {
-		close();
-	    } catch (java.lang.Throwable e) {
-	    }
-	    try {
-		disconnect();
-	    } catch (java.lang.Throwable e) {
-	    }
-	}
-
-	try {
-	    getLog().addMessage
-		(getLogLevel() + 11,
-		 getLogClass(),
-		 toString(),
-		 "Terminated RCO.");
-	} catch (java.lang.Throwable e) {
-	}
-
+	terminate();
 	setThread(null);
     }
 
@@ -2399,6 +2934,30 @@ abstract class RCO
 	buildDate = buildDateI;
     }
 
+    /**
+     * Sets the capabilities negotiated for the connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param capabilitiesI the capabilities.
+     * @see #getCapabilities()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setCapabilities(int capabilitiesI) {
+	capabilities = capabilitiesI;
+    }
+
     /**
      * Sets the build version.
      * <p>
@@ -2477,6 +3036,30 @@ abstract class RCO
     }
     */
 
+    /**
+     * Sets the <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param pollerI  the <code>RCOPoller</code>.
+     * @see #getPoller()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void setPoller(RCOPoller pollerI) {
+	poller = pollerI;
+    }
+
     /**
      * Sets the read door.
      * <p>
@@ -2642,7 +3225,7 @@ abstract class RCO
      * @see #run()
      * @see #stop()
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -2650,6 +3233,8 @@ abstract class RCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Register with an <code>RCOPoller</code> if the server
+     *			has them.
      * 11/14/2003  INB	Create a <code>ThreadWithLocks</code>.
      * 05/08/2001  INB	Created.
      *
@@ -2661,9 +3246,25 @@ abstract class RCO
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	if (getThread() == null) {
-	    setThread(new ThreadWithLocks(this));
-	    getThread().start();
+	if ((getThread() == null) && (getPoller() == null)) {
+	    RCOPoller rcoPoller = null;
+
+	    if (canBePolled() && (getServerHandler() instanceof RBNB)) {
+		rcoPoller = ((RBNB) getServerHandler()).getRCOPoller();
+	    }
+
+	    if (rcoPoller != null) {
+		// The server is polling its connections, so let an
+		// <code>RCOPoller</code> run us rather than a thread of our
+		// own.
+		polledAt = System.currentTimeMillis();
+		setPoller(rcoPoller);
+		rcoPoller.addRCO(this);
+
+	    } else {
+		setThread(new ThreadWithLocks(this));
+		getThread().start();
+	    }
 	}
     }
 
@@ -2883,7 +3484,7 @@ abstract class RCO
      * @see #run()
      * @see #start()
      * @since V2.0
-     * @version 01/26/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -2891,6 +3492,9 @@ abstract class RCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Handle <code>RCOs</code> run by an
+     *			<code>RCOPoller</code>.
+     *		   INB	Stop the <code>SendQueue</code>.
      * 01/26/2004  INB	If there isn't a client handler, we aren't
      *			automatically stopping ourselves.  Use the new
      *			<code>wasClientHandler</code> field to check to see
@@ -2908,11 +3512,13 @@ abstract class RCO
 	setTerminateRequested(true);
 	localStopMyself =
 	    (Thread.currentThread() == getThread()) ||
+	    (Thread.currentThread() == servicingThread) ||
 	    ((wasClientHandler != null) &&
 	     (Thread.currentThread() == wasClientHandler.getThread()));
 	stopMyself = stopMyself || localStopMyself;
 
 	stopMe();
+	stopSendQueue();
 
 	if (!stopMyself && (getClientHandler() != null)) {
 	    if (!reversed) {
@@ -2936,8 +3542,9 @@ abstract class RCO
 		for (long startAt = System.currentTimeMillis(),
 			 nowAt = System.currentTimeMillis();
 		     ((nowAt - startAt < TimerPeriod.SHUTDOWN) &&
-		      (getThread() != null) &&
-		      getThread().isAlive());
+		      (((getThread() != null) &&
+			getThread().isAlive()) ||
+		       (getPoller() != null)));
 		     nowAt = System.currentTimeMillis()) {
 		    wait(TimerPeriod.NORMAL_WAIT);
 		}
@@ -2947,6 +3554,32 @@ abstract class RCO
 	}
     }
 
+    /**
+     * Stops the action of this <code>RCO</code>.
+     * <p>
+     * The <code>RCO</code> is asked to terminate. Its
+     * <code>RCOPoller</code> then queues it one last time to shut it down.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #performAction()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void stopAction() {
+	setTerminateRequested(true);
+    }
+
     /**
      * Performs special stop code based on the subclass of <code>RCO</code>.
      * <p>
@@ -3266,6 +3899,106 @@ abstract class RCO
 	send(Language.ping());
     }
 
+    /**
+     * Stops the <code>SendQueue</code>, discarding any messages that are
+     * still waiting.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void stopSendQueue() {
+	SendQueue lQueue = sendQueue;
+
+	if (lQueue != null) {
+	    lQueue.stop();
+	}
+    }
+
+    /**
+     * Terminates this <code>RCO</code> once it has stopped running.
+     * <p>
+     * The client handler is stopped and, unless the connection has been
+     * reversed, the connection is closed.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #performAction()
+     * @see #run()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *		   INB	Stop the <code>SendQueue</code>.
+     *
+     */
+    private final void terminate() {
+	try {
+	    getLog().addMessage
+		(getLogLevel() + 10,
+		 getLogClass(),
+		 toString(),
+		 "Terminating RCO.");
+	} catch (java.lang.Throwable e) {
+	}
+
+	stopSendQueue();
+
+	if (getClientHandler() != null) {
+	    try {
+		if (reversed) {
+		    getClientHandler().setRCO(null);
+		}
+		getClientHandler().stop(getClientHandler());
+	    } catch (java.lang.Throwable e) {
+	    }
+	    setClientHandler(null);
+	}
+
+	if (!reversed) {
+	    try {
+		send(Language.ping());
+	    } catch (java.lang.Throwable e) {
+	    }
+
+	    try {
+		close();
+	    } catch (java.lang.Throwable e) {
+	    }
+	    try {
+		disconnect();
+	    } catch (java.lang.Throwable e) {
+	    }
+	}
+
+	try {
+	    getLog().addMessage
+		(getLogLevel() + 11,
+		 getLogClass(),
+		 toString(),
+		 "Terminated RCO.");
+	} catch (java.lang.Throwable e) {
+	}
+    }
+
     /**
      * Returns a string representation.
      * <p>
@@ -0,0 +1,580 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Polls a set of <code>RCOs</code> for waiting messages and hands the ones
+ * that are ready to an <code>ActionThreadQueue</code>.
+ * <p>
+ * Normally, each <code>RCO</code> has a thread of its own that blocks reading
+ * messages from its client. With many connections open, most of these
+ * threads spend their time waiting. When the server is told to use
+ * <code>RCOPollers</code> (by setting the <code>rcopollers</code> system
+ * property to the number of pollers to run), each new connection is instead
+ * registered with the least busy <code>RCOPoller</code>. The poller checks
+ * whether its <code>RCOs</code> have input waiting and queues the ready ones
+ * on the server's activity queue, where a worker thread receives and
+ * processes a single message before the <code>RCO</code> is returned to the
+ * poller.
+ * <p>
+ * When none of the <code>RCOs</code> are ready, the poller waits a little
+ * longer each pass, from <code>IDLE_WAIT</code> up to
+ * <code>MAXIMUM_IDLE_WAIT</code> milliseconds, rather than spinning.
+ * <p>
+ * Connections closed by the client do not show up as waiting input, so an
+ * <code>RCO</code> that has been idle for
+ * <code>TimerPeriod.NORMAL_WAIT</code> milliseconds is checked with a brief
+ * read. A probing thread belonging to the poller finds the idle
+ * <code>RCOs</code> and queues them on the activity queue, so the checks run
+ * side by side rather than one after another. The checks are spread evenly
+ * over each second rather than queued all at once, which leaves the
+ * activity threads free for the connections that have input.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.RCO#performAction()
+ * @see com.rbnb.api.RBNB#getRCOPoller()
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class RCOPoller
+    implements java.lang.Runnable
+{
+
+    /**
+     * the amount of time to sleep when none of the <code>RCOs</code> are
+     * ready.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static long IDLE_WAIT = 5;
+
+    /**
+     * the longest time to wait when none of the <code>RCOs</code> are
+     * ready.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static long MAXIMUM_IDLE_WAIT = 40;
+
+    /**
+     * the amount of time an idle <code>RCO</code> waits for input when it is
+     * checked for a closed connection.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static long PROBE_WAIT = 10;
+
+    /**
+     * the activity queue that the ready <code>RCOs</code> are handed to.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private ActionThreadQueue queue = null;
+
+    /**
+     * the thread checking idle <code>RCOs</code> for closed connections.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Thread prober = null;
+
+    /**
+     * the <code>RCOs</code> being polled.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Vector rcos = new java.util.Vector();
+
+    /**
+     * stop this <code>RCOPoller</code>?
+     * <p>
+     * This is only read or changed while holding the lock on
+     * <code>rcos</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean terminateRequested = false;
+
+    /**
+     * the thread running this <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Thread thread = null;
+
+    /**
+     * Class constructor to build an <code>RCOPoller</code> for an
+     * <code>ActionThreadQueue</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param queueI  the activity queue to hand ready <code>RCOs</code> to.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    RCOPoller(ActionThreadQueue queueI) {
+	super();
+	queue = queueI;
+    }
+
+    /**
+     * Adds an <code>RCO</code> to the set polled by this
+     * <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rcoI  the <code>RCO</code> to add.
+     * @see #removeRCO(com.rbnb.api.RCO)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void addRCO(RCO rcoI) {
+	synchronized (rcos) {
+	    rcos.addElement(rcoI);
+	    rcos.notifyAll();
+	}
+    }
+
+    /**
+     * Gets the activity queue.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>ActionThreadQueue</code>.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final ActionThreadQueue getQueue() {
+	return (queue);
+    }
+
+    /**
+     * Gets the number of <code>RCOs</code> being polled.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of <code>RCOs</code>.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getSize() {
+	return (rcos.size());
+    }
+
+    /**
+     * Removes an <code>RCO</code> from the set polled by this
+     * <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rcoI  the <code>RCO</code> to remove.
+     * @see #addRCO(com.rbnb.api.RCO)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void removeRCO(RCO rcoI) {
+	synchronized (rcos) {
+	    rcos.removeElement(rcoI);
+	}
+    }
+
+    /**
+     * Runs this <code>RCOPoller</code>.
+     * <p>
+     * Each pass works from a copy of the list of <code>RCOs</code>, so that
+     * <code>RCOs</code> can be added and removed while it is being polled.
+     * When none of them are ready, the poller waits before trying again,
+     * backing off from <code>IDLE_WAIT</code> to
+     * <code>MAXIMUM_IDLE_WAIT</code> milliseconds while they stay idle.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #start()
+     * @see #stop()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void run() {
+	RCO[] polled = new RCO[0];
+	int nPolled;
+	long idleWait = IDLE_WAIT;
+
+	try {
+	    while (true) {
+		synchronized (rcos) {
+		    while (!terminateRequested && (rcos.size() == 0)) {
+			rcos.wait(TimerPeriod.NORMAL_WAIT);
+		    }
+		    if (terminateRequested) {
+			break;
+		    }
+		    if ((nPolled = rcos.size()) > polled.length) {
+			polled = new RCO[nPolled*2];
+		    }
+		    rcos.copyInto(polled);
+		}
+
+		boolean anyReady = false;
+		for (int idx = 0; idx < nPolled; ++idx) {
+		    if (polled[idx].isReadyToPoll()) {
+			anyReady = true;
+			queue.addEvent(polled[idx]);
+		    }
+		    polled[idx] = null;
+		}
+
+		if (anyReady) {
+		    idleWait = IDLE_WAIT;
+		} else {
+		    // Nothing is ready, so wait a little longer each time.
+		    synchronized (rcos) {
+			if (!terminateRequested) {
+			    rcos.wait(idleWait);
+			}
+		    }
+		    idleWait = Math.min(MAXIMUM_IDLE_WAIT,2*idleWait);
+		}
+	    }
+
+	} catch (java.lang.InterruptedException e) {
+	}
+
+	thread = null;
+    }
+
+    /**
+     * Starts this <code>RCOPoller</code> running.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #stop()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void start() {
+	if (thread == null) {
+	    synchronized (rcos) {
+		terminateRequested = false;
+	    }
+	    thread = new Thread(this);
+	    thread.start();
+	    prober = new Prober();
+	    prober.start();
+	}
+    }
+
+    /**
+     * Stops this <code>RCOPoller</code>.
+     * <p>
+     * The <code>RCOs</code> are left alone; they are expected to be stopped
+     * by their client handlers.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #start()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void stop() {
+	Thread wasThread = thread,
+	    wasProber = prober;
+
+	synchronized (rcos) {
+	    terminateRequested = true;
+	    rcos.notifyAll();
+	}
+
+	if (wasThread != null) {
+	    wasThread.interrupt();
+	}
+	if (wasProber != null) {
+	    wasProber.interrupt();
+	}
+    }
+
+    /**
+     * Returns a string representation of this <code>RCOPoller</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the string representation.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final String toString() {
+	return ("RCOPoller " + rcos.size() + " RCOs");
+    }
+
+    /**
+     * Checks the idle <code>RCOs</code> of an <code>RCOPoller</code> for
+     * connections that have been closed by the client.
+     * <p>
+     * Each <code>RCO</code> that has been idle for
+     * <code>TimerPeriod.NORMAL_WAIT</code> milliseconds is queued on the
+     * activity queue, where it makes a brief read. A closed connection is
+     * noticed by the read and the <code>RCO</code> is shut down. If a
+     * message does arrive, it is processed.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.RCO#isReadyToProbe(long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final class Prober
+	extends java.lang.Thread
+    {
+
+	/**
+	 * Class constructor.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+
+	/*
+	 *
+	 *   Date      By	Description
+	 * MM/DD/YYYY
+	 * ----------  --	-----------
+	 * 10/18/2026  INB	Created.
+	 *
+	 */
+	Prober() {
+	    super();
+	}
+
+	/**
+	 * Runs this <code>Prober</code>.
+	 * <p>
+	 * Every <code>MAXIMUM_IDLE_WAIT</code> milliseconds, the next few
+	 * <code>RCOs</code> are looked at, picking up where the last pass left
+	 * off, and the ones that are due a check are queued. Each pass queues
+	 * its share of the checks due in a <code>TimerPeriod.NORMAL_WAIT</code>
+	 * period, plus one, so that they are spread out over the period.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+
+	/*
+	 *
+	 *   Date      By	Description
+	 * MM/DD/YYYY
+	 * ----------  --	-----------
+	 * 10/18/2026  INB	Created.
+	 *
+	 */
+	public final void run() {
+	    RCO[] probed = new RCO[0];
+	    int nProbed,
+		next = 0;
+
+	    try {
+		while (true) {
+		    synchronized (rcos) {
+			if (!terminateRequested) {
+			    rcos.wait(MAXIMUM_IDLE_WAIT);
+			}
+			if (terminateRequested) {
+			    break;
+			}
+			if ((nProbed = rcos.size()) > probed.length) {
+			    probed = new RCO[nProbed*2];
+			}
+			rcos.copyInto(probed);
+		    }
+
+		    long nowAt = System.currentTimeMillis();
+		    int share = (int) (nProbed*MAXIMUM_IDLE_WAIT/
+				       TimerPeriod.NORMAL_WAIT) + 1;
+		    for (int idx = 0;
+			 (share > 0) && (idx < nProbed);
+			 ++idx) {
+			if (next >= nProbed) {
+			    next = 0;
+			}
+			if (probed[next].isReadyToProbe(nowAt)) {
+			    queue.addEvent(probed[next]);
+			    --share;
+			}
+			++next;
+		    }
+		    for (int idx = 0; idx < nProbed; ++idx) {
+			probed[idx] = null;
+		    }
+		}
+
+	    } catch (java.lang.InterruptedException e) {
+	    }
+
+	    prober = null;
+	}
+    }
+}
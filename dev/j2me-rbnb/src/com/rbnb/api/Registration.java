@@ -29,7 +29,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 03/28/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -40,6 +40,10 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> to read individual
+ *			point times.
+ *		   INB	<code>getRegistered</code> matches names that are
+ *			wildcard patterns.
  * 11/14/2003  INB	Eliminated <code>updateFromParent</code> - it is not
  *			used.
  * 03/28/2003  INB	Eliminated unnecessary synchronization.
@@ -379,6 +383,10 @@ class Registration
      * At the moment, the only valid input is an <code>Rmap</code> with the
      * same name as this <code>RBO</code> with an optional child named "...".
      * <p>
+     * A name that is a wildcard pattern (see <code>NamePattern</code>) and
+     * that does not match a name exactly matches every child whose name
+     * matches the pattern.
+     * <p>
      *
      * @author Ian Brown
      *
@@ -395,7 +403,7 @@ class Registration
      * @exception java.lang.InterruptedException
      *		  thrown if the get is interrupted.
      * @since V2.0
-     * @version 03/18/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -403,6 +411,8 @@ class Registration
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Match names that are wildcard patterns using
+     *			<code>NamePattern</code>.
      * 05/10/2002  INB	Created.
      *
      */
@@ -447,10 +457,25 @@ class Registration
 		sameLevel = true;
 
 	    } else {
+		NamePattern pattern;
 		if ((child = (Registration) findDescendant
 		     ("/" + requestI.getName(),
 		      false)) != null) {
 		    rmapR = child.getRegistered(requestI);
+
+		} else if ((pattern = NamePattern.compile
+			    (requestI.getName())) != null) {
+		    // A wildcard pattern only needs to be tested against the
+		    // children whose names start with its literal prefix.
+		    java.util.Vector matches = new java.util.Vector();
+		    pattern.findMatches(this,matches);
+		    rmapR = new Rmap();
+		    for (int idx = 0; idx < matches.size(); ++idx) {
+			child = (Registration) matches.elementAt(idx);
+			if ((rmap = child.getRegistered(requestI)) != null) {
+			    rmapR.addChild(rmap);
+			}
+		    }
 		}
 
 		sameLevel = true;
@@ -477,7 +502,8 @@ class Registration
 	    }
 
 	} else if ((compareNames(requestI) == 0) ||
-		   (requestI.compareNames("*") == 0)) {
+		   (requestI.compareNames("*") == 0) ||
+		   NamePattern.matches(requestI.getName(),getName())) {
 	    rmapR = new Rmap(getName());
 	    prepend += getName() + "/";
 	}
@@ -539,6 +565,7 @@ class Registration
 			}
 
 		    } else {
+			NamePattern pattern;
 			if ((child = (Registration) findDescendant
 			     (prepend + subRequest.getName(),
 			      false)) != null) {
@@ -546,6 +573,20 @@ class Registration
 				 (subRequest)) != null) {
 				rmapR.addChild(rmap);
 			    }
+
+			} else if ((pattern = NamePattern.compile
+				    (subRequest.getName())) != null) {
+			    java.util.Vector matches = new java.util.Vector();
+			    pattern.findMatches(this,matches);
+			    for (int idx1 = 0;
+				 idx1 < matches.size();
+				 ++idx1) {
+				child = (Registration) matches.elementAt(idx1);
+				if ((rmap = child.getRegistered
+				     (subRequest)) != null) {
+				    rmapR.addChild(rmap);
+				}
+			    }
 			}
 		    }
 		}
@@ -1110,7 +1151,7 @@ class Registration
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 12/09/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1118,6 +1159,8 @@ class Registration
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
      * 02/20/2001  INB	Created.
      *
      */
@@ -1319,7 +1362,7 @@ class Registration
 
 		} else {
 		    limits.getTrange().addLimits(wTLimits);
-		    if (limits.getTrange().getPtimes()[0] +
+		    if (limits.getTrange().getPtime(0) +
 			limits.getTrange().getDuration() == wTLimits[1]) {
 			limits.getTrange().setInclusive(wTInclusive);
 		    }
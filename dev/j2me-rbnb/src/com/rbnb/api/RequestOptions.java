@@ -28,7 +28,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.DataRequest
  * @since V2.2
- * @version 12/09/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -38,6 +38,8 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added <code>downsample</code> and
+ *			<code>downsampleMode</code>.
  * 12/08/2003  INB	Added <code>extendStart</code> flag.
  * 06/11/2003  INB	Created.
  *
@@ -46,6 +48,83 @@ public class RequestOptions
     extends com.rbnb.api.Serializable
 {
 
+    /**
+     * downsample to the maximum value in each bucket.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #setDownsampleMode(byte)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    public final static byte DOWNSAMPLE_MAX = 2;
+
+    /**
+     * downsample to the mean value and time of each bucket.
+     * <p>
+     * This is the default mode.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #setDownsampleMode(byte)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    public final static byte DOWNSAMPLE_MEAN = 0;
+
+    /**
+     * downsample to the minimum value in each bucket.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #setDownsampleMode(byte)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    public final static byte DOWNSAMPLE_MIN = 1;
+
+    /**
+     * downsample to the minimum and maximum values in each bucket.
+     * <p>
+     * The two points are returned in time order, so each bucket produces up
+     * to two points.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #setDownsampleMode(byte)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    public final static byte DOWNSAMPLE_MIN_MAX = 3;
+
+    /**
+     * the number of buckets to downsample numeric channels to.
+     * <p>
+     * Zero means that the data is not downsampled.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int downsample = 0;
+
+    /**
+     * how each bucket is summarized.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private byte downsampleMode = DOWNSAMPLE_MEAN;
+
     /**
      * extend the start time of a request rather than move it?
      * <p>
@@ -75,10 +154,14 @@ public class RequestOptions
 
     private final static int PAR_MWT = 0;
     private final static int PAR_EXS = 1;
+    private final static int PAR_DSN = 2;
+    private final static int PAR_DSM = 3;
 
     private final static String[] PARAMETERS = {
 			    "MWT",
-			    "EXS"
+			    "EXS",
+			    "DSN",
+			    "DSM"
 			};
 
     /**
@@ -155,7 +238,7 @@ public class RequestOptions
      *
      * @param roI the <code>RequestOptions</code> to copy.
      * @since V2.2
-     * @version 12/08/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -163,15 +246,66 @@ public class RequestOptions
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Added <code>downsample</code> handling.
      * 12/08/2003  INB	Added <code>extendStart</code> handling.
      * 06/11/2003  INB	Created.
      *
      */
     final void copy(RequestOptions roI) {
+	setDownsample(roI.getDownsample());
+	setDownsampleMode(roI.getDownsampleMode());
 	setExtendStart(roI.getExtendStart());
 	setMaxWait(roI.getMaxWait());
     }
 
+    /**
+     * Gets the number of buckets to downsample to.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of buckets, zero if the data is not downsampled.
+     * @see #setDownsample(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final int getDownsample() {
+	return (downsample);
+    }
+
+    /**
+     * Gets the downsampling mode.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the downsampling mode.
+     * @see #setDownsampleMode(byte)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final byte getDownsampleMode() {
+	return (downsampleMode);
+    }
+
     /**
      * Gets the extend start flag.
      * <p>
@@ -246,7 +380,7 @@ public class RequestOptions
      *		  thrown if the read is interrupted.
      * @see #write(String[],int,com.rbnb.api.OutputStream,com.rbnb.api.DataOutputStream)
      * @since V2.2
-     * @version 12/08/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -254,6 +388,7 @@ public class RequestOptions
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Added <code>downsample</code> handling.
      * 12/08/2003  INB	Added <code>extendStart</code> handling.
      * 06/11/2003  INB	Created.
      *
@@ -279,10 +414,98 @@ public class RequestOptions
 	    case PAR_EXS:
 		setExtendStart(isI.readBoolean());
 		break;
+	    case PAR_DSN:
+		setDownsample(isI.readInt());
+		break;
+	    case PAR_DSM:
+		setDownsampleMode(isI.readByte());
+		break;
 	    }
 	}
     }
 
+    /**
+     * Sets the number of buckets to downsample to.
+     * <p>
+     * When this is positive, the server reduces each numeric channel in a
+     * response that has more points than will fit in this many buckets.
+     * Each bucket holds consecutive points and is summarized according to
+     * the downsampling mode. The summary points are returned as
+     * <code>FLOAT64</code> values, each with its own time. Other channels are
+     * returned as is.
+     * <p>
+     * A value of zero (0) turns downsampling off.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param downsampleI the number of buckets.
+     * @exception java.lang.IllegalArgumentException
+     *		  thrown if the number of buckets is negative.
+     * @see #getDownsample()
+     * @see #setDownsampleMode(byte)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void setDownsample(int downsampleI) {
+	if (downsampleI < 0) {
+	    throw new java.lang.IllegalArgumentException
+		("The number of buckets to downsample to cannot be negative.");
+	}
+	downsample = downsampleI;
+    }
+
+    /**
+     * Sets the downsampling mode.
+     * <p>
+     * The mode is one of:
+     * <p><ul>
+     * <li><code>DOWNSAMPLE_MEAN</code> - the mean value and time of each
+     *	   bucket,</li>
+     * <li><code>DOWNSAMPLE_MIN</code> - the minimum value of each bucket,</li>
+     * <li><code>DOWNSAMPLE_MAX</code> - the maximum value of each bucket, or
+     *	   </li>
+     * <li><code>DOWNSAMPLE_MIN_MAX</code> - the minimum and maximum values of
+     *	   each bucket, in time order.</li>
+     * </ul><p>
+     *
+     * @author Ian Brown
+     *
+     * @param downsampleModeI the downsampling mode.
+     * @exception java.lang.IllegalArgumentException
+     *		  thrown if the mode is not recognized.
+     * @see #getDownsampleMode()
+     * @see #setDownsample(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void setDownsampleMode(byte downsampleModeI) {
+	if ((downsampleModeI < DOWNSAMPLE_MEAN) ||
+	    (downsampleModeI > DOWNSAMPLE_MIN_MAX)) {
+	    throw new java.lang.IllegalArgumentException
+		("Unrecognized downsampling mode " + downsampleModeI + ".");
+	}
+	downsampleMode = downsampleModeI;
+    }
+
     /**
      * Sets the extend start flag.
      * <p>
@@ -358,7 +581,7 @@ public class RequestOptions
      *
      * @return the string representation.
      * @since V2.2
-     * @version 12/08/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -366,6 +589,7 @@ public class RequestOptions
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Added <code>downsample</code> handling.
      * 12/08/2003  INB	Added <code>extendStart</code> handling.
      * 06/11/2003  INB	Created.
      *
@@ -373,7 +597,11 @@ public class RequestOptions
     public final String toString() {
 	return ("RequestOptions:\n" +
 		"   Extend Start: " + getExtendStart() + "\n" +
-		"   Max Wait: " + getMaxWait() + " milliseconds.");
+		"   Max Wait: " + getMaxWait() + " milliseconds." +
+		((getDownsample() == 0) ?
+		 "" :
+		 ("\n   Downsample: " + getDownsample() + " buckets, mode " +
+		  getDownsampleMode() + ".")));
     }
 
     /**
@@ -389,7 +617,9 @@ public class RequestOptions
      * @exception com.rbnb.api.AddressException
      *		  thrown if there is a problem with an address.
      * @exception com.rbnb.api.SerializeException
-     *		  thrown if there is a problem with the serialization.
+     *		  thrown if there is a problem with the serialization, or if
+     *		  downsampling is requested and the peer has not agreed to
+     *		  support it.
      * @exception java.io.EOFException
      *		  thrown if the end of the input stream is reached.
      * @exception java.io.InterruptedIOException
@@ -400,7 +630,7 @@ public class RequestOptions
      *		  thrown if the operation is interrupted.
      * @see #read(com.rbnb.api.InputStream,com.rbnb.api.DataInputStream)
      * @since V2.2
-     * @version 12/08/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -408,6 +638,9 @@ public class RequestOptions
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Added <code>downsample</code> handling.
+     *		   INB	Refuse to write a downsample request if the peer has
+     *			not agreed to it.
      * 12/08/2003  INB	Added <code>extendStart</code> handling.
      * 06/11/2003  INB	Created.
      *
@@ -423,6 +656,16 @@ public class RequestOptions
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
+	if ((getDownsample() != 0) &&
+	    !IsSupported.isNegotiated(IsSupported.FEATURE_OPTION_DOWNSAMPLE,
+				      osI.getCapabilities())) {
+	    // The request is refused before anything is written, rather than
+	    // being sent without the downsampling.
+	    throw new com.rbnb.api.SerializeException
+		("The remote server or application does not support " +
+		 "downsampling in requests.");
+	}
+
 	if (IsSupported.isSupported(IsSupported.FEATURE_REQUEST_OPTIONS,
 				    osI.getBuildVersion(),
 				    osI.getBuildDate())) {
@@ -440,6 +683,13 @@ public class RequestOptions
 		osI.writeBoolean(getExtendStart());
 	    }
 
+	    if (getDownsample() != 0) {
+		osI.writeParameter(PARAMETERS,PAR_DSN);
+		osI.writeInt(getDownsample());
+		osI.writeParameter(PARAMETERS,PAR_DSM);
+		osI.writeByte(getDownsampleMode());
+	    }
+
 	    Serialize.writeCloseBracket(osI);
 	}
     }
@@ -495,6 +745,8 @@ public class RequestOptions
 	{
 		super.cloned(o);
 		RequestOptions clonedR = (RequestOptions)o;
+		clonedR.downsample = downsample;
+		clonedR.downsampleMode = downsampleMode;
 		clonedR.extendStart = extendStart;
 		clonedR.maxWait = maxWait;
 	}
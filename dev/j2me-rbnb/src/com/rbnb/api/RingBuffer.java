@@ -23,7 +23,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.1
- * @version 10/03/2005
+ * @version 10/18/2026
  */
 
 /*
@@ -33,6 +33,13 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added the <code>Rollup</code> summary channels.
+ *		   INB	Added the <code>WarmCache</code> between the cache and
+ *			the archive.
+ *		   INB	Use the running data counts in
+ *			<code>calculateDataSizes</code>.
+ *		   INB	Record the time spent matching requests in the
+ *			<code>HotPathMetrics</code>.
  * 10/11/2006  EMF      Added cache/archive looping by time instead of frame.
  * 10/03/2005  JPW	Change <code>addChild</code>: Rather than just
  *			returning, throw IllegalStateException if the start
@@ -287,6 +294,18 @@ final class RingBuffer
      */
     private String[] myNames = null;
 
+    /**
+     * the pre-aggregated summaries of the numeric channels.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.Rollup
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Rollup rollup = null;
+
     /**
      * the registration map.
      * <p>
@@ -320,6 +339,18 @@ final class RingBuffer
      */
     private boolean terminateRequested = false;
 
+    /**
+     * the compacted, in-memory storage between the cache and the archive.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.WarmCache
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private WarmCache warmCache = null;
+
 //EMF 10/11/06: temporary variables for cache/archive loop by time
 // ADD TO SAPI; CURRENTLY DEBUG FLAGS
     private float cacheflush=0;
@@ -438,7 +469,7 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.1
-     * @version 04/13/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -446,6 +477,8 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Update the <code>Rollup</code>, if there is one, before
+     *			taking the locks.
      * 04/13/2004  INB	Changed <code>addChild/acceptFame</code> to run in a
      *			single thread to eliminate potential deadlock issues.
      * 11/17/2003  INB	Use <code>try/finally</code> to ensure that we don't
@@ -472,6 +505,16 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
 	    setAcceptingAFrame(true);
 
 	    if (!getTerminateRequested() && !sh.getPerformReset()) {
+		// Add the frame to the <code>Rollup</code> summaries, which are
+		// kept independently of the <code>Cache</code>. This is done
+		// before the frame is added to the <code>Cache</code>, so that
+		// the locks are not held while the points are summarized.
+		Rollup lRollup = null;
+		if (Rollup.isEnabled() && !(sh instanceof Log)) {
+		    lRollup = ((rollup == null) ? new Rollup() : rollup);
+		    lRollup.accept(frameI);
+		}
+
 		try {
 		    ((RBO) sh).lockWrite("RingBuffer.acceptFrame");
 		    registrationDoor.lock("RingBuffer.acceptFrame");
@@ -482,6 +525,11 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
 			((RBO) sh).rbsChanged.put(this,this);
 		    }
 
+		    if ((lRollup != null) && (rollup == null)) {
+			rollup = lRollup;
+			super.addChild(rollup);
+		    }
+
 		    // Add the frame to the <code>Cache</code>.
 		    getCache().addElement(frameI);
 
@@ -679,7 +727,7 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
      * @param cacheDSIO   the cache data size.
      * @param archiveDSIO the archive data size.
      * @since V2.1
-     * @version 04/30/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -687,6 +735,9 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Count the <code>WarmCache</code> as part of the
+     *			cache.
+     *		   INB	Use the running data counts.
      * 02/17/2003  INB	Created from the corresponding <code>RBO</code> method.
      *
      */
@@ -698,16 +749,13 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
 	}
 
 	if (getCache() != null) {
-	    try {
-		cacheDSIO[0] += getCache().getDataSize();
-	    } catch (java.lang.Exception e) {
-	    }
+	    cacheDSIO[0] += getCache().getDataBytes();
+	}
+	if (getWarmCache() != null) {
+	    cacheDSIO[0] += getWarmCache().getDataBytes();
 	}
 	if (getArchive() != null) {
-	    try {
-		archiveDSIO[0] += getArchive().getDataSize();
-	    } catch (java.lang.Exception e) {
-	    }
+	    archiveDSIO[0] += getArchive().getDataBytes();
 	}
     }
 
@@ -732,7 +780,7 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.2
-     * @version 01/12/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -740,6 +788,7 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clear the <code>WarmCache</code> too.
      * 01/08/2004  INB	Created.
      *
      */
@@ -782,6 +831,9 @@ System.err.println("cacheflush="+cacheflush+", cachetrim="+cachetrim+", archivef
 	    registrationDoor.lock("RingBuffer.clearCache");
 	    if (getCache() != null) {
 		getCache().clearCache();
+		if (getWarmCache() != null) {
+		    getWarmCache().clearWarmCache();
+		}
 		hasChanged = true;
 		updateRegistration();
 	    }
@@ -1299,7 +1351,31 @@ getArchive().close();
     final boolean getTerminateRequested() {
 	return (terminateRequested);
     }
-
+
+    /**
+     * Gets the <code>WarmCache</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>WarmCache</code> or <code>null</code> if there is
+     *	       none.
+     * @see #setWarmCache(com.rbnb.api.WarmCache)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final WarmCache getWarmCache() {
+	return (fatalError ? null : warmCache);
+    }
     /**
      * Handles a new frame <code>Rmap</code>.
      * <p>
@@ -1682,7 +1758,7 @@ getArchive().close();
      *		  thrown if the <code>Rmap</code> hierarchy contains
      *		  information that cannot be processed by this code.
      * @since V2.2
-     * @version 12/11/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1690,6 +1766,7 @@ getArchive().close();
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Try the <code>WarmCache</code> before the archive.
      * 12/11/2003  INB	Added <code>RequestOptions</code> to
      *			<code>TimeRelativeRequest</code> handling to allow the
      *			code to do the right thing for
@@ -1726,50 +1803,20 @@ getArchive().close();
 	    } else if ((responseR.getStatus() == -1) ||
 		       (responseR.getStatus() == -3)) {
 		// If the request is for data before the <code>Cache</code>,
-		// then try the archive.
+		// then try the <code>WarmCache</code> and then the archive.
+		responseR.setStatus(-1);
 
-		if (getArchive() == null) {
-		    responseR.setStatus(-1);
+		if (getWarmCache() != null) {
+		    responseR = matchOlderTimeRelative(getWarmCache(),
+						       requestI,
+						       roI);
+		}
 
-		} else {
-		    // If there is an archive, then see if we can get the data
-		    // out of it.
-		    responseR = getArchive().matchTimeRelative(requestI,roI);
-
-		    if (responseR.getStatus() == -3) {
-			responseR.setStatus(-1);
-
-		    } else if ((responseR.getStatus() == 1) ||
-			       (responseR.getStatus() == 3)) {
-			// The data is between the cache and the archive.
-			switch (requestI.getRelationship()) {
-			case TimeRelativeRequest.BEFORE:
-			case TimeRelativeRequest.AT_OR_BEFORE:
-			    // If we want a time before the specified time,
-			    // then use the end of the archive.
-			    responseR = getArchive().beforeTimeRelative
-				(requestI,
-				 roI);
-			    if ((responseR.getStatus() == -3) ||
-				(responseR.getStatus() == 3)) {
-				responseR.setStatus(-1);
-			    }
-			    break;
-
-			case TimeRelativeRequest.AT_OR_AFTER:
-			case TimeRelativeRequest.AFTER:
-			    // If we want a time after the specified time, then
-			    // use the beginning of the cache.
-			    responseR = getCache().beforeTimeRelative
-				(requestI,
-				 roI);
-			    if ((responseR.getStatus() == -3) ||
-				(responseR.getStatus() == 3)) {
-				responseR.setStatus(1);
-			    }
-			    break;
-			}
-		    }
+		if ((responseR.getStatus() == -1) &&
+		    (getArchive() != null)) {
+		    responseR = matchOlderTimeRelative(getArchive(),
+						       requestI,
+						       roI);
 		}
 	    }
 
@@ -1789,6 +1836,95 @@ getArchive().close();
 	return (responseR);
     }
 
+    /**
+     * Matches the contents of a <code>StorageManager</code> holding data
+     * older than the <code>Cache</code> against a
+     * <code>TimeRelativeRequest</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param olderI   the <code>WarmCache</code> or <code>Archive</code>.
+     * @param requestI the <code>TimeRelativeRequest</code>.
+     * @param roI      the <code>RequestOptions</code>.
+     * @return a <code>TimeRelativeResponse</code> containing the results.
+     * @exception com.rbnb.utility.SortException
+     *		  if there is a problem locating a reference.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #matchTimeRelative(com.rbnb.api.TimeRelativeRequest,com.rbnb.api.RequestOptions)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final TimeRelativeResponse matchOlderTimeRelative
+	(StorageManager olderI,
+	 TimeRelativeRequest requestI,
+	 RequestOptions roI)
+	throws com.rbnb.utility.SortException,
+	       com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	TimeRelativeResponse responseR =
+	    olderI.matchTimeRelative(requestI,roI);
+
+	if (responseR.getStatus() == -3) {
+	    responseR.setStatus(-1);
+
+	} else if ((responseR.getStatus() == 1) ||
+		   (responseR.getStatus() == 3)) {
+	    // The data is between the cache and the older storage.
+	    switch (requestI.getRelationship()) {
+	    case TimeRelativeRequest.BEFORE:
+	    case TimeRelativeRequest.AT_OR_BEFORE:
+		// If we want a time before the specified time,
+		// then use the end of the older storage.
+		responseR = olderI.beforeTimeRelative
+		    (requestI,
+		     roI);
+		if ((responseR.getStatus() == -3) ||
+		    (responseR.getStatus() == 3)) {
+		    responseR.setStatus(-1);
+		}
+		break;
+
+	    case TimeRelativeRequest.AT_OR_AFTER:
+	    case TimeRelativeRequest.AFTER:
+		// If we want a time after the specified time, then
+		// use the beginning of the cache.
+		responseR = getCache().beforeTimeRelative
+		    (requestI,
+		     roI);
+		if ((responseR.getStatus() == -3) ||
+		    (responseR.getStatus() == 3)) {
+		    responseR.setStatus(1);
+		}
+		break;
+	    }
+	}
+
+	return (responseR);
+    }
+
     /**
      * Moves down a level in the <code>Rmap</code> hierarchy in response to a
      * request <code>Rmap</code> hierarchy.
@@ -1817,7 +1953,7 @@ getArchive().close();
      *		  source <code>Rmap</code> hierarchy or in extracting the
      *		  desired information.
      * @since V2.0
-     * @version 02/03/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -1825,6 +1961,9 @@ getArchive().close();
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Bring the <code>Rollup</code> channels up to date
+     *			before matching, under the write lock.
+     *		   INB	Record the match time in the <code>HotPathMetrics</code>.
      * 02/03/2004  INB	Throw <code>IllegalMonitorStateException> if our parent
      *			shuts down while we're unlocked.
      * 12/22/2003  INB	If our parent shuts down while we're unlocked, then
@@ -1936,6 +2075,7 @@ getArchive().close();
 	    return (MATCH_ILLEGAL);
 	}
 
+	long matchStart = HotPathMetrics.startTimer();
 	byte reasonR = Rmap.MATCH_UNKNOWN;
 	boolean locked = false;
 	try {
@@ -1951,6 +2091,16 @@ getArchive().close();
 				   " moveDownFrom read lock.");
 		*/
 
+		if ((rollup != null) && rollup.isChanged()) {
+		    // Rebuilding the <code>Rollup</code> channels changes its
+		    // children, so the readers are kept out while it runs.
+		    registrationDoor.lock("RingBuffer.moveDownFrom.rollup");
+		    try {
+			rollup.refresh();
+		    } finally {
+			registrationDoor.unlock();
+		    }
+		}
 		lockRead("RingBuffer.moveDownFrom2");
 		locked = true;
 		reasonR = super.moveDownFrom(extractorI,
@@ -2008,6 +2158,7 @@ getArchive().close();
 				   " moveDownFrom read lock.");
 		*/
 	    }
+	    HotPathMetrics.stopTimer(HotPathMetrics.REQUEST_MATCH,matchStart);
 	}
 
 	return (reasonR);
@@ -2049,7 +2200,7 @@ getArchive().close();
      * @author Ian Brown
      *
      * @since V2.2
-     * @version 07/30/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -2057,6 +2208,7 @@ getArchive().close();
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Nullify the <code>WarmCache</code>.
      * 07/30/2003  INB	Created.
      *
      */
@@ -2074,6 +2226,11 @@ getArchive().close();
 		awaiting = null;
 	    }
 
+	    if (getWarmCache() != null) {
+		getWarmCache().nullify();
+		setWarmCache(null);
+	    }
+
 	    if (getCache() != null) {
 		getCache().nullify();
 		setCache(null);
@@ -2874,6 +3031,61 @@ getArchive().close();
 	notifyAll();
     }
 
+    /**
+     * Sets the <code>WarmCache</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param warmCacheI  the new <code>WarmCache</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @exception java.lang.IllegalStateException
+     *		  thrown if the <code>RingBuffer</code> already has a
+     *		  <code>WarmCache</code>.
+     * @see #getWarmCache()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setWarmCache(WarmCache warmCacheI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if ((warmCacheI != null) && (warmCache != null)) {
+	    throw new IllegalStateException
+		("Cannot set the warm cache for a source that already has " +
+		 "one.");
+
+	} else if (warmCache != null) {
+	    removeChild(warmCache);
+	}
+
+	warmCache = warmCacheI;
+
+	if (warmCacheI != null) {
+	    addChild(warmCacheI);
+	}
+    }
     /**
      * Sets up the <code>RingBuffer</code> to accept data.
      * <p>
@@ -2897,7 +3109,7 @@ getArchive().close();
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.1
-     * @version 02/18/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -2905,6 +3117,8 @@ getArchive().close();
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Add a <code>WarmCache</code> if the
+     *			<code>warmsets</code> property asks for one.
      * 02/18/2003  INB	Created.
      *
      */
@@ -2929,6 +3143,11 @@ getArchive().close();
 	setCache(new Cache(cacheflush,cachetrim));
 	getCache().setMs(cFrameSetsI);
 	getCache().setMeps(cFrFrameSetI);
+	if (WarmCache.getDefaultSets() > 0) {
+	    setWarmCache(new WarmCache());
+	    getWarmCache().setMs(WarmCache.getDefaultSets());
+	    getWarmCache().setMeps(cFrFrameSetI);
+	}
 	if (aFileSetsI != 0) {
 	    setArchive(new Archive(archiveflush,archivetrim));
 	    getArchive().setMs(aFileSetsI);
@@ -3228,7 +3447,7 @@ getArchive().close();
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.1
-     * @version 11/20/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -3236,6 +3455,8 @@ getArchive().close();
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --   -----------
+     * 10/18/2026  INB	Add the <code>Rollup</code> channels.
+     *		   INB	Add the <code>WarmCache</code>.
      * 11/20/2003  INB	Save the summary of the registration as the last frame
      *			summary.
      * 11/12/2003  INB	Added location to the locks.
@@ -3260,6 +3481,7 @@ getArchive().close();
 
 	    boolean fullUpdate = (getRegistered() == null);
 	    int changedCache = 0,
+		changedWarm = 0,
 		changedArchive = 0;
 	    if (getCache() != null) {
 		// Update the <code>Cache Registration</code>.
@@ -3269,6 +3491,15 @@ getArchive().close();
 		    changedCache = -1;
 		}
 	    }
+	    if (getWarmCache() != null) {
+		// Update the <code>WarmCache Registration</code>.
+		if (((changedWarm =
+		      getWarmCache().updateRegistration()) == 0) &&
+		    (getWarmCache().getLastRegistration() >
+		     getLastRegistration())) {
+		    changedWarm = -1;
+		}
+	    }
 	    if (getArchive() != null) {
 		// Update the <code>Archive Registration</code>.
 		if (((changedArchive =
@@ -3279,10 +3510,15 @@ getArchive().close();
 		}
 	    }
 
+	    // Sets trimmed from the <code>Cache</code> move on to the
+	    // <code>WarmCache</code> or the archive, so a reset of the
+	    // <code>Cache</code> only matters if there is neither.
 	    fullUpdate = (fullUpdate ||
 			  ((changedArchive == -1) ||
 			   ((getArchive() == null) &&
-			    (changedCache == -1))));
+			    ((changedWarm == -1) ||
+			     ((getWarmCache() == null) &&
+			      (changedCache == -1))))));
 	    if (fullUpdate) {
 		if (getRegistered() != null) {
 		    getRegistered().nullify();
@@ -3293,6 +3529,22 @@ getArchive().close();
 		if (getArchive() != null) {
 		    setRegistered((Registration)
 				  getArchive().getRegistered().clone());
+		    if (getWarmCache() != null) {
+			((Registration) getRegistered()).updateRegistration
+			    (getWarmCache().getRegistered(),
+			     false,
+			     true);
+		    }
+		    if (getCache() != null) {
+			((Registration) getRegistered()).updateRegistration
+			    (getCache().getRegistered(),
+			     false,
+			     true);
+		    }
+
+		} else if (getWarmCache() != null) {
+		    setRegistered((Registration)
+				  getWarmCache().getRegistered().clone());
 		    if (getCache() != null) {
 			((Registration) getRegistered()).updateRegistration
 			    (getCache().getRegistered(),
@@ -3316,6 +3568,13 @@ getArchive().close();
 			 true);
 		    updatedR = 1;
 		}
+		if (changedWarm != 0) {
+		    ((Registration) getRegistered()).updateRegistration
+			(getWarmCache().getRegistered(),
+			 false,
+			 true);
+		    updatedR = 1;
+		}
 		if (changedCache != 0) {
 		    ((Registration) getRegistered()).updateRegistration
 			(getCache().getRegistered(),
@@ -3325,6 +3584,21 @@ getArchive().close();
 		}
 	    }
 
+	    if (rollup != null) {
+		// The <code>Rollup</code> channels are not part of either the
+		// <code>Cache</code> or the <code>Archive</code>, so they are
+		// added after both. The write lock taken above keeps the
+		// readers out while they are rebuilt.
+		rollup.refresh();
+		if (((Registration) getRegistered()).updateRegistration
+		    (rollup,
+		     false,
+		     false) &&
+		    (updatedR == 0)) {
+		    updatedR = 1;
+		}
+	    }
+
 	    if ((myNames == null) || (myNames.length == 0)) {
 		myNames = getRegistered().extractNames();
 	    }
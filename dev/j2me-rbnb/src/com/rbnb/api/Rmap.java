@@ -64,7 +64,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.DataArray
  * @see com.rbnb.api.TimeRange
  * @since V2.0
- * @version 05/12/2005
+ * @version 10/18/2026
  */
 
 /*
@@ -74,6 +74,14 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added a cache of the descendants found by
+ *			<code>findDescendant</code> to <code>Rmaps</code> with
+ *			many children. <code>findChildDescendant</code> no
+ *			longer builds the remainder of the name.
+ *		   INB	Use <code>TimeRange.getPtime</code> to read individual
+ *			point times.
+ *		   INB	Added <code>extract</code> into a caller supplied array.
+ *		   INB	Drop the path caches when the children change.
  * 05/12/2005  JPW	In xmlRegistration(): To keep the code Java 1.1.4
  *			compatible, replaced the call to Vector.get(0) with
  *			Vector.elementAt(0).
@@ -269,6 +277,51 @@ public class Rmap
      */
     private TimeRange timeRange = null;
 
+    /**
+     * cache of the descendants found by <code>findDescendant</code>.
+     * <p>
+     * This maps fully qualified names to the descendants they were last
+     * resolved to. It is dropped whenever a child is added to or removed
+     * from this <code>Rmap</code> or any of its descendants, so that it
+     * neither holds on to removed subtrees nor hides a new match found
+     * earlier in the search. Entries are also checked against the parent
+     * chain of the descendant before they are used. It is only created for
+     * <code>Rmaps</code> with at least <code>PATH_CACHE_MINIMUM</code>
+     * children and is not copied by <code>clone</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #findDescendant(String,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Hashtable pathCache = null;
+
+    /**
+     * the minimum number of children for which a path cache is kept.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int PATH_CACHE_MINIMUM = 16;
+
+    /**
+     * the maximum number of entries in a path cache.
+     * <p>
+     * When a cache fills up, it is emptied and starts again.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int PATH_CACHE_LIMIT = 1024;
+
     /**
      * Marker <code>DataBlock</code>.
      * <p>
@@ -688,7 +741,7 @@ public class Rmap
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 02/17/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -696,6 +749,7 @@ public class Rmap
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Drop the path caches.
      * 02/17/2004  INB	Added synchronization to ensure that only one
      *			<code>RmapVector</code> is created.
      * 11/30/2000  INB	Created.
@@ -722,6 +776,7 @@ public class Rmap
 	synchronized (this) {
 	    setChildren(RmapVector.addToVector(getChildren(),childI));
 	}
+	clearPathCaches();
     }
 
     /**
@@ -746,7 +801,7 @@ public class Rmap
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.1
-     * @version 02/17/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -754,6 +809,7 @@ public class Rmap
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Drop the path caches.
      * 02/17/2004  INB	Added synchronization to ensure that only one
      *			<code>RmapVector</code> is created.  Also, use the
      *			<code>RmapVector</code> method <code>insertAt</code>.
@@ -786,6 +842,7 @@ public class Rmap
 	    }
 	    getChildren().insertAt(childI,indexI);
 	}
+	clearPathCaches();
     }
 
     /**
@@ -1646,7 +1703,7 @@ public class Rmap
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 05/02/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1654,6 +1711,7 @@ public class Rmap
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Drop the path caches.
      * 05/02/2003  INB	Call <code>RmapVector(1)</code> rather than
      *			<code>RmapVector()</code>.
      * 09/25/2000  INB	Created.
@@ -1671,6 +1729,7 @@ public class Rmap
 	    setChildren(new RmapVector(1));
 	}
 	getChildren().addElement(childI);
+	clearPathCaches();
     }
 
     /**
@@ -1757,7 +1816,7 @@ public class Rmap
      *		  information that cannot be processed by this code.
      * @see #afterTimeRelative(com.rbnb.api.TimeRelativeRequest requestI,com.rbnb.api.RequestOptions roI)
      * @since V2.2
-     * @version 04/30/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -1765,6 +1824,8 @@ public class Rmap
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
      * 04/30/2004  INB	Use the index of the for loop rather than 0 in the
      *			search that checks each of the children.
      * 02/26/2004  INB	If we get a name failures, then move to the previous
@@ -1923,7 +1984,7 @@ public class Rmap
 	    responseR = new TimeRelativeResponse();
 	    responseR.setStatus(0);
 	    responseR.setTime
-		(getTrange().getPtimes()[getTrange().getNptimes() - 1] +
+		(getTrange().getPtime(getTrange().getNptimes() - 1) +
 		 getTrange().getDuration());
 	    responseR.setInvert(true);
 	}
@@ -1985,6 +2046,34 @@ T     * @return the string representation.
 	return (stringR);
     }
 
+    /**
+     * Drops the path caches of this <code>Rmap</code> and its ancestors.
+     * <p>
+     * This is called whenever the children of this <code>Rmap</code>
+     * change.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #findDescendant(String,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void clearPathCaches() {
+	for (Rmap rmap = this; rmap != null; rmap = rmap.parent) {
+	    rmap.pathCache = null;
+	}
+    }
+
     /**
      * Clears the <code>TimeRanges</code> for this <code>Rmap</code> hierarchy.
      * <p>
@@ -3170,6 +3259,58 @@ T     * @return the string representation.
     {
 	return (extract(chanNameI,false,true,true));
     }
+
+    /**
+     * Extracts the time and data for a particular channel, storing the data
+     * in a caller supplied array.
+     * <p>
+     * This works like <code>extract(String)</code>, except that the data is
+     * stored in the input array if it is an array of the primitive type for
+     * the channel's data type with exactly the number of points extracted.
+     * Otherwise, a new array is created.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param chanNameI  the fully qualified name of the channel.
+     * @param reuseI	 the array to store the data in. May be null.
+     * @return a <code>DataArray</code> object containing the extracted times
+     *	       and data.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @exception java.lang.IllegalStateException
+     *		  thrown if the <code>Rmap</code> hierarchy contains
+     *		  information that cannot be processed by this code.
+     * @see #extract(String)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final DataArray extract(String chanNameI,Object reuseI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	return (extract(chanNameI,false,true,true,reuseI));
+    }
 
     /**
      * Extracts the frame indexes, time, and/or data for a particular channel.
@@ -3208,7 +3349,7 @@ T     * @return the string representation.
      *		  thrown if the <code>Rmap</code> hierarchy contains
      *		  information that cannot be processed by this code.
      * @since V2.0
-     * @version 05/06/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -3216,6 +3357,7 @@ T     * @return the string representation.
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Moved the work to the version with an input array.
      * 05/06/2003  INB	Firewalled against folders (names ending in '/').
      * 11/30/2000  INB	Created.
      *
@@ -3229,6 +3371,60 @@ T     * @return the string representation.
 	       java.io.EOFException,
 	       java.io.IOException,
 	       java.lang.InterruptedException
+    {
+	return (extract(chanNameI,frameFlagI,timeFlagI,dataFlagI,null));
+    }
+
+    /**
+     * Extracts the frame indexes, time, and/or data for a particular channel,
+     * storing the data in a caller supplied array.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param chanNameI  the fully qualified name of the channel.
+     * @param frameFlagI return the extracted frame indexes?
+     * @param timeFlagI	 return the extacted times?
+     * @param dataFlagI	 return the extraced data?
+     * @param reuseI	 the array to store the data in. May be null.
+     * @return a <code>DataArray</code> object containing the extracted times
+     *	       and data.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @exception java.lang.IllegalStateException
+     *		  thrown if the <code>Rmap</code> hierarchy contains
+     *		  information that cannot be processed by this code.
+     * @see #extract(String,boolean,boolean,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created from the version without an input array.
+     *
+     */
+    private final DataArray extract(String chanNameI,
+				    boolean frameFlagI,
+				    boolean timeFlagI,
+				    boolean dataFlagI,
+				    Object reuseI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
     {
 	if (!isImplemented(OPR_EXTRACTION)) {
 	    throw new java.lang.IllegalArgumentException
@@ -3250,6 +3446,7 @@ T     * @return the string representation.
 							frameFlagI,
 							timeFlagI,
 							dataFlagI);
+	    extractor.setReuse(reuseI);
 	    arrayR = (DataArray) extractor.extract(this);
 	}
 
@@ -3638,7 +3835,7 @@ T     * @return the string representation.
      * @exception java.lang.IllegalStateException
      *		  thrown if this code cannot perform the extraction.
      * @since V2.0
-     * @version 08/30/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -3646,6 +3843,9 @@ T     * @return the string representation.
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
+     *		   INB	Start partway into a <code>PayloadSlab</code> view.
      * 08/02/2001 INB	Created.
      *
      */
@@ -3690,7 +3890,8 @@ T     * @return the string representation.
 	    ptDblock.setStride(dRmap.getDblock().getStride());
 
 	    int onPts = dRmap.getDblock().getNpts();
-	    int offset = wdBlock.getOffset() + dRmap.getDblock().getOffset();
+	    int offset = (wdBlock.getPayloadOffset() +
+			  dRmap.getDblock().getOffset());
 
 	    TimeRange fromRequest,
 		      fromThis,
@@ -3746,7 +3947,7 @@ T     * @return the string representation.
 		    } else {
 			endTime =
 			    startTime +
-			    fromdRmap.getPtimes()[fromdRmap.getNptimes() - 1] +
+			    fromdRmap.getPtime(fromdRmap.getNptimes() - 1) +
 			    fromdRmap.getDuration();
 		    }
 		}
@@ -3778,8 +3979,8 @@ T     * @return the string representation.
 			} else {
 			    endTime =
 				startTime +
-				fromdRmapOther.getPtimes()
-				[fromdRmapOther.getNptimes() - 1] +
+				fromdRmapOther.getPtime
+				(fromdRmapOther.getNptimes() - 1) +
 				fromdRmapOther.getDuration();
 			}
 		    }
@@ -4487,7 +4688,7 @@ T     * @return the string representation.
      * @exception java.lang.IllegalStateException
      *		  thrown if a group is discovered.
      * @since V2.0
-     * @version 08/30/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -4496,6 +4697,9 @@ T     * @return the string representation.
 
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only the first part of the name is extracted. Call
+     *			<code>lookupDescendant</code> rather than
+     *			<code>findDescendant</code>.
      * 08/07/2001  INB	Created.
      *
      */
@@ -4517,15 +4721,9 @@ T     * @return the string representation.
 		startAt = 1;
 		idx = nameI.indexOf(PATHDELIMITER,startAt);
 	    }
-	    String lName,
-		   nameT;
-	    if (idx == -1) {
-		lName = nameI.substring(startAt);
-		nameT = null;
-	    } else {
-		lName = nameI.substring(startAt,idx);
-		nameT = nameI.substring(idx + 1);
-	    }
+	    String lName = ((idx == -1) ?
+			    nameI.substring(startAt) :
+			    nameI.substring(startAt,idx));
 
 	    java.util.Vector matches = getChildren().findName(lName);
 
@@ -4537,7 +4735,7 @@ T     * @return the string representation.
 		    if (entry.getName() != null) {
 			break;
 		    } else {
-			rmapR = entry.findDescendant(nameI,false);
+			rmapR = entry.lookupDescendant(nameI,false);
 		    }
 		}
 
@@ -4545,7 +4743,7 @@ T     * @return the string representation.
 		// If there are matching names, then see any of them has the
 		// fully qualified child we're interested in.
 
-		if (nameT == null) {
+		if (idx == -1) {
 		    // If there is no more to the name, take the first entry.
 		    rmapR = (Rmap) matches.elementAt(0);
 
@@ -4555,7 +4753,7 @@ T     * @return the string representation.
 			 ++idx) {
 			Rmap entry = (Rmap) matches.elementAt(idx);
 
-			rmapR = entry.findDescendant
+			rmapR = entry.lookupDescendant
 			    (nameI,
 			     addI && (idx == matches.size() - 1));
 		    }
@@ -4576,6 +4774,10 @@ T     * @return the string representation.
      * This method can optionally create the hierarchy leading to the desired
      * descendant.
      * <p>
+     * If this <code>Rmap</code> has many children, the descendants found are
+     * remembered by name, so that looking up the same name again doesn't
+     * need to search the hierarchy.
+     * <p>
      *
      * @author Ian Brown
      *
@@ -4593,7 +4795,7 @@ T     * @return the string representation.
      * @exception java.lang.IllegalStateException
      *		  thrown if a group is discovered.
      * @since V2.0
-     * @version 08/30/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -4601,6 +4803,8 @@ T     * @return the string representation.
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Look in the path cache first. The search itself has
+     *			moved to <code>lookupDescendant</code>.
      * 08/07/2001  INB	Created.
      *
      */
@@ -4610,73 +4814,26 @@ T     * @return the string representation.
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	boolean OK = true;
-	Rmap rmapR = null;
-	String nameT = nameI;
-	int idx = nameI.indexOf(PATHDELIMITER);
+	java.util.Hashtable cache = pathCache;
+	Rmap rmapR;
 
-	// If this <code>Rmap</code> has a name, then it must match th
-	// beginning of the name hierarchy.
-	if (getName() != null) {
-	    String lName;
-	    if (idx == 0) {
-		idx = nameI.indexOf(PATHDELIMITER,1);
-		if (idx == -1) {
-		    lName = nameI.substring(1);
-		    nameT = null;
-		} else {
-		    lName = nameI.substring(1,idx);
-		    nameT = nameI.substring(idx);
-		}
-	    } else if ((nameI.charAt(0) != '.') ||
-		       ((nameI.length() > 1) && (idx > 1))) {
-		lName = ".";
-		nameT = PATHDELIMITER + nameI;
-	    } else if (idx != -1) {
-		lName = ".";
-		nameT = nameI.substring(idx);
-	    } else {
-		lName = ".";
-		nameT = null;
+	if ((cache != null) &&
+	    ((rmapR = (Rmap) cache.get(nameI)) != null)) {
+	    if (isCachedDescendant(rmapR,nameI)) {
+		return (rmapR);
 	    }
-
-	    OK = (compareNames(lName) == 0);
-
-	} else if ((idx == -1) ||
-		   (idx > 1) ||
-		   ((idx == 1) && (nameI.charAt(0) != '.'))) {
-	    nameT = "." + PATHDELIMITER + nameI;
-
-	} else {
-	    nameT = nameI;
+	    cache.remove(nameI);
 	}
 
-	if (OK) {
-	    // If we've got at least a partial match, then try to find the rest
-	    // of the name.
-
-	    if (nameT == null) {
-		// If there is nothing more to match, then we've found what we
-		// want.
-		rmapR = this;
-
-	    } else if (getNmembers() > 0) {
-		// Groups introduce too many complications.
-		throw new java.lang.IllegalStateException
-		    ("Cannot find a descendant of an Rmap that has a " +
-		     "group.\n" + this);
-
-	    } else if ((rmapR = findChildDescendant(nameT,addI)) == null) {
-		// If there is no descendant child matching the name, then
-		// create a new one and add it in here.
-		if (addI) {
-		    rmapR = createFromName(nameT);
-		    addChild(rmapR);
-		    while (rmapR.getNchildren() == 1) {
-			rmapR = rmapR.getChildAt(0);
-		    }
-		}
+	if (((rmapR = lookupDescendant(nameI,addI)) != null) &&
+	    (rmapR != this) &&
+	    (getNchildren() >= PATH_CACHE_MINIMUM)) {
+	    if (cache == null) {
+		pathCache = cache = new java.util.Hashtable();
+	    } else if (cache.size() >= PATH_CACHE_LIMIT) {
+		cache.clear();
 	    }
+	    cache.put(nameI,rmapR);
 	}
 
 	return (rmapR);
@@ -5607,6 +5764,88 @@ T     * @return the string representation.
 	return (inheritedR);
     }
 
+    /**
+     * Is the input <code>Rmap</code> still the descendant of this
+     * <code>Rmap</code> with the input fully qualified name?
+     * <p>
+     * The names of the <code>Rmaps</code> from the descendant up to this
+     * <code>Rmap</code> are compared against the name from the end,
+     * without extracting the individual parts of the name. Anything that
+     * doesn't look exactly like the path <code>findDescendant</code> would
+     * have taken, including a group anywhere along the way, fails the
+     * check.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param descendantI  the cached descendant.
+     * @param nameI	   the fully qualified name.
+     * @return is the cached descendant still good?
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #findDescendant(String,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final boolean isCachedDescendant(Rmap descendantI,String nameI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	int end = nameI.length();
+	Rmap rmap = descendantI;
+
+	for (; rmap != this; rmap = rmap.getParent()) {
+	    if ((rmap == null) || (rmap.getNmembers() > 0)) {
+		return (false);
+	    }
+
+	    String lName = rmap.getName();
+	    if (lName != null) {
+		// Named <code>Rmaps</code> must match the last remaining part
+		// of the name.
+		int start = ((end == 0) ?
+			     -1 :
+			     nameI.lastIndexOf(PATHDELIMITER,end - 1) + 1);
+		if ((start == -1) ||
+		    (end - start != lName.length()) ||
+		    !nameI.regionMatches(false,start,lName,0,end - start)) {
+		    return (false);
+		}
+		end = Math.max(0,start - 1);
+	    }
+	}
+
+	if (getNmembers() > 0) {
+	    return (false);
+	}
+
+	// Whatever is left of the name must refer to this <code>Rmap</code>.
+	String myName = getName();
+	if (myName == null) {
+	    return (end == 0);
+	}
+	return ((end == myName.length() + 1) &&
+		(nameI.charAt(0) == PATHDELIMITER) &&
+		nameI.regionMatches(false,1,myName,0,myName.length()));
+    }
+
     /**
      * Is the input <code>Rmap</code> a child of this one?
      * <p>
@@ -6079,6 +6318,120 @@ T     * @return the string representation.
     {
     }
 
+    /**
+     * Looks for a descendant child <code>Rmap</code> by name without using
+     * the path cache.
+     * <p>
+     * This method can optionally create the hierarchy leading to the desired
+     * descendant.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nameI the fully qualified descendant's name.
+     * @param addI  add the descendant if it doesn't exist?
+     * @return the descendant.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @exception java.lang.IllegalStateException
+     *		  thrown if a group is discovered.
+     * @see #findDescendant(String,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created from the body of <code>findDescendant</code>.
+     *
+     */
+    private final Rmap lookupDescendant(String nameI,boolean addI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	boolean OK = true;
+	Rmap rmapR = null;
+	String nameT = nameI;
+	int idx = nameI.indexOf(PATHDELIMITER);
+
+	// If this <code>Rmap</code> has a name, then it must match th
+	// beginning of the name hierarchy.
+	if (getName() != null) {
+	    String lName;
+	    if (idx == 0) {
+		idx = nameI.indexOf(PATHDELIMITER,1);
+		if (idx == -1) {
+		    lName = nameI.substring(1);
+		    nameT = null;
+		} else {
+		    lName = nameI.substring(1,idx);
+		    nameT = nameI.substring(idx);
+		}
+	    } else if ((nameI.charAt(0) != '.') ||
+		       ((nameI.length() > 1) && (idx > 1))) {
+		lName = ".";
+		nameT = PATHDELIMITER + nameI;
+	    } else if (idx != -1) {
+		lName = ".";
+		nameT = nameI.substring(idx);
+	    } else {
+		lName = ".";
+		nameT = null;
+	    }
+
+	    OK = (compareNames(lName) == 0);
+
+	} else if ((idx == -1) ||
+		   (idx > 1) ||
+		   ((idx == 1) && (nameI.charAt(0) != '.'))) {
+	    nameT = "." + PATHDELIMITER + nameI;
+
+	} else {
+	    nameT = nameI;
+	}
+
+	if (OK) {
+	    // If we've got at least a partial match, then try to find the rest
+	    // of the name.
+
+	    if (nameT == null) {
+		// If there is nothing more to match, then we've found what we
+		// want.
+		rmapR = this;
+
+	    } else if (getNmembers() > 0) {
+		// Groups introduce too many complications.
+		throw new java.lang.IllegalStateException
+		    ("Cannot find a descendant of an Rmap that has a " +
+		     "group.\n" + this);
+
+	    } else if ((rmapR = findChildDescendant(nameT,addI)) == null) {
+		// If there is no descendant child matching the name, then
+		// create a new one and add it in here.
+		if (addI) {
+		    rmapR = createFromName(nameT);
+		    addChild(rmapR);
+		    while (rmapR.getNchildren() == 1) {
+			rmapR = rmapR.getChildAt(0);
+		    }
+		}
+	    }
+	}
+
+	return (rmapR);
+    }
+
     /**
      * Marks leaf nodes of an <code>Rmap</code> hierarchy by putting in
      * single byte <code>DataBlocks</code>.
@@ -8015,7 +8368,7 @@ T     * @return the string representation.
      *		  thrown if the read is interrupted.
      * @see #getChildren()
      * @since V2.0
-     * @version 08/14/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -8023,6 +8376,7 @@ T     * @return the string representation.
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Drop the path caches.
      * 12/15/2000  INB	Created.
      *
      */
@@ -8032,6 +8386,7 @@ T     * @return the string representation.
 	       java.lang.InterruptedException
     {
 	children = childrenI;
+	clearPathCaches();
     }
 
     /**
@@ -8224,7 +8579,7 @@ T     * @return the string representation.
      *		  another <code>Rmap</code> and the input is non-null.
      * @see #getParent()
      * @since V2.0
-     * @version 05/22/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -8232,6 +8587,7 @@ T     * @return the string representation.
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Drop the path caches of the old parent.
      * 11/30/2000  INB	Created.
      *
      */
@@ -8248,6 +8604,10 @@ T     * @return the string representation.
 		 ".");
 	}
 
+	if ((parent != null) && (parent != parentI)) {
+	    // Leaving a parent changes its children.
+	    parent.clearPathCaches();
+	}
 	parent = parentI;
     }
 
@@ -9309,7 +9669,7 @@ T     * @return the string representation.
      *
      * @return the XML description.
      * @since V2.0
-     * @version 2005/05/12
+     * @version 10/18/2026
      */
 
     /*
@@ -9321,6 +9681,8 @@ T     * @return the string representation.
      * 2005/03/22  WHF  Includes TYPE_USER data, if any.
      * 2005/05/12  JPW  To keep the code Java 1.1.4 compatible, I replaced
      *                  the call to Vector.get(0) with Vector.elementAt(0)
+     * 10/18/2026  INB	Copy a <code>PayloadSlab</code> view of user data out of
+     *			its slab.
      *
      */
     final String xmlRegistration() {
@@ -9328,7 +9690,7 @@ T     * @return the string representation.
 				getDblock().getMIMEType(),
 				getDblock().getDtype() == DataBlock.TYPE_USER?
 					"<user>"+new String((byte[])
-					getDblock().getData().elementAt(0))
+					getDblock().getUnpackedData().elementAt(0))
 					+"</user>":null));
     }
 
@@ -25,7 +25,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.Rmap
  * @since V2.0
- * @version 04/05/2002
+ * @version 10/18/2026
  */
 
 /*
@@ -35,6 +35,8 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	<code>clone</code> copies the list of <code>Rmaps</code>
+ *			rather than sharing it with the original chain.
  * 11/30/2000  INB	Created.
  *
  */
@@ -160,7 +162,7 @@ class RmapChain
      *
      * @return the cloned chain.
      * @since V2.0
-     * @version 05/25/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -168,6 +170,8 @@ class RmapChain
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Copy the list of <code>Rmaps</code> rather than
+     *			sharing it with the original chain.
      * 11/30/2000  INB	Created.
      *
      */
@@ -196,7 +200,13 @@ class RmapChain
 		clonedR.havePayload = havePayload;
 		if (getRmaps() != null) 
 		{
-			clonedR.rmaps = (java.util.Vector) com.rbnb.compat.Utilities.cloneVector(getRmaps());
+			// The clone gets its own list of the same
+			// <code>Rmaps</code>, so that adding to the end of
+			// one chain does not change the other.
+			clonedR.rmaps = new java.util.Vector(getRmaps().size());
+			for (int idx = 0; idx < getRmaps().size(); ++idx) {
+				clonedR.rmaps.addElement(getRmaps().elementAt(idx));
+			}
 		}
 	}
 
@@ -27,7 +27,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.RmapChain
  * @see com.rbnb.api.DataArray
  * @since V2.0
- * @version 03/18/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -37,6 +37,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added the array to store extracted data in.
  * 03/18/2003  INB	Ensure that combined results contain marker blocks.
  * 11/30/2000  INB	Created.
  *
@@ -112,6 +113,20 @@ class RmapExtractor {
      */
     private boolean requireData = true;
 
+    /**
+     * the array to store extracted data in.
+     * <p>
+     * If this is set and is of the right type and size, the
+     * <code>DataArray</code> holds its data in it rather than in a new array.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Object reuse = null;
+
     /**
      * the information extractor.
      * <p>
@@ -295,7 +310,7 @@ class RmapExtractor {
      *		  thrown if there is a problem in combined the desired
      *		  information.
      * @since V2.0
-     * @version 03/18/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -303,6 +318,7 @@ class RmapExtractor {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Pass the array to store the data in.
      * 03/18/2003  INB	Ensure that combined results contain marker blocks.
      * 12/11/2000  INB	Created.
      *
@@ -327,7 +343,8 @@ class RmapExtractor {
 		    ((DataArrayExtractor) getExtractor()).getTimeAndData
 		    (getExtractFrame(),
 		     getExtractTime(),
-		     getExtractData());
+		     getExtractData(),
+		     getReuse());
 
 	    } else {
 
@@ -715,6 +732,30 @@ class RmapExtractor {
 	return (requireData);
     }
 
+    /**
+     * Gets the array to store extracted data in.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the array, or null.
+     * @see #setReuse(Object)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final Object getReuse() {
+	return (reuse);
+    }
+
     /**
      * Gets the work request <code>Rmap</code>.
      * <p>
@@ -961,6 +1002,30 @@ class RmapExtractor {
 	requireData = requireDataI;
     }
 
+    /**
+     * Sets the array to store extracted data in.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param reuseI the array. May be null.
+     * @see #getReuse()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setReuse(Object reuseI) {
+	reuse = reuseI;
+    }
+
     /**
      * Sets the work request <code>Rmap</code>.
      * <p>
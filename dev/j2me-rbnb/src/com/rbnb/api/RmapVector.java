@@ -23,7 +23,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 08/03/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -33,6 +33,9 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added a hash index of the entries by name, which is
+ *			built once the vector gets large and is kept up to
+ *			date by the methods that add and remove entries.
  * 08/03/2004  INB	Added documentation to findMatches.
  * 02/17/2004  INB	Added <code>insertAt</code> method to provide
  *			synchronization.
@@ -72,6 +75,37 @@ final class RmapVector
      * @version 06/11/2001
      */
     private int readCount = 0;
+
+    /**
+     * the index of the entries by name.
+     * <p>
+     * This maps each name to one of the entries with that name. It is built
+     * by <code>findName</code> once the vector has at least
+     * <code>NAME_INDEX_MINIMUM</code> entries and is <code>null</code> until
+     * then.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #findName(String,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Hashtable nameIndex = null;
+
+    /**
+     * the minimum number of entries for which a name index is built.
+     * <p>
+     * Below this size, the binary search in <code>findName</code> is cheap
+     * enough that the index isn't worth its memory.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int NAME_INDEX_MINIMUM = 16;
 
     /**
      * Class constructor.
@@ -144,6 +178,32 @@ final class RmapVector
 	return (true);
     }
 
+    /**
+     * Adds an element to the end of this <code>RmapVector</code>.
+     * <p>
+     * This override keeps the name index up to date.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param objI  the element to add.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final synchronized void addElement(Object objI) {
+	super.addElement(objI);
+	indexName(objI);
+    }
+
     /**
      * Adds an <code>Rmap</code> to the input <code>RmapVector</code>.
      * <p>
@@ -203,6 +263,42 @@ final class RmapVector
 	return (vectorR);
     }
 
+    /**
+     * Builds the name index from the current entries.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #findName(String,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final synchronized void buildNameIndex() {
+	if (nameIndex != null) {
+	    return;
+	}
+
+	java.util.Hashtable index = new java.util.Hashtable(size()*2);
+	for (int idx = 0, eIdx = size(); idx < eIdx; ++idx) {
+	    Rmap entry = (Rmap) elementAt(idx);
+	    String name = entry.getName();
+
+	    if ((name != null) && !index.containsKey(name)) {
+		index.put(name,entry);
+	    }
+	}
+	nameIndex = index;
+    }
+
     /**
      * Clones this <code>RmapVector</code>.
      * <p>
@@ -833,7 +929,7 @@ final class RmapVector
      * @exception java.io.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 03/12/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -841,6 +937,9 @@ final class RmapVector
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use the name index, when there is one, to reject
+     *			missing names and to find single matches without
+     *			searching.
      * 03/12/2003  INB	Created from earlier version that always found all
      *			matches. When dealing with registration maps, we know
      *			that only one match can possibly be found.
@@ -855,6 +954,29 @@ final class RmapVector
     {
 	java.util.Vector vectorR = new java.util.Vector();
 
+	if ((nameIndex == null) && (size() >= NAME_INDEX_MINIMUM)) {
+	    buildNameIndex();
+	}
+	java.util.Hashtable index = nameIndex;
+	if ((index != null) && (nameI != null)) {
+	    Rmap entry = (Rmap) index.get(nameI);
+
+	    if (entry == null) {
+		// The index holds every named entry, so there is no match.
+		return (vectorR);
+
+	    } else if (!allI && (entry.compareNames(nameI) == 0)) {
+		// If only one match is wanted, the indexed entry will do.
+		vectorR.addElement(entry);
+		return (vectorR);
+
+	    } else if (entry.compareNames(nameI) != 0) {
+		// The entry was renamed without going through this vector,
+		// so the index can no longer be trusted.
+		invalidateNameIndex();
+	    }
+	}
+
 	// Since the regular search code requires an <code>Rmap</code> and also
 	// that both the name and the <code>TimeRange</code> match, this method
 	// has its own binary search.
@@ -1152,6 +1274,40 @@ final class RmapVector
 	++readCount;
     }
 
+    /**
+     * Adds an entry to the name index, if there is one.
+     * <p>
+     * If the index already has an entry with the same name, it is left
+     * alone, as any entry with the right name will do.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param objI  the entry.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void indexName(Object objI) {
+	java.util.Hashtable index = nameIndex;
+
+	if ((index != null) && (objI instanceof Rmap)) {
+	    String name = ((Rmap) objI).getName();
+
+	    if ((name != null) && !index.containsKey(name)) {
+		index.put(name,objI);
+	    }
+	}
+    }
+
     /**
      * Inserts a child at the specified location in the
      * <code>RmapVector</code>.
@@ -1186,6 +1342,58 @@ final class RmapVector
 	}
     }
 
+    /**
+     * Inserts an element at the specified location.
+     * <p>
+     * This override keeps the name index up to date.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param objI    the element to insert.
+     * @param indexI  insert at this location.
+     * @see #insertAt(com.rbnb.api.Rmap,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final synchronized void insertElementAt(Object objI,int indexI) {
+	super.insertElementAt(objI,indexI);
+	indexName(objI);
+    }
+
+    /**
+     * Throws away the name index.
+     * <p>
+     * The index is rebuilt by the next call to <code>findName</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void invalidateNameIndex() {
+	nameIndex = null;
+    }
+
     /**
      * Locates a match for the input request <code>Rmap</code>.
      * <p>
@@ -1341,6 +1549,60 @@ final class RmapVector
 	return (super.remove(sortValueI));
     }
 
+    /**
+     * Removes all of the elements.
+     * <p>
+     * This override clears the name index.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final synchronized void removeAllElements() {
+	super.removeAllElements();
+	invalidateNameIndex();
+    }
+
+    /**
+     * Removes the element at the specified index.
+     * <p>
+     * This override keeps the name index up to date.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param indexI  the index of the element to remove.
+     * @see #removeEntryAt(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final synchronized void removeElementAt(int indexI) {
+	Object removed = elementAt(indexI);
+
+	super.removeElementAt(indexI);
+	unindexName(removed,indexI);
+    }
+
     /**
      * Remove the element at the specified index.
      * <p>
@@ -1349,7 +1611,7 @@ final class RmapVector
      *
      * @param indexI the index of the element to remove.
      * @since V2.0
-     * @version 08/30/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1357,6 +1619,8 @@ final class RmapVector
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Go through <code>removeElementAt</code> so that the
+     *			name index is kept up to date.
      * 06/11/2001  INB	Created.
      *
      */
@@ -1368,6 +1632,83 @@ final class RmapVector
 	    }
 	}
 
-	super.removeElementAt(indexI);
+	removeElementAt(indexI);
+    }
+
+    /**
+     * Replaces the element at the specified index.
+     * <p>
+     * This override throws away the name index, as the replacement may
+     * change the names.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param objI    the new element.
+     * @param indexI  the index of the element to replace.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final synchronized void setElementAt(Object objI,int indexI) {
+	super.setElementAt(objI,indexI);
+	invalidateNameIndex();
+    }
+
+    /**
+     * Removes an entry from the name index, if there is one.
+     * <p>
+     * If the index refers to the removed entry and a neighbor of it has the
+     * same name, the index is pointed at the neighbor instead.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param objI    the removed entry.
+     * @param indexI  the index the entry was removed from.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void unindexName(Object objI,int indexI) {
+	java.util.Hashtable index = nameIndex;
+
+	if ((index == null) || !(objI instanceof Rmap)) {
+	    return;
+	}
+
+	String name = ((Rmap) objI).getName();
+	if ((name == null) || (index.get(name) != objI)) {
+	    return;
+	}
+
+	// Entries with the same name sit next to each other.
+	Rmap other;
+	if ((indexI > 0) &&
+	    ((other = (Rmap) elementAt(indexI - 1)).compareNames(name) == 0)) {
+	    index.put(name,other);
+	} else if ((indexI < size()) &&
+		   ((other = (Rmap) elementAt(indexI)).compareNames(name) ==
+		    0)) {
+	    index.put(name,other);
+	} else {
+	    index.remove(name);
+	}
     }
 }
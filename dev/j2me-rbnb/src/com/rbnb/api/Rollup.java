@@ -0,0 +1,660 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Pre-aggregated summaries of the numeric channels of a
+ * <code>RingBuffer</code>.
+ * <p>
+ * When the <code>rolluptiers</code> system property is set to a comma
+ * separated list of resolutions in seconds (for example,
+ * <code>1,60,3600</code>), each <code>RingBuffer</code> keeps a
+ * <code>Rollup</code> that is updated as frames are accepted. For each
+ * numeric channel and resolution, a <code>RollupTier</code> holds the
+ * minimum, maximum, sum, and number of points of each interval. Up to
+ * <code>rollupbuckets</code> (default 1440) intervals are held per tier,
+ * independently of how much of the raw data is still in the
+ * <code>Cache</code>, so the summaries cover a longer time span than the
+ * raw data at a fraction of the size.
+ * <p>
+ * The summaries appear as extra channels next to the raw channel. For a
+ * channel <code>c</code> and a one minute resolution, these are:
+ * <p><ul>
+ * <li><code>c@1m</code> - the mean of each interval,</li>
+ * <li><code>c@1m.min</code> - the minimum of each interval,</li>
+ * <li><code>c@1m.max</code> - the maximum of each interval, and</li>
+ * <li><code>c@1m.count</code> - the number of points in each interval.</li>
+ * </ul><p>
+ * The values are <code>FLOAT64</code> and each point is timestamped with the
+ * start of its interval. The channels are only rebuilt from the tiers when
+ * they are asked for after new data has arrived.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.RingBuffer#acceptFrame(com.rbnb.api.Rmap)
+ * @see com.rbnb.api.RollupTier
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class Rollup
+    extends com.rbnb.api.Rmap
+{
+
+    /**
+     * the default number of buckets held by each tier.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static int DEFAULT_BUCKETS = 1440;
+
+    /**
+     * the tiers for each channel.
+     * <p>
+     * The keys are the channel names and the values are arrays of
+     * <code>RollupTiers</code>, one per resolution.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Hashtable channels = new java.util.Hashtable();
+
+    /**
+     * have the tiers changed since the channels were rebuilt?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean changed = false;
+
+    // Private class fields:
+    private static int buckets = DEFAULT_BUCKETS;
+    private static String[] labels = null;
+    private static double[] resolutions = null;
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("rollupbuckets")) != null) {
+		buckets = Math.max(1,Integer.parseInt(value));
+	    }
+	    if ((value = System.getProperty("rolluptiers")) != null) {
+		java.util.Vector found = new java.util.Vector();
+		int start = 0,
+		    end;
+		do {
+		    if ((end = value.indexOf(',',start)) == -1) {
+			end = value.length();
+		    }
+		    String entry = value.substring(start,end).trim();
+		    if (entry.length() > 0) {
+			long seconds = Long.parseLong(entry);
+			if (seconds > 0) {
+			    found.addElement(new Long(seconds));
+			}
+		    }
+		    start = end + 1;
+		} while (start < value.length());
+
+		if (found.size() > 0) {
+		    double[] lResolutions = new double[found.size()];
+		    String[] lLabels = new String[found.size()];
+		    for (int idx = 0; idx < lResolutions.length; ++idx) {
+			long seconds = ((Long) found.elementAt(idx)).longValue();
+			lResolutions[idx] = seconds;
+			lLabels[idx] = ((seconds % 3600 == 0) ?
+					(seconds/3600 + "h") :
+					(seconds % 60 == 0) ?
+					(seconds/60 + "m") :
+					(seconds + "s"));
+		    }
+		    labels = lLabels;
+		    resolutions = lResolutions;
+		}
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+    }
+
+    /**
+     * Class constructor.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #isEnabled()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    Rollup() {
+	super();
+    }
+
+    /**
+     * Adds the numeric channels of a frame to the tiers.
+     * <p>
+     * Channels that are not numeric or that have no point times are
+     * ignored, as are the summary channels themselves. When the frame is a
+     * simple hierarchy of channels, each with its own
+     * <code>DataBlock</code>, the points are read directly from the
+     * <code>DataBlocks</code>. Otherwise, each channel is extracted by name.
+     * <p>
+     * This is called before the frame is added to the <code>Cache</code>,
+     * so it runs without holding any of the <code>RingBuffer's</code>
+     * locks.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param frameI the frame <code>Rmap</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void accept(Rmap frameI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if (!frameI.isImplemented(Rmap.OPR_EXTRACTION)) {
+	    return;
+	}
+
+	java.util.Vector found = new java.util.Vector();
+	if (collect(frameI,"",null,found)) {
+	    // The frame is a simple hierarchy of channels, so the points are
+	    // read directly from their <code>DataBlocks</code>.
+	    for (int idx = 0; idx < found.size(); ++idx) {
+		Object[] channel = (Object[]) found.elementAt(idx);
+		String name = (String) channel[0];
+		DataBlock dblock = (DataBlock) channel[1];
+		TimeRange trange = (TimeRange) channel[2];
+		if ((name.indexOf('@') != -1) || (trange == null)) {
+		    continue;
+		}
+
+		DataArray array = new DataArray();
+		array.setNumberOfPoints(dblock.getNpts(),
+					dblock.getPtsize(),
+					dblock.getDtype());
+		array.add(dblock.getNpts(),dblock,trange,null);
+		addPoints(name,array);
+	    }
+
+	} else {
+	    // Anything more complicated is extracted by name.
+	    String[] names = frameI.extractNames();
+	    for (int idx = 0; idx < names.length; ++idx) {
+		if (names[idx].indexOf('@') == -1) {
+		    addPoints(names[idx],frameI.extract(names[idx]));
+		}
+	    }
+	}
+    }
+
+    /**
+     * Adds the points of a channel to its tiers.
+     * <p>
+     * Channels that are not numeric or that have no point times are ignored.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nameI  the name of the channel.
+     * @param arrayI the points.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void addPoints(String nameI,DataArray arrayI) {
+	if (!Downsampler.isNumeric(arrayI)) {
+	    return;
+	}
+
+	RollupTier[] tiers = (RollupTier[]) channels.get(nameI);
+	if (tiers == null) {
+	    tiers = new RollupTier[resolutions.length];
+	    for (int idx = 0; idx < tiers.length; ++idx) {
+		tiers[idx] = new RollupTier(resolutions[idx],buckets);
+	    }
+	    channels.put(nameI,tiers);
+	}
+
+	double[] times = arrayI.getTime();
+	Object data = arrayI.getData();
+	for (int idx = 0; idx < arrayI.getNumberOfPoints(); ++idx) {
+	    double value = Downsampler.valueAt(data,idx);
+	    for (int idx1 = 0; idx1 < tiers.length; ++idx1) {
+		tiers[idx1].add(times[idx],value);
+	    }
+	}
+	changed = true;
+    }
+    /**
+     * Adds a summary channel to an <code>Rmap</code> hierarchy.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param topI	  the top of the hierarchy.
+     * @param nameI	  the name of the summary channel.
+     * @param timesI	  the start times of the buckets.
+     * @param valuesI	  the values.
+     * @param resolutionI the length of each bucket.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static void addSummary(Rmap topI,
+					 String nameI,
+					 double[] timesI,
+					 double[] valuesI,
+					 double resolutionI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	Rmap channel = topI.addChannel(nameI);
+	channel.setDblock(new DataBlock(Downsampler.toBytes(valuesI),
+					valuesI.length,
+					8,
+					DataBlock.TYPE_FLOAT64,
+					DataBlock.ORDER_MSB,
+					false,
+					0,
+					8));
+	channel.setTrange(new TimeRange(timesI,resolutionI));
+    }
+
+    /**
+     * Collects the channels of a simple frame.
+     * <p>
+     * A simple frame is a hierarchy in which each <code>DataBlock</code> is
+     * held by a named <code>Rmap</code> with no children and there is at most
+     * one <code>TimeRange</code> on the way down to each of them.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param levelI    the <code>Rmap</code> to collect from.
+     * @param nameI     the name of the parent of <code>levelI</code>.
+     * @param trangeI   the <code>TimeRange</code> inherited from above.
+     * @param channelsO the channels found. Each entry is an array holding
+     *		    the name, the <code>DataBlock</code>, and the
+     *		    <code>TimeRange</code> of a channel.
+     * @return is the frame simple?
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static boolean collect(Rmap levelI,
+					 String nameI,
+					 TimeRange trangeI,
+					 java.util.Vector channelsO)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	String name = nameI;
+	if ((levelI.getName() != null) && (levelI.getName().length() > 0)) {
+	    name = nameI + "/" + levelI.getName();
+	}
+
+	TimeRange trange = trangeI;
+	if (levelI.getTrange() != null) {
+	    if (trange != null) {
+		// Nested time ranges are combined by the extraction code.
+		return (false);
+	    }
+	    trange = levelI.getTrange();
+	}
+
+	if (levelI.getDblock() != null) {
+	    if ((levelI.getNchildren() != 0) ||
+		(name.length() == 0) ||
+		(levelI.getDblock().getData() == null)) {
+		return (false);
+	    }
+	    channelsO.addElement(new Object[] { name,
+						levelI.getDblock(),
+						trange });
+	}
+
+	for (int idx = 0; idx < levelI.getNchildren(); ++idx) {
+	    if (!collect(levelI.getChildAt(idx),name,trange,channelsO)) {
+		return (false);
+	    }
+	}
+
+	return (true);
+    }
+    /**
+     * Have any of the tiers changed since the channels were last rebuilt?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return have they changed?
+     * @see #refresh()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized boolean isChanged() {
+	return (changed);
+    }
+
+    /**
+     * Is the <code>Rollup</code> turned on?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return was the <code>rolluptiers</code> property set to at least one
+     *	       resolution?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isEnabled() {
+	return (resolutions != null);
+    }
+
+    /**
+     * Creates a new instance of the same class as this <code>Rollup</code>
+     * (or a similar class).
+     * <p>
+     * Extracted copies of a <code>Rollup</code> are plain <code>Rmaps</code>,
+     * just like those of a <code>StorageManager</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the new instance.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final Rmap newInstance() {
+	return (new Rmap());
+    }
+
+    /**
+     * Rebuilds the summary channels of the tiers that have changed.
+     * <p>
+     * The new channels are built in a separate hierarchy and then replace
+     * the existing channels of the same names, so <code>DataBlocks</code>
+     * that have already been extracted are left untouched. The channels of
+     * tiers that have not changed are kept as they are.
+     * <p>
+     * This changes the children of the <code>Rollup</code>, so the caller
+     * must hold the write lock of the <code>RingBuffer</code> that holds
+     * it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void refresh()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if (!changed) {
+	    return;
+	}
+
+	Rmap top = new Rmap();
+	for (java.util.Enumeration keys = channels.keys();
+	     keys.hasMoreElements();
+	     ) {
+	    String name = (String) keys.nextElement();
+	    RollupTier[] tiers = (RollupTier[]) channels.get(name);
+
+	    for (int idx = 0; idx < tiers.length; ++idx) {
+		if (!tiers[idx].isChanged()) {
+		    continue;
+		}
+		double[][] summary = tiers[idx].summarize();
+		String base = name + "@" + labels[idx];
+		double resolution = tiers[idx].getResolution();
+		addSummary(top,base,summary[0],summary[1],resolution);
+		addSummary(top,base + ".min",summary[0],summary[2],resolution);
+		addSummary(top,base + ".max",summary[0],summary[3],resolution);
+		addSummary(top,base + ".count",summary[0],summary[4],resolution);
+	    }
+	}
+
+	replaceChannels(this,top);
+	changed = false;
+    }
+
+    /**
+     * Replaces channels in an <code>Rmap</code> hierarchy with those of
+     * another hierarchy.
+     * <p>
+     * The children of the input hierarchy are moved into the output one.
+     * Channels replace the existing ones of the same name, while groups are
+     * merged with the existing groups of the same name.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param whereI the hierarchy to change.
+     * @param fromI  the hierarchy holding the new channels.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static void replaceChannels(Rmap whereI,Rmap fromI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	while (fromI.getNchildren() > 0) {
+	    Rmap child = fromI.getChildAt(0),
+		existing = null;
+	    fromI.removeChildAt(0);
+
+	    // Children are matched by name alone, as the times of a channel
+	    // change when it is rebuilt.
+	    for (int idx = 0;
+		 (existing == null) && (idx < whereI.getNchildren());
+		 ++idx) {
+		if (child.getName().equals(whereI.getChildAt(idx).getName())) {
+		    existing = whereI.getChildAt(idx);
+		}
+	    }
+
+	    if (existing == null) {
+		whereI.addChild(child);
+	    } else if (child.getDblock() != null) {
+		whereI.removeChild(existing);
+		whereI.addChild(child);
+	    } else {
+		replaceChannels(existing,child);
+	    }
+	}
+    }
+}
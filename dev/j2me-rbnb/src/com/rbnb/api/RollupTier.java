@@ -0,0 +1,466 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Holds the summary buckets of one channel at one <code>Rollup</code>
+ * resolution.
+ * <p>
+ * Each bucket covers a fixed interval of time, starting at a multiple of the
+ * resolution, and holds the minimum, maximum, sum, and number of points that
+ * fell into it. The buckets are kept in a circular array that grows up to
+ * a fixed capacity; once it is full, starting a new bucket discards the
+ * oldest one.
+ * <p>
+ * Points are expected to arrive in time order. A point that is older than
+ * the newest bucket is added to its bucket if that bucket is still held and
+ * is dropped otherwise.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.Rollup
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class RollupTier {
+
+    /**
+     * the initial number of buckets allocated.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int INITIAL_SIZE = 16;
+
+    /**
+     * the maximum number of buckets held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int capacity;
+
+    /**
+     * the index of the oldest bucket changed since the last summary.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long changedFrom = Long.MAX_VALUE;
+
+    /**
+     * the number of points in each bucket.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int[] counts;
+
+    /**
+     * the index of each bucket (its start time divided by the resolution).
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long[] indexes;
+
+    /**
+     * the maximum value in each bucket.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double[] maximums;
+
+    /**
+     * the minimum value in each bucket.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double[] minimums;
+
+    /**
+     * the slot holding the newest bucket.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int newest = -1;
+
+    /**
+     * the length of time covered by each bucket in seconds.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double resolution;
+
+    /**
+     * the number of buckets held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int size = 0;
+
+    /**
+     * the last summary of the buckets.
+     * <p>
+     * The entries for buckets older than <code>changedFrom</code> are
+     * reused by the next summary.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double[][] summary = null;
+
+    /**
+     * the sum of the values in each bucket.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double[] sums;
+
+    /**
+     * Class constructor to build a <code>RollupTier</code> for a resolution
+     * and capacity.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param resolutionI the length of time covered by each bucket.
+     * @param capacityI	  the maximum number of buckets to hold.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    RollupTier(double resolutionI,int capacityI) {
+	super();
+	resolution = resolutionI;
+	capacity = Math.max(1,capacityI);
+
+	int length = Math.min(INITIAL_SIZE,capacity);
+	counts = new int[length];
+	indexes = new long[length];
+	maximums = new double[length];
+	minimums = new double[length];
+	sums = new double[length];
+    }
+
+    /**
+     * Adds a point to this <code>RollupTier</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param timeI  the time of the point.
+     * @param valueI the value of the point.
+     * @return was the point added?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean add(double timeI,double valueI) {
+	long index = (long) Math.floor(timeI/resolution);
+	int slot;
+
+	if ((size == 0) || (index > indexes[newest])) {
+	    // The point starts a new bucket.
+	    if ((size == indexes.length) && (size < capacity)) {
+		grow();
+	    }
+	    newest = (newest + 1) % indexes.length;
+	    if (size < indexes.length) {
+		++size;
+	    }
+	    indexes[newest] = index;
+	    changedFrom = Math.min(changedFrom,index);
+	    minimums[newest] =
+		maximums[newest] =
+		sums[newest] = valueI;
+	    counts[newest] = 1;
+	    return (true);
+	}
+
+	// Look back for the bucket holding the point.
+	for (int idx = 0; idx < size; ++idx) {
+	    slot = (newest - idx + indexes.length) % indexes.length;
+	    if (indexes[slot] == index) {
+		if (valueI < minimums[slot]) {
+		    minimums[slot] = valueI;
+		}
+		if (valueI > maximums[slot]) {
+		    maximums[slot] = valueI;
+		}
+		sums[slot] += valueI;
+		++counts[slot];
+		changedFrom = Math.min(changedFrom,index);
+		return (true);
+	    } else if (indexes[slot] < index) {
+		break;
+	    }
+	}
+
+	return (false);
+    }
+
+    /**
+     * Gets the resolution of this <code>RollupTier</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the length of time covered by each bucket in seconds.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final double getResolution() {
+	return (resolution);
+    }
+
+    /**
+     * Gets the number of buckets held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of buckets.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int getSize() {
+	return (size);
+    }
+
+    /**
+     * Grows the bucket arrays.
+     * <p>
+     * This is only called before the arrays have wrapped around, so the
+     * buckets are already in order starting at the first slot.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void grow() {
+	int length = Math.min(capacity,2*indexes.length);
+
+	long[] nIndexes = new long[length];
+	System.arraycopy(indexes,0,nIndexes,0,size);
+	indexes = nIndexes;
+
+	double[] nValues = new double[length];
+	System.arraycopy(minimums,0,nValues,0,size);
+	minimums = nValues;
+	nValues = new double[length];
+	System.arraycopy(maximums,0,nValues,0,size);
+	maximums = nValues;
+	nValues = new double[length];
+	System.arraycopy(sums,0,nValues,0,size);
+	sums = nValues;
+
+	int[] nCounts = new int[length];
+	System.arraycopy(counts,0,nCounts,0,size);
+	counts = nCounts;
+    }
+
+    /**
+     * Have any of the buckets changed since the last summary?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return have they changed?
+     * @see #summarize()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean isChanged() {
+	return (changedFrom != Long.MAX_VALUE);
+    }
+    /**
+     * Copies the buckets out of this <code>RollupTier</code>, oldest first.
+     * <p>
+     * The result holds five arrays of <code>getSize()</code> elements: the
+     * start times, the means, the minimums, the maximums, and the counts of
+     * the buckets. Only the buckets that have changed since the last call
+     * are worked out again; the others are copied from the last result. The
+     * arrays of earlier results are never changed.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the bucket summaries.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final double[][] summarize() {
+	if (!isChanged() && (summary != null)) {
+	    return (summary);
+	}
+
+	double[][] summaryR = new double[5][size];
+	int oldest = (newest - size + 1 + indexes.length) % indexes.length,
+	    kept = 0;
+
+	if ((summary != null) && (size > 0)) {
+	    // The buckets older than the oldest one changed are the same as
+	    // last time, apart from any that have been discarded since.
+	    double first = indexes[oldest]*resolution;
+	    int from = 0;
+	    while ((from < summary[0].length) && (summary[0][from] < first)) {
+		++from;
+	    }
+	    while ((kept < size) &&
+		   (from + kept < summary[0].length) &&
+		   (indexes[(oldest + kept) % indexes.length] < changedFrom)) {
+		++kept;
+	    }
+	    for (int idx = 0; idx < summaryR.length; ++idx) {
+		System.arraycopy(summary[idx],from,summaryR[idx],0,kept);
+	    }
+	}
+
+	for (int idx = kept; idx < size; ++idx) {
+	    int slot = (oldest + idx) % indexes.length;
+	    summaryR[0][idx] = indexes[slot]*resolution;
+	    summaryR[1][idx] = sums[slot]/counts[slot];
+	    summaryR[2][idx] = minimums[slot];
+	    summaryR[3][idx] = maximums[slot];
+	    summaryR[4][idx] = counts[slot];
+	}
+
+	summary = summaryR;
+	changedFrom = Long.MAX_VALUE;
+
+	return (summaryR);
+    }
+}
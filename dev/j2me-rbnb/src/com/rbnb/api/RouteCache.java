@@ -0,0 +1,434 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Caches the routes to remote servers.
+ * <p>
+ * Without the cache, every message routed to another server looks up the
+ * <code>Path</code> to it, which takes the path <code>Door</code> and may
+ * start a new path search. It then walks the routing map
+ * <code>Rmap</code> hierarchy for the first hop. With the cache, the
+ * <code>Path</code> and the first hop are kept under the name of the
+ * destination server and reused until they expire.
+ * <p>
+ * Entries expire after the time set by the <code>routecachettl</code>
+ * system property, in milliseconds. All entries are dropped whenever the
+ * routing changes, which is when a <code>PeerUpdate</code> is applied, a
+ * <code>ReverseRoute</code> is made, a server is added to the routing map,
+ * or the list of <code>Paths</code> is rebuilt. An entry is also dropped if
+ * a message sent along it fails.
+ * <p>
+ * If the property is not set, the cache holds nothing and every lookup
+ * takes the long way, as before.
+ * <p>
+ * The numbers of hits and misses are reported in the server's
+ * <code>_Metrics</code> source as <code>RouteCacheHits</code> and
+ * <code>RouteCacheMisses</code>.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.RBNBRoutingMap#getRouteCache()
+ * @since V3.1
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class RouteCache {
+
+    /**
+     * the cached routes.
+     * <p>
+     * This maps the name of each destination server to its
+     * <code>Entry</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+    private java.util.Hashtable entries = new java.util.Hashtable();
+
+    // Private class fields:
+    private static long hits = 0;
+    private static long misses = 0;
+    private static long ttl = 0;
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("routecachettl")) != null) {
+		ttl = Math.max(0L,Long.parseLong(value));
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+    }
+
+    /**
+     * Class constructor.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    RouteCache() {
+	super();
+    }
+
+    /**
+     * Adds a route to this <code>RouteCache</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nameI  the name of the destination server.
+     * @param pathI  the <code>Path</code> to it.
+     * @param nextI  the first hop along the <code>Path</code>, if known.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void add(String nameI,Path pathI,RoutedTarget nextI) {
+	if ((ttl > 0) && (pathI != null)) {
+	    entries.put(nameI,
+			new Entry(pathI,
+				  nextI,
+				  System.currentTimeMillis() + ttl));
+	}
+    }
+
+    /**
+     * Drops all of the routes in this <code>RouteCache</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void clear() {
+	entries.clear();
+    }
+
+    /**
+     * Counts a lookup.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param hitI  was the route found?
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static synchronized void count(boolean hitI) {
+	if (hitI) {
+	    ++hits;
+	} else {
+	    ++misses;
+	}
+    }
+
+    /**
+     * Gets and resets the numbers of hits and misses.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the numbers of hits and misses.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static synchronized long[] drainCounts() {
+	long[] countsR = { hits, misses };
+
+	hits =
+	    misses = 0;
+
+	return (countsR);
+    }
+
+    /**
+     * Finds the route to a destination server.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nameI  the name of the destination server.
+     * @return the <code>Entry</code> for the route or <code>null</code> if
+     *	       there is none or it has expired.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final Entry find(String nameI) {
+	if (ttl == 0) {
+	    return (null);
+	}
+
+	Entry entryR;
+	synchronized (this) {
+	    if (((entryR = (Entry) entries.get(nameI)) != null) &&
+		(System.currentTimeMillis() >= entryR.expiresAt)) {
+		entries.remove(nameI);
+		entryR = null;
+	    }
+	}
+	count(entryR != null);
+
+	return (entryR);
+    }
+
+    /**
+     * Is the route cache turned on?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return is it on?
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isEnabled() {
+	return (ttl > 0);
+    }
+
+    /**
+     * Drops the route to a destination server.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nameI  the name of the destination server.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void remove(String nameI) {
+	entries.remove(nameI);
+    }
+
+    /**
+     * Reports the hits and misses since the last report.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param metricsIO the metrics <code>Rmap</code> to add to.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static void report(Rmap metricsIO)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	long[] counts = drainCounts();
+
+	HotPathMetrics.setValue(metricsIO,"/RouteCacheHits",counts[0]);
+	HotPathMetrics.setValue(metricsIO,"/RouteCacheMisses",counts[1]);
+    }
+
+    /**
+     * A cached route.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     * Copyright 2026 Creare Inc.
+     * All Rights Reserved
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final class Entry {
+
+	/**
+	 * the time at which this route expires.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.1
+	 * @version 10/18/2026
+	 */
+	final long expiresAt;
+
+	/**
+	 * the first hop along the <code>Path</code>.
+	 * <p>
+	 * This is <code>null</code> if the hop was not looked up along with
+	 * the <code>Path</code>.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.1
+	 * @version 10/18/2026
+	 */
+	final RoutedTarget next;
+
+	/**
+	 * the <code>Path</code> to the destination server.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.1
+	 * @version 10/18/2026
+	 */
+	final Path path;
+
+	/**
+	 * Class constructor to build an <code>Entry</code> for a
+	 * <code>Path</code>.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @param pathI	      the <code>Path</code>.
+	 * @param nextI	      the first hop along the <code>Path</code>.
+	 * @param expiresAtI  the time at which the route expires.
+	 * @since V3.1
+	 * @version 10/18/2026
+	 */
+
+	/*
+	 *
+	 *   Date      By	Description
+	 * MM/DD/YYYY
+	 * ----------  --	-----------
+	 * 10/18/2026  INB	Created.
+	 *
+	 */
+	Entry(Path pathI,RoutedTarget nextI,long expiresAtI) {
+	    super();
+	    path = pathI;
+	    next = nextI;
+	    expiresAt = expiresAtI;
+	}
+    }
+}
@@ -24,7 +24,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 09/29/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -34,6 +34,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added <code>getRouteCache</code>.
  * 09/29/2004  JPW	In order to compile under J#, need to explicitly
  *			add a declaration for the clone method in this class.
  * 05/09/2001  INB	Created.
@@ -138,6 +139,27 @@ interface RoutingMapHandler
      */
     public abstract Door getPeerDoor();
 
+    /**
+     * Gets the <code>RouteCache</code> of routes to remote servers.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>RouteCache</code>.
+     * @since V3.1
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public abstract RouteCache getRouteCache();
+
     /**
      * Starts the peer updates thread.
      * <p>
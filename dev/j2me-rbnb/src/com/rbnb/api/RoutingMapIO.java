@@ -245,7 +245,7 @@ class RoutingMapIO
      *
      * @return the clone.
      * @since V2.0
-     * @version 01/31/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -253,6 +253,7 @@ class RoutingMapIO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Do not copy the children twice.
      * 04/25/2001  INB	Created.
      *
      */
@@ -271,6 +272,8 @@ class RoutingMapIO
 		RoutingMapIO clonedR = (RoutingMapIO)o;
 		clonedR.localName = localName;
 	try {
+	    // Replace the children copied above with client-side versions.
+	    clonedR.setChildren(null);
 	    for (int idx = 0; idx < getNchildren(); ++idx) {
 		if (getChildAt(idx) instanceof Server) {
 		    Server serverIn = (Server) getChildAt(idx),
@@ -0,0 +1,1124 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Holds the messages waiting to be sent by an <code>RCO</code>.
+ * <p>
+ * Normally, the thread that produces a response for a client writes it to
+ * the client's connection itself. A client that reads slowly, such as one
+ * on a satellite link, then holds that thread (and whatever
+ * <code>Door</code> locks it has) until the write completes. When the server
+ * is told to use <code>SendQueues</code> (by setting the
+ * <code>sendqueue</code> system property to the maximum number of messages
+ * to hold), responses are instead placed on a queue for the connection and
+ * written to it by a thread belonging to the queue.
+ * <p>
+ * The queue is limited to a number of messages and, optionally, a number of
+ * data bytes (the <code>sendqueuebytes</code> system property). What happens
+ * when a new message does not fit is set by the
+ * <code>sendqueuepolicy</code> system property:
+ * <p><ul>
+ * <li><code>dropoldest</code> - the oldest data frames are dropped until
+ *     there is room (the default),</li>
+ * <li><code>skiptonewest</code> - all of the waiting data frames are
+ *     dropped, or</li>
+ * <li><code>block</code> - the producer waits for room. This keeps the
+ *     old behavior of never dropping data, but a slow client can again
+ *     hold up the thread producing its responses.</li>
+ * </ul><p>
+ * Only plain data frames are ever dropped. End of stream markers, the
+ * <code>RSVPs</code> used for gap control, exceptions, and other control
+ * messages are always delivered, even if that means exceeding the limits.
+ * <p>
+ * Messages sent directly to the <code>RCO</code> are written after any that
+ * are waiting on the queue, so the order of the messages is preserved.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.RCO#queue(com.rbnb.api.Serializable)
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class SendQueue
+    implements java.lang.Runnable
+{
+
+    /**
+     * producers wait for room.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static int POLICY_BLOCK = 0;
+
+    /**
+     * the oldest data frames are dropped to make room.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static int POLICY_DROP_OLDEST = 1;
+
+    /**
+     * all waiting data frames are dropped to make room.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static int POLICY_SKIP_TO_NEWEST = 2;
+
+    /**
+     * the initial number of messages allocated.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int INITIAL_SIZE = 16;
+
+    /**
+     * the number of times a producer has had to wait for room.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long blocked = 0;
+
+    /**
+     * the maximum number of data bytes held (0 is unlimited).
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long byteLimit;
+
+    /**
+     * the number of data bytes held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long bytes = 0;
+
+    /**
+     * is a thread writing messages?
+     * <p>
+     * This is only examined by the thread holding the
+     * <code>drainLock</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean draining = false;
+
+    /**
+     * ensures that only one thread writes messages at a time.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Object drainLock = new Object();
+
+    /**
+     * the number of data bytes dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long droppedBytes = 0;
+
+    /**
+     * the number of data frames dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long droppedFrames = 0;
+
+    /**
+     * the slot holding the oldest message.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int first = 0;
+
+    /**
+     * the maximum number of messages held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int frameLimit;
+
+    /**
+     * the messages waiting to be sent.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Serializable[] messages;
+
+    /**
+     * the policy used when a message does not fit.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int policy;
+
+    /**
+     * the <code>RCO</code> that sends the messages.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private RCO rco = null;
+
+    /**
+     * the number of messages sent.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long sent = 0;
+
+    /**
+     * the number of messages held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int size = 0;
+
+    /**
+     * the number of data bytes in each message.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long[] sizes;
+
+    /**
+     * has this <code>SendQueue</code> been stopped?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean stopped = false;
+
+    /**
+     * the thread writing the messages.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Thread thread = null;
+
+    // Private class fields:
+    private static int defaultFrames = 0;
+    private static long defaultBytes = 0;
+    private static int defaultPolicy = POLICY_DROP_OLDEST;
+    private static Object totalsLock = new Object();
+    private static long totalBlocked = 0;
+    private static long totalDroppedBytes = 0;
+    private static long totalDroppedFrames = 0;
+    private static long totalPendingBytes = 0;
+    private static long totalPendingFrames = 0;
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("sendqueue")) != null) {
+		defaultFrames = Math.max(0,Integer.parseInt(value));
+	    }
+	    if ((value = System.getProperty("sendqueuebytes")) != null) {
+		defaultBytes = Math.max(0L,Long.parseLong(value));
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+
+	String value = System.getProperty("sendqueuepolicy");
+	if ("block".equalsIgnoreCase(value)) {
+	    defaultPolicy = POLICY_BLOCK;
+	} else if ("skiptonewest".equalsIgnoreCase(value)) {
+	    defaultPolicy = POLICY_SKIP_TO_NEWEST;
+	}
+    }
+
+    /**
+     * Class constructor to build a <code>SendQueue</code> for an
+     * <code>RCO</code> with limits and a policy.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rcoI    the <code>RCO</code>.
+     * @param framesI the maximum number of messages to hold.
+     * @param bytesI  the maximum number of data bytes to hold (0 is
+     *		      unlimited).
+     * @param policyI the policy to use when a message does not fit.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    SendQueue(RCO rcoI,int framesI,long bytesI,int policyI) {
+	super();
+	rco = rcoI;
+	frameLimit = Math.max(1,framesI);
+	byteLimit = Math.max(0L,bytesI);
+	policy = policyI;
+
+	int length = Math.min(INITIAL_SIZE,frameLimit);
+	messages = new Serializable[length];
+	sizes = new long[length];
+    }
+
+    /**
+     * Adds a message to the end of the queue.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param messageI the message.
+     * @param sizeI    the number of data bytes in the message.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void append(Serializable messageI,long sizeI) {
+	if (size == messages.length) {
+	    grow();
+	}
+
+	int slot = (first + size) % messages.length;
+	messages[slot] = messageI;
+	sizes[slot] = sizeI;
+	++size;
+	bytes += sizeI;
+
+	synchronized (totalsLock) {
+	    ++totalPendingFrames;
+	    totalPendingBytes += sizeI;
+	}
+    }
+
+    /**
+     * Writes the waiting messages to the <code>RCO</code>.
+     * <p>
+     * This is called by the thread belonging to the queue and by any thread
+     * that sends a message directly to the <code>RCO</code>, so that the
+     * direct message follows those already waiting. A call made while the
+     * calling thread is already writing messages returns immediately.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.InterruptedIOException
+     *		  thrown if the I/O is interrupted.
+     * @exception java.io.IOException
+     *		  thrown if there is a problem with the I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void drain()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.InterruptedIOException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	synchronized (drainLock) {
+	    if (draining) {
+		return;
+	    }
+
+	    draining = true;
+	    try {
+		Serializable message;
+
+		while (true) {
+		    synchronized (this) {
+			if (size == 0) {
+			    break;
+			}
+			message = take();
+			notifyAll();
+		    }
+		    rco.send(message);
+		    synchronized (this) {
+			++sent;
+		    }
+		}
+	    } finally {
+		draining = false;
+	    }
+	}
+    }
+
+    /**
+     * Drops the oldest data frame waiting on the queue.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return was a data frame dropped?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final boolean dropOldest() {
+	for (int idx = 0; idx < size; ++idx) {
+	    int slot = (first + idx) % messages.length;
+
+	    if (isDroppable(messages[slot])) {
+		long dropSize = sizes[slot];
+
+		// Close the gap by moving the older messages up one slot.
+		for (int idx1 = idx; idx1 > 0; --idx1) {
+		    int to = (first + idx1) % messages.length,
+			from = (first + idx1 - 1) % messages.length;
+		    messages[to] = messages[from];
+		    sizes[to] = sizes[from];
+		}
+		messages[first] = null;
+		first = (first + 1) % messages.length;
+		--size;
+		bytes -= dropSize;
+		++droppedFrames;
+		droppedBytes += dropSize;
+
+		synchronized (totalsLock) {
+		    --totalPendingFrames;
+		    totalPendingBytes -= dropSize;
+		    ++totalDroppedFrames;
+		    totalDroppedBytes += dropSize;
+		}
+		return (true);
+	    }
+	}
+
+	return (false);
+    }
+
+    /**
+     * Gets the number of times a producer has had to wait for room.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of waits.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized long getBlocked() {
+	return (blocked);
+    }
+
+    /**
+     * Gets the number of data frames dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of data frames dropped.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized long getDropped() {
+	return (droppedFrames);
+    }
+
+    /**
+     * Gets the number of messages waiting to be sent.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of messages.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized int getPending() {
+	return (size);
+    }
+
+    /**
+     * Gets the number of times producers on any <code>SendQueue</code> have
+     * had to wait for room.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of waits.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static long getTotalBlocked() {
+	synchronized (totalsLock) {
+	    return (totalBlocked);
+	}
+    }
+
+    /**
+     * Gets the number of data bytes dropped by all <code>SendQueues</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of data bytes dropped.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static long getTotalDroppedBytes() {
+	synchronized (totalsLock) {
+	    return (totalDroppedBytes);
+	}
+    }
+
+    /**
+     * Gets the number of data frames dropped by all <code>SendQueues</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of data frames dropped.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static long getTotalDroppedFrames() {
+	synchronized (totalsLock) {
+	    return (totalDroppedFrames);
+	}
+    }
+
+    /**
+     * Gets the number of data bytes waiting on all <code>SendQueues</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of data bytes.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static long getTotalPendingBytes() {
+	synchronized (totalsLock) {
+	    return (totalPendingBytes);
+	}
+    }
+
+    /**
+     * Gets the number of messages waiting on all <code>SendQueues</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of messages.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static long getTotalPendingFrames() {
+	synchronized (totalsLock) {
+	    return (totalPendingFrames);
+	}
+    }
+
+    /**
+     * Grows the message arrays.
+     * <p>
+     * The messages are moved so that the oldest is in the first slot.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void grow() {
+	int length = 2*messages.length;
+	Serializable[] nMessages = new Serializable[length];
+	long[] nSizes = new long[length];
+
+	for (int idx = 0; idx < size; ++idx) {
+	    int slot = (first + idx) % messages.length;
+	    nMessages[idx] = messages[slot];
+	    nSizes[idx] = sizes[slot];
+	}
+	messages = nMessages;
+	sizes = nSizes;
+	first = 0;
+    }
+
+    /**
+     * Can the input message be dropped?
+     * <p>
+     * Only plain data frames can be dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param messageI the message.
+     * @return can it be dropped?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isDroppable(Serializable messageI) {
+	return ((messageI instanceof Rmap) &&
+		!(messageI instanceof EndOfStream));
+    }
+
+    /**
+     * Are <code>SendQueues</code> to be used?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return are they to be used?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isEnabled() {
+	return (defaultFrames > 0);
+    }
+
+    /**
+     * Is there no room for a message of the input size?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param sizeI  the number of data bytes in the message.
+     * @return is the queue full?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final boolean isFull(long sizeI) {
+	return ((size >= frameLimit) ||
+		((byteLimit > 0) &&
+		 (size > 0) &&
+		 (bytes + sizeI > byteLimit)));
+    }
+
+    /**
+     * Creates a <code>SendQueue</code> for an <code>RCO</code> using the
+     * limits and policy set by the system properties.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param rcoI  the <code>RCO</code>.
+     * @return the <code>SendQueue</code> or <code>null</code> if
+     *	       <code>SendQueues</code> are not to be used.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static SendQueue newSendQueue(RCO rcoI) {
+	if (!isEnabled()) {
+	    return (null);
+	}
+
+	return (new SendQueue(rcoI,defaultFrames,defaultBytes,defaultPolicy));
+    }
+
+    /**
+     * Places a message on the queue.
+     * <p>
+     * If there is no room for the message, the policy of the queue
+     * determines whether this method waits or drops older data frames.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param messageI the message.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted while waiting for
+     *		  room.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void offer(Serializable messageI)
+	throws java.lang.InterruptedException
+    {
+	long messageSize = sizeOf(messageI);
+
+	synchronized (this) {
+	    if (stopped) {
+		return;
+	    }
+
+	    if (isFull(messageSize)) {
+		switch (policy) {
+		case POLICY_DROP_OLDEST:
+		    while (isFull(messageSize) && dropOldest()) {
+		    }
+		    break;
+
+		case POLICY_SKIP_TO_NEWEST:
+		    while (dropOldest()) {
+		    }
+		    break;
+
+		default:
+		    ++blocked;
+		    synchronized (totalsLock) {
+			++totalBlocked;
+		    }
+		    while (!stopped && isFull(messageSize)) {
+			wait(TimerPeriod.NORMAL_WAIT);
+		    }
+		    if (stopped) {
+			return;
+		    }
+		    break;
+		}
+	    }
+
+	    append(messageI,messageSize);
+	    if (thread == null) {
+		thread = new ThreadWithLocks(this,"_SQ." + rco);
+		thread.start();
+	    } else {
+		notifyAll();
+	    }
+	}
+    }
+
+    /**
+     * Runs this <code>SendQueue</code>.
+     * <p>
+     * Waiting messages are written to the <code>RCO</code> until the queue is
+     * stopped or the connection fails.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void run() {
+	try {
+	    while (true) {
+		synchronized (this) {
+		    while (!stopped &&
+			   (size == 0) &&
+			   !rco.getTerminateRequested()) {
+			wait(TimerPeriod.NORMAL_WAIT);
+		    }
+		    if (stopped || rco.getTerminateRequested()) {
+			break;
+		    }
+		}
+		drain();
+	    }
+	} catch (java.lang.Exception e) {
+	    // The connection has failed; the RCO will notice that when it
+	    // next reads from it.
+	} finally {
+	    stop();
+	    synchronized (this) {
+		thread = null;
+	    }
+	}
+    }
+
+    /**
+     * Gets the number of data bytes in a message.
+     * <p>
+     * Messages other than <code>Rmaps</code> are counted as having no data.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param messageI the message.
+     * @return the number of data bytes.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static long sizeOf(Serializable messageI) {
+	if (messageI instanceof Rmap) {
+	    try {
+		return (((Rmap) messageI).getDataSize());
+	    } catch (java.lang.Exception e) {
+	    }
+	}
+
+	return (0);
+    }
+
+    /**
+     * Stops this <code>SendQueue</code>.
+     * <p>
+     * The waiting messages are discarded and any producers waiting for room
+     * are released.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void stop() {
+	stopped = true;
+	synchronized (totalsLock) {
+	    totalPendingFrames -= size;
+	    totalPendingBytes -= bytes;
+	}
+	while (size > 0) {
+	    messages[first] = null;
+	    first = (first + 1) % messages.length;
+	    --size;
+	}
+	bytes = 0;
+	notifyAll();
+    }
+
+    /**
+     * Takes the oldest message off of the queue.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the message.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final Serializable take() {
+	Serializable messageR = messages[first];
+	long messageSize = sizes[first];
+
+	messages[first] = null;
+	first = (first + 1) % messages.length;
+	--size;
+	bytes -= messageSize;
+
+	synchronized (totalsLock) {
+	    --totalPendingFrames;
+	    totalPendingBytes -= messageSize;
+	}
+
+	return (messageR);
+    }
+
+    /**
+     * Gets a string representation of this <code>SendQueue</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the string representation.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final String toString() {
+	return ("SendQueue for " + rco +
+		" (" + size + " pending, " +
+		sent + " sent, " +
+		droppedFrames + " dropped, " +
+		blocked + " blocked)");
+    }
+}
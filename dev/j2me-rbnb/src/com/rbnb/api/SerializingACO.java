@@ -23,7 +23,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 08/04/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -33,6 +33,10 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Switch to framed messages after the login when the
+ *			server granted them.
+ *		   INB	Use the link codec after the login when the server
+ *			granted it.
  * 12/01/2004  MJM      Catch System.getProperty exception for applets to work
  * 08/04/2004  JPW      In receive(), add check on "Timeout" in exception
  *                      message (this is so the code will run under J#).
@@ -294,7 +298,7 @@ abstract class SerializingACO
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 11/06/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -302,6 +306,9 @@ abstract class SerializingACO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Switch to framed messages if the server granted
+     *			them.
+     *		   INB	Start the link codec if the server granted it.
      * 05/16/2001  INB	Created.
      *
      */
@@ -315,6 +322,25 @@ abstract class SerializingACO
 	super.login();
 	getSerialize().getOcontrol().setBinary(true);
 	getSerialize().getIcontrol().setBinary(true);
+	getSerialize().getOcontrol().setCapabilities(getCapabilities());
+	if (IsSupported.isNegotiated(IsSupported.FEATURE_FRAMED_MESSAGES,
+				     getCapabilities())) {
+	    // The server has switched to framed messages right after the
+	    // binary mode markers.
+	    getSerialize().getOcontrol().setFramed(true);
+	    getSerialize().getIcontrol().setFramed(true);
+
+	    if (IsSupported.isNegotiated(IsSupported.FEATURE_LINK_CODEC,
+					 getCapabilities())) {
+		// The server only grants this if we offered the link codec.
+		// It starts with the first frame in each direction.
+		String route = getClient().getName();
+		getSerialize().getOcontrol().setLinkCodec
+		    (new LinkCodec(route));
+		getSerialize().getIcontrol().setLinkCodec
+		    (new LinkCodec(route));
+	    }
+	}
     }
 
     /**
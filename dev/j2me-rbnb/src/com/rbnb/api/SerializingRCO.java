@@ -23,7 +23,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 08/04/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -33,6 +33,14 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added <code>canBePolled</code>.
+ *		   INB	Send any messages waiting on the <code>SendQueue</code>
+ *			before sending a message directly.
+ *		   INB	Use the link codec after the login on routing and
+ *			mirror connections that were granted it.
+ * 10/18/2026  INB	Added <code>acceptCapabilities</code>. Switch to
+ *			framed messages after the login when they were
+ *			granted.
  * 08/04/2004  JPW      Changes in exception handling in receive():
  *                      add check on null message; also check if Interrupted-
  *                      IOException message contains "Timeout" - this is to
@@ -138,6 +146,63 @@ abstract class SerializingRCO
 	super(connectionI,rbnbI);
     }
 
+    /**
+     * Determines which of the capabilities offered in the
+     * <code>Login</code> this <code>RCO</code> grants.
+     * <p>
+     * A serializing connection can handle all of the capabilities that
+     * this server knows about, subject to the link codec being wanted for
+     * the client.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param offeredI the capabilities offered.
+     * @return the capabilities granted.
+     * @see com.rbnb.api.IsSupported#acceptCapabilities(int,com.rbnb.api.ClientInterface)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final int acceptCapabilities(int offeredI) {
+	return (IsSupported.acceptCapabilities(offeredI,getClientHandler()));
+    }
+
+    /**
+     * Can this <code>RCO</code> be run by an <code>RCOPoller</code>?
+     * <p>
+     * The input stream of a <code>SerializingRCO</code> reports how many
+     * bytes are waiting, so it can be polled.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return can this <code>RCO</code> be polled?
+     * @see com.rbnb.api.RCOPoller
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean canBePolled() {
+	return (true);
+    }
+
     /**
      * Calculates the total number of bytes transferred.
      * <p>
@@ -324,7 +389,7 @@ abstract class SerializingRCO
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 02/09/2004
+     * @version 10/18/2026
      */
 
     /*
@@ -332,6 +397,8 @@ abstract class SerializingRCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Switch to framed messages if they were granted.
+     *		   INB	Start the link codec if it was granted.
      * 02/09/2004  INB	Use <code>STARTUP_WAIT</code>.
      * 01/23/2004  INB	Ensure that there are ways that the wait loop can
      *			terminate.  Quit on a terminate request or if too
@@ -352,7 +419,25 @@ abstract class SerializingRCO
 	getSerialize().getOcontrol().setBinary(true);
 	getSerialize().getOcontrol().setBuildDate(loginI.getBuildDate());
 	getSerialize().getOcontrol().setBuildVersion(loginI.getBuildVersion());
+	getSerialize().getOcontrol().setCapabilities(getCapabilities());
 	getSerialize().getIcontrol().setBinary(true);
+	if (IsSupported.isNegotiated(IsSupported.FEATURE_FRAMED_MESSAGES,
+				     getCapabilities())) {
+	    // Both ends switch right after the binary mode markers.
+	    getSerialize().getOcontrol().setFramed(true);
+	    getSerialize().getIcontrol().setFramed(true);
+
+	    if (IsSupported.isNegotiated(IsSupported.FEATURE_LINK_CODEC,
+					 getCapabilities())) {
+		// The link codec starts with the first frame in each
+		// direction.
+		String route = getClientHandler().getName();
+		getSerialize().getOcontrol().setLinkCodec
+		    (new LinkCodec(route));
+		getSerialize().getIcontrol().setLinkCodec
+		    (new LinkCodec(route));
+	    }
+	}
 
 	long startAt = System.currentTimeMillis();
 	long nowAt = 0L;
@@ -535,7 +620,7 @@ abstract class SerializingRCO
      *		  thrown if the operation is interrupted.
      * @see #receive(long)
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -543,6 +628,8 @@ abstract class SerializingRCO
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Send any messages waiting on the
+     *			<code>SendQueue</code> first.
      * 11/14/2003  INB	Added location to the <code>Lock</code>.
      * 03/27/2003  INB	No need to duplicate the transmitted <code>Rmaps</code>
      *			except if they are coming from a
@@ -559,6 +646,9 @@ abstract class SerializingRCO
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
+	// Anything waiting on the send queue goes first.
+	drainSendQueue();
+
 	try {
 	    /*
 	    if (getLog() != null) {
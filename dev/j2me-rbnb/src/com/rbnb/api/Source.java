@@ -24,7 +24,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 09/29/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -34,6 +34,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added acknowledged frames.
  * 10/25/2005  EMF      Added bytesTransferred method.
  * 09/29/2004  JPW	In order to compile under J#, need to explicitly
  *			add a declaration for the clone method in this class.
@@ -44,6 +45,73 @@ public interface Source
     extends com.rbnb.api.Client,
 	    com.rbnb.api.SourceInterface
 {
+    /**
+     * Adds a frame to this <code>Source</code> and asks the server to
+     * acknowledge it once it has been stored.
+     * <p>
+     * The call does not wait for the acknowledgement. The frames that have
+     * not yet been acknowledged can be counted with
+     * <code>getUnacknowledged</code> and waited for, oldest first, with
+     * <code>waitForAcknowledgement</code>. Synchronizing with the server
+     * waits for all of them.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param childI the frame <code>Rmap</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the
+     *		  <code>Serialization</code>.
+     * @exception java.io.IOException
+     *		  thrown if there is a I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if this operation is interrupted.
+     * @see #getUnacknowledged()
+     * @see #waitForAcknowledgement()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public abstract void addChildWacknowledgement(Rmap childI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException;
+
+    /**
+     * Gets the number of frames added by
+     * <code>addChildWacknowledgement</code> that have not yet been
+     * acknowledged.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of unacknowledged frames.
+     * @see #addChildWacknowledgement(com.rbnb.api.Rmap)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public abstract int getUnacknowledged();
+
     /**
      * Clones this object.
      * <p>
@@ -79,4 +147,42 @@ public interface Source
      */
     public abstract long bytesTransferred();
 
+    /**
+     * Waits for the server to acknowledge the oldest frame added by
+     * <code>addChildWacknowledgement</code>.
+     * <p>
+     * If there are no unacknowledged frames, this method returns
+     * immediately.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the
+     *		  <code>Serialization</code>.
+     * @exception java.io.IOException
+     *		  thrown if there is a I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if this operation is interrupted.
+     * @see #addChildWacknowledgement(com.rbnb.api.Rmap)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public abstract void waitForAcknowledgement()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException;
+
 }
@@ -24,7 +24,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 01/08/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -34,6 +34,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added acknowledged frames.
  * 10/25/2005  EMF      Added bytesTransferred method.
  * 01/08/2004  INB	Added support for <code>clearCache</code>.
  * 07/30/2003  INB	Added support for <code>deleteChannels<code>.
@@ -153,6 +154,17 @@ class SourceHandle
      * @version 11/12/2002
      */
     private boolean needSynchronization = false;
+
+    /**
+     * the number of frames waiting to be acknowledged by the server.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int unacknowledged = 0;
 
     /**
      * Class constructor.
@@ -312,6 +324,47 @@ class SourceHandle
 	needSynchronization = true;
     }
 
+    /**
+     * Adds a child <code>Rmap</code> to this <code>SourceHandle</code> and
+     * asks the server to acknowledge it.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param childI  the new child <code>Rmap</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #waitForAcknowledgement()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public synchronized void addChildWacknowledgement(Rmap childI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	getACO().addChild(childI);
+	getACO().requestAcknowledgement();
+	++unacknowledged;
+	needSynchronization = true;
+    }
+
     /**
      * Adds additional, class-specific information to the <code>toString</code>
      * method's return value.
@@ -416,7 +469,7 @@ class SourceHandle
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.2
-     * @version 07/30/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -424,6 +477,7 @@ class SourceHandle
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Synchronize first if needed.
      * 07/30/2003  INB	Created.
      *
      */
@@ -439,6 +493,9 @@ class SourceHandle
 		("Deleting channels is not supported by this version of " +
 		 "the server.");
 	}
+	if (!isSynchronized()) {
+	    synchronizeWserver();
+	}
 	getACO().send(new DeleteChannels(channelsI));
 	return ((Rmap) getACO().receive(ACO.rmapClass,false,Sink.FOREVER));
     }
@@ -639,6 +696,30 @@ class SourceHandle
 	return (frameSets);
     }
 
+    /**
+     * Gets the number of frames waiting to be acknowledged by the server.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of unacknowledged frames.
+     * @see #addChildWacknowledgement(com.rbnb.api.Rmap)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final synchronized int getUnacknowledged() {
+	return (unacknowledged);
+    }
+
     /**
      * Is the specified type of operation implemented?
      * <p>
@@ -1183,6 +1264,54 @@ class SourceHandle
 	frameSets = frameSetsI;
     }
 
+    /**
+     * Stops this <code>SourceHandle</code>.
+     * <p>
+     * Any frames still waiting to be acknowledged are waited for first, so
+     * that their acknowledgements are not mistaken for the answer to the
+     * stop.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input is reached.
+     * @exception java.io.InterruptedIOException
+     *		  thrown if this operation is interrupted during I/O.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public synchronized void stop()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.InterruptedIOException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	while (getStarted() && (unacknowledged > 0)) {
+	    waitForAcknowledgement();
+	}
+	super.stop();
+    }
+
     /**
      * Synchronizes with the server.
      * <p>
@@ -1208,7 +1337,7 @@ class SourceHandle
      * @exception java.lang.InterruptedException
      *		  thrown if the synchronization is interrupted.
      * @since V2.0
-     * @version 11/12/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1216,6 +1345,7 @@ class SourceHandle
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Wait for unacknowledged frames first.
      * 11/22/2002  INB	Created.
      *
      */
@@ -1226,10 +1356,53 @@ class SourceHandle
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
+	while (unacknowledged > 0) {
+	    waitForAcknowledgement();
+	}
 	super.synchronizeWserver();
 	needSynchronization = false;
     }
 
+    /**
+     * Waits for the server to acknowledge the oldest frame added by
+     * <code>addChildWacknowledgement</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #addChildWacknowledgement(com.rbnb.api.Rmap)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public synchronized void waitForAcknowledgement()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if (unacknowledged > 0) {
+	    getACO().receiveAcknowledgement();
+	    --unacknowledged;
+	}
+    }
+
     /**
      * Writes this <code>SourceHandle</code> to the specified stream.
      * <p>
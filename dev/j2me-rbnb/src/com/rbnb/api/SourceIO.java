@@ -24,7 +24,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 01/08/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -35,6 +35,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added acknowledged frame methods.
  * 10/25/2005  EMF      Added bytesTransferred method; does nothing.
  * 01/08/2004  INB	Added <code>clearCache</code> method.
  * 11/07/2003  INB	Eliminated <code>isImplemented</code> - it isn't
@@ -294,6 +295,47 @@ class SourceIO
     }
 
     /**
+    /**
+     * Adds a child <code>Rmap</code> and asks the server to acknowledge it.
+     * <p>
+     * This object is not connected to a server, so this is not allowed.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param childI  the new child <code>Rmap</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @exception java.lang.IllegalStateException
+     *		  always thrown.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public void addChildWacknowledgement(Rmap childI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	throw new java.lang.IllegalStateException
+	    (this + " cannot acknowledge frames.");
+    }
+
     /**
      * Adds additional, class-specific information to the <code>toString</code>
      * method's return value.
@@ -826,6 +868,31 @@ class SourceIO
 	return (frameSets);
     }
 
+    /**
+     * Gets the number of frames waiting to be acknowledged by the server.
+     * <p>
+     * This object is not connected to a server, so this is always zero.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of unacknowledged frames.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public int getUnacknowledged() {
+	return (0);
+    }
+
     /**
      * Initializes the full serialization parameters list.
      * <p>
@@ -1432,6 +1499,43 @@ class SourceIO
 	frameSets = frameSetsI;
     }
 
+    /**
+     * Waits for the server to acknowledge the oldest unacknowledged frame.
+     * <p>
+     * This object is not connected to a server, so there is nothing to wait
+     * for.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public void waitForAcknowledgement()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+    }
+
     /**
      * Writes this <code>SourceIO</code> to the specified stream.
      * <p>
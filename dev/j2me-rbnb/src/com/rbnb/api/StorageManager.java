@@ -25,7 +25,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.SourceHandler
  * @since V2.0
- * @version 12/11/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -35,6 +35,17 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added a <code>TimeIndex</code> summary of the
+ *			<code>FrameManagers</code> used to start the search in
+ *			<code>matchTimeRelative</code>.
+ *		   INB	Only set the identification of the <code>Door</code>
+ *			in <code>addElement</code> when it is needed.
+ *		   INB	In single writer mode, add frames that neither open
+ *			nor close a set under a read lock. Lock the
+ *			<code>Door</code> when closing the set.
+ *		   INB	Move <code>FrameSets</code> trimmed from a
+ *			<code>Cache</code> to the <code>WarmCache</code>.
+ *		   INB	Keep running counts of the data held.
  * 10/11/2006  EMF      Added trim by time for flushing and looping.
  * 05/02/2006  EMF      Compress FrameSets when they fill, rather than when
  *                      writing them to archive.  Improves performance.
@@ -241,6 +252,92 @@ abstract class StorageManager
      * @version 10/03/2006
      */
     private boolean closeByTime=false;
+
+    /**
+     * the <code>TimeIndex</code> summary of the <code>FrameManagers</code>.
+     * <p>
+     * There is one entry for each child <code>FrameManager</code>, in the
+     * same order as the children, holding the limits of its summary
+     * <code>TimeRange</code>. The entry for the last child is refreshed each
+     * time the index is used, as that <code>FrameManager</code> may still be
+     * growing.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #getSetIndex()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private TimeIndex setIndex = new TimeIndex();
+
+    /**
+     * is the <code>TimeIndex</code> summary in step with the children?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean setIndexValid = false;
+
+    /**
+     * the number of bytes of data held.
+     * <p>
+     * This is kept up to date as data is added and removed, so that the
+     * metrics need not walk the sets.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long dataBytes = 0;
+
+    /**
+     * the number of frames held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long dataFrames = 0;
+
+    /**
+     * the lock on the data counts.
+     * <p>
+     * The counts are updated as data is added and removed, and read by
+     * the metrics, which run on other threads.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Object countsLock = new Object();
+
+    /**
+     * the <code>RBNB</code> server that the counts are passed on to.
+     * <p>
+     * This is looked up when the counts change until it is found, as this
+     * <code>StorageManager</code> may not be in the server's hierarchy yet.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private RBNB countServer = null;
 
     /**
      * Class constructor.
@@ -327,7 +424,7 @@ abstract class StorageManager
      * @author Eric Friets
      *
      * @since V2.7
-     * @version 10/03/2006
+     * @version 10/18/2026
      *
      */
 
@@ -335,10 +432,30 @@ abstract class StorageManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Lock the <code>Door</code> while closing the set.
+     *		   INB	Report an interrupt and restore it.
      * 11/17/2006  EMF  Make public so FileSet can be closed on Source.Detach
      * 10/03/2006  EMF 	Created.
      */
     /*private*/ synchronized void close() {
+	Door lDoor = getDoor();
+	if (lDoor == null) {
+	    return;
+	}
+
+	try {
+	    // Closing the set changes the list of sets, so keep the readers
+	    // out.
+	    lDoor.lock("StorageManager.close");
+	} catch (java.lang.InterruptedException e) {
+	    // The set stays open. Leave the interrupt for our caller to see.
+	    System.err.println("StorageManager.close interrupted; " +
+			       "set not closed.");
+	    Thread.currentThread().interrupt();
+	    return;
+	}
+
+	try {
 	if (getSet()!=null) {
           try {
             getSet().close();
@@ -348,8 +465,65 @@ abstract class StorageManager
             e.printStackTrace();
           }
         }
+
+	} finally {
+	    try {
+		lDoor.unlock();
+	    } catch (java.lang.InterruptedException e) {
+	    }
+	}
     }
 
+    /**
+     * Adds to the counts of the data held by this
+     * <code>StorageManager</code>.
+     * <p>
+     * The change is passed on to the <code>RBNB</code> server, if there is
+     * one. That server is looked up until it is found, after which every
+     * change goes to the same place.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param bytesI  the change in the number of bytes.
+     * @param framesI the change in the number of frames.
+     * @see com.rbnb.api.RBNB#addDataCounts(boolean,long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void addCounts(long bytesI,long framesI) {
+	if ((bytesI == 0) && (framesI == 0)) {
+	    return;
+	}
+
+	RBNB server;
+	synchronized (countsLock) {
+	    dataBytes += bytesI;
+	    dataFrames += framesI;
+
+	    if (countServer == null) {
+		Rmap ancestor = getParent();
+		while ((ancestor != null) && !(ancestor instanceof RBNB)) {
+		    ancestor = ancestor.getParent();
+		}
+		countServer = (RBNB) ancestor;
+	    }
+	    server = countServer;
+	}
+
+	if (server != null) {
+	    server.addDataCounts(this instanceof Archive,bytesI,framesI);
+	}
+    }
     /**
      * Adds an element <code>Rmap</code> to this <code>StorageManager</code>
      * object.
@@ -369,7 +543,7 @@ abstract class StorageManager
      * @exception java.lang.InterruptedException
      *		  thrown if the operation is interrupted.
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -377,6 +551,10 @@ abstract class StorageManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Only set the identification of the <code>Door</code>
+     *			when it is needed.
+     *		   INB	Added the single writer path for <code>Caches</code>.
+     *		   INB	Count the data added.
      * 10/11/2006  EMF  Added trimByTime logic, calls to close().
                         If trimByTime, close() never called from here.
      * 11/14/2003  INB	Added identification to the <code>Door</code> and
@@ -393,9 +571,38 @@ abstract class StorageManager
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
+	if (getDoor().needsIdentification()) {
+	    getDoor().setIdentification(getFullName() + "/" + getClass());
+	}
+
+	if ((this instanceof Cache) && ((Cache) this).getSingleWriter()) {
+	    // In single writer mode, a frame that neither opens nor closes a
+	    // set only needs a read lock here. The open set is locked by its
+	    // own door, so readers of the other sets are not held up.
+	    boolean locked = false;
+	    try {
+		getDoor().lockRead("StorageManager.addElement");
+		locked = true;
+
+		if ((getSet() != null) &&
+		    (closeByTime || (framesAdded + 1 != getMeps()))) {
+		    storeInSet(elementI);
+		    framesAdded++;
+		    if (getAddedSets() == -1) {
+			setAddedSets(getNchildren() - 1);
+		    }
+		    return;
+		}
+
+	    } finally {
+		if (locked) {
+		    getDoor().unlockRead();
+		}
+	    }
+	}
+
 	try {
 	    // Lock the door.
-	    getDoor().setIdentification(getFullName() + "/" + getClass());
 	    getDoor().lock("StorageManager.addElement");
 
 	    if (getSet() == null) {
@@ -412,7 +619,7 @@ abstract class StorageManager
 	    // Add the element to the current set. Note that the last set has
 	    // been added to, which means its registration needs to be
 	    // updated.
-	    getSet().addElement(elementI);
+	    storeInSet(elementI);
 	    framesAdded++;
 	    if (getAddedSets() == -1) {
 		setAddedSets(getNchildren() - 1);
@@ -732,6 +939,56 @@ abstract class StorageManager
 	return (addedSets);
     }
 
+    /**
+     * Gets the number of bytes of data held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of bytes.
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final long getDataBytes() {
+	synchronized (countsLock) {
+	    return (dataBytes);
+	}
+    }
+    /**
+     * Gets the number of frames held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of frames.
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final long getDataFrames() {
+	synchronized (countsLock) {
+	    return (dataFrames);
+	}
+    }
     /**
      * Gets the <code>Door</code> to this <code>FrameManager</code>.
      * <p>
@@ -810,6 +1067,115 @@ abstract class StorageManager
     final FrameManager getSet() {
 	return (set);
     }
+
+    /**
+     * Gets the <code>TimeIndex</code> summary of the
+     * <code>FrameManagers</code> in this <code>StorageManager</code>.
+     * <p>
+     * The index is rebuilt from the summary <code>Registrations</code> of the
+     * <code>FrameManagers</code> if it is out of step with the children. The
+     * caller should hold at least a read lock on the <code>Door</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>TimeIndex</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final TimeIndex getSetIndex()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	synchronized (setIndex) {
+	    int nChildren = getNchildren();
+
+	    if (!setIndexValid || (setIndex.size() != nChildren)) {
+		// Rebuild the index from scratch. <code>FrameManagers</code>
+		// without any time information are given the end time of the
+		// one before them, which keeps the index sorted.
+		double lastEnd = -Double.MAX_VALUE;
+		double[] limits;
+
+		setIndex.clear();
+		for (int idx = 0; idx < nChildren; ++idx) {
+		    FrameManager fm = (FrameManager) getChildAt(idx);
+
+		    if ((limits = getSetLimits(fm)) == null) {
+			limits = new double[2];
+			limits[0] =
+			    limits[1] = lastEnd;
+		    }
+		    setIndex.add(limits[0],limits[1]);
+		    lastEnd = limits[1];
+		}
+		setIndexValid = true;
+
+	    } else if (nChildren > 0) {
+		// Refresh the last entry.
+		double[] limits =
+		    getSetLimits((FrameManager) getChildAt(nChildren - 1));
+
+		if (limits != null) {
+		    setIndex.setLast(limits[0],limits[1]);
+		}
+	    }
+	}
+
+	return (setIndex);
+    }
+
+    /**
+     * Gets the time limits of a <code>FrameManager</code> from its summary.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param fmI  the <code>FrameManager</code>.
+     * @return the limits or null if there aren't any.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static double[] getSetLimits(FrameManager fmI) {
+	Registration summary = fmI.getSummary();
+
+	if ((summary == null) || (summary.getTrange() == null)) {
+	    return (null);
+	}
+
+	return (summary.getTrange().getLimits());
+    }
 
     /**
      * Gets the last registration time.
@@ -1107,7 +1473,7 @@ abstract class StorageManager
      *		  thrown if the <code>Rmap</code> hierarchy contains
      *		  information that cannot be processed by this code.
      * @since V2.2
-     * @version 12/11/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1115,6 +1481,8 @@ abstract class StorageManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Start the search at the <code>FrameManager</code>
+     *			picked by the <code>TimeIndex</code>.
      * 12/11/2003  INB	Added <code>RequestOptions</code> to
      *			<code>TimeRelativeRequest</code> handling to allow the
      *			code to do the right thing for
@@ -1202,7 +1570,18 @@ abstract class StorageManager
 		int lastIdx = 0;
 		int lastGoodStatus = Integer.MIN_VALUE;
 		responseR.setStatus(-1);
-		for (idx = (lo + hi)/2;
+
+		// Start with the <code>FrameManager</code> that the
+		// <code>TimeIndex</code> says should hold the reference time.
+		// The search checks it like any other, so a poor choice just
+		// costs an extra step.
+		idx = getSetIndex().find(requestI.getTimeRange().getTime());
+		if (idx < lo) {
+		    idx = lo;
+		} else if (idx > hi) {
+		    idx = hi;
+		}
+		for (;
 		     (responseR.getStatus() != -2) &&
 			 (responseR.getStatus() != 0) &&
 			 (lo <= hi);
@@ -1429,7 +1808,7 @@ abstract class StorageManager
      * @author Ian Brown
      *
      * @since V2.2
-     * @version 07/30/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1437,10 +1816,14 @@ abstract class StorageManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Take what is left out of the data counts.
      * 07/30/2003  INB	Created.
      *
      */
     public void nullify() {
+	// Take whatever is left out of the data counts.
+	addCounts(-getDataBytes(),-getDataFrames());
+
 	super.nullify();
 
 	try {
@@ -1702,7 +2085,7 @@ abstract class StorageManager
      *		  thrown if the operation is interrupted.
      * @see #getSet()
      * @since V2.0
-     * @version 03/28/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1710,6 +2093,7 @@ abstract class StorageManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Add the set to the <code>TimeIndex</code>.
      * 03/28/2003  INB	Eliminated unnecessary synchronization.
      * 03/12/2001  INB	Created.
      *
@@ -1724,6 +2108,17 @@ abstract class StorageManager
 	set = setI;
 	if (set != null) {
 	    addChild(set);
+	    synchronized (setIndex) {
+		if (setIndexValid &&
+		    (setIndex.size() == getNchildren() - 1)) {
+		    // The new set has no data yet, so it starts where the
+		    // last one ends.
+		    double lastEnd = setIndex.getLastEnd();
+		    setIndex.add(lastEnd,lastEnd);
+		} else {
+		    setIndexValid = false;
+		}
+	    }
 	    if (getAddedSets() == -1) {
 		setAddedSets(getNchildren() - 1);
 	    }
@@ -1731,6 +2126,60 @@ abstract class StorageManager
 	trim();
     }
 
+    /**
+     * Stores an element in the current set and counts the data that it
+     * adds.
+     * <p>
+     * The number of bytes is taken from the change in the size of the set,
+     * which the set keeps up to date itself.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param elementI the element.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #addCounts(long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void storeInSet(Rmap elementI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	FrameManager lSet = getSet();
+	long bytes = lSet.getDataSize();
+	long frames =
+	    ((elementI instanceof FrameManager) ?
+	     ((FrameManager) elementI).getCountedFrames() :
+	     1);
+
+	lSet.addElement(elementI);
+	bytes = lSet.getDataSize() - bytes;
+
+	lSet.addCounts(bytes,frames);
+	addCounts(bytes,frames);
+    }
     /**
      * Trims the <code>StorageManager</code> object back to the specified size
      * by deleting the oldest sets out of it.
@@ -1753,7 +2202,7 @@ abstract class StorageManager
      *		  thrown if the operation is interrupted.
      * @see #getSet()
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1761,6 +2210,9 @@ abstract class StorageManager
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Move <code>FrameSets</code> trimmed from a
+     *			<code>Cache</code> to the <code>WarmCache</code>.
+     *		   INB	Take trimmed sets out of the data counts.
      * 10/11/2006  EMF  Added trimByTime code.
      * 11/14/2003  INB	Added location to the <code>Lock</code>.
      * 07/30/2003  INB	Nullify the <code>FrameManager</code> if it doesn't
@@ -1835,14 +2287,32 @@ abstract class StorageManager
 //if (set instanceof FileSet) System.err.println("removing FileSet");
 	    boolean isMine = (set.getParent() == this);
 
-	    // Remove the set.
+	    // Remove the set and its data from the counts.
 	    removeChildAt(0);
 	    removedSets = true;
+	    addCounts(-set.getCountedBytes(),-set.getCountedFrames());
+	    synchronized (setIndex) {
+		if (setIndexValid) {
+		    setIndex.removeFirst();
+		}
+	    }
 	    if (this instanceof Archive) {
 		((Archive) this).setOldest
 		    (((FileSet) getChildAt(0)).getIndex());
 	    }
 
+	    // A <code>FrameSet</code> leaving a <code>Cache</code> moves on
+	    // to the <code>WarmCache</code>, if there is one, rather than
+	    // being cleared.
+	    WarmCache warm;
+	    if ((this instanceof Cache) &&
+		(set instanceof FrameSet) &&
+		(getParent() instanceof RingBuffer) &&
+		((warm = ((RingBuffer) getParent()).getWarmCache()) != null)) {
+		warm.retain((FrameSet) set);
+		return;
+	    }
+
 	    try {
 		// Lock the set.
 		set.getDoor().lock("StorageManager.trim");
@@ -2000,5 +2470,8 @@ abstract class StorageManager
 		clonedR.flushInterval= flushInterval;
 		clonedR.trimInterval=trimInterval;
 		clonedR.closeByTime=closeByTime;
+		// The clone builds its own index of its sets when it needs one.
+		clonedR.setIndex=new TimeIndex();
+		clonedR.setIndexValid=false;
 	}
 }
@@ -24,7 +24,7 @@ package com.rbnb.api;
  * @author Ian Brown
  *
  * @since V2.0
- * @version 11/14/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -34,6 +34,8 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added <code>downsample</code> to handle
+ *			<code>RequestOptions.downsample</code>.
  * 11/11/2003  INB	Ensure that we don't lose the relationship in
  *			requests.
  * 11/07/2003  INB	Account for <code>StreamTimeRelativeListeners</code>
@@ -210,6 +212,54 @@ return new String("StreamDHListener:"+super.toString());
 	       java.io.IOException,
 	       java.lang.InterruptedException;
 
+    /**
+     * Downsamples a response according to the <code>RequestOptions</code>.
+     * <p>
+     * Responses that are not <code>Rmaps</code> (for example,
+     * <code>Exceptions</code>) are returned as is.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param serializableI the response.
+     * @return the downsampled response.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if this operation is interrupted.
+     * @see com.rbnb.api.Downsampler#downsample(com.rbnb.api.Rmap,com.rbnb.api.RequestOptions)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final Serializable downsample(Serializable serializableI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	RequestOptions ro = getNBO().getRequestOptions();
+
+	if ((ro == null) ||
+	    (ro.getDownsample() == 0) ||
+	    !(serializableI instanceof Rmap)) {
+	    return (serializableI);
+	}
+	return (Downsampler.downsample((Rmap) serializableI,ro));
+    }
+
     /**
      * Starts this <code>StreamDHListener</code> running.
      * <p>
@@ -107,7 +107,7 @@ import java.util.Vector;
  * @see com.rbnb.api.StreamServerListener
  * @see com.rbnb.api.StreamRequestHandler
  * @since V2.0
- * @version 07/15/2005
+ * @version 10/18/2026
  */
 
 /*
@@ -117,6 +117,9 @@ import java.util.Vector;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Downsample responses in <code>post</code>.
+ *		   INB	Use <code>TimeRange.getPtime</code> to read individual
+ *			point times.
  * 2005/07/15  WHF	Added OutOfMemoryError handling to processWorking().
  * 04/25/2005  JPW	Change in processWorking(): If we got a match and if
  *			the user is in Monitor mode, check that we don't send
@@ -1088,7 +1091,7 @@ final class StreamRBOListener
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 03/24/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1096,6 +1099,8 @@ final class StreamRBOListener
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Downsample the response as requested by the
+     *			<code>RequestOptions</code>.
      * 03/24/2003  INB	When an <code>EndOfStream</code> is retrieved on a
      *			request that does not repeat, then we immediately
      *			<code>stop</code>.
@@ -1109,7 +1114,7 @@ final class StreamRBOListener
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	Serializable serializable = serializableI;
+	Serializable serializable = downsample(serializableI);
 	DataRequest myBase =
 	    ((getBaseRequest() instanceof DataRequest) ?
 	     ((DataRequest) getBaseRequest()) :
@@ -1119,7 +1124,7 @@ final class StreamRBOListener
 	    // With gap control enabled, we need to send a request for
 	    // acknowledgement.
 	    setWaiting(true);
-	    serializable = new RSVP(0,serializableI);
+	    serializable = new RSVP(0,serializable);
 	}
 	super.post(serializable);
     }
@@ -1145,7 +1150,7 @@ final class StreamRBOListener
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.0
-     * @version 07/15/2005
+     * @version 10/18/2026
      */
 
     /*
@@ -1153,6 +1158,8 @@ final class StreamRBOListener
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
      * 2005/07/15  WHF  Added OutOfMemoryError handling.
      * 04/25/2005  JPW	If we got a match and if the user is in Monitor mode,
      *			check that we don't send out a repeated frame.
@@ -1295,7 +1302,7 @@ final class StreamRBOListener
 			monitorTR.getNptimes());
 		}
 		// System.err.println("\n\nTimeRange:" + monitorTR);
-		if (monitorTR.getPtimes()[0] <= monitorFrameIdx) {
+		if (monitorTR.getPtime(0) <= monitorFrameIdx) {
 		    // Matched a frame that has already been dealth with!
 		    // NOTE: countR = the number of frames retreived;
 		    //       I don't think we increment it here
@@ -1308,7 +1315,7 @@ final class StreamRBOListener
 		    continue;
 		}
 		else {
-		    monitorFrameIdx = monitorTR.getPtimes()[0];
+		    monitorFrameIdx = monitorTR.getPtime(0);
 		}
 		// System.err.println("monitorFrameIdx: " + monitorFrameIdx);
 	    }
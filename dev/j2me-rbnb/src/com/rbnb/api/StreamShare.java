@@ -0,0 +1,585 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * A streaming request shared by several <code>NBOs</code>.
+ * <p>
+ * When many sinks subscribe to the same channels with the same request,
+ * running a separate <code>StreamRequestHandler</code> for each of them
+ * repeats the same extraction over and over. Instead, the first
+ * <code>NBO</code> to make the request becomes the leader of a
+ * <code>StreamShare</code> and runs the only
+ * <code>StreamRequestHandler</code>. <code>NBOs</code> that make an
+ * equivalent request later simply join the share.
+ * <p>
+ * Each response produced by the leader's handler is handed to a
+ * <code>StreamShareSink</code> for every member, which sends it to that
+ * member from a thread of its own. Each sink
+ * holds a limited number of responses, so a slow member only loses
+ * responses from its own stream and never holds up the others.
+ * <p>
+ * When the leader leaves, the next member becomes the leader and starts a
+ * new handler for the same request.
+ * <p>
+ * Only requests that stream future data indefinitely, without gap control,
+ * are shared, as the others either depend on where each sink started, end
+ * after a number of responses counted for each sink, or depend on
+ * acknowledgements from each sink. Sharing is turned on by the
+ * <code>sharestreams</code> system property; the number of responses each
+ * sink holds comes from the <code>sharequeue</code> system property.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.NBO#initiateRequestAt(int)
+ * @see com.rbnb.api.StreamShareSink
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class StreamShare {
+
+    /**
+     * the default number of responses held for each member.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int DEFAULT_QUEUE = 8;
+
+    /**
+     * the <code>RoutingMapHandler</code> that the request is made against.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Object owner = null;
+
+    /**
+     * the <code>RequestOptions</code> of the shared request.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private RequestOptions options = null;
+
+    /**
+     * the shared request.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private DataRequest request = null;
+
+    /**
+     * the <code>StreamShareSinks</code> of the members.
+     * <p>
+     * The first member is the leader.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Vector sinks = new java.util.Vector();
+
+    // Private class fields:
+    private static boolean enabled =
+	(System.getProperty("sharestreams") != null);
+    private static int queueLimit = DEFAULT_QUEUE;
+    private static java.util.Hashtable shares = new java.util.Hashtable();
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("sharequeue")) != null) {
+		queueLimit = Math.max(1,Integer.parseInt(value));
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+    }
+
+    /**
+     * Class constructor to build a <code>StreamShare</code> for a request.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param ownerI	the <code>RoutingMapHandler</code>.
+     * @param requestI  the request.
+     * @param optionsI  the <code>RequestOptions</code>.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private StreamShare(Object ownerI,
+			DataRequest requestI,
+			RequestOptions optionsI)
+    {
+	super();
+	owner = ownerI;
+	request = requestI;
+	options = optionsI;
+    }
+
+    /**
+     * Hands a response from the leader's handler to every member.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nboI	the <code>NBO</code> that received the response.
+     * @param responseI the response.
+     * @return was the response handed out? This is <code>false</code> if
+     *	       the input <code>NBO</code> is not the leader, in which case the
+     *	       caller should send the response itself.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final boolean fanOut(NBO nboI,Serializable responseI) {
+	StreamShareSink[] members;
+
+	synchronized (shares) {
+	    if ((sinks.size() == 0) ||
+		(((StreamShareSink) sinks.firstElement()).getNBO() != nboI)) {
+		return (false);
+	    }
+	    members = new StreamShareSink[sinks.size()];
+	    sinks.copyInto(members);
+	}
+
+	for (int idx = 0; idx < members.length; ++idx) {
+	    members[idx].offer(responseI);
+	}
+
+	return (true);
+    }
+
+    /**
+     * Gets the leader of this <code>StreamShare</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the leader's <code>NBO</code> or <code>null</code> if there are
+     *	       no members.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final NBO getLeader() {
+	synchronized (shares) {
+	    return ((sinks.size() == 0) ?
+		    null :
+		    ((StreamShareSink) sinks.firstElement()).getNBO());
+	}
+    }
+
+    /**
+     * Is the input request the same as the one shared by this
+     * <code>StreamShare</code>?
+     * <p>
+     * The requests are the same if their flags match and they ask for the
+     * same channels over the same ranges with the same options.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param requestI  the request.
+     * @param optionsI  the <code>RequestOptions</code>.
+     * @return are they the same?
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see #isSameRmap(com.rbnb.api.Rmap,com.rbnb.api.Rmap)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final boolean isSameRequest(DataRequest requestI,
+					RequestOptions optionsI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if ((requestI.getDomain() != request.getDomain()) ||
+	    (requestI.getGapControl() != request.getGapControl()) ||
+	    (requestI.getIncrement() != request.getIncrement()) ||
+	    (requestI.getMode() != request.getMode()) ||
+	    (requestI.getNrepetitions() != request.getNrepetitions()) ||
+	    (requestI.getReference() != request.getReference()) ||
+	    (requestI.getRelationship() != request.getRelationship()) ||
+	    (requestI.getSynchronized() != request.getSynchronized())) {
+	    return (false);
+	}
+
+	// Missing options are the same as the default options.
+	RequestOptions mine = ((options == null) ?
+			       new RequestOptions() :
+			       options),
+	    theirs = ((optionsI == null) ? new RequestOptions() : optionsI);
+	if ((theirs.getDownsample() != mine.getDownsample()) ||
+	    (theirs.getDownsampleMode() != mine.getDownsampleMode()) ||
+	    (theirs.getExtendStart() != mine.getExtendStart()) ||
+	    (theirs.getMaxWait() != mine.getMaxWait())) {
+	    return (false);
+	}
+
+	return (isSameRmap(requestI,request));
+    }
+
+    /**
+     * Are the two <code>Rmap</code> hierarchies the same?
+     * <p>
+     * The hierarchies are the same if each <code>Rmap</code> has the same
+     * name, frame range, and time range as its counterpart, and the same
+     * children in the same order. Requests carrying data are never treated
+     * as the same.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param oneI  the first <code>Rmap</code>.
+     * @param twoI  the second <code>Rmap</code>.
+     * @return are they the same?
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static boolean isSameRmap(Rmap oneI,Rmap twoI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	if ((oneI.compareNames(twoI) != 0) ||
+	    (oneI.getDblock() != null) ||
+	    (twoI.getDblock() != null) ||
+	    (oneI.getNchildren() != twoI.getNchildren())) {
+	    return (false);
+	}
+
+	if ((oneI.getFrange() == null) ?
+	    (twoI.getFrange() != null) :
+	    ((twoI.getFrange() == null) ||
+	     (oneI.getFrange().compareTo(twoI.getFrange()) != 0))) {
+	    return (false);
+	}
+
+	if ((oneI.getTrange() == null) ?
+	    (twoI.getTrange() != null) :
+	    ((twoI.getTrange() == null) ||
+	     (oneI.getTrange().compareTo(twoI.getTrange()) != 0))) {
+	    return (false);
+	}
+
+	for (int idx = 0; idx < oneI.getNchildren(); ++idx) {
+	    if (!isSameRmap(oneI.getChildAt(idx),twoI.getChildAt(idx))) {
+		return (false);
+	    }
+	}
+
+	return (true);
+    }
+
+    /**
+     * Is the input request one that can be shared?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param requestI  the request.
+     * @return can it be shared?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static boolean isShareable(DataRequest requestI) {
+	return (enabled &&
+		(requestI.getDomain() == DataRequest.FUTURE) &&
+		(requestI.getNrepetitions() == DataRequest.INFINITE) &&
+		!requestI.getGapControl() &&
+		(requestI.getReference() != DataRequest.ALIGNED));
+    }
+
+    /**
+     * Adds an <code>NBO</code> to the <code>StreamShare</code> for its
+     * request.
+     * <p>
+     * If there is no <code>StreamShare</code> for the request yet, one is
+     * created with the <code>NBO</code> as its leader.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param ownerI	the <code>RoutingMapHandler</code> that the request
+     *			is made against.
+     * @param requestI  the request.
+     * @param optionsI  the <code>RequestOptions</code> of the
+     *			<code>NBO</code>.
+     * @param nboI	the <code>NBO</code>.
+     * @return the <code>StreamShare</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static StreamShare join(Object ownerI,
+				  DataRequest requestI,
+				  RequestOptions optionsI,
+				  NBO nboI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	synchronized (shares) {
+	    java.util.Vector owned = (java.util.Vector) shares.get(ownerI);
+	    if (owned == null) {
+		owned = new java.util.Vector();
+		shares.put(ownerI,owned);
+	    }
+
+	    StreamShare shareR = null;
+	    for (int idx = 0; (shareR == null) && (idx < owned.size()); ++idx) {
+		StreamShare share = (StreamShare) owned.elementAt(idx);
+		if (share.isSameRequest(requestI,optionsI)) {
+		    shareR = share;
+		}
+	    }
+	    if (shareR == null) {
+		shareR = new StreamShare
+		    (ownerI,
+		     (DataRequest) requestI.clone(),
+		     (optionsI == null) ?
+		     null :
+		     (RequestOptions) optionsI.clone());
+		owned.addElement(shareR);
+	    }
+	    shareR.sinks.addElement(new StreamShareSink(nboI,queueLimit));
+
+	    return (shareR);
+	}
+    }
+
+    /**
+     * Removes an <code>NBO</code> from this <code>StreamShare</code>.
+     * <p>
+     * If the <code>NBO</code> was the leader and there are other members,
+     * the next member becomes the leader and starts a new handler.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nboI  the <code>NBO</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a serialization problem.
+     * @exception java.io.EOFException
+     *		  thrown if an EOF is encountered.
+     * @exception java.io.IOException
+     *		  thrown if there is an I/O problem.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void leave(NBO nboI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	NBO newLeader = null;
+
+	synchronized (shares) {
+	    for (int idx = 0; idx < sinks.size(); ++idx) {
+		StreamShareSink sink = (StreamShareSink) sinks.elementAt(idx);
+
+		if (sink.getNBO() == nboI) {
+		    sinks.removeElementAt(idx);
+		    sink.stop();
+		    if ((idx == 0) && (sinks.size() > 0)) {
+			newLeader =
+			    ((StreamShareSink) sinks.firstElement()).getNBO();
+		    }
+		    break;
+		}
+	    }
+
+	    if (sinks.size() == 0) {
+		java.util.Vector owned = (java.util.Vector) shares.get(owner);
+		if ((owned != null) && owned.removeElement(this)) {
+		    if (owned.isEmpty()) {
+			shares.remove(owner);
+		    }
+		}
+	    }
+	}
+
+	if (newLeader != null) {
+	    newLeader.leadShare((DataRequest) request.clone());
+	}
+    }
+
+    /**
+     * Gets a string representation of this <code>StreamShare</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the string representation.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final String toString() {
+	return ("StreamShare of " + sinks.size() + " members: " + request);
+    }
+}
@@ -0,0 +1,341 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Sends the responses of a <code>StreamShare</code> to one of its members.
+ * <p>
+ * Responses are held in a short queue and sent to the member by a thread
+ * belonging to this <code>StreamShareSink</code>, so a member whose
+ * connection is slow to accept writes holds up only its own thread. If the
+ * member falls so far behind that the queue is full, the oldest data frame
+ * is dropped to make room for the newest response, leaving a gap in that
+ * member's stream only. As in a <code>SendQueue</code>, end of stream
+ * markers and other control messages are never dropped.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.SendQueue
+ * @see com.rbnb.api.StreamShare
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class StreamShareSink
+    implements java.lang.Runnable
+{
+    /**
+     * the number of responses dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long dropped = 0;
+
+    /**
+     * the maximum number of responses held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int limit;
+
+    /**
+     * the member's <code>NBO</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private NBO nbo = null;
+
+    /**
+     * the responses waiting to be sent.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private java.util.Vector pending = new java.util.Vector();
+
+    /**
+     * has this <code>StreamShareSink</code> been stopped?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean stopped = false;
+
+    /**
+     * the thread sending the responses.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Thread thread = null;
+
+    /**
+     * Class constructor to build a <code>StreamShareSink</code> for an
+     * <code>NBO</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param nboI    the member's <code>NBO</code>.
+     * @param limitI  the maximum number of responses to hold.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    StreamShareSink(NBO nboI,int limitI) {
+	super();
+	nbo = nboI;
+	limit = Math.max(1,limitI);
+    }
+
+    /**
+     * Gets the number of responses dropped because the member fell behind.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of responses dropped.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized long getDropped() {
+	return (dropped);
+    }
+
+    /**
+     * Gets the member's <code>NBO</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the <code>NBO</code>.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final NBO getNBO() {
+	return (nbo);
+    }
+
+    /**
+     * Queues a response to be sent to the member.
+     * <p>
+     * If the queue is full, the oldest data frame waiting is dropped.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param responseI the response.
+     * @see com.rbnb.api.SendQueue#isDroppable(com.rbnb.api.Serializable)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void offer(Serializable responseI) {
+	if (stopped) {
+	    return;
+	}
+	if (pending.size() >= limit) {
+	    // The member is too far behind, so it loses its oldest data frame.
+	    // If there are only control messages waiting, the limit is exceeded
+	    // rather than losing one of them.
+	    for (int idx = 0; idx < pending.size(); ++idx) {
+		if (SendQueue.isDroppable
+		    ((Serializable) pending.elementAt(idx))) {
+		    pending.removeElementAt(idx);
+		    ++dropped;
+		    break;
+		}
+	    }
+	}
+	pending.addElement(responseI);
+	if (thread == null) {
+	    thread = new ThreadWithLocks(this,"_SSS." + nbo.getName());
+	    thread.start();
+	} else {
+	    notifyAll();
+	}
+    }
+
+    /**
+     * Sends the waiting responses to the member.
+     * <p>
+     * The responses are handed to the member's <code>NBO</code>, which
+     * places them on its <code>RCO's SendQueue</code> if it has one, or
+     * writes them to the connection from this thread if it does not.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void run() {
+	Serializable response;
+
+	try {
+	    while (true) {
+		synchronized (this) {
+		    while (!stopped && pending.isEmpty()) {
+			wait(TimerPeriod.NORMAL_WAIT);
+		    }
+		    if (stopped) {
+			break;
+		    }
+		    response = (Serializable) pending.firstElement();
+		    pending.removeElementAt(0);
+		}
+
+		try {
+		    nbo.sendResponse(response);
+		} catch (java.lang.InterruptedException e) {
+		    throw e;
+		} catch (java.lang.Exception e) {
+		    // The member's connection is failing; it will be removed
+		    // from the share when it shuts down.
+		}
+	    }
+	} catch (java.lang.InterruptedException e) {
+	} finally {
+	    synchronized (this) {
+		thread = null;
+	    }
+	}
+    }
+    /**
+     * Stops sending responses to the member, discarding any that are
+     * waiting.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void stop() {
+	stopped = true;
+	pending.removeAllElements();
+	notifyAll();
+    }
+    /**
+     * Gets a string representation of this <code>StreamShareSink</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the string representation.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final String toString() {
+	return ("StreamShareSink for " + nbo.getName() +
+		" (" + pending.size() + " pending, " + dropped + " dropped)");
+    }
+}
@@ -98,7 +98,7 @@ package com.rbnb.api;
  * @see com.rbnb.api.StreamServerListener
  * @see com.rbnb.api.StreamRequestHandler
  * @since V2.2
- * @version 04/19/2005
+ * @version 10/18/2026
  */
 
 /*
@@ -108,6 +108,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Downsample responses in <code>post</code>.
  * 04/19/2005  JPW	Made change in createWorking():
  *                      If Subscribing by time and the request start time is
  *                      zero, then adjust the request start time to ensure
@@ -478,7 +479,7 @@ match);
      * @exception java.lang.InterruptedException
      *		  thrown if this operation is interrupted.
      * @since V2.2
-     * @version 11/06/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -486,6 +487,8 @@ match);
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Downsample the response as requested by the
+     *			<code>RequestOptions</code>.
      * 11/06/2003  INB	Created.
      *
      */
@@ -496,7 +499,7 @@ match);
 	       java.io.IOException,
 	       java.lang.InterruptedException
     {
-	Serializable serializable = serializableI;
+	Serializable serializable = downsample(serializableI);
 	DataRequest myBase =
 	    ((getBaseRequest() instanceof DataRequest) ?
 	     ((DataRequest) getBaseRequest()) :
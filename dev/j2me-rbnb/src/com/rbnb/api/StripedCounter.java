@@ -0,0 +1,163 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * A running total that many threads can add to at once.
+ * <p>
+ * The total is split over a small number of stripes, each with its own lock.
+ * A thread adds to the stripe picked by its hash code, so threads adding at
+ * the same time rarely wait on each other. Reading the total sums the
+ * stripes, which takes the same time no matter how many things are being
+ * counted.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class StripedCounter {
+
+    /**
+     * the number of stripes.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private final static int STRIPES = 8;
+
+    /**
+     * the locks for the stripes.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Object[] locks = new Object[STRIPES];
+
+    /**
+     * the part of the total held by each stripe.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long[] stripes = new long[STRIPES];
+
+    /**
+     * Class constructor.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    StripedCounter() {
+	super();
+	for (int idx = 0; idx < STRIPES; ++idx) {
+	    locks[idx] = new Object();
+	}
+    }
+
+    /**
+     * Adds to the total.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param deltaI  the amount to add. This may be negative.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void add(long deltaI) {
+	int stripe = (Thread.currentThread().hashCode() & 0x7fffffff) % STRIPES;
+
+	synchronized (locks[stripe]) {
+	    stripes[stripe] += deltaI;
+	}
+    }
+
+    /**
+     * Gets the total.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the sum of the stripes.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final long sum() {
+	long sumR = 0;
+
+	for (int idx = 0; idx < STRIPES; ++idx) {
+	    synchronized (locks[idx]) {
+		sumR += stripes[idx];
+	    }
+	}
+
+	return (sumR);
+    }
+}
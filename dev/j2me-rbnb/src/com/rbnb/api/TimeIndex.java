@@ -0,0 +1,434 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Compact, sorted index of time ranges keyed by start time.
+ * <p>
+ * Each entry consists of a start time and an end time. Entry
+ * <code>i</code> describes the <code>i</code>th <code>FrameManager</code> of
+ * the <code>StorageManager</code> that owns the index, so no other position
+ * is stored.
+ * <p>
+ * The entries are held in parallel <code>double</code> arrays sorted by
+ * start time, so that a lookup by time is a binary search rather than a walk
+ * of the <code>Rmap</code> hierarchy. Entries are normally added in time
+ * order, which makes an addition a simple append.
+ * <p>
+ * Only <code>StorageManagers</code> keep an index. Within a
+ * <code>FrameSet</code>, the frames are not indexed one by one; the
+ * <code>FrameSet</code> records the start and end time of each of its
+ * channels instead, which is enough to skip channels and sets that cannot
+ * hold the requested time.
+ * <p>
+ * The index is only ever used as a hint: the code using it always checks the
+ * <code>Rmaps</code> it is pointed at, so a stale index can cost time, but
+ * never produces a wrong answer.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.StorageManager
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class TimeIndex {
+
+    /**
+     * the start times of the entries.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double[] starts = null;
+
+    /**
+     * the end times of the entries.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double[] ends = null;
+
+    /**
+     * the number of entries in use.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int size = 0;
+
+    /**
+     * the latest end time of any of the entries.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double lastEnd = -Double.MAX_VALUE;
+
+    /**
+     * Class constructor.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    TimeIndex() {
+	this(16);
+    }
+
+    /**
+     * Class constructor to build a <code>TimeIndex</code> with the specified
+     * initial capacity.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param capacityI  the initial number of entries.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    TimeIndex(int capacityI) {
+	super();
+	int capacity = Math.max(1,capacityI);
+	starts = new double[capacity];
+	ends = new double[capacity];
+    }
+
+    /**
+     * Adds an entry to this <code>TimeIndex</code>.
+     * <p>
+     * Entries that start at or after the last entry are simply appended.
+     * Others are inserted after any entries with the same or earlier start
+     * times.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param startI     the start time.
+     * @param endI       the end time.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void add(double startI,double endI) {
+	if (size == starts.length) {
+	    int capacity = 2*starts.length;
+	    double[] nStarts = new double[capacity],
+		     nEnds = new double[capacity];
+
+	    System.arraycopy(starts,0,nStarts,0,size);
+	    System.arraycopy(ends,0,nEnds,0,size);
+	    starts = nStarts;
+	    ends = nEnds;
+	}
+
+	int where = size;
+	if ((size > 0) && (startI < starts[size - 1])) {
+	    // Out of order entries are placed after the last entry that starts
+	    // at or before them.
+	    where = locate(startI) + 1;
+	    System.arraycopy(starts,where,starts,where + 1,size - where);
+	    System.arraycopy(ends,where,ends,where + 1,size - where);
+	}
+
+	starts[where] = startI;
+	ends[where] = endI;
+	++size;
+	lastEnd = Math.max(lastEnd,endI);
+    }
+
+    /**
+     * Clears this <code>TimeIndex</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void clear() {
+	size = 0;
+	lastEnd = -Double.MAX_VALUE;
+    }
+
+    /**
+     * Finds the entry containing or immediately preceding the input time.
+     * <p>
+     * This is the last entry whose start time is less than or equal to the
+     * input time.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param timeI  the time to look for.
+     * @return the index of the entry or -1 if the time is before all of the
+     *	       entries.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized int find(double timeI) {
+	return (locate(timeI));
+    }
+
+    /**
+     * Gets the latest end time of all of the entries.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the latest end time or <code>-Double.MAX_VALUE</code> if the
+     *	       index is empty.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized double getLastEnd() {
+	return (lastEnd);
+    }
+
+    /**
+     * Removes the first entry in this <code>TimeIndex</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void removeFirst() {
+	if (size > 0) {
+	    --size;
+	    System.arraycopy(starts,1,starts,0,size);
+	    System.arraycopy(ends,1,ends,0,size);
+
+	    // The entries are sorted by start time, so the latest end time can
+	    // be anywhere.
+	    lastEnd = -Double.MAX_VALUE;
+	    for (int idx = 0; idx < size; ++idx) {
+		lastEnd = Math.max(lastEnd,ends[idx]);
+	    }
+	}
+    }
+
+    /**
+     * Updates the times of the last entry.
+     * <p>
+     * This is used for an entry describing something that is still growing,
+     * such as the <code>FrameSet</code> currently being filled.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param startI  the new start time.
+     * @param endI    the new end time.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void setLast(double startI,double endI) {
+	if (size > 0) {
+	    starts[size - 1] = ((size > 1) ?
+				Math.max(starts[size - 2],startI) :
+				startI);
+	    ends[size - 1] = endI;
+	    lastEnd = Math.max(lastEnd,endI);
+	}
+    }
+
+    /**
+     * Gets the number of entries in this <code>TimeIndex</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the number of entries.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized int size() {
+	return (size);
+    }
+
+    /**
+     * Returns a string representation of this <code>TimeIndex</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the string representation.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final synchronized String toString() {
+	return ("TimeIndex " + size +
+		((size == 0) ?
+		 "" :
+		 (" [" + starts[0] + "," + getLastEnd() + "]")));
+    }
+
+    /**
+     * Performs the binary search for the last entry starting at or before the
+     * input time.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param timeI  the time to look for.
+     * @return the index of the entry or -1 if there is none.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final int locate(double timeI) {
+	int lo = 0,
+	    hi = size - 1;
+
+	while (lo <= hi) {
+	    int idx = (lo + hi) >>> 1;
+
+	    if (starts[idx] <= timeI) {
+		lo = idx + 1;
+	    } else {
+		hi = idx - 1;
+	    }
+	}
+
+	return (hi);
+    }
+}
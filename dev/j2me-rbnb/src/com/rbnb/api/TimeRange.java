@@ -44,6 +44,15 @@ import com.rbnb.utility.ToString;
  * is actually a data pool. The children of the data pool are inheriting the
  * times.
  * <p>
+ * Multiple times that are evenly spaced are held implicitly as a start
+ * time, a period, and a count rather than as an array. The
+ * <code>set</code> methods and the constructors that take an array of times
+ * look for this case and fall back to the array unless the start time plus
+ * the point number times the period reproduces every time exactly, so that
+ * holding the times implicitly never changes them. Either way, the <code>TimeRange</code> behaves as if it held
+ * the array, except that <code>getPtimes</code> builds a new array each time
+ * that it is called for implicit times.
+ * <p>
  * All data points have a duration that is either:
  * <p><ul>
  * <li>The duration of the <code>TimeRange</code> (when there is just a single
@@ -61,7 +70,7 @@ import com.rbnb.utility.ToString;
  *
  * @see com.rbnb.api.Rmap
  * @since V2.0
- * @version 05/19/2005
+ * @version 10/18/2026
  */
 
 /*
@@ -71,6 +80,11 @@ import com.rbnb.utility.ToString;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Individual points extracted by
+ *			<code>extractRequestWithData</code> share one output
+ *			buffer.
+ *		   INB	Hold evenly spaced point times implicitly as a start,
+ *			period, and count.
  * 05/19/2005  JPW/MJM	Fixed a bug in matchTimeRelative() where point number
  *			could be calculated incorrectly due to limited floating
  *			point precision.
@@ -184,7 +198,8 @@ public final class TimeRange
 			      PAR_DUR = 0,
 			      PAR_PTM = 1,
 			      PAR_STA = 2,
-			      PAR_INC = 3;
+			      PAR_INC = 3,
+			      PAR_PER = 4;
 
     private static final byte[][] MATCHES =
 	{
@@ -208,7 +223,8 @@ public final class TimeRange
 				    "DUR",
 				    "PTM",
 				    "STA",
-				    "INC"
+				    "INC",
+				    "PER"
 				};
 
     /**
@@ -277,6 +293,34 @@ public final class TimeRange
      * @version 11/30/2000
      */
     private double[] ptimes = INHERIT_TIMES;
+
+    /**
+     * the number of implicit point times.
+     * <p>
+     * When this is non-zero, the point times are
+     * <code>ptimes[0] + idx*period</code> for <code>idx</code> from zero to
+     * one less than this and <code>ptimes</code> holds just the first time.
+     * When it is zero, <code>ptimes</code> holds all of the times.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #setPtimes(double,double,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int implicitCount = 0;
+
+    /**
+     * the interval between implicit point times.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private double period = 0.;
 
     /**
      * Class constructor.
@@ -521,7 +565,7 @@ public final class TimeRange
      * @return the sum <code>TimeRange</code>.
      * @see #subtract(TimeRange)
      * @since V2.0
-     * @version 11/06/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -529,6 +573,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 12/11/2000  INB	Created.
      *
      */
@@ -536,7 +582,7 @@ public final class TimeRange
 	if (otherI == null) {
 	    return (this);
 	}
-	if ((otherI.getPtimes() == INHERIT_TIMES) ||
+	if ((otherI.ptimes == INHERIT_TIMES) ||
 	    (otherI.getDuration() == INHERIT_DURATION)) {
 	    throw new java.lang.IllegalArgumentException
 		("Cannot add " + otherI + " to " + this);
@@ -550,7 +596,7 @@ public final class TimeRange
 	    getDuration(),
 	       iEnd = otherI.getTime() + otherI.getDuration();
 
-	if (getPtimes() == INHERIT_TIMES) {
+	if (ptimes == INHERIT_TIMES) {
 	    // If this <code>TimeRange</code> inherits its times, grab those
 	    // from the input.
 	    sumR.setPtimes(otherI.getPtimes());
@@ -565,13 +611,13 @@ public final class TimeRange
 		     offset = 0;
 		 idx < otherI.getNptimes();
 		 ++idx) {
-		double base = otherI.getPtimes()[idx];
+		double base = otherI.getPtime(idx);
 
 		for (int idx1 = 0;
 		     idx1 < getNptimes();
 		     ++idx1,
 			 ++offset) {
-		    sumTimes[offset] = base + getPtimes()[idx1];
+		    sumTimes[offset] = base + getPtime(idx1);
 		}
 	    }
 	    sumR.setPtimes(sumTimes);
@@ -595,7 +641,7 @@ public final class TimeRange
      *
      * @param limitsI  the minimum and maximum values to add.
      * @since V2.0
-     * @version 09/20/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -603,12 +649,14 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 01/25/2001  INB	Created.
      *
      */
     final void addLimits(double[] limitsI) {
-	double minimum = Math.min(getPtimes()[0],limitsI[0]),
-	       maximum = Math.max(getPtimes()[0] + getDuration(),limitsI[1]);
+	double minimum = Math.min(getPtime(0),limitsI[0]),
+	       maximum = Math.max(getPtime(0) + getDuration(),limitsI[1]);
 
 	set(minimum,maximum - minimum);
     }
@@ -677,7 +725,7 @@ public final class TimeRange
      * @param needAllI  do we need all of the times?
      * @return the new <code>TimeRange</code>.
      * @since V2.0
-     * @version 11/06/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -685,6 +733,7 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Offset implicit point times without expanding them.
      * 12/01/2000  INB	Created.
      *
      */
@@ -708,6 +757,14 @@ public final class TimeRange
 		(getTime() + iRangeI.getTime(),
 		 rDuration);
 
+	} else if (implicitCount > 0) {
+	    // Implicit time values simply move.
+	    tRangeR = new TimeRange();
+	    tRangeR.setPtimes(getTime() + iRangeI.getTime(),
+			      period,
+			      implicitCount);
+	    tRangeR.setDuration(rDuration);
+
 	} else {
 	    // If we need all of the time values from this
 	    // <code>TimeRange</code>, clone the array and add the in the input
@@ -733,7 +790,7 @@ public final class TimeRange
      *
      * @param incrementI  the increment to add.
      * @since V2.0
-     * @version 05/22/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -741,10 +798,15 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Handle implicit point times.
      * 03/21/2001  INB	Created.
      *
      */
     final void addToTimes(double incrementI) {
+	if (implicitCount > 0) {
+	    ptimes[0] += incrementI;
+	    return;
+	}
 	for (int idx = 0; idx < getNptimes(); ++idx) {
 	    getPtimes()[idx] += incrementI;
 	}
@@ -782,7 +844,7 @@ public final class TimeRange
      *		  information that cannot be processed by this code.
      * @see #beforeTimeRelative(com.rbnb.api.TimeRelativeRequest requestI,com.rbnb.api.RequestOptions roI,int nPointsI)
      * @since V2.2
-     * @version 12/11/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -790,6 +852,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 12/11/2003  INB	Created.
      *
      */
@@ -860,7 +924,7 @@ public final class TimeRange
      *		  information that cannot be processed by this code.
      * @see #beforeTimeRelative(com.rbnb.api.TimeRelativeRequest requestI,com.rbnb.api.RequestOptions roI,int nPointsI)
      * @since V2.2
-     * @version 12/11/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -868,6 +932,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 12/11/2003  INB	Created.
      *
      */
@@ -900,7 +966,7 @@ public final class TimeRange
 	} else {
 	    // For non-<code>extendStart</code> requests, we want the end time
 	    // of the last point.
-	    responseR.setTime(getPtimes()[getNptimes() - 1] + getDuration());
+	    responseR.setTime(getPtime(getNptimes() - 1) + getDuration());
 	    responseR.setInvert(true);
 	}
 
@@ -964,7 +1030,7 @@ public final class TimeRange
      *
      * @return the clone.
      * @since V2.0
-     * @version 04/25/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -972,6 +1038,7 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Copy implicit point times.
      * 11/30/2000  INB	Created.
      *
      */
@@ -982,19 +1049,70 @@ public final class TimeRange
 		clonedR.direction = direction;
 		clonedR.duration = duration;
 		clonedR.inclusive = inclusive;
+		clonedR.implicitCount = implicitCount;
+		clonedR.period = period;
 
 	if (clonedR != null) {
-	    if (getPtimes() != null) {
+	    if (ptimes != null) {
 		//clonedR.setPtimes((double[]) getPtimes().clone());
-			double[] temp = new double[getPtimes().length];
-			System.arraycopy(getPtimes(), 0, temp , 0, getPtimes().length);
-		clonedR.setPtimes(temp);
+			double[] temp = new double[ptimes.length];
+			System.arraycopy(ptimes, 0, temp , 0, ptimes.length);
+		clonedR.ptimes = temp;
 	    }
 	}
 
 	return (clonedR);
     }
 
+    /**
+     * Sets the point times to a list of times if they are evenly spaced.
+     * <p>
+     * The times are evenly spaced if there are at least three of them, they
+     * increase, and there is a period for which
+     * <code>ptimesI[0] + idx*period</code> is bit for bit equal to
+     * <code>ptimesI[idx]</code> for every <code>idx</code>. In that case,
+     * the times are held implicitly. Both the average interval and the first
+     * interval are tried as the period.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param ptimesI the point times.
+     * @return were the times evenly spaced?
+     * @see #setPtimes(double,double,int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final boolean compactTimes(double[] ptimesI) {
+	if ((ptimesI == null) || (ptimesI.length < 3)) {
+	    return (false);
+	}
+
+	int count = ptimesI.length;
+	double start = ptimesI[0],
+	    average = (ptimesI[count - 1] - start)/(count - 1),
+	    first = ptimesI[1] - start;
+
+	if (reproduces(ptimesI,average)) {
+	    setPtimes(start,average,count);
+	    return (true);
+	} else if ((first != average) && reproduces(ptimesI,first)) {
+	    setPtimes(start,first,count);
+	    return (true);
+	}
+
+	return (false);
+    }
+
     /**
      * Compares two time intervals to determine their relationship.
      * <p>
@@ -1109,7 +1227,7 @@ public final class TimeRange
      * <p> =0 if the two <code>TimeRange</code>s are equal, or
      * <p> >0 if this <code>TimeRange</code> is greater than the input.
      * @since V2.0
-     * @version 10/25/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1117,6 +1235,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 11/30/2000  INB	Created.
      *
      */
@@ -1144,7 +1264,7 @@ public final class TimeRange
 		break;
 	    }
 
-	    double difference = getPtimes()[idx] - otherI.getPtimes()[idx];
+	    double difference = getPtime(idx) - otherI.getPtime(idx);
 	    if (difference < 0.) {
 		// If a time from this <code>TimeRange</code> is less than
 		// the corresponding time from the input, then this
@@ -1234,7 +1354,7 @@ public final class TimeRange
      *		      not equal to 1.</li>
      *		  </ul>
      * @since V2.0
-     * @version 08/30/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1242,6 +1362,7 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Handle implicit point times.
      * 11/30/2000  INB	Created.
      *
      */
@@ -1265,7 +1386,11 @@ public final class TimeRange
 
 	int nPointsR = Math.max(nPointsI,getNptimes());
 
-	if (nPointsR == getNptimes()) {
+	if (implicitCount > 0) {
+	    for (int idx = 0; idx < nPointsR; ++idx) {
+		timeI[startAtI + idx] = getPtime(idx);
+	    }
+	} else if (nPointsR == getNptimes()) {
 	    System.arraycopy
 		(getPtimes(),
 		 0,
@@ -1301,7 +1426,7 @@ public final class TimeRange
      * @return the new <code>TimeRange</code>.
      * @see #mergeOffsets(TimeRange,DataBlock)
      * @since V2.0
-     * @version 11/06/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1309,6 +1434,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Check for inherited times without expanding implicit
+     *			point times.
      * 12/01/2000  INB	Created.
      *
      */
@@ -1330,7 +1457,7 @@ public final class TimeRange
 	    double ltimes[] = new double[iBlockI.getNpts()*dBlockI.getNpts()];
 	    double rDuration = 0.;
 
-	    if (getPtimes() == INHERIT_TIMES) {
+	    if (ptimes == INHERIT_TIMES) {
 		// If this <code>TimeRange</code> inherits its time values from
 		// the input <code>TimeRange</code>, then produce a new
 		// <code>TimeRange</code> from the input, the
@@ -1584,7 +1711,7 @@ public final class TimeRange
      *	       unchanged, otherwise this <code>TimeRange</code> is extended to
      *	       include the input.
      * @since V2.0
-     * @version 11/06/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1592,6 +1719,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Keep point times implicit when the input continues
+     *			them exactly.
      * 08/16/2001  INB	Created.
      *
      */
@@ -1616,6 +1745,22 @@ public final class TimeRange
 			       (oD <= myD*HI_TOLERANCE))) {
 		// If the durations are equal, then we can extend this
 		// <code>TimeRange</code>.
+		if (implicitCount > 0) {
+		    // If the input continues the implicit times, then simply
+		    // count its points in.
+		    boolean continues = true;
+		    for (int idx = 0; continues && (idx < oPtimes); ++idx) {
+			continues =
+			    (Double.doubleToLongBits(otherI.getPtime(idx)) ==
+			     Double.doubleToLongBits
+			     (getPtime(myPtimes + idx)));
+		    }
+		    if (continues) {
+			implicitCount += oPtimes;
+			setInclusive(getInclusive() || otherI.getInclusive());
+			return (true);
+		    }
+		}
 		double[] newTimes = new double[myPtimes + oPtimes];
 		System.arraycopy(getPtimes(),
 				 0,
@@ -1627,7 +1772,9 @@ public final class TimeRange
 				 newTimes,
 				 myPtimes,
 				 oPtimes);
-		setPtimes(newTimes);
+		if (!compactTimes(newTimes)) {
+		    setPtimes(newTimes);
+		}
 		setInclusive(getInclusive() || otherI.getInclusive());
 		return (true);
 	    }
@@ -1831,7 +1978,7 @@ public final class TimeRange
      * @param dBlockO	the resulting <code>DataBlock</code>.
      * @return was anything extracted?
      * @since V2.0
-     * @version 12/11/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -1839,7 +1986,13 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
-     *			Reworked point index calculations to reduce roundoff
+     * 10/18/2026  INB	Extract individual points into a single output
+     *			buffer rather than one array per point.
+     *		   INB	Only look at the points near the request for implicit
+     *			point times.
+     *		   INB	Copy a <code>PayloadSlab</code> view out of its slab
+     *			when duplicating the whole <code>DataBlock</code>.
+     * 12/11/2003  INB	Reworked point index calculations to reduce roundoff
      *			errors.
      * 09/30/2003  INB	Duplicate won't work.  We need to copy the fields.
      *			In addition, when working with individual point times,
@@ -1895,14 +2048,14 @@ public final class TimeRange
 		    requestDuration = requestI.getDuration();
 
 		if (reversed) {
-		    myStart = -(getPtimes()[0] + myDuration);
+		    myStart = -(getPtime(0) + myDuration);
 		    myNpoints = -nPoints;
 		    requestStart =
-			-(requestI.getPtimes()[0] + requestDuration);
+			-(requestI.getPtime(0) + requestDuration);
 		} else {
-		    myStart = getPtimes()[0];
+		    myStart = getPtime(0);
 		    myNpoints = nPoints;
-		    requestStart = requestI.getPtimes()[0];
+		    requestStart = requestI.getPtime(0);
 		}
 		
 		// Calculate the starting data point from the request start,
@@ -1964,15 +2117,16 @@ public final class TimeRange
 
 	    // Create a new <code>TimeRange</code> from the calculate start
 	    // point and end point.
-	    rangeO.set(getPtimes()[0] + (sp*myDuration)/nPoints,
+	    rangeO.set(getPtime(0) + (sp*myDuration)/nPoints,
 		       ((ep - sp + 1)*myDuration)/nPoints);
 
 	    if (dBlockI != null) {
 		if ((sp == 0) &&
 		    (ep == nPoints - 1) &&
 		    (ep == dBlockI.getNpts())) {
-		    // When extracting the entire thing, simply duplicate.
-		    dBlockO.set(dBlockI.getData(),
+		    // When extracting the entire thing, simply duplicate. A
+		    // <code>PayloadSlab</code> view is copied out of its slab.
+		    dBlockO.set(dBlockI.getUnpackedData(),
 				dBlockI.getNpts(),
 				dBlockI.getPtsize(),
 				dBlockI.getDtype(),
@@ -1995,7 +2149,7 @@ public final class TimeRange
 					    dBlockI.getMIMEType(),
 					    dBlockI.getWorder(),
 					    dBlockI.getIndivFlg(),
-					    (dBlockI.getOffset() +
+					    (dBlockI.getPayloadOffset() +
 					     sp*dBlockI.getStride()),
 					    dBlockI.getStride());
 		    ndBlock.setData(dBlockI.getData());
@@ -2051,12 +2205,26 @@ public final class TimeRange
 			     ovalues = ((otherO == null) ?
 					null :
 					new java.util.Vector());
-	    double rMin = requestI.getPtimes()[0],
+	    double rMin = requestI.getPtime(0),
 		   rMax = rMin + requestI.getDuration();
+	    int first = 0,
+		last = getNptimes() - 1;
+
+	    if (implicitCount > 0) {
+		// With implicit times, the points that can match lie in a
+		// range that can be computed directly. Allow one extra point at
+		// either end for roundoff.
+		first = (int) Math.max
+		    (0.,
+		     Math.floor((rMin - getDuration() - getTime())/period) - 1.);
+		last = (int) Math.min
+		    (last,
+		     Math.ceil((rMax - getTime())/period) + 1.);
+	    }
 
-	    for (int idx = 0; idx < getNptimes(); ++idx) {
+	    for (int idx = first; idx <= last; ++idx) {
 		// Add each point that matches.
-		double pMin = getPtimes()[idx],
+		double pMin = getPtime(idx),
 		       pMax = pMin + getDuration();
 
 		if ((pMin <= rMax) && (pMax >= rMin)) {
@@ -2107,8 +2275,9 @@ public final class TimeRange
 	    if (dBlockI != null) {
 		if ((nPtimes.length == getNptimes()) &&
 		    (getNptimes() == dBlockI.getNpts())) {
-		    // When extracting the entire thing, simply duplicate.
-		    dBlockO.set(dBlockI.getData(),
+		    // When extracting the entire thing, simply duplicate. A
+		    // <code>PayloadSlab</code> view is copied out of its slab.
+		    dBlockO.set(dBlockI.getUnpackedData(),
 				dBlockI.getNpts(),
 				dBlockI.getPtsize(),
 				dBlockI.getDtype(),
@@ -2123,6 +2292,7 @@ public final class TimeRange
 		    // points. We create a temporary <code>DataBlock</code>
 		    // that has a reference to a single point.
 		    java.util.Vector points = new java.util.Vector();
+		    Object buffer = null;
 		    DataBlock ndBlock;
 		    ndBlock = new DataBlock(null,
 					    1,
@@ -2148,18 +2318,22 @@ public final class TimeRange
 					 0,
 					 dBlockI.getPtsize());
 
+		    // All of the points are extracted into a single output
+		    // buffer sized to hold them.
+		    buffer = ndBlock.createOutputBuffer(dRef,
+							values.size()/2,
+							null);
 		    for (int idx = 1; idx < values.size(); idx += 2) {
 			// For each point of interest, update the offset of the
 			// working <code>DataBlock</code> and then extract the
 			// data value.
 			int vIdx =
 			    ((Integer) values.elementAt(idx)).intValue();
-			ndBlock.setOffset(dBlockI.getOffset() +
+			ndBlock.setOffset(dBlockI.getPayloadOffset() +
 					  vIdx*dBlockI.getStride());
-			Object element = ndBlock.extractData(dRef);
-		    
-			points.addElement(element);
+			buffer = ndBlock.extractData(dRef,buffer,idx/2);
 		    }
+		    points.addElement(buffer);
 
 		    // Build the result <code>DataBlock</code>.
 		    dBlockO.set(points,
@@ -2203,7 +2377,7 @@ public final class TimeRange
      *	       <li>UNKNOWN - haven't determined direction yet.<li>
      *	       </ul><p>
      * @since V2.0
-     * @version 11/14//2003
+     * @version 10/18/2026
      */
 
     /*
@@ -2211,6 +2385,7 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Implicit point times are always increasing.
      * 11/14/2003  INB	Eliminated synchronization.
      * 11/30/2000  INB	Created.
      *
@@ -2220,15 +2395,16 @@ public final class TimeRange
 	    // We only have to have point times to actually figure the
 	    // direction of the values.
 
-	    if (getNptimes() == 1) {
+	    if ((getNptimes() == 1) || (implicitCount > 0)) {
 		// With exactly one point, the times are increasing, since
-		// the duration is always positive or zero.
+		// the duration is always positive or zero. Implicit times
+		// always have a positive period.
 		changing = INCREASING;
 
 	    } else {
 		// Otherwise, we need to determine the direction.
 		changing =
-		    (getPtimes()[1] >= getPtimes()[0]) ?
+		    (getPtime(1) >= getPtime(0)) ?
 		    INCREASING :
 		    DECREASING;
 	    }
@@ -2237,7 +2413,7 @@ public final class TimeRange
 		 (changing != RANDOM) && (idx < getNptimes());
 		 ++idx) {
 		byte pChanging =
-		    (getPtimes()[idx] >= getPtimes()[idx - 1]) ?
+		    (getPtime(idx) >= getPtime(idx - 1)) ?
 		    INCREASING :
 		    DECREASING;
 
@@ -2333,7 +2509,7 @@ public final class TimeRange
      * @return the minimum and maximum times of this <code>TimeRange</code> as
      * an array. 
      * @since V2.0
-     * @version 11/07/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -2341,6 +2517,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 11/30/2000  INB	Created.
      *
      */
@@ -2358,20 +2536,20 @@ public final class TimeRange
 	double[] valuesR = new double[2];
 
 	if (changing == INCREASING) {
-	    valuesR[0] = getPtimes()[0];
-	    valuesR[1] = (getPtimes()[getNptimes() - 1] +
+	    valuesR[0] = getPtime(0);
+	    valuesR[1] = (getPtime(getNptimes() - 1) +
 			  addDuration);
 
 	} else if (changing == DECREASING) {
 	    valuesR[1] =
-		(valuesR[0] = getPtimes()[0]) + addDuration;
+		(valuesR[0] = getPtime(0)) + addDuration;
 
 	} else {
 	    valuesR[1] =
-		(valuesR[0] = getPtimes()[0]) + addDuration;
+		(valuesR[0] = getPtime(0)) + addDuration;
 
 	    for (int idx = 1; idx < getNptimes(); ++idx) {
-		double min = getPtimes()[idx],
+		double min = getPtime(idx),
 		    max = min + addDuration;
 
 		valuesR[0] = Math.min(valuesR[0],min);
@@ -2394,7 +2572,7 @@ public final class TimeRange
      * @see #set(double[])
      * @see #set(double[],double)
      * @since V2.0
-     * @version 05/22/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -2402,11 +2580,14 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Handle implicit point times.
      * 11/30/2000  INB	Created.
      *
      */
     public final int getNptimes() {
-	return ((ptimes == null) ? 0 : ptimes.length);
+	return ((ptimes == null) ?
+		0 :
+		((implicitCount > 0) ? implicitCount : ptimes.length));
     }
 
     /**
@@ -2445,7 +2626,7 @@ public final class TimeRange
      *		  <li>0 <= pointI < nPointsI is not true.</li>
      *		  </ul>
      * @since V2.0
-     * @version 01/25/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -2453,6 +2634,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 11/30/2000  INB	Created.
      *
      */
@@ -2487,12 +2670,42 @@ public final class TimeRange
 
 	} else {
 	    // With individual times, grab the appropriate one.
-	    valueR = getPtimes()[pointI];
+	    valueR = getPtime(pointI);
 	}
 
 	return (valueR);
     }
 
+    /**
+     * Gets an individual point time.
+     * <p>
+     * Unlike <code>getPtimes</code>, this does not build an array for
+     * implicit point times.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param indexI the index of the point time.
+     * @return the point time.
+     * @see #getPtimes()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final double getPtime(int indexI) {
+	return ((implicitCount > 0) ?
+		ptimes[0] + indexI*period :
+		ptimes[indexI]);
+    }
+
     /**
      * Gets the individual point times array.
      * <p>
@@ -2504,7 +2717,7 @@ public final class TimeRange
      * @see #set(double[],double)
      * @see #setPtimes(double[])
      * @since V2.0
-     * @version 05/22/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -2512,10 +2725,21 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Build the array for implicit point times.
      * 11/30/2000  INB	Created.
      *
      */
     public final double[] getPtimes() {
+	int count = implicitCount;
+
+	if (count > 0) {
+	    double[] ptimesR = new double[count];
+	    for (int idx = 0; idx < count; ++idx) {
+		ptimesR[idx] = ptimes[0] + idx*period;
+	    }
+	    return (ptimesR);
+	}
+
 	return (ptimes);
     }
 
@@ -2594,7 +2818,7 @@ public final class TimeRange
      *		   the overlap, but do not have any common regions.</li>
      *	       </ul>
      * @since V2.0
-     * @version 10/28/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -2602,6 +2826,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Check for inherited times without expanding implicit
+     *			point times.
      * 12/06/2000  INB	Created.
      *
      */
@@ -2611,8 +2837,8 @@ public final class TimeRange
 
 //	System.err.println("mjm getDir: "+getDirection()+", IgetDir: "+requestI.getDirection());
 
-	if ((requestI.getPtimes() == INHERIT_TIMES) ||
-	    (getPtimes() == INHERIT_TIMES)) {
+	if ((requestI.ptimes == INHERIT_TIMES) ||
+	    (ptimes == INHERIT_TIMES)) {
 	    // If the request or this <code>TimeRange</code> inherits its
 	    // times, then we have to assume an intersection between the two
 	    // <code>TimeRanges</code>.
@@ -2899,7 +3125,7 @@ public final class TimeRange
      *		   the overlap, but do not have any common regions.</li>
      *	       </ul>
      * @since V2.0
-     * @version 09/19/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -2907,6 +3133,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 12/07/2000  INB	Created.
      *
      */
@@ -2927,23 +3155,23 @@ public final class TimeRange
 	boolean[] mineIntersected = new boolean[getNptimes()],
 		  otherIntersected = new boolean[otherI.getNptimes()];
 	double myLowest = (reversedI ?
-			   -(getPtimes()[getNptimes() - 1 - startI] + myDurationI) :
-			   getPtimes()[startI]),
+			   -(getPtime(getNptimes() - 1 - startI) + myDurationI) :
+			   getPtime(startI)),
 // mjm 12/20/05:  following seems wrong, it should match the otherHighest case !!??
 	    myHighest = (reversedI ?
-			   -(getPtimes()[getNptimes() - 1 - startI] + myDurationI) :
-			   getPtimes()[startI]),
+			   -(getPtime(getNptimes() - 1 - startI) + myDurationI) :
+			   getPtime(startI)),
 // correct logic: ???
 //	    myHighest = (reversedI ?
-//			   -getPtimes()[startI] :
-//			   (getPtimes()[getNptimes() - 1 - startI] + myDurationI)),
+//			   -getPtime(startI) :
+//			   (getPtime(getNptimes() - 1 - startI) + myDurationI)),
 
 	    otherLowest = (reversedI ?
-			   -(otherI.getPtimes()[otherI.getNptimes() - 1 - otherStartI] + otherDurationI) :
-			   otherI.getPtimes()[otherStartI]),
+			   -(otherI.getPtime(otherI.getNptimes() - 1 - otherStartI) + otherDurationI) :
+			   otherI.getPtime(otherStartI)),
 	    otherHighest = (reversedI ?
-			    -otherI.getPtimes()[otherStartI] :
-			    (otherI.getPtimes()[otherI.getNptimes() - 1 - otherStartI] + otherDurationI));
+			    -otherI.getPtime(otherStartI) :
+			    (otherI.getPtime(otherI.getNptimes() - 1 - otherStartI) + otherDurationI));
 
 //System.err.println("enter mjm matchmonotonic2, allowMyHigh: "+allowMyHighI+", allowOtherHigh: "+allowOtherHighI+", getNptimes(): "+getNptimes()+", startI: "+startI+", getPtimes(): "+getPtimes()[0]+", myDurationI: "+myDurationI);
 	// mjm 12/20/05  grope:
@@ -2958,8 +3186,8 @@ public final class TimeRange
 	    // values, but we can use a binary search to compare them to the
 	    // time intervals in this <code>TimeRange</code>.
 	    double otherLow = (reversedI ?
-			       -(otherI.getPtimes()[idx] + otherDurationI) :
-			       otherI.getPtimes()[idx]),
+			       -(otherI.getPtime(idx) + otherDurationI) :
+			       otherI.getPtime(idx)),
 		otherHigh = otherLow + otherDurationI;
 
 	    for (int low = currentLow,
@@ -2968,9 +3196,9 @@ public final class TimeRange
 		 (low <= high);
 		 idx1 = (low + high)/2) {
 		double myLow = (reversedI ?
-				-(getPtimes()[startI + idx1*incrementI] +
+				-(getPtime(startI + idx1*incrementI) +
 				  myDurationI) :
-				getPtimes()[startI + idx1*incrementI]),
+				getPtime(startI + idx1*incrementI)),
 		       myHigh = myLow + myDurationI;
 //     	System.err.println("mjm myLow: "+myLow+", myHigh: "+myHigh+", otherLow: "+otherLow+", otherHigh: "+otherHigh);
 
@@ -3023,9 +3251,9 @@ public final class TimeRange
 			// <code>TimeRange</code> that cannot possibly have
 			// any relationship to the other time interval.
 			myLow = (reversedI ?
-				 -(getPtimes()[startI + idx2*incrementI] +
+				 -(getPtime(startI + idx2*incrementI) +
 				   myDurationI) :
-				 getPtimes()[startI + idx2*incrementI]);
+				 getPtime(startI + idx2*incrementI));
 			myHigh = myLow + myDurationI;
 
 			if ((myHigh < otherLow) ||
@@ -3059,9 +3287,9 @@ public final class TimeRange
 			// <code>TimeRange</code> that cannot possibly have
 			// any relationship to the other time interval.
 			myLow = (reversedI ?
-				 -(getPtimes()[startI + idx2*incrementI] +
+				 -(getPtime(startI + idx2*incrementI) +
 				   myDurationI) :
-				 getPtimes()[startI + idx2*incrementI]);
+				 getPtime(startI + idx2*incrementI));
 			myHigh = myLow + myDurationI;
 
 			if ((myLow > otherHigh) ||
@@ -3161,7 +3389,7 @@ public final class TimeRange
      *		   the overlap, but do not have any common regions.</li>
      *	       </ul>
      * @since V2.0
-     * @version 05/21/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -3169,6 +3397,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 12/07/2000  INB	Created.
      *
      */
@@ -3186,12 +3416,12 @@ public final class TimeRange
 	boolean[] mineIntersected = new boolean[getNptimes()],
 		  otherIntersected = new boolean[otherI.getNptimes()];
 	double myLowest = (reversedI ?
-			   -(getPtimes()[getNptimes() - 1 - startI] +
+			   -(getPtime(getNptimes() - 1 - startI) +
 			     myDurationI) :
-			   getPtimes()[startI]),
+			   getPtime(startI)),
 	    myHighest = (reversedI ?
-			 -getPtimes()[startI] :
-			 (getPtimes()[getNptimes() - 1 - startI] +
+			 -getPtime(startI) :
+			 (getPtime(getNptimes() - 1 - startI) +
 			  myDurationI)) ,
 	    otherLowest = Double.MAX_VALUE,
 	    otherHighest = -Double.MAX_VALUE;
@@ -3202,8 +3432,8 @@ public final class TimeRange
 	    // time intervals in this <code>TimeRange</code>.
 	    double otherLow =
 		(reversedI ?
-		 -(otherI.getPtimes()[idx] + otherDurationI) :
-		 otherI.getPtimes()[idx]),
+		 -(otherI.getPtime(idx) + otherDurationI) :
+		 otherI.getPtime(idx)),
 		otherHigh = otherLow + otherDurationI;
 
 	    // Update the limits for the other <code>TimeRange</code>.
@@ -3216,9 +3446,9 @@ public final class TimeRange
 		 (low <= high);
 		 idx1 = (low + high)/2) {
 		double myLow = (reversedI ?
-				-(getPtimes()[startI + idx1*incrementI] +
+				-(getPtime(startI + idx1*incrementI) +
 				  myDurationI) :
-				getPtimes()[startI + idx1*incrementI]),
+				getPtime(startI + idx1*incrementI)),
 		    myHigh = myLow + myDurationI;
 
 		if ((otherLow > myHigh) ||
@@ -3259,9 +3489,9 @@ public final class TimeRange
 			// <code>TimeRange</code> that cannot possibly have
 			// any relationship to the other time interval.
 			myLow = (reversedI ?
-				 -(getPtimes()[startI + idx2*incrementI] +
+				 -(getPtime(startI + idx2*incrementI) +
 				   myDurationI) :
-				 getPtimes()[startI + idx2*incrementI]);
+				 getPtime(startI + idx2*incrementI));
 			myHigh = myLow + myDurationI;
 
 			if ((myHigh < otherLow) ||
@@ -3291,9 +3521,9 @@ public final class TimeRange
 			// <code>TimeRange</code> that cannot possibly have
 			// any relationship to the other time interval.
 			myLow = (reversedI ?
-				 -(getPtimes()[startI + idx2*incrementI] +
+				 -(getPtime(startI + idx2*incrementI) +
 				   myDurationI) :
-				 getPtimes()[startI + idx2*incrementI]);
+				 getPtime(startI + idx2*incrementI));
 			myHigh = myLow + myDurationI;
 
 			if ((myLow > otherHigh) ||
@@ -3373,7 +3603,7 @@ public final class TimeRange
      *		   the overlap, but do not have any common regions.</li>
      *	       </ul>
      * @since V2.0
-     * @version 04/11/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -3381,6 +3611,8 @@ public final class TimeRange
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 12/06/2000  INB	Created.
      *
      */
@@ -3403,8 +3635,8 @@ public final class TimeRange
 	    // Compare the limits of each time interval in this
 	    // <code>TimeRange</code>.
 	    double myLow = (reversedI ?
-			    -(getPtimes()[idx] + myDurationI) :
-			    getPtimes()[idx]),
+			    -(getPtime(idx) + myDurationI) :
+			    getPtime(idx)),
 		   myHigh = myLow + myDurationI;
 
 	    // Update the overall limits.
@@ -3415,9 +3647,9 @@ public final class TimeRange
 		// Compare to the limits of each time interval in the request
 		// <code>TimeRange</code>.
 		double requestLow = (reversedI ?
-				     -(requestI.getPtimes()[idx1] +
+				     -(requestI.getPtime(idx1) +
 				       requestDurationI) :
-				     requestI.getPtimes()[idx1]),
+				     requestI.getPtime(idx1)),
 		       requestHigh = requestLow + requestDurationI;
 
 		// Update the overall limits.
@@ -3794,7 +4026,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      * @return the new <code>TimeRange</code>.
      * @see #dataOffsets(TimeRange,DataBlock,DataBlock)
      * @since V2.0
-     * @version 11/06/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -3802,6 +4034,8 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Check for inherited times without expanding implicit
+     *			point times.
      * 12/01/2000  INB	Created.
      *
      */
@@ -3818,7 +4052,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 	    tInclusive = tInclusive || iRangeI.getInclusive();
 	}
 
-	if (getPtimes() == INHERIT_TIMES) {
+	if (ptimes == INHERIT_TIMES) {
 	    // If this <code>TimeRange</code> inherits its time values from
 	    // the input <code>TimeRange</code>, then produce a new
 	    // <code>TimeRange</code> from the input and the duration from
@@ -3846,7 +4080,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 		     ++idx1,
 			 ++idx2) {
 		    // Add the inherit time value to our time values.
-		    ltimes[idx2] = itime + getPtimes()[idx1];
+		    ltimes[idx2] = itime + getPtime(idx1);
 		}
 	    }
 
@@ -3942,7 +4176,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *		  thrown if there is an error reading the input stream.
      * @see #write(com.rbnb.api.TimeRange,String[],int,com.rbnb.api.OutputStream,com.rbnb.api.DataOutputStream)
      * @since V2.0
-     * @version 11/06/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -3950,6 +4184,8 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Read implicit point times and hold evenly spaced point
+     *			times implicitly.
      * 07/26/2001  INB	Created.
      *
      */
@@ -3985,6 +4221,13 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 		for (int idx = 0; idx < getNptimes(); ++idx) {
 		    getPtimes()[idx] = isI.readDouble();
 		}
+		compactTimes(getPtimes());
+		break;
+
+	    case PAR_PER:
+		double start = isI.readDouble(),
+		    lPeriod = isI.readDouble();
+		setPtimes(start,lPeriod,isI.readInt());
 		break;
 
 	    case PAR_STA:
@@ -3998,8 +4241,14 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 	    if (!seen[PAR_DUR]) {
 		setDuration(otherI.getDuration());
 	    }
-	    if (!seen[PAR_PTM] && !seen[PAR_STA]) {
-		setPtimes((double[]) otherI.getPtimes().clone());
+	    if (!seen[PAR_PTM] && !seen[PAR_STA] && !seen[PAR_PER]) {
+		if (otherI.implicitCount > 0) {
+		    setPtimes(otherI.getTime(),
+			      otherI.period,
+			      otherI.implicitCount);
+		} else {
+		    setPtimes((double[]) otherI.getPtimes().clone());
+		}
 	    }
 	    if (!seen[PAR_INC]) {
 		setInclusive(otherI.getInclusive());
@@ -4007,6 +4256,46 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 	}
     }
 
+    /**
+     * Does a period reproduce a list of point times exactly?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param ptimesI  the point times.
+     * @param periodI  the period.
+     * @return is <code>ptimesI[0] + idx*periodI</code> bit for bit equal to
+     *	       <code>ptimesI[idx]</code> for every <code>idx</code>?
+     * @see #compactTimes(double[])
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final static boolean reproduces(double[] ptimesI,double periodI)
+    {
+	if (!(periodI > 0.)) {
+	    return (false);
+	}
+
+	double start = ptimesI[0];
+	for (int idx = 1; idx < ptimesI.length; ++idx) {
+	    if (Double.doubleToLongBits(start + idx*periodI) !=
+		Double.doubleToLongBits(ptimesI[idx])) {
+		return (false);
+	    }
+	}
+
+	return (true);
+    }
+
     /**
      * Sets the time of the range and clears the duration so that it gets
      * inherited.
@@ -4129,7 +4418,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      * @see #set(double,double)
      * @see #set(double[])
      * @since V2.0
-     * @version 11/14/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -4137,6 +4426,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Hold evenly spaced point times implicitly.
      * 11/14/2003  INB	Eliminated synchronization.
      * 11/30/2000  INB	Created.
      *
@@ -4146,7 +4436,9 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 	    throw new IllegalStateException("Cannot set negative duration.");
 	}
 
-	setPtimes(ptimesI);
+	if (!compactTimes(ptimesI)) {
+	    setPtimes(ptimesI);
+	}
 	setDuration(durationI);
 	changing = UNKNOWN;
     }
@@ -4231,7 +4523,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      * @param ptimesI  the new point times array.
      * @see #getPtimes()
      * @since V2.0
-     * @version 05/31/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -4239,11 +4531,55 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Clear any implicit point times.
      * 11/30/2000  INB	Created.
      *
      */
     public final void setPtimes(double[] ptimesI) {
 	ptimes = ptimesI;
+	implicitCount = 0;
+    }
+
+    /**
+     * Sets the point times implicitly.
+     * <p>
+     * The point times are <code>startI + idx*periodI</code> for
+     * <code>idx</code> from zero to one less than <code>countI</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param startI  the first point time.
+     * @param periodI the interval between point times.
+     * @param countI  the number of point times.
+     * @see #getPtime(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void setPtimes(double startI,double periodI,int countI) {
+	if (countI < 2) {
+	    double[] lptimes = new double[countI];
+	    if (countI == 1) {
+		lptimes[0] = startI;
+	    }
+	    setPtimes(lptimes);
+	    return;
+	}
+
+	double[] lptimes = { startI };
+	period = periodI;
+	ptimes = lptimes;
+	implicitCount = countI;
+	changing = UNKNOWN;
     }
 
     /**
@@ -4275,7 +4611,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *	          inheritance.
      * @see #add(TimeRange)
      * @since V2.0
-     * @version 11/06/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -4283,6 +4619,8 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 12/11/2000  INB	Created.
      *
      */
@@ -4292,7 +4630,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 	    return (this);
 	}
 
-	if ((getPtimes() == INHERIT_TIMES) ||
+	if ((ptimes == INHERIT_TIMES) ||
 	    (getDuration() == INHERIT_DURATION)) {
 	    throw new java.lang.IllegalArgumentException
 		("Cannot subtract " + otherI + " from " + this);
@@ -4305,7 +4643,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 	double fDuration = Math.min(getDuration(),oDuration);
 
 	TimeRange differenceR = null;
-	if (otherI.getPtimes() == INHERIT_TIMES) {
+	if (otherI.ptimes == INHERIT_TIMES) {
 	    differenceR = new TimeRange(getPtimes(),fDuration);
 
 	} else if ((getChanging() != INCREASING) ||
@@ -4319,7 +4657,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 
 	    int theirBase = 0;
 	    for (int idx = 0; idx < getNptimes(); ++idx) {
-		double myMin = getPtimes()[idx],
+		double myMin = getPtime(idx),
 		    myMax = myMin + getDuration(),
 		    cMyMin = (reversed ? -myMax : myMin),
 		    cMyMax = (reversed ? -myMin : myMax);
@@ -4327,7 +4665,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 		for (int idx2 = theirBase;
 		     idx2 < otherI.getNptimes();
 		     ++idx2) {
-		    double theirMin = otherI.getPtimes()[idx2],
+		    double theirMin = otherI.getPtime(idx2),
 			theirMax = theirMin + oDuration,
 			cTheirMin = (reversed ? -theirMax : theirMin),
 			cTheirMax = (reversed ? -theirMin : theirMax);
@@ -4380,7 +4718,7 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *
      * @return the string representation.
      * @since V2.0
-     * @version 01/27/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -4388,6 +4726,8 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>getPtime</code> so that implicit point times
+     *			are not expanded.
      * 11/30/2000  INB	Created.
      *
      */
@@ -4395,10 +4735,10 @@ if (requestI.getTimeRange().getDuration() == 0.0) {
 	String stringR = "";
 	if (getNptimes() > 0) {
 try {
-	    stringR += "[" + ToString.toString("%.17f",getPtimes()[0]);
+	    stringR += "[" + ToString.toString("%.17f",getPtime(0));
 	    for (int idx = 1; idx < getNptimes(); ++idx) {
 		stringR +=
-		    "," + ToString.toString("%.17f",getPtimes()[idx]);
+		    "," + ToString.toString("%.17f",getPtime(idx));
 	    }
 	    stringR += "]";
 } catch (Exception e) {}
@@ -4471,7 +4811,7 @@ try {
      *		  thrown if there is a problem writing to the stream.
      * @see #read(com.rbnb.api.TimeRange,com.rbnb.api.InputStream,com.rbnb.api.DataInputStream)
      * @since V2.0
-     * @version 11/20/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -4479,6 +4819,7 @@ try {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Write implicit point times to peers that support them.
      * 07/26/2001  INB	Created.
      *
      */
@@ -4497,11 +4838,11 @@ try {
 	    trChanged =
 		(getInclusive() != otherI.getInclusive()) ||
 		(getDuration() != otherI.getDuration()) ||
-		(getPtimes() == otherI.getPtimes());
+		(ptimes == otherI.ptimes);
 	    if (!trChanged) {
 		trChanged = getNptimes() != otherI.getNptimes();
 		for (int idx = 0; !trChanged && (idx < getNptimes()); ++idx) {
-		    trChanged = getPtimes()[idx] != otherI.getPtimes()[idx];
+		    trChanged = getPtime(idx) != otherI.getPtime(idx);
 		}
 	    }
 	}
@@ -4526,11 +4867,20 @@ try {
 		osI.writeParameter(PARAMETERS,PAR_STA);
 		osI.writeDouble(getTime());
 
-	    } else if (getPtimes() != INHERIT_TIMES) {
+	    } else if ((implicitCount > 0) &&
+		       IsSupported.isNegotiated
+		       (IsSupported.FEATURE_TIME_RANGE_IMPLICIT,
+			osI.getCapabilities())) {
+		osI.writeParameter(PARAMETERS,PAR_PER);
+		osI.writeDouble(getTime());
+		osI.writeDouble(period);
+		osI.writeInt(implicitCount);
+
+	    } else if (ptimes != INHERIT_TIMES) {
 		osI.writeParameter(PARAMETERS,PAR_PTM);
 		osI.writeInt(getNptimes());
 		for (int idx = 0; idx < getNptimes(); ++idx) {
-		    osI.writeDouble(getPtimes()[idx]);
+		    osI.writeDouble(getPtime(idx));
 		}
 	    }
 	    Serialize.writeCloseBracket(osI);
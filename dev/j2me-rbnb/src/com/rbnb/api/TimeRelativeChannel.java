@@ -27,7 +27,7 @@ import com.rbnb.utility.SortException;
  *
  * @see com.rbnb.api.TimeRelativeRequest
  * @since V2.2
- * @version 11/07/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -37,6 +37,8 @@ import com.rbnb.utility.SortException;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> to read individual
+ *			point times.
 * 10/10/2003   INB	Created.
  *
  */
@@ -191,7 +193,7 @@ final class TimeRelativeChannel
      *		  thrown if the <code>Rmap</code> hierarchy contains
      *		  information that cannot be processed by this code.
      * @since V2.2
-     * @version 11/07/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -199,6 +201,8 @@ final class TimeRelativeChannel
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
      * 11/06/2003  INB	Created.
      * 2005/07/07  WHF  Added check to see if time range is null.
      *
@@ -242,7 +246,7 @@ final class TimeRelativeChannel
 		    // With an inclusive <code>TimeRange</code>, simply use the
 		    // last time.
 		    referenceR =
-			tr.getPtimes()[tr.getNptimes() - 1] +
+			tr.getPtime(tr.getNptimes() - 1) +
 			tr.getDuration();
 		} else {
 		    // Otherwise, we need to actually get the time for the last
@@ -36,7 +36,7 @@ import com.rbnb.utility.ToString;
  *
  * @see com.rbnb.api.DataRequest
  * @since V2.2
- * @version 12/11/2003
+ * @version 10/18/2026
  */
 
 /*
@@ -46,6 +46,8 @@ import com.rbnb.utility.ToString;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> to read individual
+ *			point times.
  * 10/10/2003  INB	Created.
  *
  */
@@ -364,7 +366,7 @@ System.err.println(
      *		   <li>the request is for data after the range.</li>
      *	       </ol>
      * @since V2.2
-     * @version 11/05/2003
+     * @version 10/18/2026
      */
 
     /*
@@ -372,6 +374,8 @@ System.err.println(
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use <code>TimeRange.getPtime</code> so that implicit
+     *			point times are not expanded.
      * 11/04/2003  INB	Created.
      *
      */
@@ -379,7 +383,7 @@ System.err.println(
 	int statusR = 0;
 	double trStart = timeRangeI.getTime();
 	double trEnd =
-	    timeRangeI.getPtimes()[timeRangeI.getNptimes() - 1] +
+	    timeRangeI.getPtime(timeRangeI.getNptimes() - 1) +
 	    timeRangeI.getDuration();
 
 	if (getTimeRange().getTime() < trStart) {
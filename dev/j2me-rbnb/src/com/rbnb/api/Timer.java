@@ -28,7 +28,7 @@ package com.rbnb.api;
  *
  * @see java.util.Timer
  * @since V2.0
- * @version 10/15/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -38,6 +38,7 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Use a <code>TimingWheel</code> if it is enabled.
  * 10/15/2004  JPW	Couple minor changes that fix typing errors INB
  *			had aparently made.
  * 10/01/2004  JPW	Use new IndirectTimer class; isolate references to
@@ -94,6 +95,18 @@ final class Timer {
     //                 IndirectTimer class
     // private java.util.Timer timer = null;
     private IndirectTimer timer = null;
+
+    /**
+     * the <code>TimingWheel</code> used in place of the other timers.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.TimingWheel#isEnabled()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private TimingWheel wheel = null;
 
     /**
      * Class constructor.
@@ -103,7 +116,7 @@ final class Timer {
      *
      * @see #cancel
      * @since V2.0
-     * @version 09/03/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -111,13 +124,17 @@ final class Timer {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use a <code>TimingWheel</code> if it is enabled.
      * 09/03/2002  INB	Created.
      *
      */
     public Timer() {
 	super();
 
-	if (Supported == 1) {
+	if (TimingWheel.isEnabled()) {
+	    wheel = new TimingWheel();
+	    wheel.start();
+	} else if (Supported == 1) {
 	    // JPW 10/01/2004: Move java.util.Timer references to the new
 	    //                 IndirectTimer class
 	    // timer = new java.util.Timer();
@@ -153,7 +170,7 @@ final class Timer {
      * @param isDaemonI true if associated thread should run as a daemon.
      * @see #cancel
      * @since V2.0
-     * @version 09/03/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -161,6 +178,7 @@ final class Timer {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Use a <code>TimingWheel</code> if it is enabled.
      * 09/03/2002  INB	Created.
      * 10/15/2004  JPW	Add isDaemonI argument to constructor call
      *
@@ -168,7 +186,10 @@ final class Timer {
     public Timer(boolean isDaemonI) {
 	super();
 
-	if (Supported == 1) {
+	if (TimingWheel.isEnabled()) {
+	    wheel = new TimingWheel();
+	    wheel.start();
+	} else if (Supported == 1) {
 	    // JPW 10/01/2004: Move references to java.util.Timer to the new
 	    //                 IndirectTimer class.
 	    // timer = new java.util.Timer();
@@ -212,7 +233,7 @@ final class Timer {
      *		  timer has been cancelled, or the timer thread has been
      *		  terminated.
      * @since V2.0
-     * @version 09/04/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -220,6 +241,8 @@ final class Timer {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Add the task to the <code>TimingWheel</code>, if
+     *			there is one.
      * 09/04/2002  INB	Created.
      *
      */
@@ -228,6 +251,11 @@ final class Timer {
 			       long timeI,
 			       long periodI)
     {
+	if (wheel != null) {
+	    wheel.add(taskI,fixedRateI,timeI,periodI);
+	    return;
+	}
+
 	if (thread.cancelled) {
 	    throw new java.lang.IllegalStateException
 		("Timer has been cancelled.");
@@ -246,7 +274,7 @@ final class Timer {
      * @author Ian Brown
      *
      * @since V2.0
-     * @version 09/03/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -254,11 +282,15 @@ final class Timer {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Handle the <code>TimingWheel</code>.
      * 09/03/2002  INB	Created.
      *
      */
     public final void cancel() {
-	if (timer != null) {
+	if (wheel != null) {
+	    wheel.cancel();
+	    wheel = null;
+	} else if (timer != null) {
 	    timer.cancel();
 	} else if (Supported == -1) {
 	    thread.cancel();
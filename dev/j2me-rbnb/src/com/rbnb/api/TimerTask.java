@@ -39,7 +39,7 @@ package com.rbnb.api;
  *
  * @see com.rbnb.api.TimerTaskInterface
  * @since V2.0
- * @version 10/01/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -49,6 +49,9 @@ package com.rbnb.api;
  *   Date      By	Description
  * MM/DD/YYYY
  * ----------  --	-----------
+ * 10/18/2026  INB	Added <code>TimingWheel</code> support. Implement
+ *			<code>Action</code> so that tasks can be run from an
+ *			<code>ActionThreadQueue</code>.
  * 10/01/2004  JPW	Break IndirectTimerTask out into its own class;
  *			isolate java.util.TimerTask references to that class
  * 11/14/2003  INB	Use <code>ThreadWithLocks</code> rather than
@@ -58,7 +61,9 @@ package com.rbnb.api;
  * 12/05/2001  INB	Created.
  *
  */
-final class TimerTask {
+final class TimerTask
+    implements com.rbnb.api.Action
+{
     /**
      * the code to execute.
      * <p>
@@ -116,6 +121,20 @@ final class TimerTask {
      * @version 12/05/2001
      */
     private TimerTaskInterface tti = null;
+
+    /**
+     * timing wheel information.
+     * <p>
+     * This is only set if the task is scheduled on a
+     * <code>TimingWheel</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private WheelInformation wheelInfo = null;
 
     /**
      * Class constructor.
@@ -188,7 +207,7 @@ final class TimerTask {
      * @author Ian Brown
      *
      * @since V2.0
-     * @version 09/04/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -196,10 +215,17 @@ final class TimerTask {
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  INB	Remove the task from its <code>TimingWheel</code>.
      * 09/04/2002  INB	Created.
      *
      */
     public final void cancel() {
+	if (wheelInfo != null) {
+	    wheelInfo.cancelled = true;
+	    if (wheelInfo.wheel != null) {
+		wheelInfo.wheel.remove(this);
+	    }
+	}
 	if (timerTask != null) {
 	    timerTask.cancel();
 	    timerTask = null;
@@ -272,6 +298,39 @@ final class TimerTask {
 	return (delayR);
     }
 
+    /**
+     * Starts this <code>TimerTask</code> running.
+     * <p>
+     * The task is run from the <code>ActionThreadQueue</code> if there is
+     * one and in a thread of its own otherwise.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param queueI  the <code>ActionThreadQueue</code> or
+     *		      <code>null</code>.
+     * @see com.rbnb.api.TimingWheel
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void dispatch(ActionThreadQueue queueI) {
+	if (queueI != null) {
+	    queueI.addEvent(this);
+	} else {
+	    TimerDaemon bThread = new TimerDaemon(this);
+	    bThread.start();
+	}
+    }
+
     /**
      * Gets the string code.
      * <p>
@@ -345,6 +404,59 @@ final class TimerTask {
 	return (tti);
     }
 
+    /**
+     * Gets the timing wheel information.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the timing wheel information or <code>null</code> if this
+     *	       task has not been scheduled on a <code>TimingWheel</code>.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final WheelInformation getWheelInfo() {
+	return (wheelInfo);
+    }
+
+    /**
+     * Performs the action of this <code>TimerTask</code>.
+     * <p>
+     * Used when the task is run from an <code>ActionThreadQueue</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #dispatch(com.rbnb.api.ActionThreadQueue)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void performAction() {
+	TimerTaskInterface lTTI = getTTI();
+
+	if (lTTI != null) {
+	    lTTI.timerTask(this);
+	}
+    }
+
     /**
      * Queues this <code>TimerTask</code>.
      * <p>
@@ -493,6 +605,29 @@ final class TimerTask {
 	tti = ttiI;
     }
 
+    /**
+     * Stops the action of this <code>TimerTask</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #performAction()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void stopAction() {
+	cancel();
+    }
+
     /**
      * Returns a string representation of this object.
      * <p>
@@ -516,6 +651,49 @@ final class TimerTask {
 	return ("TimerTask: " + code + " for " + tti);
     }
 
+    /**
+     * Sets up this <code>TimerTask</code> to be run by a
+     * <code>TimingWheel</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param wheelI	  the <code>TimingWheel</code>.
+     * @param fixedRateI  run at a fixed rate?
+     * @param timeI	  the time at which to first run the task.
+     * @param periodI	  the period between runs or 0 to run only once.
+     * @exception java.lang.IllegalStateException
+     *		  thrown if the task has already been scheduled or is
+     *		  cancelled.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void wheel(TimingWheel wheelI,
+		     boolean fixedRateI,
+		     long timeI,
+		     long periodI)
+    {
+	if (wheelInfo != null) {
+	    throw new java.lang.IllegalStateException
+		("Timer task has already been scheduled or is cancelled.");
+	}
+
+	wheelInfo = new WheelInformation();
+	wheelInfo.wheel = wheelI;
+	wheelInfo.fixedRate = fixedRateI;
+	wheelInfo.time = timeI;
+	wheelInfo.period = periodI;
+    }
+
     /**
      * Internal priority information class.
      * <p>
@@ -932,4 +1110,152 @@ final class TimerTask {
 	    tt = ttI;
 	}
     }
+
+    /**
+     * Internal timing wheel information class.
+     * <p>
+     * Holds the schedule of a task on a <code>TimingWheel</code> and links
+     * it into the list for its slot.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see com.rbnb.api.TimingWheel
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     * Copyright 2026 Creare Inc.
+     * All Rights Reserved
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final class WheelInformation {
+
+	/**
+	 * task has been cancelled?
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	boolean cancelled = false;
+
+	/**
+	 * scheduled for fixed rate execution?
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	boolean fixedRate = false;
+
+	/**
+	 * the next task in the same slot.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	TimerTask next = null;
+
+	/**
+	 * the period between executions.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	long period = 0;
+
+	/**
+	 * the previous task in the same slot.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	TimerTask previous = null;
+
+	/**
+	 * the slot holding the task or -1 if it is not on the wheel.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	int slot = -1;
+
+	/**
+	 * the tick in which the task is due.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	long tick = 0;
+
+	/**
+	 * the time of the next execution.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	long time = 0;
+
+	/**
+	 * the <code>TimingWheel</code>.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+	TimingWheel wheel = null;
+
+	/**
+	 * Class constructor.
+	 * <p>
+	 *
+	 * @author Ian Brown
+	 *
+	 * @since V3.0
+	 * @version 10/18/2026
+	 */
+
+	/*
+	 *
+	 *   Date      By	Description
+	 * MM/DD/YYYY
+	 * ----------  --	-----------
+	 * 10/18/2026  INB	Created.
+	 *
+	 */
+	WheelInformation() {
+	    super();
+	}
+    }
 }
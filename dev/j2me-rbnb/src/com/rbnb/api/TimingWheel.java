@@ -0,0 +1,562 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Hashed timing wheel used by <code>Timer</code> to schedule
+ * <code>TimerTasks</code>.
+ * <p>
+ * Time is divided into ticks of a fixed length. The wheel is a circular
+ * array of slots, one per tick; each slot holds a doubly-linked list of the
+ * <code>TimerTasks</code> that are due to run in that tick or in the same
+ * tick of a later turn of the wheel. Adding or cancelling a task is a
+ * constant time operation, unlike the binary heap of the
+ * <code>PriorityQueue</code>, which must be reordered each time.
+ * <p>
+ * The wheel is used in place of <code>java.util.Timer</code> or the
+ * <code>PriorityQueue</code> if the <code>timerwheel</code> system
+ * property is set to the length of a tick in milliseconds. The tasks that
+ * come due are normally each run in a thread of their own, just like
+ * <code>TimerTasks</code> run by the other timers. If the
+ * <code>timerthreads</code> system property is set, they are instead run
+ * from an <code>ActionThreadQueue</code> with that many threads.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.Timer
+ * @see com.rbnb.api.TimerTask
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class TimingWheel
+    implements java.lang.Runnable
+{
+
+    /**
+     * the number of slots in the wheel.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    final static int SLOTS = 512;
+
+    /**
+     * has the wheel been cancelled?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private boolean cancelled = false;
+
+    /**
+     * the current tick.
+     * <p>
+     * All of the tasks due in ticks before this one have been run.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long currentTick = 0;
+
+    /**
+     * the queue used to run tasks that come due.
+     * <p>
+     * If this is <code>null</code>, each task is run in a thread of its own.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private ActionThreadQueue dispatcher = null;
+
+    /**
+     * the number of tasks on the wheel.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private int size = 0;
+
+    /**
+     * the first task in each slot.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private TimerTask[] slots = new TimerTask[SLOTS];
+
+    /**
+     * the time at which tick zero started.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private long startAt = System.currentTimeMillis();
+
+    /**
+     * the thread turning the wheel.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+    private Thread thread = null;
+
+    // Private class fields:
+    private static long tickLength = 0;
+    private static int dispatchThreads = 0;
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("timerwheel")) != null) {
+		tickLength = Math.max(1,Long.parseLong(value));
+	    }
+	    if ((value = System.getProperty("timerthreads")) != null) {
+		dispatchThreads = Math.max(0,Integer.parseInt(value));
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+    }
+
+    /**
+     * Class constructor.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #start()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    TimingWheel() {
+	super();
+	if (dispatchThreads > 0) {
+	    dispatcher = new ActionThreadQueue(dispatchThreads);
+	}
+    }
+
+    /**
+     * Adds a task to the wheel.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param taskI	  the task.
+     * @param fixedRateI  run at a fixed rate?
+     * @param timeI	  the time at which to first run the task.
+     * @param periodI	  the period between runs or 0 to run only once.
+     * @exception java.lang.IllegalStateException
+     *		  thrown if the wheel has been cancelled or the task has
+     *		  already been scheduled.
+     * @see #remove(com.rbnb.api.TimerTask)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void add(TimerTask taskI,
+				boolean fixedRateI,
+				long timeI,
+				long periodI)
+    {
+	if (cancelled) {
+	    throw new java.lang.IllegalStateException
+		("Timer has been cancelled.");
+	}
+
+	taskI.wheel(this,fixedRateI,timeI,periodI);
+	insert(taskI);
+    }
+
+    /**
+     * Cancels the wheel.
+     * <p>
+     * Tasks that have not yet run are dropped. Each one is unlinked from
+     * the wheel, so that cancelling it afterwards does nothing.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void cancel() {
+	synchronized (this) {
+	    cancelled = true;
+	    for (int idx = 0; idx < slots.length; ++idx) {
+		for (TimerTask task = slots[idx], next; task != null;
+		     task = next) {
+		    TimerTask.WheelInformation info = task.getWheelInfo();
+		    next = info.next;
+		    info.next = null;
+		    info.previous = null;
+		    info.slot = -1;
+		}
+		slots[idx] = null;
+	    }
+	    size = 0;
+	    notifyAll();
+	}
+
+	if (dispatcher != null) {
+	    dispatcher.stop();
+	}
+    }
+
+    /**
+     * Links a task into the slot for the tick in which it is due.
+     * <p>
+     * Tasks that are already overdue are put in the current tick.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param taskI  the task.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void insert(TimerTask taskI) {
+	TimerTask.WheelInformation info = taskI.getWheelInfo();
+	long tick = (info.time - startAt + tickLength - 1)/tickLength;
+
+	if (size == 0) {
+	    // An empty wheel may have been left behind while it was waiting.
+	    currentTick = Math.max(currentTick,
+				   (System.currentTimeMillis() - startAt)/
+				   tickLength);
+	    notifyAll();
+	}
+	if (tick < currentTick) {
+	    tick = currentTick;
+	}
+
+	int slot = (int) (tick % slots.length);
+	info.tick = tick;
+	info.previous = null;
+	info.next = slots[slot];
+	if (info.next != null) {
+	    info.next.getWheelInfo().previous = taskI;
+	}
+	slots[slot] = taskI;
+	info.slot = slot;
+	++size;
+    }
+
+    /**
+     * Is the timing wheel to be used?
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return use the timing wheel?
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    static final boolean isEnabled() {
+	return (tickLength > 0);
+    }
+
+    /**
+     * Removes a task from the wheel.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param taskI  the task.
+     * @see #add(com.rbnb.api.TimerTask,boolean,long,long)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void remove(TimerTask taskI) {
+	TimerTask.WheelInformation info = taskI.getWheelInfo();
+
+	if ((info == null) || (info.slot == -1)) {
+	    return;
+	}
+
+	if (info.previous != null) {
+	    info.previous.getWheelInfo().next = info.next;
+	} else {
+	    slots[info.slot] = info.next;
+	}
+	if (info.next != null) {
+	    info.next.getWheelInfo().previous = info.previous;
+	}
+	info.next = null;
+	info.previous = null;
+	info.slot = -1;
+	--size;
+    }
+
+    /**
+     * Runs the wheel.
+     * <p>
+     * Once per tick, the tasks in the slot for the tick that are due are
+     * removed and run. If the thread falls behind, it catches up by
+     * handling each of the missed ticks in turn.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #start()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final void run() {
+	java.util.Vector due = new java.util.Vector();
+
+	try {
+	    while (!cancelled) {
+		synchronized (this) {
+		    long nowAt = System.currentTimeMillis();
+		    long tickAt = startAt + currentTick*tickLength;
+
+		    if (size == 0) {
+			// Nothing to do, so just wait for something to be
+			// added.
+			wait(TimerPeriod.LONG_WAIT);
+			continue;
+		    } else if (tickAt > nowAt) {
+			wait(tickAt - nowAt);
+			continue;
+		    }
+
+		    // Pull out the tasks due in the current tick.
+		    int slot = (int) (currentTick % slots.length);
+		    TimerTask task = slots[slot],
+			next;
+		    for (; task != null; task = next) {
+			next = task.getWheelInfo().next;
+			if (task.getWheelInfo().tick <= currentTick) {
+			    remove(task);
+			    due.addElement(task);
+			}
+		    }
+		    ++currentTick;
+		}
+
+		for (int idx = 0; idx < due.size(); ++idx) {
+		    runTask((TimerTask) due.elementAt(idx));
+		}
+		due.removeAllElements();
+	    }
+
+	} catch (java.lang.InterruptedException e) {
+	}
+
+	thread = null;
+    }
+
+    /**
+     * Runs a task that is due and puts it back on the wheel if it repeats.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param taskI  the task.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    private final void runTask(TimerTask taskI) {
+	TimerTask.WheelInformation info = taskI.getWheelInfo();
+
+	if (info.cancelled) {
+	    return;
+	}
+
+	if (info.period <= 0) {
+	    taskI.dispatch(dispatcher);
+	    return;
+	}
+
+	// Repeating tasks are put back on the wheel before fixed rate tasks
+	// are run and after fixed delay tasks are started, as the
+	// <code>PriorityQueue</code> does.
+	if (!info.fixedRate) {
+	    taskI.dispatch(dispatcher);
+	}
+	synchronized (this) {
+	    if (!cancelled && !info.cancelled) {
+		info.time =
+		    (info.fixedRate ?
+		     info.time + info.period :
+		     System.currentTimeMillis() + info.period);
+		insert(taskI);
+	    }
+	}
+	if (info.fixedRate) {
+	    taskI.dispatch(dispatcher);
+	}
+    }
+
+    /**
+     * Starts the wheel turning.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @see #cancel()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final synchronized void start() {
+	if (thread == null) {
+	    thread = new Thread(this);
+	    thread.start();
+	}
+    }
+
+    /**
+     * Returns a string representation of this <code>TimingWheel</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the string representation.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    public final String toString() {
+	return ("TimingWheel " + size + " tasks, tick " + currentTick +
+		" of " + tickLength + " ms");
+    }
+}
@@ -0,0 +1,281 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.api;
+
+/**
+ * Provides compacted, in-memory storage between the <code>Cache</code> and
+ * the <code>Archive</code> of a <code>RingBuffer</code>.
+ * <p>
+ * When the <code>Cache</code> trims its oldest <code>FrameSet</code>, it
+ * hands it to the <code>WarmCache</code>, if there is one, rather than
+ * clearing it. The <code>FrameSet</code> is compacted by compressing its data
+ * payloads and is then kept, read-only, until the <code>WarmCache</code>
+ * holds more than its maximum number of sets. Requests for recent data that
+ * has aged out of the <code>Cache</code> are served from memory rather than
+ * from the <code>Archive</code>.
+ * <p>
+ * The maximum number of sets comes from the <code>warmsets</code> system
+ * property. Zero, the default, means that <code>RingBuffers</code> are built
+ * without a <code>WarmCache</code>.
+ * <p>
+ * A compacted payload is decompressed the first time that it is read and is
+ * kept that way until its <code>FrameSet</code> is trimmed.
+ * <p>
+ *
+ * @author Ian Brown
+ *
+ * @see com.rbnb.api.Cache
+ * @see com.rbnb.api.DataBlock#compress()
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  INB	Created.
+ *
+ */
+final class WarmCache
+    extends com.rbnb.api.StorageManager
+{
+    // Private class fields:
+    private static int setsDefault = 0;
+
+    static {
+	try {
+	    String value;
+
+	    if ((value = System.getProperty("warmsets")) != null) {
+		setsDefault = Math.max(0,Integer.parseInt(value));
+	    }
+	} catch (java.lang.NumberFormatException e) {
+	}
+    }
+
+    /**
+     * Class constructor.
+     * <p>
+     * The <code>WarmCache</code> is only ever trimmed by the number of
+     * <code>FrameSets</code> that it holds.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    WarmCache()
+	throws com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	super(0,0);
+    }
+
+    /**
+     * Clears the contents of the <code>WarmCache</code>.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see com.rbnb.api.Cache#clearCache()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void clearWarmCache()
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	try {
+	    // Lock the door.
+	    getDoor().setIdentification(getFullName() + "/" + getClass());
+	    getDoor().lock("WarmCache.clearWarmCache");
+
+	    FrameManager set;
+	    while (getNchildren() > 0) {
+		set = (FrameManager) getChildAt(0);
+		removeChildAt(0);
+		addCounts(-set.getCountedBytes(),-set.getCountedFrames());
+		if (set.getParent() == null) {
+		    set.nullify();
+		} else {
+		    set.clear();
+		}
+	    }
+	    setRegistered(new Registration());
+	    setRemovedSets(false);
+	    setAddedSets(-1);
+
+	} finally {
+	    // Unlock the door.
+	    getDoor().unlock();
+	}
+    }
+    /**
+     * Gets the default maximum number of <code>FrameSets</code> held.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @return the value of the <code>warmsets</code> system property, or
+     *	       zero if there should be no <code>WarmCache</code>.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final static int getDefaultSets() {
+	return (setsDefault);
+    }
+
+    /**
+     * Retains a <code>FrameSet</code> trimmed from the <code>Cache</code>.
+     * <p>
+     * The <code>FrameSet</code> is compacted while it is locked against
+     * readers and is then added as the newest set. If that leaves too many
+     * sets, the oldest ones are cleared.
+     * <p>
+     *
+     * @author Ian Brown
+     *
+     * @param setI  the <code>FrameSet</code>.
+     * @exception com.rbnb.api.AddressException
+     *		  thrown if there is a problem with an address.
+     * @exception com.rbnb.api.SerializeException
+     *		  thrown if there is a problem with the serialization.
+     * @exception java.io.EOFException
+     *		  thrown if the end of the input stream is reached.
+     * @exception java.io.IOException
+     *		  thrown if there is an error during I/O.
+     * @exception java.lang.InterruptedException
+     *		  thrown if the operation is interrupted.
+     * @see com.rbnb.api.FrameSet#compact()
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  INB	Created.
+     *
+     */
+    final void retain(FrameSet setI)
+	throws com.rbnb.api.AddressException,
+	       com.rbnb.api.SerializeException,
+	       java.io.EOFException,
+	       java.io.IOException,
+	       java.lang.InterruptedException
+    {
+	try {
+	    // Lock the door.
+	    getDoor().setIdentification(getFullName() + "/" + getClass());
+	    getDoor().lock("WarmCache.retain");
+
+	    try {
+		// Lock the set.
+		setI.getDoor().lock("WarmCache.retain");
+
+		// Compact the set.
+		setI.compact();
+
+	    } finally {
+		// Unlock the set.
+		setI.getDoor().unlock();
+	    }
+
+	    if (getAddedSets() == -1) {
+		setAddedSets(getNchildren());
+	    }
+	    addChild(setI);
+	    addCounts(setI.getCountedBytes(),setI.getCountedFrames());
+	    trim();
+
+	} finally {
+	    // Unlock the door.
+	    getDoor().unlock();
+	}
+    }
+
+	/** Creates and returns a copy of the object
+	 */
+	public Object clone()
+	{
+		try 
+		{
+			Object clonedR = new WarmCache(); 
+			cloned(clonedR);
+			return clonedR;
+		}
+		catch(Exception e) { return null; }
+	}
+}
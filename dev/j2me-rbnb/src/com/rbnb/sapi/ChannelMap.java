@@ -71,6 +71,8 @@ import com.rbnb.api.*;
  * 2005/03/31  WHF  Added support to GetUserInfo for a data ChannelMaps.
  * 2005/08/25  WHF  Repaired serialization support.
  * 2005/09/01  EMF  Added serializaton methods, so just underlying RMap is saved.
+ * 2026/10/18  WHF  Added GetDataAsFloat64(int, double[]).  Fetched channels
+ *						are extracted when they are first read.
  */
 
 public class ChannelMap //implements java.io.Serializable
@@ -299,7 +301,8 @@ public class ChannelMap //implements java.io.Serializable
      */
 	public double[] GetTimes(int index)
 	{
-		double[] times=((Channel) channelList.elementAt(index)).dArray.getTime();
+		double[] times=((Channel) channelList.elementAt(index)).getDArray(null)
+				.getTime();
 		if (times==null) return new double[0];
 		return times;
 	}
@@ -330,7 +333,7 @@ public class ChannelMap //implements java.io.Serializable
      */
 	public double GetTimeStart(int index)
 	{
-		return ((Channel) channelList.elementAt(index)).dArray
+		return ((Channel) channelList.elementAt(index)).getDArray(null)
 			.getStartTime();
 	}
 
@@ -360,7 +363,8 @@ public class ChannelMap //implements java.io.Serializable
      */
 	public double GetTimeDuration(int index)
 	{
-		return ((Channel) channelList.elementAt(index)).dArray.getDuration();
+		return ((Channel) channelList.elementAt(index)).getDArray(null)
+				.getDuration();
 	}
 
 	/**
@@ -472,6 +476,46 @@ public class ChannelMap //implements java.io.Serializable
 	{ 
 		return (double[]) getData(index); }
 
+	/**
+	  * Returns the channel data as an array of doubles, extracting it into
+	  *  the supplied array when possible.
+	  * <p>
+	  * The data of a fetched channel is extracted the first time the
+	  *  channel is read.  If this is that first read, and <code>reuse</code>
+	  *  holds exactly as many points as the channel, the data is extracted
+	  *  straight into <code>reuse</code> and it is returned.  Otherwise, the
+	  *  result is the same as {@link #GetDataAsFloat64(int)}.  Applications
+	  *  that fetch the same channels over and over can pass back the array
+	  *  from the previous fetch, reading the data before the times, to
+	  *  avoid a new array for each fetch.
+	  * <p>
+     *
+     * @author WHF
+     *
+     * @param index The channel index.
+     * @param reuse The array to extract the data into, may be null.
+     * @return The data.
+     * @exception ArrayIndexOutOfBoundsException If index out of bounds.
+     * @exception ClassCastException Channel data is not the correct type.
+     * @see #GetDataAsFloat64(int)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  WHF	Created.
+     *
+     */
+	public double[] GetDataAsFloat64(int index, double[] reuse)
+	{
+		return (double[]) ((Channel) channelList.elementAt(index))
+				.getDArray(reuse).getData();
+	}
+
 	/**
 	  * Returns the channel data as an array of floats.
 	  * <p>
@@ -777,7 +821,7 @@ public class ChannelMap //implements java.io.Serializable
 				return DataBlock.TYPE_STRING;
 			else if (cl==byte[][].class) {
 				return ((Channel) channelList.elementAt(index))
-						.dArray.getDataType();
+						.getDArray(null).getDataType();
 			}
 		} catch (Exception e)
 		{ e.printStackTrace(); }
@@ -797,7 +841,8 @@ public class ChannelMap //implements java.io.Serializable
      */
 	public final String GetMime(int index)
 	{
-		return ((Channel) channelList.elementAt(index)).dArray.getMIMEType();
+		return ((Channel) channelList.elementAt(index)).getDArray(null)
+				.getMIMEType();
 	}
 
 
@@ -1255,9 +1300,9 @@ public class ChannelMap //implements java.io.Serializable
 		// PutTimeRef, we probably should copy Rmaps from the source to
 		// the destination rather than going through DataArray.
 		Channel ch=((Channel) sourceMap.channelList.elementAt(sourceChannel));
-		Object data=ch.dArray.getData();
+		Object data=ch.getDArray(null).getData();
 		byte type=(byte) sourceMap.GetType(sourceChannel);
-		int	size, pts = ch.dArray.getNumberOfPoints();
+		int	size, pts = ch.getDArray(null).getNumberOfPoints();
 
 		// INB 01/30/2003
 		// The following uglyness is because arrays of arrays are not
@@ -1288,7 +1333,7 @@ public class ChannelMap //implements java.io.Serializable
 			
 				default: 
 					size=getSize(type);
-					pts=ch.dArray.getNumberOfPoints();
+					pts=ch.getDArray(null).getNumberOfPoints();
 			}
 
 			try {
@@ -1488,7 +1533,7 @@ public class ChannelMap //implements java.io.Serializable
 	public void PutTimeRef(ChannelMap sourceMap, int channelIndex)
 	{
 		timeReference=((Channel) sourceMap.channelList.elementAt(
-			channelIndex)).dArray;
+			channelIndex)).getDArray(null);
 		timeMode=REFERENCE;
 
 		onTimeModeSet();
@@ -2074,6 +2119,20 @@ public class ChannelMap //implements java.io.Serializable
 		channelMap.put(name,ch);
 	}
 
+	/**
+	  * Allows Sinks to add channels from Fetches without extracting them.
+	  *  The channel is extracted from the source Rmap when it is first read.
+	  */
+	// 2026/10/18  WHF  Created.
+	void addFetched(String name, Rmap source, String sourceName)
+	{
+		addFetched(name, (DataArray) null);
+
+		Channel ch=(Channel) channelList.lastElement();
+		ch.source=source;
+		ch.sourceName=sourceName;
+	}
+
 	/**
 	  * Stores this rmap in this channelmap.  If tokeep is true, 
 	  *  also stores the rmap internally for forwarding.
@@ -2091,6 +2150,22 @@ public class ChannelMap //implements java.io.Serializable
 			Rmap result, 
 			boolean tokeep, 
 			boolean removeLeadingSlash) throws Exception
+	{
+		processResult(result, tokeep, removeLeadingSlash, false);
+	}
+
+	/**
+	  * As processResult(Rmap, boolean, boolean).  If defer is true, each
+	  *  channel is extracted from the result when it is first read, so that
+	  *  GetDataAsFloat64(int, double[]) can extract into the caller's array.
+	  *  The caller must not change the result after this.
+	  */
+	// 2026/10/18  WHF  Created from the version without the defer flag.
+	void processResult(
+			Rmap result, 
+			boolean tokeep, 
+			boolean removeLeadingSlash,
+			boolean defer) throws Exception
 	{
 		// For response forwarding:
 //		cm.setResponse(result);
@@ -2110,14 +2185,17 @@ if (debugFlag) System.err.println("Processing from fetch "+result);
 */
 			for (int ii=0; ii<names.length; ++ii)
 			{
-				String name=names[ii];
-				DataArray res=result.extract(name);
+				String name=names[ii],
+					sourceName=name;
+				DataArray res=null;
+				if (!defer) res=result.extract(name);
 
 //System.err.println("Extracted name: "+name+"\nData: "+res);
 				if (removeLeadingSlash&&name.charAt(0)==Rmap.PATHDELIMITER)
 					name=name.substring(1);
 
-				addFetched(name, res);
+				if (defer) addFetched(name, result, sourceName);
+				else addFetched(name, res);
 			}
 			
 			folderArray=result.extractFolders();
@@ -2277,6 +2355,10 @@ if (debugFlag) System.err.println("produceOutput: "+outputRmap);
 
 		// Sink:
 		DataArray dArray;
+		// The fetched Rmap and the name to extract this channel from it
+		//  with, until the channel is first read:
+		Rmap source;
+		String sourceName;
 
 		// Source:
 		Rmap rmap;
@@ -2293,6 +2375,25 @@ if (debugFlag) System.err.println("produceOutput: "+outputRmap);
 			lastSetTimeCount=setTimeCounter;
 		}
 
+		// Sink:  extracts the channel from the fetched Rmap the first time
+		//  it is read, into reuse if it fits.
+		DataArray getDArray(Object reuse)
+		{
+			if (source!=null)
+			{
+				try {
+					dArray=source.extract(sourceName, reuse);
+				} catch (RuntimeException re) {
+					throw re;
+				} catch (Exception e) {
+					throw new IllegalStateException(e.getMessage());
+				}
+				source=null;
+				sourceName=null;
+			}
+			return dArray;
+		}
+
 		// Will work with either a String or a Channel:
 		public boolean equals(Object comp)
 		{
@@ -2383,7 +2484,8 @@ Rmap rmin=(Rmap)in.readObject();
 	 //  Sink:
 	private Object getData(int index)
 	{
-		Object t = ((Channel) channelList.elementAt(index)).dArray.getData();
+		Object t = ((Channel) channelList.elementAt(index)).getDArray(null)
+				.getData();
 		return t;
 	}
 
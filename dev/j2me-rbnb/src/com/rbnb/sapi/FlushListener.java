@@ -0,0 +1,73 @@
+/*
+Copyright 2007 Creare Inc.
+
+Licensed under the Apache License, Version 2.0 (the "License"); 
+you may not use this file except in compliance with the License. 
+You may obtain a copy of the License at 
+
+http://www.apache.org/licenses/LICENSE-2.0 
+
+Unless required by applicable law or agreed to in writing, software 
+distributed under the License is distributed on an "AS IS" BASIS, 
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+See the License for the specific language governing permissions and 
+limitations under the License.
+*/
+
+package com.rbnb.sapi;
+
+/**
+ * Receives notice that frames sent with
+ *  {@link Source#Flush(ChannelMap,int,FlushListener)} have been stored by
+ *  the server.
+ * <p>
+ * Notices arrive in the order that the frames were flushed, on the thread
+ *  that is calling into the {@link Source}.  The listener should return
+ *  quickly and must not call back into the <code>Source</code>.
+ * <p>
+ *
+ * @author WHF
+ *
+ * @see Source#Flush(ChannelMap,int,FlushListener)
+ * @see Source#AwaitFlushes()
+ * @since V3.0
+ * @version 10/18/2026
+ */
+
+/*
+ * Copyright 2026 Creare Inc.
+ * All Rights Reserved
+ *
+ *   Date      By	Description
+ * MM/DD/YYYY
+ * ----------  --	-----------
+ * 10/18/2026  WHF	Created.
+ *
+ */
+
+public interface FlushListener
+{
+	/**
+	  * Called once the server has stored a flushed frame.
+	  * <p>
+     *
+     * @author WHF
+     *
+     * @param frame The number of the frame, counting from zero for the
+     *  first frame flushed with a <code>FlushListener</code> by the
+     *  <code>Source</code>.
+     * @param channels The number of channels in the frame.
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  WHF	Created.
+     *
+     */
+	public void Flushed(long frame, int channels);
+}
@@ -39,7 +39,7 @@ import com.rbnb.api.*;
  * @author WHF
  *
  * @since V2.0
- * @version 08/19/2004
+ * @version 10/18/2026
  */
 
 /*
@@ -73,6 +73,7 @@ import com.rbnb.api.*;
  * 11/20/2006  EMF      Changed default registration request to * / ...
  *                      so channel list includes one level of plugins and routes
  * 12/21/2006  MJM	Reversed EMF 11/20/2006 change, registration back to "..."
+ * 10/18/2026  WHF	Fetch defers the extraction of the channels.
  *
  */
 public class Sink extends Client
@@ -1085,7 +1086,7 @@ if (cm.debugFlag) System.err.println("-- Request: \n" +dataReq);
      * @see #Monitor(ChannelMap,int)
      * @see ChannelMap#GetData(int)
      * @since V2.0
-     * @version 01/11/2002
+     * @version 10/18/2026
      */
 
     /*
@@ -1093,6 +1094,7 @@ if (cm.debugFlag) System.err.println("-- Request: \n" +dataReq);
      *   Date      By	Description
      * MM/DD/YYYY
      * ----------  --	-----------
+     * 10/18/2026  WHF	Defer the extraction of the channels.
      * 01/11/2002  WHF	Created.
      */
 	public final ChannelMap Fetch(long blockTimeout, ChannelMap cm)
@@ -1115,7 +1117,9 @@ if (cm.debugFlag) System.err.println("-- Request: \n" +dataReq);
 				?com.rbnb.api.Sink.FOREVER:blockTimeout);
 //System.err.println("ChannelMap::Fetch(): "+result);
 //		processFetchedResult(result,cm);
-		cm.processResult(result, true, false);
+		// Channels are extracted when first read, so that the data can go
+		//  into an array passed back by the application.
+		cm.processResult(result, true, false, true);
 
 		// mjm 9/2004:: about here put check for "redirection", re-issue request or subscribe 
 		// using sink.getDataRequest() or equivalent
@@ -17,6 +17,7 @@ limitations under the License.
 package com.rbnb.sapi;
 
 import java.util.Hashtable;
+import java.util.Vector;
 
 import com.rbnb.api.*;
 
@@ -46,6 +47,10 @@ import com.rbnb.api.*;
  *   Use {@link #Register(ChannelMap)} to publicize channels in advance of
  *   sending them to the RBNB server. 
  *<p>
+ *   Sources that flush at high rates can use
+ *   {@link #Flush(ChannelMap,int,FlushListener)} to keep several frames in
+ *   flight at once, rather than waiting for the server after each one.
+ *<p>
  *   <i>Note:</i>  Multi-channel ChannelMaps
  *   must remain consistent (same number and names) from one flush to another
  *   for the life of the data source.  This is because consistent sets of
@@ -57,7 +62,7 @@ import com.rbnb.api.*;
  * @author WHF
  *
  * @since V2.0
- * @version 2004/01/08
+ * @version 2026/10/18
  */
 
 /*
@@ -90,6 +95,8 @@ import com.rbnb.api.*;
  * 2003/07/30  WHF  Added Delete() method.
  * 2004/01/08  WHF  Added ClearCache() and Detach() methods.
  * 2005/10/25  EMF  Added BytesTransferred method.
+ * 2026/10/18  WHF  Added pipelined Flush(ChannelMap,int,FlushListener) and
+ *			AwaitFlushes().
  */
 
 public class Source extends Client
@@ -111,6 +118,23 @@ public class Source extends Client
 	  */
 	private final Hashtable groups=new Hashtable();
 
+	/**
+	  * The frames flushed with a {@link FlushListener} that the server has
+	  *  not yet acknowledged, oldest first.
+	  *
+	  * <p>
+	  * @since V3.0
+	  */
+	private final Vector pending=new Vector();
+
+	/**
+	  * The number of the next frame flushed with a {@link FlushListener}.
+	  *
+	  * <p>
+	  * @since V3.0
+	  */
+	private long nextFlush=0;
+
     /**
      * Default constructor.  Initializes default values of the parameters:
      * <ul><li><code>cacheSize</code> = 100 frames</li>
@@ -272,7 +296,7 @@ public class Source extends Client
      * @exception SAPIException If there is an error while sending data to
 	 *  the server.
      * @since V2.0
-     * @version 05/17/2001
+     * @version 10/18/2026
      */
 
     /*
@@ -288,71 +312,124 @@ public class Source extends Client
      *			only increment the next count when channels are sent.
 	 * 03/04/2003  WHF  Added check to ensure that channels are packaged
 	 *  every time, just as they were the first time they were created.
+	 * 10/18/2026  WHF  Moved the checks and sending into send(), shared
+	 *  with the pipelined Flush.
 	 *
      */
 	public int Flush(ChannelMap ch, boolean doSynch) throws SAPIException
 	{
 		assertConnection();
 
-//		int toFlush=ch.getChannelsPut();
-//		timePerChannel=false;
-		String[] list=ch.GetChannelList();
-		int toFlush=list.length;
-
+		int toFlush;
 		try {
-		Rmap output;
+		toFlush=send(ch, false);
+		if (toFlush<0) return 0;
+		if (doSynch) {
+			AwaitFlushes();
+			source.synchronizeWserver();
+		}
+		} catch (IllegalArgumentException iae) { throw iae; }
+		catch (SAPIException se) { throw se; }
+		catch (Exception e) { throw new SAPIException(e); }
+		return toFlush;
+	}
 
-		// MJM 2/5/05:  This looks like it could take a lot of work to check...
+	/**
+	  * Sends the pending channels to the server without waiting for it to
+	  *  store them, keeping up to <code>maxInFlight</code> frames
+	  *  outstanding.  The data and times in the provided {@link ChannelMap}
+	  *  are erased after they are sent, although the names are preserved.
+	  * <p>
+	  * Each frame is acknowledged by the server once it has been stored,
+	  *  in the order that the frames were sent.  If <code>maxInFlight</code>
+	  *  frames are already waiting, this call waits for the oldest of them
+	  *  to be acknowledged before returning.  The <code>listener</code>, if
+	  *  not null, is told as each frame is acknowledged.
+	  * <p>
+	  * Use {@link #AwaitFlushes()} to wait for all of the outstanding
+	  *  frames.  A synchronous {@link #Flush(ChannelMap,boolean)},
+	  *  {@link #Register(ChannelMap)}, {@link #Delete(ChannelMap,ChannelMap)},
+	  *  and {@link #ClearCache()} also wait for them first.  Frames that are
+	  *  still in flight when the connection is closed are stored, but their
+	  *  listeners are not called.
+	  * <p>
+     *
+     * @author WHF
+     *
+     * @param ch The channels to flush.
+     * @param maxInFlight The maximum number of frames waiting to be
+     *   acknowledged.  Must be at least one.
+     * @param listener Told when each frame has been stored; may be null.
+     * @return The number of channels flushed.
+     * @exception IllegalArgumentException If <code>maxInFlight</code> is less
+     *  than one, or the channel set is not consistent with earlier flushes.
+     * @exception SAPIException If there is an error while sending data to
+	 *  the server.
+     * @see #AwaitFlushes()
+     * @see #Flush(ChannelMap,boolean)
+     * @since V3.0
+     * @version 10/18/2026
+     */
 
-		if (toFlush>0)
-		{
-			Integer sz=(Integer) groups.get(list[0]);
-			if (sz==null) // first channel never before sent
-			{ // check to be sure other channels have not been sent
-				for (int ii=1; ii<list.length; ++ii)
-					if (groups.containsKey(list[ii]))
-						throw new IllegalArgumentException(
-							"Channel sets must remain consistent"
-							+" for every Flush.");
-				// Only after checks do we add mappings:
-				sz=new Integer(list.length);
-				for (int ii=0; ii<list.length; ++ii)
-					groups.put(list[ii],sz);
-			}
-			else // first channel was sent
-			{ // check other channels are in same list
-				boolean failure=sz.intValue()!=list.length;
-				for (int ii=1; !failure&&ii<list.length; ++ii)
-				{
-					Integer toCheck=(Integer) groups.get(list[ii]);
-					failure=toCheck==null||toCheck!=sz;
-				}
-				if (failure) throw new IllegalArgumentException(
-					"Channel sets must remain consistent for every Flush.");
-			}
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  WHF	Created.
+     *
+     */
+	public int Flush(ChannelMap ch, int maxInFlight, FlushListener listener)
+		throws SAPIException
+	{
+		assertConnection();
+		if (maxInFlight<1) throw new IllegalArgumentException(
+			"At least one frame must be allowed in flight.");
 
-			output=ch.produceOutput();
-			output.collapse();
-			source.addChild(output);
-			ch.clearData();
-			ch.incrementNext();
-		}
-		else
-		{
-			output=ch.getResponse();
-			if (output==null) return 0;
-			output.collapse();
-			source.addChild(output);
-			ch.clearData();
-			// dont increment in this case
-		}
-//System.err.println("Source.Flush():\n"+output);
-		if (doSynch) source.synchronizeWserver();
+		int toFlush;
+		try {
+		toFlush=send(ch, true);
+		if (toFlush<0) return 0;
+		pending.addElement(new PendingFlush(nextFlush++, toFlush, listener));
+		while (pending.size()>maxInFlight) acknowledgeOldest();
 		} catch (IllegalArgumentException iae) { throw iae; }
 		catch (Exception e) { throw new SAPIException(e); }
 		return toFlush;
 	}
 
+	/**
+	  * Waits for the server to acknowledge all of the frames sent by
+	  *  {@link #Flush(ChannelMap,int,FlushListener)}, calling their
+	  *  listeners in order.
+	  * <p>
+     *
+     * @author WHF
+     *
+     * @exception SAPIException If there is an error while communicating
+	 *  with the server.
+     * @see #Flush(ChannelMap,int,FlushListener)
+     * @since V3.0
+     * @version 10/18/2026
+     */
+
+    /*
+     *
+     *   Date      By	Description
+     * MM/DD/YYYY
+     * ----------  --	-----------
+     * 10/18/2026  WHF	Created.
+     *
+     */
+	public void AwaitFlushes() throws SAPIException
+	{
+		if (pending.isEmpty()) return;
+		assertConnection();
+
+		try {
+		while (!pending.isEmpty()) acknowledgeOldest();
+		} catch (Exception e) { throw new SAPIException(e); }
+	}
+
 	/**
 	  * Tells the server which channels this <code>Source</code> will
 	  *  generate. It also sends any data present in the <code>
@@ -380,6 +457,7 @@ public class Source extends Client
      */
 	public void Register(ChannelMap cm) throws SAPIException
 	{
+		AwaitFlushes();
 		super.doRegister(cm);
 	}
 	
@@ -401,6 +479,7 @@ public class Source extends Client
 			throws SAPIException
 	{
 		assertConnection();
+		AwaitFlushes();
 
 		try {
 		Rmap rmap=toDelete.produceRequest();
@@ -441,6 +520,7 @@ public class Source extends Client
 	  */
 	public void ClearCache() throws SAPIException
 	{
+		AwaitFlushes();
 		try {
 			source.clearCache();
 		} catch (RuntimeException re) { throw re; }
@@ -495,11 +575,107 @@ public class Source extends Client
 	{
 		source=null;
 		groups.clear();
+		pending.removeAllElements();
 	}
 
 ////////////////////////////////////////////////////////////////////////////
 ////////////////////// Private utilities: //////////////	
 
+	/**
+	  * Waits for the server to acknowledge the oldest pending frame and
+	  *  tells its listener.
+	  */
+	private void acknowledgeOldest() throws Exception
+	{
+		source.waitForAcknowledgement();
+		PendingFlush flushed=(PendingFlush) pending.firstElement();
+		pending.removeElementAt(0);
+		if (flushed.listener!=null)
+			flushed.listener.Flushed(flushed.frame, flushed.channels);
+	}
+
+	/**
+	  * Checks the channel set, then sends the pending channels to the
+	  *  server, optionally asking for an acknowledgement.
+	  *
+	  * @return The number of channels sent, or -1 if there was nothing to
+	  *  send.
+	  */
+	private int send(ChannelMap ch, boolean acknowledge) throws Exception
+	{
+		String[] list=ch.GetChannelList();
+		int toFlush=list.length;
+		Rmap output;
+
+		// MJM 2/5/05:  This looks like it could take a lot of work to check...
+
+		if (toFlush>0)
+		{
+			Integer sz=(Integer) groups.get(list[0]);
+			if (sz==null) // first channel never before sent
+			{ // check to be sure other channels have not been sent
+				for (int ii=1; ii<list.length; ++ii)
+					if (groups.containsKey(list[ii]))
+						throw new IllegalArgumentException(
+							"Channel sets must remain consistent"
+							+" for every Flush.");
+				// Only after checks do we add mappings:
+				sz=new Integer(list.length);
+				for (int ii=0; ii<list.length; ++ii)
+					groups.put(list[ii],sz);
+			}
+			else // first channel was sent
+			{ // check other channels are in same list
+				boolean failure=sz.intValue()!=list.length;
+				for (int ii=1; !failure&&ii<list.length; ++ii)
+				{
+					Integer toCheck=(Integer) groups.get(list[ii]);
+					failure=toCheck==null||toCheck!=sz;
+				}
+				if (failure) throw new IllegalArgumentException(
+					"Channel sets must remain consistent for every Flush.");
+			}
+
+			output=ch.produceOutput();
+			output.collapse();
+			if (acknowledge) source.addChildWacknowledgement(output);
+			else source.addChild(output);
+			ch.clearData();
+			ch.incrementNext();
+		}
+		else
+		{
+			output=ch.getResponse();
+			if (output==null) return -1;
+			output.collapse();
+			if (acknowledge) source.addChildWacknowledgement(output);
+			else source.addChild(output);
+			ch.clearData();
+			// dont increment in this case
+		}
+		return toFlush;
+	}
+
+////////////////////////////////////////////////////////////////////////////
+////////////////////// Static Inner Classes: //////////////
+
+	/**
+	  * A frame waiting to be acknowledged by the server.
+	  */
+	private static class PendingFlush
+	{
+		PendingFlush(long frame, int channels, FlushListener listener)
+		{
+			this.frame=frame;
+			this.channels=channels;
+			this.listener=listener;
+		}
+
+		final long frame;
+		final int channels;
+		final FlushListener listener;
+	}
+
 } // end class Source
 
 